@@ -0,0 +1,341 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.entities;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprints of the source files processed by an execution of {@link EntityMojo}, used to reserialize only the
+ * source files which have changed since the previous execution. For each source file, this records the hash of its
+ * content, the serializer used to read it, and the entities and output files produced from it. The plugin version and
+ * the implementation versions of the serializers are also recorded, since a change to either may change the outputs.
+ */
+class EntityFingerprints
+{
+    private static final int FORMAT_VERSION = 2;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private final String outputDirectory;
+    private final List<String> outputFormats;
+    private final boolean enforceOneEntityPerFile;
+    private final String pluginVersion;
+    private final Map<String, String> serializerVersions;
+    private final TreeMap<String, SourceFile> sourceFiles;
+
+    private EntityFingerprints(String outputDirectory, List<String> outputFormats, boolean enforceOneEntityPerFile, String pluginVersion, Map<String, String> serializerVersions, TreeMap<String, SourceFile> sourceFiles)
+    {
+        this.outputDirectory = outputDirectory;
+        this.outputFormats = outputFormats;
+        this.enforceOneEntityPerFile = enforceOneEntityPerFile;
+        this.pluginVersion = pluginVersion;
+        this.serializerVersions = serializerVersions;
+        this.sourceFiles = sourceFiles;
+    }
+
+    /**
+     * Whether these fingerprints were recorded with the given output configuration, plugin version, and serializer
+     * implementation versions. If not, the outputs recorded cannot be reused.
+     */
+    boolean hasConfiguration(String outputDirectory, List<String> outputFormats, boolean enforceOneEntityPerFile, String pluginVersion, Map<String, String> serializerVersions)
+    {
+        return Objects.equals(this.outputDirectory, outputDirectory) &&
+                Objects.equals(this.outputFormats, outputFormats) &&
+                (this.enforceOneEntityPerFile == enforceOneEntityPerFile) &&
+                Objects.equals(this.pluginVersion, pluginVersion) &&
+                Objects.equals(this.serializerVersions, serializerVersions);
+    }
+
+    boolean hasOutputDirectory(String outputDirectory)
+    {
+        return Objects.equals(this.outputDirectory, outputDirectory);
+    }
+
+    Collection<SourceFile> getSourceFiles()
+    {
+        return this.sourceFiles.values();
+    }
+
+    SourceFile getSourceFile(String sourcePath)
+    {
+        return this.sourceFiles.get(sourcePath);
+    }
+
+    SourceFile removeSourceFile(String sourcePath)
+    {
+        return this.sourceFiles.remove(sourcePath);
+    }
+
+    void addSourceFile(SourceFile sourceFile)
+    {
+        this.sourceFiles.put(sourceFile.sourcePath, sourceFile);
+    }
+
+    void write(Path file) throws IOException
+    {
+        Files.createDirectories(file.getParent());
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file)))
+        {
+            JSON_MAPPER.writeValue(stream, new FingerprintFile(FORMAT_VERSION, this.outputDirectory, this.outputFormats, this.enforceOneEntityPerFile, this.pluginVersion, this.serializerVersions, new ArrayList<>(this.sourceFiles.values())));
+        }
+    }
+
+    static EntityFingerprints newFingerprints(String outputDirectory, List<String> outputFormats, boolean enforceOneEntityPerFile, String pluginVersion, Map<String, String> serializerVersions)
+    {
+        return new EntityFingerprints(outputDirectory, outputFormats, enforceOneEntityPerFile, pluginVersion, new TreeMap<>(serializerVersions), new TreeMap<>());
+    }
+
+    /**
+     * Read fingerprints from a file. Returns null if the file does not exist or is in an unknown format.
+     */
+    static EntityFingerprints readFingerprints(Path file) throws IOException
+    {
+        FingerprintFile fingerprintFile;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file)))
+        {
+            fingerprintFile = JSON_MAPPER.readValue(stream, FingerprintFile.class);
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+        if (fingerprintFile.version != FORMAT_VERSION)
+        {
+            return null;
+        }
+        TreeMap<String, SourceFile> sourceFiles = new TreeMap<>();
+        if (fingerprintFile.sourceFiles != null)
+        {
+            fingerprintFile.sourceFiles.forEach(f -> sourceFiles.put(f.sourcePath, f));
+        }
+        Map<String, String> serializerVersions = (fingerprintFile.serializerVersions == null) ? new TreeMap<>() : new TreeMap<>(fingerprintFile.serializerVersions);
+        return new EntityFingerprints(fingerprintFile.outputDirectory, fingerprintFile.outputFormats, fingerprintFile.enforceOneEntityPerFile, fingerprintFile.pluginVersion, serializerVersions, sourceFiles);
+    }
+
+    /**
+     * Get the implementation version of a class. This is a hash of the class path it is loaded from: the class may
+     * use anything else on that class path, so a change to any of it may change its behavior. Jar files are
+     * identified by their location, size, and modification time; directories by those of the files they contain.
+     */
+    static String getImplementationVersion(Class<?> cls) throws IOException
+    {
+        Set<String> locations = new LinkedHashSet<>();
+        CodeSource codeSource = cls.getProtectionDomain().getCodeSource();
+        if ((codeSource != null) && (codeSource.getLocation() != null))
+        {
+            locations.add(codeSource.getLocation().toString());
+        }
+        for (ClassLoader classLoader = cls.getClassLoader(); classLoader != null; classLoader = classLoader.getParent())
+        {
+            if (classLoader instanceof URLClassLoader)
+            {
+                for (URL url : ((URLClassLoader) classLoader).getURLs())
+                {
+                    locations.add(url.toString());
+                }
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(cls.getName()).append('\n');
+        for (String location : locations)
+        {
+            builder.append(location);
+            Path path;
+            try
+            {
+                path = Paths.get(new URI(location));
+            }
+            catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e)
+            {
+                // not a file, so only its location can be recorded
+                builder.append('\n');
+                continue;
+            }
+            if (Files.isDirectory(path))
+            {
+                builder.append('\n');
+                try (Stream<Path> stream = Files.walk(path))
+                {
+                    stream.filter(Files::isRegularFile).sorted().forEach(file -> appendFileVersion(builder.append(path.relativize(file)), file));
+                }
+            }
+            else if (Files.exists(path))
+            {
+                appendFileVersion(builder, path);
+            }
+            else
+            {
+                builder.append('\n');
+            }
+        }
+        return hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendFileVersion(StringBuilder builder, Path file)
+    {
+        try
+        {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            builder.append(' ').append(attributes.size()).append(' ').append(attributes.lastModifiedTime().toMillis()).append('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String hash(byte[] content)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(HASH_ALGORITHM + " is not available", e);
+        }
+        byte[] hash = digest.digest(content);
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    static class SourceFile
+    {
+        @JsonProperty("source")
+        private final String sourcePath;
+
+        @JsonProperty("contentHash")
+        private final String contentHash;
+
+        @JsonProperty("serializer")
+        private final String serializer;
+
+        @JsonProperty("entities")
+        private final List<String> entityPaths;
+
+        @JsonProperty("outputs")
+        private final List<String> outputFiles;
+
+        @JsonCreator
+        SourceFile(@JsonProperty("source") String sourcePath, @JsonProperty("contentHash") String contentHash, @JsonProperty("serializer") String serializer, @JsonProperty("entities") List<String> entityPaths, @JsonProperty("outputs") List<String> outputFiles)
+        {
+            this.sourcePath = sourcePath;
+            this.contentHash = contentHash;
+            this.serializer = serializer;
+            this.entityPaths = entityPaths;
+            this.outputFiles = outputFiles;
+        }
+
+        boolean isUnchanged(String contentHash, String serializer)
+        {
+            return Objects.equals(this.contentHash, contentHash) && Objects.equals(this.serializer, serializer);
+        }
+
+        List<String> getEntityPaths()
+        {
+            return this.entityPaths;
+        }
+
+        /**
+         * Output files, relative to the output directory, with / as the separator.
+         */
+        List<String> getOutputFiles()
+        {
+            return this.outputFiles;
+        }
+    }
+
+    private static class FingerprintFile
+    {
+        @JsonProperty("version")
+        private final int version;
+
+        @JsonProperty("outputDirectory")
+        private final String outputDirectory;
+
+        @JsonProperty("outputFormats")
+        private final List<String> outputFormats;
+
+        @JsonProperty("enforceOneEntityPerFile")
+        private final boolean enforceOneEntityPerFile;
+
+        @JsonProperty("pluginVersion")
+        private final String pluginVersion;
+
+        @JsonProperty("serializerVersions")
+        private final Map<String, String> serializerVersions;
+
+        @JsonProperty("sourceFiles")
+        private final List<SourceFile> sourceFiles;
+
+        @JsonCreator
+        private FingerprintFile(@JsonProperty("version") int version, @JsonProperty("outputDirectory") String outputDirectory, @JsonProperty("outputFormats") List<String> outputFormats, @JsonProperty("enforceOneEntityPerFile") boolean enforceOneEntityPerFile, @JsonProperty("pluginVersion") String pluginVersion, @JsonProperty("serializerVersions") Map<String, String> serializerVersions, @JsonProperty("sourceFiles") List<SourceFile> sourceFiles)
+        {
+            this.version = version;
+            this.outputDirectory = outputDirectory;
+            this.outputFormats = outputFormats;
+            this.enforceOneEntityPerFile = enforceOneEntityPerFile;
+            this.pluginVersion = pluginVersion;
+            this.serializerVersions = serializerVersions;
+            this.sourceFiles = sourceFiles;
+        }
+    }
+}
@@ -21,19 +21,27 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.finos.legend.sdlc.serialization.EntityIndex;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.parallel.Parallelism;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Predicate;
 
 @Mojo(name = "process-entities", defaultPhase = LifecyclePhase.COMPILE)
@@ -51,6 +59,30 @@ public class EntityMojo extends AbstractMojo
     @Parameter(defaultValue = "true")
     public boolean enforceOneEntityPerFile;
 
+    @Parameter(defaultValue = "true")
+    public boolean writeJsonEntities;
+
+    @Parameter(defaultValue = "false")
+    public boolean writeBinaryEntities;
+
+    @Parameter(defaultValue = "true")
+    public boolean writeEntityIndex;
+
+    @Parameter(defaultValue = "true")
+    public boolean incremental;
+
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.entities.parallel}")
+    private String parallel;
+
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    public File buildDirectory;
+
+    @Parameter(defaultValue = "${mojoExecution.executionId}", readonly = true)
+    public String executionId;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
     @Override
     public void execute() throws MojoExecutionException
     {
@@ -60,43 +92,353 @@ public class EntityMojo extends AbstractMojo
         getLog().info("output directory: " + this.outputDirectory);
         getLog().info("base directory: " + this.baseDir);
 
-        EntitySerializer outputSerializer = EntitySerializers.getDefaultJsonSerializer();
+        List<EntitySerializer> outputSerializers = getOutputSerializers();
         List<SerializationSpec> serializationSpecs = getSerializationSpecs();
-        int totalCount = 0;
+        Path outputPath = this.outputDirectory.toPath();
+        List<String> outputFormats = Iterate.collect(outputSerializers, EntitySerializer::getName, Lists.mutable.empty());
+
+        Path fingerprintsFile = getFingerprintsFile();
+        Map<String, String> serializerVersions = (fingerprintsFile == null) ? null : getSerializerVersions(outputSerializers, serializationSpecs);
+        if ((fingerprintsFile != null) && (serializerVersions == null))
+        {
+            deleteFingerprints(fingerprintsFile);
+            fingerprintsFile = null;
+        }
+        EntityFingerprints previousFingerprints = (fingerprintsFile == null) ? null : readFingerprints(fingerprintsFile, outputPath);
+        boolean reuseOutputs = (previousFingerprints != null) && previousFingerprints.hasConfiguration(outputPath.toString(), outputFormats, this.enforceOneEntityPerFile, this.pluginVersion, serializerVersions);
+        if ((previousFingerprints != null) && !reuseOutputs)
+        {
+            getLog().info("Entity fingerprints are for a different configuration, plugin version, or serializer implementation, reserializing all entities");
+        }
+        EntityFingerprints fingerprints = (fingerprintsFile == null) ? null : EntityFingerprints.newFingerprints(outputPath.toString(), outputFormats, this.enforceOneEntityPerFile, this.pluginVersion, serializerVersions);
+
+        // Find the source files to reserialize. Any fingerprints left over in the previous fingerprints afterwards are
+        // for source files which have changed or been removed, and their outputs are deleted before reserializing.
+        List<SourceReserialization> reserializations = Lists.mutable.ofInitialCapacity(serializationSpecs.size());
         for (SerializationSpec serializationSpec : serializationSpecs)
         {
-            long sourceStart = System.nanoTime();
-            getLog().info("Reserializing entities from " + serializationSpec.directory + " using serializer \"" + serializationSpec.serializer.getName() + "\" to " + this.outputDirectory);
-            EntityReserializer reserializer = EntityReserializer.newReserializer(serializationSpec.serializer, outputSerializer);
-            Predicate<Path> filter = (serializationSpec.fileExtensions == null) ? null : EntityReserializer.getExtensionsFilter(serializationSpec.fileExtensions);
-            try
+            reserializations.add(findSourceFilesToReserialize(serializationSpec, outputSerializers, reuseOutputs ? previousFingerprints : null, fingerprints));
+        }
+        if (previousFingerprints != null)
+        {
+            deleteOutputs(previousFingerprints.getSourceFiles(), outputPath);
+        }
+
+        int parallelism = getParallelism();
+        getLog().info("parallelism: " + parallelism);
+        // Entities are reserialized in parallel if parallelism level is greater than 1
+        ForkJoinPool pool = (parallelism > 1) ? createForkJoinPool(parallelism) : null;
+        int totalCount = 0;
+        try
+        {
+            for (SourceReserialization reserialization : reserializations)
             {
-                List<String> paths = reserializer.reserializeDirectoryTree(serializationSpec.directory, filter, this.outputDirectory.toPath(), enforceOneEntityPerFile);
-                long sourceEnd = System.nanoTime();
-                getLog().info(String.format("Finished reserializing %,d entities from %s using serializer \"%s\" to %s (%.9fs)", paths.size(), serializationSpec.directory, serializationSpec.serializer.getName(), this.outputDirectory, nanoDuration(sourceStart, sourceEnd)));
-                if (getLog().isDebugEnabled())
+                totalCount += reserialization.reserialize(outputPath, fingerprints, pool);
+            }
+        }
+        catch (MojoExecutionException e)
+        {
+            // the outputs are now in an unknown state, so they cannot be reused
+            if (fingerprintsFile != null)
+            {
+                deleteFingerprints(fingerprintsFile);
+            }
+            throw e;
+        }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
+        }
+        if (this.writeEntityIndex)
+        {
+            Set<String> unchangedOutputFiles = new HashSet<>();
+            reserializations.forEach(r -> unchangedOutputFiles.addAll(r.unchangedOutputFiles));
+            writeEntityIndex(unchangedOutputFiles);
+        }
+        if (fingerprintsFile != null)
+        {
+            writeFingerprints(fingerprints, fingerprintsFile);
+        }
+        long end = System.nanoTime();
+        getLog().info(String.format("Finished processing %,d entities (%.9fs)", totalCount, nanoDuration(start, end)));
+    }
+
+    private SourceReserialization findSourceFilesToReserialize(SerializationSpec serializationSpec, List<EntitySerializer> outputSerializers, EntityFingerprints previousFingerprints, EntityFingerprints fingerprints) throws MojoExecutionException
+    {
+        EntityReserializer reserializer = EntityReserializer.newReserializer(serializationSpec.serializer, outputSerializers);
+        Predicate<Path> filter = (serializationSpec.fileExtensions == null) ? null : EntityReserializer.getExtensionsFilter(serializationSpec.fileExtensions);
+        SourceReserialization reserialization = new SourceReserialization(serializationSpec, reserializer);
+        try
+        {
+            List<Path> sourceFiles = reserializer.findSourceFiles(serializationSpec.directory, filter);
+            if (fingerprints == null)
+            {
+                reserialization.sourceFiles.addAll(sourceFiles);
+                return reserialization;
+            }
+
+            Path outputPath = this.outputDirectory.toPath();
+            for (Path sourceFile : sourceFiles)
+            {
+                String sourcePath = sourceFile.toString();
+                String contentHash = EntityFingerprints.hash(Files.readAllBytes(sourceFile));
+                EntityFingerprints.SourceFile previous = (previousFingerprints == null) ? null : previousFingerprints.getSourceFile(sourcePath);
+                if ((previous != null) && previous.isUnchanged(contentHash, serializationSpec.serializer.getName()) && Iterate.allSatisfy(previous.getOutputFiles(), f -> Files.exists(resolveOutputFile(outputPath, f))))
                 {
-                    getLog().debug(Iterate.makeString(paths, "Reserialized: ", ", ", ""));
+                    previousFingerprints.removeSourceFile(sourcePath);
+                    fingerprints.addSourceFile(previous);
+                    reserialization.unchangedEntityCount += previous.getEntityPaths().size();
+                    reserialization.unchangedOutputFiles.addAll(previous.getOutputFiles());
+                }
+                else
+                {
+                    reserialization.sourceFiles.add(sourceFile);
+                    reserialization.contentHashes.put(sourceFile, contentHash);
                 }
-                totalCount += paths.size();
+            }
+            return reserialization;
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error finding source files in ").append(serializationSpec.directory);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new MojoExecutionException(builder.toString(), e);
+        }
+    }
+
+    private Path getFingerprintsFile()
+    {
+        if (!this.incremental || (this.buildDirectory == null))
+        {
+            return null;
+        }
+        String id = ((this.executionId == null) || this.executionId.isEmpty()) ? "default" : this.executionId;
+        return this.buildDirectory.toPath().resolve("legend-entities").resolve("fingerprints-" + id + ".json");
+    }
+
+    private Map<String, String> getSerializerVersions(List<EntitySerializer> outputSerializers, List<SerializationSpec> serializationSpecs)
+    {
+        Map<String, EntitySerializer> serializers = new HashMap<>();
+        outputSerializers.forEach(s -> serializers.put(s.getName(), s));
+        serializationSpecs.forEach(s -> serializers.put(s.serializer.getName(), s.serializer));
+
+        Map<String, String> serializerVersions = new HashMap<>(serializers.size());
+        for (EntitySerializer serializer : serializers.values())
+        {
+            try
+            {
+                serializerVersions.put(serializer.getName(), EntityFingerprints.getImplementationVersion(serializer.getClass()));
             }
             catch (Exception e)
             {
-                long sourceEnd = System.nanoTime();
-                getLog().info(String.format("Error reserializing entities from %s using serializer \"%s\" to %s (%.9fs)", serializationSpec.directory, serializationSpec.serializer.getName(), this.outputDirectory, nanoDuration(sourceStart, sourceEnd)), e);
-                StringBuilder builder = new StringBuilder("Error reserializing entities from ").append(serializationSpec.directory)
-                        .append(" using serializer \"").append(serializationSpec.serializer.getName()).append('"')
-                        .append(" to ").append(this.outputDirectory);
-                String eMessage = e.getMessage();
-                if (eMessage != null)
+                getLog().warn("Error getting the implementation version of serializer " + serializer.getName() + ", reserializing all entities", e);
+                return null;
+            }
+        }
+        return serializerVersions;
+    }
+
+    private EntityFingerprints readFingerprints(Path fingerprintsFile, Path outputPath)
+    {
+        EntityFingerprints fingerprints;
+        try
+        {
+            fingerprints = EntityFingerprints.readFingerprints(fingerprintsFile);
+        }
+        catch (Exception e)
+        {
+            getLog().warn("Error reading entity fingerprints from " + fingerprintsFile + ", reserializing all entities", e);
+            return null;
+        }
+        if (fingerprints == null)
+        {
+            getLog().info("No entity fingerprints found, reserializing all entities");
+            return null;
+        }
+        if (!fingerprints.hasOutputDirectory(outputPath.toString()))
+        {
+            // the outputs were written elsewhere, so leave them alone
+            getLog().info("Entity fingerprints are for a different output directory, reserializing all entities");
+            return null;
+        }
+        return fingerprints;
+    }
+
+    private void writeFingerprints(EntityFingerprints fingerprints, Path fingerprintsFile) throws MojoExecutionException
+    {
+        try
+        {
+            fingerprints.write(fingerprintsFile);
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error writing entity fingerprints to ").append(fingerprintsFile);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new MojoExecutionException(builder.toString(), e);
+        }
+    }
+
+    private void deleteFingerprints(Path fingerprintsFile)
+    {
+        try
+        {
+            Files.deleteIfExists(fingerprintsFile);
+        }
+        catch (Exception e)
+        {
+            getLog().warn("Error deleting entity fingerprints " + fingerprintsFile, e);
+        }
+    }
+
+    private void deleteOutputs(Iterable<EntityFingerprints.SourceFile> sourceFiles, Path outputPath) throws MojoExecutionException
+    {
+        Path entitiesPath = outputPath.resolve("entities");
+        for (EntityFingerprints.SourceFile sourceFile : sourceFiles)
+        {
+            for (String outputFile : sourceFile.getOutputFiles())
+            {
+                Path path = resolveOutputFile(outputPath, outputFile);
+                try
                 {
-                    builder.append(": ").append(eMessage);
+                    if (Files.deleteIfExists(path))
+                    {
+                        getLog().debug("Deleted " + path);
+                    }
+                    // remove directories left empty, as a clean build would not create them
+                    for (Path dir = path.getParent(); (dir != null) && dir.startsWith(entitiesPath) && isEmptyDirectory(dir); dir = dir.getParent())
+                    {
+                        Files.delete(dir);
+                    }
+                }
+                catch (Exception e)
+                {
+                    StringBuilder builder = new StringBuilder("Error deleting stale output file ").append(path);
+                    String eMessage = e.getMessage();
+                    if (eMessage != null)
+                    {
+                        builder.append(": ").append(eMessage);
+                    }
+                    throw new MojoExecutionException(builder.toString(), e);
                 }
-                throw new MojoExecutionException(builder.toString(), e);
             }
         }
-        long end = System.nanoTime();
-        getLog().info(String.format("Finished processing %,d entities (%.9fs)", totalCount, nanoDuration(start, end)));
+    }
+
+    private static boolean isEmptyDirectory(Path dir) throws IOException
+    {
+        if (!Files.isDirectory(dir))
+        {
+            return false;
+        }
+        try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(dir))
+        {
+            return !dirStream.iterator().hasNext();
+        }
+    }
+
+    private static Path resolveOutputFile(Path outputPath, String outputFile)
+    {
+        Path path = outputPath;
+        for (String name : outputFile.split("/"))
+        {
+            path = path.resolve(name);
+        }
+        return path;
+    }
+
+    private static String toOutputFile(Path outputPath, Path file)
+    {
+        StringBuilder builder = new StringBuilder();
+        outputPath.relativize(file).forEach(p -> ((builder.length() == 0) ? builder : builder.append('/')).append(p));
+        return builder.toString();
+    }
+
+    private void writeEntityIndex(Set<String> unchangedOutputFiles) throws MojoExecutionException
+    {
+        Path outputPath = this.outputDirectory.toPath();
+        if (!Files.isDirectory(outputPath.resolve("entities")))
+        {
+            // there may be an index left from a previous build whose entities have all been removed since
+            try
+            {
+                EntityIndex.deleteFromDirectory(outputPath);
+            }
+            catch (Exception e)
+            {
+                throw new MojoExecutionException("Error deleting stale entity index from " + this.outputDirectory, e);
+            }
+            return;
+        }
+
+        long indexStart = System.nanoTime();
+        try
+        {
+            // index the whole output directory, so that entities written by other executions are included; the
+            // entries of the previous index are reused for output files which were not rewritten, rather than reading
+            // and hashing them again
+            EntityIndex previousIndex = unchangedOutputFiles.isEmpty() ? null : readPreviousEntityIndex(outputPath);
+            if (previousIndex != null)
+            {
+                getLog().info(String.format("Reusing entity index entries for %,d unchanged files", unchangedOutputFiles.size()));
+            }
+            EntityIndex index = EntityIndex.buildIndex(outputPath, Arrays.asList(EntitySerializers.getDefaultBinarySerializer(), EntitySerializers.getDefaultJsonSerializer()), previousIndex, unchangedOutputFiles::contains);
+            index.writeToDirectory(outputPath);
+            long indexEnd = System.nanoTime();
+            getLog().info(String.format("Finished writing index of %,d entities to %s (%.9fs)", index.size(), outputPath.resolve(EntityIndex.INDEX_FILE_NAME), nanoDuration(indexStart, indexEnd)));
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error writing entity index to ").append(this.outputDirectory);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new MojoExecutionException(builder.toString(), e);
+        }
+    }
+
+    private EntityIndex readPreviousEntityIndex(Path outputPath)
+    {
+        try
+        {
+            return EntityIndex.readFromDirectory(outputPath);
+        }
+        catch (Exception e)
+        {
+            getLog().warn("Error reading previous entity index from " + outputPath + ", rebuilding it in full", e);
+            return null;
+        }
+    }
+
+    private List<EntitySerializer> getOutputSerializers() throws MojoExecutionException
+    {
+        List<EntitySerializer> outputSerializers = Lists.mutable.empty();
+        if (this.writeJsonEntities)
+        {
+            outputSerializers.add(EntitySerializers.getDefaultJsonSerializer());
+        }
+        if (this.writeBinaryEntities)
+        {
+            outputSerializers.add(EntitySerializers.getDefaultBinarySerializer());
+        }
+        if (outputSerializers.isEmpty())
+        {
+            throw new MojoExecutionException("At least one of writeJsonEntities and writeBinaryEntities must be true");
+        }
+        getLog().info("output formats: " + Iterate.collect(outputSerializers, EntitySerializer::getName));
+        return outputSerializers;
     }
 
     private List<SerializationSpec> getSerializationSpecs() throws MojoExecutionException
@@ -200,6 +542,30 @@ public class EntityMojo extends AbstractMojo
         }
     }
 
+    private int getParallelism()
+    {
+        int parallelism = Parallelism.parseParallel(this.parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
+    private ForkJoinPool createForkJoinPool(int parallelism)
+    {
+        // We have to create a custom fork join thread worker factory to ensure the worker threads use this thread's
+        // context class loader (which serializers may be loaded from). This is why we cannot use the common pool.
+        return new ForkJoinPool(
+                parallelism,
+                pool -> new ForkJoinWorkerThread(pool)
+                {
+                },
+                null,
+                false);
+    }
+
     private static double nanoDuration(long nanoStart, long nanoEnd)
     {
         return (nanoEnd - nanoStart) / 1_000_000_000.0;
@@ -240,6 +606,69 @@ public class EntityMojo extends AbstractMojo
         }
     }
 
+    private class SourceReserialization
+    {
+        private final SerializationSpec serializationSpec;
+        private final EntityReserializer reserializer;
+        private final List<Path> sourceFiles = Lists.mutable.empty();
+        private final Map<Path, String> contentHashes = new HashMap<>();
+        private final List<String> unchangedOutputFiles = Lists.mutable.empty();
+        private int unchangedEntityCount = 0;
+
+        private SourceReserialization(SerializationSpec serializationSpec, EntityReserializer reserializer)
+        {
+            this.serializationSpec = serializationSpec;
+            this.reserializer = reserializer;
+        }
+
+        private int reserialize(Path outputPath, EntityFingerprints fingerprints, ForkJoinPool pool) throws MojoExecutionException
+        {
+            long sourceStart = System.nanoTime();
+            String serializerName = this.serializationSpec.serializer.getName();
+            getLog().info("Reserializing entities from " + this.serializationSpec.directory + " using serializer \"" + serializerName + "\" to " + outputPath);
+            if (this.unchangedEntityCount > 0)
+            {
+                getLog().info(String.format("Skipping %,d unchanged entities from %s", this.unchangedEntityCount, this.serializationSpec.directory));
+            }
+            try
+            {
+                Map<Path, List<String>> entityPathsByFile = this.reserializer.reserializeFiles(this.serializationSpec.directory, this.sourceFiles, outputPath, enforceOneEntityPerFile, pool);
+                List<String> paths = Lists.mutable.empty();
+                entityPathsByFile.forEach((sourceFile, entityPaths) ->
+                {
+                    paths.addAll(entityPaths);
+                    if (fingerprints != null)
+                    {
+                        List<String> outputFiles = Lists.mutable.empty();
+                        entityPaths.forEach(p -> this.reserializer.getTargetFiles(p, outputPath).forEach(f -> outputFiles.add(toOutputFile(outputPath, f))));
+                        fingerprints.addSourceFile(new EntityFingerprints.SourceFile(sourceFile.toString(), this.contentHashes.get(sourceFile), serializerName, entityPaths, outputFiles));
+                    }
+                });
+                long sourceEnd = System.nanoTime();
+                getLog().info(String.format("Finished reserializing %,d entities from %s using serializer \"%s\" to %s (%.9fs)", paths.size(), this.serializationSpec.directory, serializerName, outputPath, nanoDuration(sourceStart, sourceEnd)));
+                if (getLog().isDebugEnabled())
+                {
+                    getLog().debug(Iterate.makeString(paths, "Reserialized: ", ", ", ""));
+                }
+                return paths.size() + this.unchangedEntityCount;
+            }
+            catch (Exception e)
+            {
+                long sourceEnd = System.nanoTime();
+                getLog().info(String.format("Error reserializing entities from %s using serializer \"%s\" to %s (%.9fs)", this.serializationSpec.directory, serializerName, outputPath, nanoDuration(sourceStart, sourceEnd)), e);
+                StringBuilder builder = new StringBuilder("Error reserializing entities from ").append(this.serializationSpec.directory)
+                        .append(" using serializer \"").append(serializerName).append('"')
+                        .append(" to ").append(outputPath);
+                String eMessage = e.getMessage();
+                if (eMessage != null)
+                {
+                    builder.append(": ").append(eMessage);
+                }
+                throw new MojoExecutionException(builder.toString(), e);
+            }
+        }
+    }
+
     private static class SerializationSpec
     {
         private final Path directory;
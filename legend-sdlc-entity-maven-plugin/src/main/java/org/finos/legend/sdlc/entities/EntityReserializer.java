@@ -38,22 +38,32 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 public class EntityReserializer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityReserializer.class);
 
+    private static final int BATCH_SIZE = 1000;
+
     private final EntitySerializer sourceSerializer;
-    private final EntitySerializer targetSerializer;
-    private final String targetFileExtension;
+    private final List<EntitySerializer> targetSerializers;
+    private final List<String> targetFileExtensions;
 
-    private EntityReserializer(EntitySerializer sourceSerializer, EntitySerializer targetSerializer, String targetFileExtension)
+    private EntityReserializer(EntitySerializer sourceSerializer, List<EntitySerializer> targetSerializers, List<String> targetFileExtensions)
     {
         this.sourceSerializer = sourceSerializer;
-        this.targetSerializer = targetSerializer;
-        this.targetFileExtension = (targetFileExtension == null) ? this.targetSerializer.getDefaultFileExtension() : targetFileExtension;
+        this.targetSerializers = targetSerializers;
+        this.targetFileExtensions = targetFileExtensions;
     }
 
     public List<String> reserializeDirectoryTree(Path sourceDirectory, Path targetDirectory) throws IOException
@@ -67,6 +77,24 @@ public class EntityReserializer
     }
 
     public List<String> reserializeDirectoryTree(Path sourceDirectory, Predicate<? super Path> filter, Path targetDirectory, boolean enforceOneEntityPerFile) throws IOException
+    {
+        return reserializeDirectoryTree(sourceDirectory, filter, targetDirectory, enforceOneEntityPerFile, null);
+    }
+
+    /**
+     * Reserialize a source directory tree, optionally in parallel on the given pool. Reserializing in parallel
+     * produces the same output, and reports the same error, as reserializing sequentially: if any source file
+     * cannot be reserialized, the error reported is the one for the first such file.
+     *
+     * @param sourceDirectory         source directory
+     * @param filter                  optional source file filter
+     * @param targetDirectory         target directory
+     * @param enforceOneEntityPerFile whether to enforce one entity per file (at the expected location)
+     * @param pool                    pool to reserialize on (null to reserialize sequentially)
+     * @return reserialized entity paths
+     * @throws IOException if an I/O error occurs
+     */
+    public List<String> reserializeDirectoryTree(Path sourceDirectory, Predicate<? super Path> filter, Path targetDirectory, boolean enforceOneEntityPerFile, ForkJoinPool pool) throws IOException
     {
         if (Files.notExists(sourceDirectory))
         {
@@ -74,9 +102,28 @@ public class EntityReserializer
             return Collections.emptyList();
         }
 
-        Path targetEntitiesDirectory = targetDirectory.resolve("entities");
-
         List<String> entityPaths = Lists.mutable.empty();
+        reserializeFiles(sourceDirectory, findSourceFiles(sourceDirectory, filter), targetDirectory, enforceOneEntityPerFile, pool).values().forEach(entityPaths::addAll);
+        return entityPaths;
+    }
+
+    /**
+     * Find the files in a source directory tree which would be reserialized by
+     * {@link #reserializeDirectoryTree(Path, Predicate, Path, boolean)}, in the order they would be reserialized.
+     *
+     * @param sourceDirectory source directory
+     * @param filter          optional source file filter
+     * @return source files
+     * @throws IOException if an I/O error occurs
+     */
+    public List<Path> findSourceFiles(Path sourceDirectory, Predicate<? super Path> filter) throws IOException
+    {
+        if (Files.notExists(sourceDirectory))
+        {
+            return Collections.emptyList();
+        }
+
+        List<Path> sourceFiles = Lists.mutable.empty();
         Deque<Path> directories = new ArrayDeque<>();
         directories.add(sourceDirectory);
         while (!directories.isEmpty())
@@ -92,13 +139,76 @@ public class EntityReserializer
                     }
                     else if ((filter == null) || filter.test(entry))
                     {
-                        entityPaths.addAll(reserializeFile(sourceDirectory, entry, targetEntitiesDirectory, enforceOneEntityPerFile));
+                        sourceFiles.add(entry);
                     }
                 }
             }
         }
+        return sourceFiles;
+    }
 
-        return entityPaths;
+    /**
+     * Reserialize the given files from a source directory tree. Returns the paths of the entities reserialized from
+     * each source file, in the order of the source files.
+     *
+     * @param sourceDirectory         source directory
+     * @param sourceFiles             source files in the source directory tree
+     * @param targetDirectory         target directory
+     * @param enforceOneEntityPerFile whether to enforce one entity per file (at the expected location)
+     * @return entity paths by source file
+     * @throws IOException if an I/O error occurs
+     */
+    public Map<Path, List<String>> reserializeFiles(Path sourceDirectory, List<? extends Path> sourceFiles, Path targetDirectory, boolean enforceOneEntityPerFile) throws IOException
+    {
+        return reserializeFiles(sourceDirectory, sourceFiles, targetDirectory, enforceOneEntityPerFile, null);
+    }
+
+    /**
+     * Reserialize the given files from a source directory tree, optionally in parallel on the given pool. See
+     * {@link #reserializeFiles(Path, List, Path, boolean)} and
+     * {@link #reserializeDirectoryTree(Path, Predicate, Path, boolean, ForkJoinPool)}.
+     *
+     * @param sourceDirectory         source directory
+     * @param sourceFiles             source files in the source directory tree
+     * @param targetDirectory         target directory
+     * @param enforceOneEntityPerFile whether to enforce one entity per file (at the expected location)
+     * @param pool                    pool to reserialize on (null to reserialize sequentially)
+     * @return entity paths by source file
+     * @throws IOException if an I/O error occurs
+     */
+    public Map<Path, List<String>> reserializeFiles(Path sourceDirectory, List<? extends Path> sourceFiles, Path targetDirectory, boolean enforceOneEntityPerFile, ForkJoinPool pool) throws IOException
+    {
+        Path targetEntitiesDirectory = targetDirectory.resolve("entities");
+        if ((pool != null) && (sourceFiles.size() > 1))
+        {
+            return reserializeFilesInParallel(sourceDirectory, sourceFiles, targetEntitiesDirectory, enforceOneEntityPerFile, pool);
+        }
+
+        Map<Path, List<String>> entityPathsByFile = new LinkedHashMap<>(sourceFiles.size() * 4 / 3 + 1);
+        for (int start = 0; start < sourceFiles.size(); start += BATCH_SIZE)
+        {
+            reserializeBatch(sourceDirectory, sourceFiles.subList(start, Math.min(start + BATCH_SIZE, sourceFiles.size())), targetEntitiesDirectory, enforceOneEntityPerFile, entityPathsByFile);
+        }
+        return entityPathsByFile;
+    }
+
+    /**
+     * Get the files which an entity is written to by this reserializer.
+     *
+     * @param entityPath      entity path
+     * @param targetDirectory target directory
+     * @return target files for the entity
+     */
+    public List<Path> getTargetFiles(String entityPath, Path targetDirectory)
+    {
+        Path targetEntitiesDirectory = targetDirectory.resolve("entities");
+        Entity entity = Entity.newEntity(entityPath, null, Collections.emptyMap());
+        List<Path> targetFiles = Lists.mutable.ofInitialCapacity(this.targetSerializers.size());
+        for (int i = 0; i < this.targetSerializers.size(); i++)
+        {
+            targetFiles.add(this.targetSerializers.get(i).filePathForEntity(entity, targetEntitiesDirectory, this.targetFileExtensions.get(i)));
+        }
+        return targetFiles;
     }
 
     public Predicate<Path> getDefaultExtensionFilter()
@@ -106,7 +216,199 @@ public class EntityReserializer
         return getExtensionFilter(this.sourceSerializer.getDefaultFileExtension());
     }
 
+    private Map<Path, List<String>> reserializeFilesInParallel(Path sourceDirectory, List<? extends Path> sourceFiles, Path targetDirectory, boolean enforceOneEntityPerFile, ForkJoinPool pool) throws IOException
+    {
+        // Deserialize batches of files in parallel, with several batches per thread so that the work is spread evenly
+        int batchSize = Math.max(1, Math.min(BATCH_SIZE, sourceFiles.size() / (pool.getParallelism() * 4)));
+        FileReserialization[] reserializations = new FileReserialization[sourceFiles.size()];
+        runInPool(pool, () -> IntStream.range(0, (sourceFiles.size() + batchSize - 1) / batchSize).parallel().forEach(b ->
+        {
+            int start = b * batchSize;
+            int end = Math.min(start + batchSize, sourceFiles.size());
+            deserializeBatchForParallel(sourceDirectory, sourceFiles.subList(start, end), enforceOneEntityPerFile, reserializations, start);
+        }));
+
+        // Find the first file which cannot be reserialized, checking for duplicate entities in file order (as the
+        // sequential reserialization would find them): nothing after that file is written
+        int end = reserializations.length;
+        Set<String> entityPaths = new HashSet<>();
+        for (int i = 0; i < end; i++)
+        {
+            FileReserialization reserialization = reserializations[i];
+            if (reserialization.error == null)
+            {
+                for (Entity entity : reserialization.entities)
+                {
+                    if (!entityPaths.add(entity.getPath()))
+                    {
+                        Path targetFile = this.targetSerializers.get(0).filePathForEntity(entity, targetDirectory, this.targetFileExtensions.get(0));
+                        FileAlreadyExistsException e = new FileAlreadyExistsException(targetFile.toString());
+                        reserialization.error = new IOException(buildSerializationErrorMessage(entity.getPath(), targetFile, e), e);
+                        break;
+                    }
+                }
+            }
+            if (reserialization.error != null)
+            {
+                end = i;
+            }
+        }
+
+        int writeEnd = end;
+        runInPool(pool, () -> IntStream.range(0, writeEnd).parallel().forEach(i ->
+        {
+            FileReserialization reserialization = reserializations[i];
+            try
+            {
+                reserialization.entityPaths = writeEntities(reserialization.entities, targetDirectory);
+            }
+            catch (Exception e)
+            {
+                reserialization.error = e;
+            }
+        }));
+
+        Map<Path, List<String>> entityPathsByFile = new LinkedHashMap<>(sourceFiles.size() * 4 / 3 + 1);
+        for (FileReserialization reserialization : reserializations)
+        {
+            if (reserialization.error != null)
+            {
+                throwReserializationError(reserialization.error);
+            }
+            entityPathsByFile.put(reserialization.sourceFile, reserialization.entityPaths);
+        }
+        return entityPathsByFile;
+    }
+
+    private void deserializeBatchForParallel(Path sourceDirectory, List<? extends Path> sourceFiles, boolean enforceOneEntityPerFile, FileReserialization[] reserializations, int offset)
+    {
+        Map<Path, List<Entity>> entitiesByFile = null;
+        if (sourceFiles.size() > 1)
+        {
+            try
+            {
+                entitiesByFile = deserializeFiles(sourceDirectory, sourceFiles, enforceOneEntityPerFile);
+            }
+            catch (Exception e)
+            {
+                LOGGER.debug("Error deserializing batch of {} files, falling back to deserializing file by file", sourceFiles.size(), e);
+            }
+        }
+        for (int i = 0; i < sourceFiles.size(); i++)
+        {
+            Path sourceFile = sourceFiles.get(i);
+            FileReserialization reserialization = new FileReserialization(sourceFile);
+            reserialization.entities = (entitiesByFile == null) ? null : entitiesByFile.get(sourceFile);
+            if (reserialization.entities == null)
+            {
+                try
+                {
+                    reserialization.entities = deserializeFile(sourceDirectory, sourceFile, enforceOneEntityPerFile);
+                }
+                catch (Exception e)
+                {
+                    reserialization.error = e;
+                }
+            }
+            reserializations[offset + i] = reserialization;
+        }
+    }
+
+    private static void runInPool(ForkJoinPool pool, Runnable runnable) throws IOException
+    {
+        try
+        {
+            pool.submit(runnable).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reserializing entities", e);
+        }
+        catch (ExecutionException e)
+        {
+            throwReserializationError(e.getCause());
+        }
+    }
+
+    private static void throwReserializationError(Throwable t) throws IOException
+    {
+        if (t instanceof IOException)
+        {
+            throw (IOException) t;
+        }
+        if (t instanceof RuntimeException)
+        {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error)
+        {
+            throw (Error) t;
+        }
+        throw new RuntimeException(t);
+    }
+
+    private void reserializeBatch(Path sourceDirectory, List<? extends Path> sourceFiles, Path targetDirectory, boolean enforceOneEntityPerFile, Map<Path, List<String>> entityPathsByFile) throws IOException
+    {
+        if (sourceFiles.size() == 1)
+        {
+            Path sourceFile = sourceFiles.get(0);
+            entityPathsByFile.put(sourceFile, reserializeFile(sourceDirectory, sourceFile, targetDirectory, enforceOneEntityPerFile));
+            return;
+        }
+
+        // Deserialize the whole batch at once, which some serializers can do much more cheaply than file by file. If
+        // anything goes wrong, fall back to reserializing file by file so that errors are attributed to their file.
+        Map<Path, List<Entity>> entitiesByFile;
+        try
+        {
+            entitiesByFile = deserializeFiles(sourceDirectory, sourceFiles, enforceOneEntityPerFile);
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Error deserializing batch of {} files, falling back to deserializing file by file", sourceFiles.size(), e);
+            entitiesByFile = null;
+        }
+
+        for (Path sourceFile : sourceFiles)
+        {
+            List<Entity> entities = (entitiesByFile == null) ? null : entitiesByFile.get(sourceFile);
+            entityPathsByFile.put(sourceFile, (entities == null) ?
+                    reserializeFile(sourceDirectory, sourceFile, targetDirectory, enforceOneEntityPerFile) :
+                    writeEntities(entities, targetDirectory));
+        }
+    }
+
+    // Entities for each file in the batch; a file is left out if its entities are not where they are expected to be
+    private Map<Path, List<Entity>> deserializeFiles(Path sourceDirectory, List<? extends Path> sourceFiles, boolean enforceOneEntityPerFile) throws IOException
+    {
+        LOGGER.debug("Reading batch of {} files", sourceFiles.size());
+        Map<String, byte[]> contentBySourceId = new LinkedHashMap<>(sourceFiles.size() * 4 / 3 + 1);
+        for (Path sourceFile : sourceFiles)
+        {
+            contentBySourceId.put(sourceFile.toString(), Files.readAllBytes(sourceFile));
+        }
+        Map<String, List<Entity>> entitiesBySourceId = this.sourceSerializer.deserializeBatch(contentBySourceId, enforceOneEntityPerFile);
+
+        Map<Path, List<Entity>> entitiesByFile = new HashMap<>(sourceFiles.size() * 4 / 3 + 1);
+        for (Path sourceFile : sourceFiles)
+        {
+            List<Entity> entities = entitiesBySourceId.get(sourceFile.toString());
+            if ((entities != null) && (!enforceOneEntityPerFile || ((entities.size() == 1) && sourceFile.equals(this.sourceSerializer.filePathForEntity(entities.get(0), sourceDirectory)))))
+            {
+                entitiesByFile.put(sourceFile, entities);
+            }
+        }
+        LOGGER.debug("Finished reading batch of {} files", sourceFiles.size());
+        return entitiesByFile;
+    }
+
     private List<String> reserializeFile(Path sourceDirectory, Path sourceFile, Path targetDirectory, boolean enforceOneEntityPerFile) throws IOException
+    {
+        return writeEntities(deserializeFile(sourceDirectory, sourceFile, enforceOneEntityPerFile), targetDirectory);
+    }
+
+    private List<Entity> deserializeFile(Path sourceDirectory, Path sourceFile, boolean enforceOneEntityPerFile) throws IOException
     {
         LOGGER.debug("Reading {}", sourceFile);
         List<Entity> entities;
@@ -145,50 +447,92 @@ public class EntityReserializer
         }
 
         LOGGER.debug("Finished reading {}", sourceFile);
+        return entities;
+    }
+
+    private List<String> writeEntities(List<Entity> entities, Path targetDirectory) throws IOException
+    {
         List<String> entityPaths = Lists.mutable.empty();
         for (Entity entity : entities)
         {
             String entityPath = entity.getPath();
-            Path targetFile = this.targetSerializer.filePathForEntity(entity, targetDirectory, this.targetFileExtension);
-            LOGGER.debug("Writing {} to {}", entityPath, targetFile);
-            Files.createDirectories(targetFile.getParent());
-            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(targetFile, StandardOpenOption.CREATE_NEW)))
+            for (int i = 0; i < this.targetSerializers.size(); i++)
             {
-                this.targetSerializer.serialize(entity, outputStream);
-            }
-            catch (Exception e)
-            {
-                StringBuilder builder = new StringBuilder("Error serializing entity '").append(entityPath).append("' to ").append(targetFile);
-                if (e instanceof FileAlreadyExistsException)
-                {
-                    builder.append(": target file already exists");
-                }
-                else
-                {
-                    String eMessage = e.getMessage();
-                    if (eMessage != null)
-                    {
-                        builder.append(": ").append(eMessage);
-                    }
-                }
-                String message = builder.toString();
-                LOGGER.debug(message, e);
-                if (e instanceof IOException)
-                {
-                    throw new IOException(message, e);
-                }
-                throw new RuntimeException(message, e);
+                writeEntity(entity, this.targetSerializers.get(i), this.targetFileExtensions.get(i), targetDirectory);
             }
-            LOGGER.debug("Finished writing {} to {}", entityPath, targetFile);
             entityPaths.add(entityPath);
         }
 
         return entityPaths;
     }
 
+    private void writeEntity(Entity entity, EntitySerializer targetSerializer, String targetFileExtension, Path targetDirectory) throws IOException
+    {
+        String entityPath = entity.getPath();
+        Path targetFile = targetSerializer.filePathForEntity(entity, targetDirectory, targetFileExtension);
+        LOGGER.debug("Writing {} to {}", entityPath, targetFile);
+        Files.createDirectories(targetFile.getParent());
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(targetFile, StandardOpenOption.CREATE_NEW)))
+        {
+            targetSerializer.serialize(entity, outputStream);
+        }
+        catch (Exception e)
+        {
+            String message = buildSerializationErrorMessage(entityPath, targetFile, e);
+            LOGGER.debug(message, e);
+            if (e instanceof IOException)
+            {
+                throw new IOException(message, e);
+            }
+            throw new RuntimeException(message, e);
+        }
+        LOGGER.debug("Finished writing {} to {}", entityPath, targetFile);
+    }
+
+    private static String buildSerializationErrorMessage(String entityPath, Path targetFile, Exception e)
+    {
+        StringBuilder builder = new StringBuilder("Error serializing entity '").append(entityPath).append("' to ").append(targetFile);
+        if (e instanceof FileAlreadyExistsException)
+        {
+            builder.append(": target file already exists");
+        }
+        else
+        {
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+        }
+        return builder.toString();
+    }
+
     public static EntityReserializer newReserializer(EntitySerializer sourceSerializer, EntitySerializer targetSerializer, String targetFileExtension)
     {
-        return new EntityReserializer(sourceSerializer, targetSerializer, targetFileExtension);
+        return new EntityReserializer(sourceSerializer, Collections.singletonList(targetSerializer), Collections.singletonList((targetFileExtension == null) ? targetSerializer.getDefaultFileExtension() : targetFileExtension));
+    }
+
+    /**
+     * Create a reserializer which writes each entity once for each of the target serializers, using their default
+     * file extensions. Each source file is only read once, however many targets there are.
+     *
+     * @param sourceSerializer  source serializer
+     * @param targetSerializers target serializers
+     * @return reserializer
+     */
+    public static EntityReserializer newReserializer(EntitySerializer sourceSerializer, List<? extends EntitySerializer> targetSerializers)
+    {
+        if (targetSerializers.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one target serializer is required");
+        }
+        MutableList<EntitySerializer> serializers = Lists.mutable.withAll(targetSerializers);
+        MutableList<String> extensions = serializers.collect(EntitySerializer::getDefaultFileExtension);
+        if (extensions.distinct().size() != extensions.size())
+        {
+            throw new IllegalArgumentException("Target serializers must have distinct default file extensions: " + extensions);
+        }
+        return new EntityReserializer(sourceSerializer, serializers, extensions);
     }
 
     public static EntityReserializer newReserializer(EntitySerializer sourceSerializer, EntitySerializer targetSerializer)
@@ -265,4 +609,17 @@ public class EntityReserializer
         }
         return extension;
     }
+
+    private static class FileReserialization
+    {
+        private final Path sourceFile;
+        private List<Entity> entities;
+        private List<String> entityPaths;
+        private Exception error;
+
+        private FileReserialization(Path sourceFile)
+        {
+            this.sourceFile = sourceFile;
+        }
+    }
 }
@@ -14,12 +14,18 @@
 
 package org.finos.legend.sdlc.entities;
 
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.testing.MojoRule;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntityIndex;
+import org.finos.legend.sdlc.serialization.EntitySerializer;
+import org.finos.legend.sdlc.serialization.EntitySerializers;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -28,11 +34,16 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class TestEntityMojo
 {
@@ -72,7 +83,7 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("simple-json-model"));
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
@@ -149,12 +160,124 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(simpleJsonModelDir);
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
     }
 
+    @Test
+    public void testBinaryOutput() throws Exception
+    {
+        File projectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/binary-output.xml", projectDir);
+        MavenProject mavenProject = this.mojoRule.readMavenProject(projectDir);
+        Path outputDir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+        Path srcMain = projectDir.toPath().resolve("src").resolve("main");
+
+        Path simpleJsonModelDir = TestHelper.getPathFromResource("simple-json-model");
+        TestHelper.copyDirectoryTree(simpleJsonModelDir.resolve("entities"), Files.createDirectories(srcMain.resolve("legend")));
+        TestHelper.assertDirectoryEmptyOrNonExistent(outputDir);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+
+        // both forms are written, and the loaded entities are the same
+        Map<String, Entity> expectedEntities = TestHelper.loadEntities(simpleJsonModelDir);
+        String separator = outputDir.getFileSystem().getSeparator();
+        MutableSet<Path> expectedFilePaths = getIndexFilePaths(outputDir);
+        expectedEntities.keySet().forEach(p ->
+        {
+            String filePathWithoutExtension = "entities" + separator + p.replace(EntityPaths.PACKAGE_SEPARATOR, separator);
+            expectedFilePaths.add(Paths.get(filePathWithoutExtension + ".json"));
+            expectedFilePaths.add(Paths.get(filePathWithoutExtension + ".lbin"));
+        });
+        TestHelper.assertDirectoryTreeFilePaths(expectedFilePaths, outputDir);
+        Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
+        TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
+    }
+
+    @Test
+    public void testIncrementalReserialization() throws Exception
+    {
+        File projectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/legend-source-directory.xml", projectDir);
+        MavenProject mavenProject = this.mojoRule.readMavenProject(projectDir);
+        Path outputDir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+        Path sourceDir = projectDir.toPath().resolve(Paths.get("src", "main", "legend"));
+
+        TestHelper.copyResourceDirectoryTree("simple-json-model/entities", Files.createDirectories(sourceDir));
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Map<Path, String> firstBuild = readDirectoryTree(outputDir);
+        Assert.assertTrue(Files.isRegularFile(new File(mavenProject.getBuild().getDirectory()).toPath().resolve(Paths.get("legend-entities", "fingerprints-default.json"))));
+
+        // nothing changed
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Assert.assertEquals(firstBuild, readDirectoryTree(outputDir));
+
+        // one source changed, one removed (leaving an empty package), and one added
+        EntitySerializer jsonSerializer = EntitySerializers.getDefaultJsonSerializer();
+        Path firmFile = sourceDir.resolve(Paths.get("model", "domain", "classes", "Firm.json"));
+        Entity firm = jsonSerializer.deserialize(Files.readAllBytes(firmFile));
+        Map<String, Object> changedContent = new LinkedHashMap<>(firm.getContent());
+        changedContent.put("stereotypes", Collections.emptyList());
+        jsonSerializer.serializeToFile(Entity.newEntity(firm.getPath(), firm.getClassifierPath(), changedContent), sourceDir, StandardOpenOption.TRUNCATE_EXISTING);
+        Files.delete(sourceDir.resolve(Paths.get("model", "domain", "associations", "Employment.json")));
+        Map<String, Object> newContent = new LinkedHashMap<>(firm.getContent());
+        newContent.put("name", "Firm2");
+        jsonSerializer.serializeToFile(Entity.newEntity("model::domain::classes::Firm2", firm.getClassifierPath(), newContent), sourceDir);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Map<Path, String> incrementalBuild = readDirectoryTree(outputDir);
+        Assert.assertNotEquals(firstBuild, incrementalBuild);
+
+        // the outputs are the same as for a clean build
+        File cleanProjectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/legend-source-directory.xml", cleanProjectDir);
+        TestHelper.copyDirectoryTree(sourceDir, Files.createDirectories(cleanProjectDir.toPath().resolve(Paths.get("src", "main", "legend"))));
+        this.mojoRule.executeMojo(cleanProjectDir, GOAL);
+        Path cleanOutputDir = new File(this.mojoRule.readMavenProject(cleanProjectDir).getBuild().getOutputDirectory()).toPath();
+        Assert.assertEquals(readDirectoryTree(cleanOutputDir), incrementalBuild);
+        Assert.assertTrue(Files.notExists(outputDir.resolve(Paths.get("entities", "model", "domain", "associations"))));
+    }
+
+    @Test
+    public void testReserializationWhenImplementationChanges() throws Exception
+    {
+        File projectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/legend-source-directory.xml", projectDir);
+        MavenProject mavenProject = this.mojoRule.readMavenProject(projectDir);
+        Path outputDir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+        Path fingerprintsFile = new File(mavenProject.getBuild().getDirectory()).toPath().resolve(Paths.get("legend-entities", "fingerprints-default.json"));
+        TestHelper.copyResourceDirectoryTree("simple-json-model/entities", Files.createDirectories(projectDir.toPath().resolve(Paths.get("src", "main", "legend"))));
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Map<Path, String> firstBuild = readDirectoryTree(outputDir);
+        Path firmOutput = outputDir.resolve(Paths.get("entities", "model", "domain", "classes", "Firm.json"));
+        String tampered = new String(Files.readAllBytes(firmOutput), StandardCharsets.UTF_8) + "\n\n";
+
+        // the outputs of unchanged sources are reused
+        Files.write(firmOutput, tampered.getBytes(StandardCharsets.UTF_8));
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Assert.assertEquals(tampered, new String(Files.readAllBytes(firmOutput), StandardCharsets.UTF_8));
+        // as are their index entries, without rereading the outputs
+        Assert.assertEquals(firstBuild.get(Paths.get(EntityIndex.INDEX_FILE_NAME)), new String(Files.readAllBytes(outputDir.resolve(EntityIndex.INDEX_FILE_NAME)), StandardCharsets.UTF_8));
+
+        // unless a serializer implementation changed
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        ObjectNode fingerprints = (ObjectNode) jsonMapper.readTree(fingerprintsFile.toFile());
+        ObjectNode serializerVersions = (ObjectNode) fingerprints.get("serializerVersions");
+        Assert.assertTrue(serializerVersions.size() > 0);
+        serializerVersions.fieldNames().forEachRemaining(name -> serializerVersions.put(name, "changed"));
+        jsonMapper.writeValue(fingerprintsFile.toFile(), fingerprints);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Assert.assertEquals(firstBuild, readDirectoryTree(outputDir));
+
+        // or the plugin version changed
+        Files.write(firmOutput, tampered.getBytes(StandardCharsets.UTF_8));
+        fingerprints = (ObjectNode) jsonMapper.readTree(fingerprintsFile.toFile());
+        fingerprints.put("pluginVersion", "0.0.0-changed");
+        jsonMapper.writeValue(fingerprintsFile.toFile(), fingerprints);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        Assert.assertEquals(firstBuild, readDirectoryTree(outputDir));
+    }
+
     @Test
     public void testPureSource() throws Exception
     {
@@ -182,7 +305,28 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("simple-json-model"));
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
+                outputDir);
+        Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
+        TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
+    }
+
+    @Test
+    public void testParallelPureSource() throws Exception
+    {
+        File projectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/parallel-pure-source-directory.xml", projectDir);
+        MavenProject mavenProject = this.mojoRule.readMavenProject(projectDir);
+        Path outputDir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+        Path srcMain = projectDir.toPath().resolve("src").resolve("main");
+
+        TestHelper.copyResourceDirectoryTree("simple-pure-model", Files.createDirectories(srcMain.resolve("pure")));
+        TestHelper.assertDirectoryEmptyOrNonExistent(outputDir);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+
+        Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("simple-json-model"));
+        TestHelper.assertDirectoryTreeFilePaths(
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
@@ -203,7 +347,7 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("single-file-json-model"));
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
@@ -241,7 +385,7 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("simple-json-model"));
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
@@ -263,7 +407,7 @@ public class TestEntityMojo
 
         Map<String, Entity> expectedEntities = TestHelper.loadEntities(TestHelper.getPathFromResource("simple-json-model"));
         TestHelper.assertDirectoryTreeFilePaths(
-                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), getIndexFilePaths(outputDir)),
                 outputDir);
         Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
@@ -287,6 +431,27 @@ public class TestEntityMojo
         Assert.assertEquals(expectedMessage, e.getMessage());
     }
 
+    private static MutableSet<Path> getIndexFilePaths(Path outputDir) throws IOException
+    {
+        EntityIndex index = EntityIndex.readFromDirectory(outputDir);
+        Assert.assertNotNull(index);
+        Assert.assertTrue(index.isOnlyIndexInDirectory(outputDir));
+        return Sets.mutable.with(Paths.get(EntityIndex.INDEX_FILE_NAME), Paths.get(index.getMarkerFileName()));
+    }
+
+    private static Map<Path, String> readDirectoryTree(Path directory) throws IOException
+    {
+        Map<Path, String> contentByRelativePath = new HashMap<>();
+        try (Stream<Path> stream = Files.walk(directory))
+        {
+            for (Path path : (Iterable<Path>) stream::iterator)
+            {
+                contentByRelativePath.put(directory.relativize(path), Files.isDirectory(path) ? "<dir>" : new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return contentByRelativePath;
+    }
+
     private void copyPomFromResource(String resourceName, File targetDir) throws IOException
     {
         copyPomFromResource(resourceName, targetDir.toPath());
@@ -26,12 +26,14 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 public class TestEntityReserializer
@@ -94,6 +96,67 @@ public class TestEntityReserializer
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
     }
 
+    @Test
+    public void testPureDomainDirectoryInParallel() throws IOException
+    {
+        EntityReserializer reserializer = EntityReserializer.newReserializer(new PureEntitySerializer(), EntitySerializers.getDefaultJsonSerializer());
+        Path sourceDir = TestHelper.getPathFromResource("simple-pure-model");
+        Path sequentialTargetDir = this.tempFolder.getRoot().toPath().resolve("sequential");
+        Path parallelTargetDir = this.tempFolder.getRoot().toPath().resolve("parallel");
+
+        List<String> expectedPaths = reserializer.reserializeDirectoryTree(sourceDir, sequentialTargetDir);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            List<String> paths = reserializer.reserializeDirectoryTree(sourceDir, null, parallelTargetDir, true, pool);
+            Assert.assertEquals(expectedPaths, paths);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        for (String entityPath : expectedPaths)
+        {
+            Path relativePath = Paths.get("entities", entityPath.replace(EntityPaths.PACKAGE_SEPARATOR, sourceDir.getFileSystem().getSeparator()) + ".json");
+            Assert.assertArrayEquals(entityPath, Files.readAllBytes(sequentialTargetDir.resolve(relativePath)), Files.readAllBytes(parallelTargetDir.resolve(relativePath)));
+        }
+    }
+
+    @Test
+    public void testDuplicateEntityInParallel() throws IOException
+    {
+        EntityReserializer reserializer = EntityReserializer.newReserializer(new PureEntitySerializer(), EntitySerializers.getDefaultJsonSerializer());
+        Path sourceDir = this.tempFolder.newFolder("source").toPath();
+        TestHelper.copyResourceDirectoryTree("simple-pure-model", sourceDir);
+        Path enumsDir = sourceDir.resolve(Paths.get("model", "domain", "enums"));
+        for (int i = 0; i < 10; i++)
+        {
+            Files.copy(enumsDir.resolve("AddressType.pure"), enumsDir.resolve("AddressType" + i + ".pure"));
+        }
+
+        Files.write(enumsDir.resolve("Bad.pure"), "Enum model::domain::enums::Bad {".getBytes(StandardCharsets.UTF_8));
+
+        // the error is the one reserializing sequentially finds first, however the work is scheduled
+        Path sequentialTargetDir = this.tempFolder.newFolder().toPath();
+        Exception expected = Assert.assertThrows(Exception.class, () -> reserializer.reserializeDirectoryTree(sourceDir, null, sequentialTargetDir, false));
+        String expectedMessage = expected.getMessage().replace(sequentialTargetDir.toString(), "<target>");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                Path targetDir = this.tempFolder.newFolder().toPath();
+                Exception e = Assert.assertThrows(Exception.class, () -> reserializer.reserializeDirectoryTree(sourceDir, null, targetDir, false, pool));
+                Assert.assertSame(expected.getClass(), e.getClass());
+                Assert.assertEquals(expectedMessage, e.getMessage().replace(targetDir.toString(), "<target>"));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testTargetFileAlreadyExists() throws IOException
     {
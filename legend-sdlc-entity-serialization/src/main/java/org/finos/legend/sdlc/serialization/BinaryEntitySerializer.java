@@ -0,0 +1,596 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary serialization of entities, for entity files which are only ever read by machines (such as those
+ * packaged in jars). It is smaller than the pretty-printed JSON serialization and cheaper to read: values are tagged,
+ * lengths and integers are variable-length encoded, and repeated strings (such as property names) are written once
+ * and then referred to by index. The entity path and classifier path are written ahead of the content, so the header
+ * can be read without reading the content.
+ * <p>
+ * Content is read back with the same value types as the JSON serialization: integers as Integer, Long, or BigInteger
+ * depending on their size, other numbers as Double, and collections as (mutable) maps and lists. The exception is
+ * BigDecimal, which is written and read back exactly rather than being rounded to a Double.
+ * <p>
+ * Every length and count read from the input is checked against the input remaining before anything is allocated for
+ * it, so corrupt or truncated input fails with a {@link StreamCorruptedException} rather than exhausting memory.
+ */
+public class BinaryEntitySerializer implements EntitySerializer
+{
+    private static final byte[] MAGIC = {'L', 'E', 'B'};
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte BIG_INTEGER = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte STRING = 7;
+    private static final byte STRING_REF = 8;
+    private static final byte MAP = 9;
+    private static final byte LIST = 10;
+    private static final byte BIG_DECIMAL = 11;
+
+    public BinaryEntitySerializer()
+    {
+    }
+
+    @Override
+    public String getName()
+    {
+        return "legend-binary";
+    }
+
+    @Override
+    public String getDefaultFileExtension()
+    {
+        return "lbin";
+    }
+
+    // Serialization
+
+    @Override
+    public boolean canSerialize(Entity entity)
+    {
+        return (entity.getPath() != null) && (entity.getContent() != null) && canSerializeValue(entity.getContent());
+    }
+
+    @Override
+    public void serialize(Entity entity, OutputStream stream) throws IOException
+    {
+        stream.write(serializeToBytes(entity));
+    }
+
+    @Override
+    public byte[] serializeToBytes(Entity entity)
+    {
+        if (entity.getContent() == null)
+        {
+            throw new IllegalArgumentException("Cannot serialize entity " + entity.getPath() + ": no content");
+        }
+        Writer writer = new Writer();
+        writer.writeBytes(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeValue(entity.getClassifierPath());
+        writer.writeValue(entity.getPath());
+        writer.writeValue(entity.getContent());
+        return writer.toByteArray();
+    }
+
+    // Deserialization
+
+    @Override
+    public Entity deserialize(InputStream stream) throws IOException
+    {
+        return deserialize(readAllBytes(stream));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Entity deserialize(byte[] content) throws IOException
+    {
+        Reader reader = new Reader(content);
+        reader.readHeader();
+        String classifierPath = reader.readString();
+        String path = reader.readString();
+        Object entityContent = reader.readValue();
+        if (!(entityContent instanceof Map))
+        {
+            throw new StreamCorruptedException("Invalid entity content for " + path);
+        }
+        reader.checkFinished();
+        return Entity.newEntity(path, classifierPath, (Map<String, ?>) entityContent);
+    }
+
+    // Header scanning
+
+    @Override
+    public EntityHeader scanHeader(InputStream stream) throws IOException
+    {
+        return scanHeader(readAllBytes(stream));
+    }
+
+    @Override
+    public EntityHeader scanHeader(byte[] content) throws IOException
+    {
+        Reader reader = new Reader(content);
+        reader.readHeader();
+        String classifierPath = reader.readString();
+        return EntityHeader.newEntityHeader(reader.readString(), classifierPath);
+    }
+
+    // Helpers
+
+    private static boolean canSerializeValue(Object value)
+    {
+        if ((value == null) || (value instanceof String) || (value instanceof Boolean) || (value instanceof Number) || (value instanceof Character))
+        {
+            return true;
+        }
+        if (value instanceof Map)
+        {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+            {
+                if (!(entry.getKey() instanceof String) || !canSerializeValue(entry.getValue()))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Collection)
+        {
+            for (Object element : (Collection<?>) value)
+            {
+                if (!canSerializeValue(element))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] readAllBytes(InputStream stream) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1)
+        {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class Writer
+    {
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private byte[] buffer = new byte[4096];
+        private int size = 0;
+
+        private void writeValue(Object value)
+        {
+            if (value == null)
+            {
+                writeByte(NULL);
+            }
+            else if (value instanceof String)
+            {
+                writeString((String) value);
+            }
+            else if (value instanceof Boolean)
+            {
+                writeByte((Boolean) value ? TRUE : FALSE);
+            }
+            else if (value instanceof Number)
+            {
+                writeNumber((Number) value);
+            }
+            else if (value instanceof Character)
+            {
+                writeString(value.toString());
+            }
+            else if (value instanceof Map)
+            {
+                Map<?, ?> map = (Map<?, ?>) value;
+                writeByte(MAP);
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet())
+                {
+                    Object key = entry.getKey();
+                    if (!(key instanceof String))
+                    {
+                        throw new IllegalArgumentException("Cannot serialize map key of type " + ((key == null) ? null : key.getClass().getName()));
+                    }
+                    writeString((String) key);
+                    writeValue(entry.getValue());
+                }
+            }
+            else if (value instanceof Collection)
+            {
+                Collection<?> collection = (Collection<?>) value;
+                writeByte(LIST);
+                writeVarInt(collection.size());
+                collection.forEach(this::writeValue);
+            }
+            else
+            {
+                throw new IllegalArgumentException("Cannot serialize value of type " + value.getClass().getName());
+            }
+        }
+
+        private void writeNumber(Number number)
+        {
+            if ((number instanceof Integer) || (number instanceof Long) || (number instanceof Short) || (number instanceof Byte))
+            {
+                writeIntegral(number.longValue());
+            }
+            else if (number instanceof BigInteger)
+            {
+                BigInteger bigInteger = (BigInteger) number;
+                if (bigInteger.bitLength() < 64)
+                {
+                    writeIntegral(bigInteger.longValue());
+                }
+                else
+                {
+                    byte[] bytes = bigInteger.toByteArray();
+                    writeByte(BIG_INTEGER);
+                    writeVarInt(bytes.length);
+                    writeBytes(bytes);
+                }
+            }
+            else if (number instanceof BigDecimal)
+            {
+                BigDecimal bigDecimal = (BigDecimal) number;
+                byte[] bytes = bigDecimal.unscaledValue().toByteArray();
+                writeByte(BIG_DECIMAL);
+                writeVarInt(bytes.length);
+                writeBytes(bytes);
+                long scale = bigDecimal.scale();
+                writeVarLong((scale << 1) ^ (scale >> 63));
+            }
+            else
+            {
+                // as with JSON, all other numbers are read back as doubles; a float is converted via its decimal
+                // representation, as JSON would write it, rather than widened
+                writeByte(DOUBLE);
+                double value = (number instanceof Float) ? Double.parseDouble(number.toString()) : number.doubleValue();
+                long bits = Double.doubleToRawLongBits(value);
+                for (int shift = 56; shift >= 0; shift -= 8)
+                {
+                    writeByte((byte) (bits >>> shift));
+                }
+            }
+        }
+
+        private void writeIntegral(long value)
+        {
+            if ((Integer.MIN_VALUE <= value) && (value <= Integer.MAX_VALUE))
+            {
+                writeByte(INT);
+            }
+            else
+            {
+                writeByte(LONG);
+            }
+            // zig-zag encoding, so that small negative numbers are also small
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeString(String string)
+        {
+            Integer index = this.stringIndexes.get(string);
+            if (index != null)
+            {
+                writeByte(STRING_REF);
+                writeVarInt(index);
+                return;
+            }
+            this.stringIndexes.put(string, this.stringIndexes.size());
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeByte(STRING);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeVarInt(int value)
+        {
+            writeVarLong(value & 0xFFFF_FFFFL);
+        }
+
+        private void writeVarLong(long value)
+        {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0L)
+            {
+                writeByte((byte) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            writeByte((byte) remaining);
+        }
+
+        private void writeByte(byte b)
+        {
+            ensureCapacity(1);
+            this.buffer[this.size++] = b;
+        }
+
+        private void writeBytes(byte[] bytes)
+        {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+            this.size += bytes.length;
+        }
+
+        private void ensureCapacity(int additional)
+        {
+            int required = this.size + additional;
+            if (required > this.buffer.length)
+            {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length * 2));
+            }
+        }
+
+        private byte[] toByteArray()
+        {
+            return Arrays.copyOf(this.buffer, this.size);
+        }
+    }
+
+    private static class Reader
+    {
+        private final byte[] bytes;
+        private final List<String> strings = new ArrayList<>();
+        private int position = 0;
+
+        private Reader(byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        private void readHeader() throws IOException
+        {
+            for (byte b : MAGIC)
+            {
+                if (readByte() != b)
+                {
+                    throw new StreamCorruptedException("Not a binary entity");
+                }
+            }
+            byte version = readByte();
+            if (version != VERSION)
+            {
+                throw new StreamCorruptedException("Unsupported binary entity version: " + version);
+            }
+        }
+
+        private String readString() throws IOException
+        {
+            Object value = readValue();
+            if ((value != null) && !(value instanceof String))
+            {
+                throw new StreamCorruptedException("Expected a string at position " + this.position);
+            }
+            return (String) value;
+        }
+
+        private Object readValue() throws IOException
+        {
+            byte tag = readByte();
+            switch (tag)
+            {
+                case NULL:
+                {
+                    return null;
+                }
+                case FALSE:
+                {
+                    return Boolean.FALSE;
+                }
+                case TRUE:
+                {
+                    return Boolean.TRUE;
+                }
+                case INT:
+                {
+                    long value = readZigZag();
+                    return (int) value;
+                }
+                case LONG:
+                {
+                    return readZigZag();
+                }
+                case BIG_INTEGER:
+                {
+                    int length = readLength();
+                    if (length == 0)
+                    {
+                        throw new StreamCorruptedException("Invalid big integer length at position " + this.position);
+                    }
+                    BigInteger value = new BigInteger(Arrays.copyOfRange(this.bytes, this.position, this.position + length));
+                    this.position += length;
+                    return value;
+                }
+                case BIG_DECIMAL:
+                {
+                    int length = readLength();
+                    if (length == 0)
+                    {
+                        throw new StreamCorruptedException("Invalid big decimal length at position " + this.position);
+                    }
+                    BigInteger unscaled = new BigInteger(Arrays.copyOfRange(this.bytes, this.position, this.position + length));
+                    this.position += length;
+                    long scale = readZigZag();
+                    if ((scale < Integer.MIN_VALUE) || (scale > Integer.MAX_VALUE))
+                    {
+                        throw new StreamCorruptedException("Invalid big decimal scale at position " + this.position);
+                    }
+                    return new BigDecimal(unscaled, (int) scale);
+                }
+                case DOUBLE:
+                {
+                    long bits = 0L;
+                    for (int i = 0; i < 8; i++)
+                    {
+                        bits = (bits << 8) | (readByte() & 0xFF);
+                    }
+                    return Double.longBitsToDouble(bits);
+                }
+                case STRING:
+                {
+                    int length = readLength();
+                    String value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+                    this.position += length;
+                    this.strings.add(value);
+                    return value;
+                }
+                case STRING_REF:
+                {
+                    int index = readVarInt();
+                    if (index >= this.strings.size())
+                    {
+                        throw new StreamCorruptedException("Invalid string reference: " + index);
+                    }
+                    return this.strings.get(index);
+                }
+                case MAP:
+                {
+                    // each entry takes at least two bytes: a key and a value
+                    int size = readCount(2);
+                    Map<String, Object> map = new LinkedHashMap<>(Math.max(2, (int) (size / 0.75f) + 1));
+                    for (int i = 0; i < size; i++)
+                    {
+                        String key = readString();
+                        if (key == null)
+                        {
+                            throw new StreamCorruptedException("Invalid null map key at position " + this.position);
+                        }
+                        map.put(key, readValue());
+                    }
+                    return map;
+                }
+                case LIST:
+                {
+                    // each element takes at least one byte
+                    int size = readCount(1);
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++)
+                    {
+                        list.add(readValue());
+                    }
+                    return list;
+                }
+                default:
+                {
+                    throw new StreamCorruptedException("Invalid value tag " + tag + " at position " + (this.position - 1));
+                }
+            }
+        }
+
+        private long readZigZag() throws IOException
+        {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1L);
+        }
+
+        private int readLength() throws IOException
+        {
+            int length = readVarInt();
+            checkRemaining(length, "length");
+            return length;
+        }
+
+        private int readCount(int minBytesPerItem) throws IOException
+        {
+            int count = readVarInt();
+            checkRemaining((long) count * minBytesPerItem, "count");
+            return count;
+        }
+
+        private void checkRemaining(long required, String description) throws StreamCorruptedException
+        {
+            if (required > (this.bytes.length - this.position))
+            {
+                throw new StreamCorruptedException("Invalid " + description + " at position " + this.position + ": requires " + required + " bytes, but only " + (this.bytes.length - this.position) + " remain");
+            }
+        }
+
+        private void checkFinished() throws StreamCorruptedException
+        {
+            if (this.position != this.bytes.length)
+            {
+                throw new StreamCorruptedException("Unexpected data at position " + this.position);
+            }
+        }
+
+        private int readVarInt() throws IOException
+        {
+            long value = readVarLong();
+            if ((value < 0L) || (value > Integer.MAX_VALUE))
+            {
+                throw new StreamCorruptedException("Invalid size: " + value);
+            }
+            return (int) value;
+        }
+
+        private long readVarLong() throws IOException
+        {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7)
+            {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Invalid variable-length integer");
+        }
+
+        private byte readByte() throws IOException
+        {
+            if (this.position >= this.bytes.length)
+            {
+                throw new StreamCorruptedException("Unexpected end of input at position " + this.position);
+            }
+            return this.bytes[this.position++];
+        }
+    }
+}
@@ -16,9 +16,11 @@ package org.finos.legend.sdlc.serialization;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.StreamWriteFeature;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -30,6 +32,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class DefaultJsonEntitySerializer implements EntityTextSerializer
@@ -41,7 +47,6 @@ public class DefaultJsonEntitySerializer implements EntityTextSerializer
             .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
             .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
             .build();
-    private static final JavaType ENTITY_FILE_TYPE = JSON_MAPPER.getTypeFactory().constructType(EntityFile.class);
 
     public DefaultJsonEntitySerializer()
     {
@@ -96,57 +101,285 @@ public class DefaultJsonEntitySerializer implements EntityTextSerializer
     @Override
     public Entity deserialize(InputStream stream) throws IOException
     {
-        return toEntity(JSON_MAPPER.readValue(stream, ENTITY_FILE_TYPE));
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(stream))
+        {
+            return deserialize(parser);
+        }
     }
 
     @Override
     public Entity deserialize(Reader reader) throws IOException
     {
-        return toEntity(JSON_MAPPER.readValue(reader, ENTITY_FILE_TYPE));
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(reader))
+        {
+            return deserialize(parser);
+        }
     }
 
     @Override
     public Entity deserialize(byte[] content) throws IOException
     {
-        return toEntity(JSON_MAPPER.readValue(content, ENTITY_FILE_TYPE));
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(content))
+        {
+            return deserialize(parser);
+        }
     }
 
     @Override
     public Entity deserialize(String content) throws IOException
     {
-        return toEntity(JSON_MAPPER.readValue(content, ENTITY_FILE_TYPE));
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(content))
+        {
+            return deserialize(parser);
+        }
     }
 
-    // Helpers
+    @Override
+    public JsonParser newContentParser(byte[] content) throws IOException
+    {
+        JsonParser parser = JSON_MAPPER.getFactory().createParser(content);
+        try
+        {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                throw new JsonParseException(parser, "Expected an entity object, found: " + parser.currentToken());
+            }
+            for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName())
+            {
+                JsonToken token = parser.nextToken();
+                switch (field)
+                {
+                    case "classifierPath":
+                    {
+                        readClassifierPath(parser, token);
+                        break;
+                    }
+                    case "content":
+                    {
+                        if (token != JsonToken.START_OBJECT)
+                        {
+                            throw new JsonParseException(parser, "Expected an object for content, found: " + token);
+                        }
+                        return parser;
+                    }
+                    default:
+                    {
+                        throw new JsonParseException(parser, "Unrecognized field \"" + field + "\"");
+                    }
+                }
+            }
+            throw new JsonParseException(parser, "No content found");
+        }
+        catch (IOException | RuntimeException e)
+        {
+            parser.close();
+            throw e;
+        }
+    }
 
-    private static EntityFile toEntityFile(Entity entity)
+    // Header scanning
+
+    @Override
+    public EntityHeader scanHeader(InputStream stream) throws IOException
     {
-        return EntityFile.newEntityFile(entity.getClassifierPath(), entity.getContent());
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(stream))
+        {
+            return scanHeader(parser);
+        }
     }
 
-    private static Entity toEntity(EntityFile entityFile)
+    @Override
+    public EntityHeader scanHeader(byte[] content) throws IOException
     {
-        return Entity.newEntity(computeEntityPath(entityFile), entityFile.classifierPath, entityFile.content);
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(content))
+        {
+            return scanHeader(parser);
+        }
     }
 
-    private static String computeEntityPath(EntityFile entityFile)
+    /**
+     * Scan the classifier path, package, and name of an entity, skipping everything else. Scanning stops as soon as
+     * all three have been found, so the rest of the entity is neither read nor validated.
+     */
+    static EntityHeader scanHeader(JsonParser parser) throws IOException
     {
-        Map<String, ?> content = entityFile.content;
-        if (content != null)
+        if (parser.nextToken() != JsonToken.START_OBJECT)
         {
-            Object name = content.get("name");
-            if (name instanceof String)
+            throw new JsonParseException(parser, "Expected an entity object, found: " + parser.currentToken());
+        }
+
+        String classifierPath = null;
+        boolean foundClassifierPath = false;
+        Object name = null;
+        Object pkg = null;
+        boolean foundContent = false;
+        boolean foundName = false;
+        boolean foundPackage = false;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName())
+        {
+            JsonToken token = parser.nextToken();
+            switch (field)
             {
-                Object pkg = content.get("package");
-                if (pkg == null)
+                case "classifierPath":
+                {
+                    classifierPath = readClassifierPath(parser, token);
+                    foundClassifierPath = true;
+                    break;
+                }
+                case "content":
                 {
-                    return (String) name;
+                    if (token != JsonToken.START_OBJECT)
+                    {
+                        throw new JsonParseException(parser, "Expected an object for content, found: " + token);
+                    }
+                    foundContent = true;
+                    for (String key = parser.nextFieldName(); key != null; key = parser.nextFieldName())
+                    {
+                        JsonToken valueToken = parser.nextToken();
+                        if ("name".equals(key) || "package".equals(key))
+                        {
+                            Object value = (valueToken == JsonToken.VALUE_STRING) ? parser.getText() : ((valueToken == JsonToken.VALUE_NULL) ? null : valueToken);
+                            if ("name".equals(key))
+                            {
+                                name = value;
+                                foundName = true;
+                            }
+                            else
+                            {
+                                pkg = value;
+                                foundPackage = true;
+                            }
+                            if (foundClassifierPath && foundName && foundPackage)
+                            {
+                                return EntityHeader.newEntityHeader(computeEntityPath(name, pkg), classifierPath);
+                            }
+                        }
+                        parser.skipChildren();
+                    }
+                    break;
                 }
-                if (pkg instanceof String)
+                default:
                 {
-                    return pkg + EntityPaths.PACKAGE_SEPARATOR + name;
+                    throw new JsonParseException(parser, "Unrecognized field \"" + field + "\"");
                 }
             }
+            if (foundClassifierPath && foundName && foundPackage)
+            {
+                break;
+            }
+        }
+        if (!foundContent)
+        {
+            throw new RuntimeException("Could not compute entity path");
+        }
+        return EntityHeader.newEntityHeader(computeEntityPath(name, pkg), classifierPath);
+    }
+
+    /**
+     * Deserialize an entity in a single streaming pass over the parser. This avoids binding an intermediate
+     * {@link EntityFile} and then walking its content again to find the package and name, which are picked up as the
+     * top level of the content is read.
+     */
+    static Entity deserialize(JsonParser parser) throws IOException
+    {
+        if (parser.nextToken() != JsonToken.START_OBJECT)
+        {
+            throw new JsonParseException(parser, "Expected an entity object, found: " + parser.currentToken());
+        }
+
+        String classifierPath = null;
+        ContentReader contentReader = null;
+        Map<String, Object> content = null;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName())
+        {
+            JsonToken token = parser.nextToken();
+            switch (field)
+            {
+                case "classifierPath":
+                {
+                    classifierPath = readClassifierPath(parser, token);
+                    break;
+                }
+                case "content":
+                {
+                    if (token == JsonToken.VALUE_NULL)
+                    {
+                        content = null;
+                    }
+                    else if (token == JsonToken.START_OBJECT)
+                    {
+                        contentReader = new ContentReader(parser);
+                        content = contentReader.readContent();
+                    }
+                    else
+                    {
+                        throw new JsonParseException(parser, "Expected an object for content, found: " + token);
+                    }
+                    break;
+                }
+                default:
+                {
+                    throw new JsonParseException(parser, "Unrecognized field \"" + field + "\"");
+                }
+            }
+        }
+        if (content == null)
+        {
+            throw new RuntimeException("Could not compute entity path");
+        }
+        return Entity.newEntity(computeEntityPath(contentReader.name, contentReader.pkg), classifierPath, content);
+    }
+
+    // Helpers
+
+    /**
+     * Read the classifier path. As with data binding to a string, other scalar values (numbers and booleans) are
+     * coerced to their text, while objects and arrays are rejected.
+     */
+    private static String readClassifierPath(JsonParser parser, JsonToken token) throws IOException
+    {
+        if (token == null)
+        {
+            throw new JsonParseException(parser, "Unexpected end of input");
+        }
+        switch (token)
+        {
+            case VALUE_NULL:
+            {
+                return null;
+            }
+            case VALUE_STRING:
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            {
+                return parser.getText();
+            }
+            default:
+            {
+                throw new JsonParseException(parser, "Expected a string for classifierPath, found: " + token);
+            }
+        }
+    }
+
+    private static EntityFile toEntityFile(Entity entity)
+    {
+        return EntityFile.newEntityFile(entity.getClassifierPath(), entity.getContent());
+    }
+
+    private static String computeEntityPath(Object name, Object pkg)
+    {
+        if (name instanceof String)
+        {
+            if (pkg == null)
+            {
+                return (String) name;
+            }
+            if (pkg instanceof String)
+            {
+                return pkg + EntityPaths.PACKAGE_SEPARATOR + name;
+            }
         }
         throw new RuntimeException("Could not compute entity path");
     }
@@ -171,4 +404,141 @@ public class DefaultJsonEntitySerializer implements EntityTextSerializer
             return new EntityFile(classifierPath, content);
         }
     }
+
+    /**
+     * Reads entity content into the same mutable maps and lists as data binding would produce. Values of an object or
+     * array are gathered on a shared stack before the collection is built, so maps and lists can be presized. Field
+     * names are canonicalized and interned by the parser, so keys are shared across entities.
+     */
+    private static class ContentReader
+    {
+        private final JsonParser parser;
+        private Object[] stack = new Object[32];
+        private int size = 0;
+        private Object name;
+        private Object pkg;
+
+        private ContentReader(JsonParser parser)
+        {
+            this.parser = parser;
+        }
+
+        private Map<String, Object> readContent() throws IOException
+        {
+            int start = this.size;
+            for (String key = this.parser.nextFieldName(); key != null; key = this.parser.nextFieldName())
+            {
+                Object value = readValue(this.parser.nextToken());
+                if ("name".equals(key))
+                {
+                    this.name = value;
+                }
+                else if ("package".equals(key))
+                {
+                    this.pkg = value;
+                }
+                push(key);
+                push(value);
+            }
+            return popMap(start);
+        }
+
+        private Object readValue(JsonToken token) throws IOException
+        {
+            if (token == null)
+            {
+                throw new JsonParseException(this.parser, "Unexpected end of input");
+            }
+            switch (token)
+            {
+                case START_OBJECT:
+                {
+                    int start = this.size;
+                    for (String key = this.parser.nextFieldName(); key != null; key = this.parser.nextFieldName())
+                    {
+                        Object value = readValue(this.parser.nextToken());
+                        push(key);
+                        push(value);
+                    }
+                    return popMap(start);
+                }
+                case START_ARRAY:
+                {
+                    int start = this.size;
+                    for (JsonToken next = this.parser.nextToken(); next != JsonToken.END_ARRAY; next = this.parser.nextToken())
+                    {
+                        push(readValue(next));
+                    }
+                    return popList(start);
+                }
+                case VALUE_STRING:
+                {
+                    return this.parser.getText();
+                }
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                {
+                    return this.parser.getNumberValue();
+                }
+                case VALUE_TRUE:
+                {
+                    return Boolean.TRUE;
+                }
+                case VALUE_FALSE:
+                {
+                    return Boolean.FALSE;
+                }
+                case VALUE_NULL:
+                {
+                    return null;
+                }
+                case VALUE_EMBEDDED_OBJECT:
+                {
+                    return this.parser.getEmbeddedObject();
+                }
+                default:
+                {
+                    throw new JsonParseException(this.parser, "Unexpected token: " + token);
+                }
+            }
+        }
+
+        private void push(Object value)
+        {
+            if (this.size == this.stack.length)
+            {
+                this.stack = Arrays.copyOf(this.stack, this.size * 2);
+            }
+            this.stack[this.size++] = value;
+        }
+
+        private Map<String, Object> popMap(int start)
+        {
+            int entryCount = (this.size - start) / 2;
+            Map<String, Object> map = new LinkedHashMap<>(Math.max(2, (int) (entryCount / 0.75f) + 1));
+            for (int i = start; i < this.size; i += 2)
+            {
+                map.put((String) this.stack[i], this.stack[i + 1]);
+            }
+            clear(start);
+            return map;
+        }
+
+        private List<Object> popList(int start)
+        {
+            List<Object> list = new ArrayList<>(this.size - start);
+            for (int i = start; i < this.size; i++)
+            {
+                list.add(this.stack[i]);
+            }
+            clear(start);
+            return list;
+        }
+
+        private void clear(int start)
+        {
+            Arrays.fill(this.stack, start, this.size, null);
+            this.size = start;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+/**
+ * The path and classifier path of a serialized entity, without its content.
+ */
+public class EntityHeader
+{
+    private final String path;
+    private final String classifierPath;
+
+    private EntityHeader(String path, String classifierPath)
+    {
+        this.path = path;
+        this.classifierPath = classifierPath;
+    }
+
+    public String getPath()
+    {
+        return this.path;
+    }
+
+    public String getClassifierPath()
+    {
+        return this.classifierPath;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "<EntityHeader path=" + this.path + " classifierPath=" + this.classifierPath + ">";
+    }
+
+    public static EntityHeader newEntityHeader(String path, String classifierPath)
+    {
+        return new EntityHeader(path, classifierPath);
+    }
+
+    public static EntityHeader fromEntity(Entity entity)
+    {
+        return newEntityHeader(entity.getPath(), entity.getClassifierPath());
+    }
+}
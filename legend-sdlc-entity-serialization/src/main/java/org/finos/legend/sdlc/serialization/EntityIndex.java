@@ -0,0 +1,484 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.finos.legend.sdlc.tools.entity.EntityPaths;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An index of the entities in a directory tree or artifact: for each entity, its path, classifier path, the file it
+ * is stored in (relative to the root of the tree), and a hash of the file content. The index is written at build
+ * time to {@link #INDEX_FILE_NAME} at the root, alongside the entities directory, and allows entities to be looked
+ * up by path, package, or classifier without reading every entity file.
+ * <p>
+ * Where several artifacts are merged into one root (as in a shaded jar), only one of their indexes survives. So
+ * alongside the index, a marker file named for the index content is written (see {@link #getMarkerFileName}). The
+ * markers of all the merged artifacts survive, so {@link EntityLoader} only uses an index if its marker is the only one
+ * at the root, and otherwise falls back to searching the directory tree. This only lists the root directory, rather
+ * than every entity file; entity files added to a root other than by an indexed build are not detected.
+ */
+public class EntityIndex
+{
+    public static final String INDEX_FILE_NAME = "entity-index.json";
+
+    private static final String MARKER_FILE_PREFIX = "entity-index-";
+    private static final String MARKER_FILE_SUFFIX = ".marker";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTITIES_DIRECTORY = "entities";
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    // sorted by path, so that the entities in a package are contiguous
+    private final TreeMap<String, Entry> entriesByPath;
+    private final Map<String, List<Entry>> entriesByClassifier;
+    private String id;
+
+    private EntityIndex(TreeMap<String, Entry> entriesByPath)
+    {
+        this.entriesByPath = entriesByPath;
+        this.entriesByClassifier = entriesByPath.values().stream().collect(Collectors.groupingBy(Entry::getClassifierPath));
+    }
+
+    public int size()
+    {
+        return this.entriesByPath.size();
+    }
+
+    public Entry getEntry(String entityPath)
+    {
+        return this.entriesByPath.get(entityPath);
+    }
+
+    public Collection<Entry> getEntries()
+    {
+        return Collections.unmodifiableCollection(this.entriesByPath.values());
+    }
+
+    /**
+     * Get the entries for entities in the given package or any of its sub-packages.
+     *
+     * @param packagePath package path
+     * @return entries in the package
+     */
+    public Collection<Entry> getEntriesInPackage(String packagePath)
+    {
+        if (EntityPaths.PACKAGE_SEPARATOR.equals(packagePath))
+        {
+            return getEntries();
+        }
+        // all paths starting with "packagePath::" sort between it and "packagePath:;"
+        String prefix = packagePath + EntityPaths.PACKAGE_SEPARATOR;
+        String end = packagePath + ':' + (char) (':' + 1);
+        return Collections.unmodifiableCollection(this.entriesByPath.subMap(prefix, end).values());
+    }
+
+    public List<Entry> getEntriesWithClassifier(String classifierPath)
+    {
+        List<Entry> entries = this.entriesByClassifier.get(classifierPath);
+        return (entries == null) ? Collections.emptyList() : Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Get an id for the content of the index: a hash of its entries.
+     *
+     * @return index id
+     */
+    public synchronized String getId()
+    {
+        if (this.id == null)
+        {
+            StringBuilder builder = new StringBuilder(this.entriesByPath.size() * 128);
+            this.entriesByPath.values().forEach(e -> builder.append(e.path).append('\0')
+                    .append(e.classifierPath).append('\0')
+                    .append(e.filePath).append('\0')
+                    .append(e.contentHash).append('\n'));
+            this.id = hash(newMessageDigest(), builder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return this.id;
+    }
+
+    /**
+     * Get the name of the marker file written alongside the index by {@link #writeToDirectory}.
+     *
+     * @return marker file name
+     */
+    public String getMarkerFileName()
+    {
+        return MARKER_FILE_PREFIX + getId() + MARKER_FILE_SUFFIX;
+    }
+
+    /**
+     * Check whether this is the only index written to the given root directory; that is, whether its marker is the
+     * only one there. This is false if the root merges several indexed artifacts, or if the index was not written to
+     * the root by {@link #writeToDirectory}.
+     *
+     * @param rootDirectory root directory (containing the entities directory)
+     * @return whether this is the only index written to the root
+     * @throws IOException if an error occurs listing the root directory
+     */
+    public boolean isOnlyIndexInDirectory(Path rootDirectory) throws IOException
+    {
+        Set<Path> markerFiles = getMarkerFiles(rootDirectory);
+        return (markerFiles.size() == 1) && getMarkerFileName().equals(markerFiles.iterator().next().getFileName().toString());
+    }
+
+    public void write(OutputStream stream) throws IOException
+    {
+        JSON_MAPPER.writeValue(stream, new IndexFile(FORMAT_VERSION, new ArrayList<>(this.entriesByPath.values())));
+    }
+
+    /**
+     * Write the index to {@link #INDEX_FILE_NAME} in the given root directory, along with its marker file, replacing
+     * any index previously written there.
+     *
+     * @param rootDirectory root directory (containing the entities directory)
+     * @throws IOException if an error occurs writing the index
+     */
+    public void writeToDirectory(Path rootDirectory) throws IOException
+    {
+        deleteFromDirectory(rootDirectory);
+        try (OutputStream stream = Files.newOutputStream(rootDirectory.resolve(INDEX_FILE_NAME)))
+        {
+            write(stream);
+        }
+        Files.createFile(rootDirectory.resolve(getMarkerFileName()));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "<EntityIndex size=" + size() + ">";
+    }
+
+    public static EntityIndex newEntityIndex(Iterable<? extends Entry> entries)
+    {
+        TreeMap<String, Entry> entriesByPath = new TreeMap<>();
+        for (Entry entry : entries)
+        {
+            if (entriesByPath.put(entry.getPath(), entry) != null)
+            {
+                throw new IllegalArgumentException("Multiple entries for entity: " + entry.getPath());
+            }
+        }
+        return new EntityIndex(entriesByPath);
+    }
+
+    /**
+     * Read the index written to the given root directory by {@link #writeToDirectory}, or return null if there is none.
+     *
+     * @param rootDirectory root directory (containing the entities directory)
+     * @return entity index or null
+     * @throws IOException if an error occurs reading the index
+     */
+    public static EntityIndex readFromDirectory(Path rootDirectory) throws IOException
+    {
+        Path indexFile = rootDirectory.resolve(INDEX_FILE_NAME);
+        if (!Files.isRegularFile(indexFile))
+        {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(indexFile))
+        {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Delete the index, and its marker file, from the given root directory, if present.
+     *
+     * @param rootDirectory root directory (containing the entities directory)
+     * @throws IOException if an error occurs deleting the index
+     */
+    public static void deleteFromDirectory(Path rootDirectory) throws IOException
+    {
+        Files.deleteIfExists(rootDirectory.resolve(INDEX_FILE_NAME));
+        for (Path markerFile : getMarkerFiles(rootDirectory))
+        {
+            Files.delete(markerFile);
+        }
+    }
+
+    public static EntityIndex read(InputStream stream) throws IOException
+    {
+        IndexFile indexFile = JSON_MAPPER.readValue(stream, IndexFile.class);
+        if (indexFile.version != FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported entity index version: " + indexFile.version);
+        }
+        return newEntityIndex((indexFile.entities == null) ? Collections.emptyList() : indexFile.entities);
+    }
+
+    /**
+     * Build an index of the entity files in the entities directory under the given root directory. Where an entity
+     * is stored in more than one format, the file for the serializer listed earliest is indexed.
+     *
+     * @param rootDirectory root directory (containing the entities directory)
+     * @param serializers   serializers for entity files, by file extension preference
+     * @return entity index
+     * @throws IOException if an error occurs reading the entity files
+     */
+    public static EntityIndex buildIndex(Path rootDirectory, List<? extends EntitySerializer> serializers) throws IOException
+    {
+        return buildIndex(rootDirectory, serializers, null, null);
+    }
+
+    /**
+     * Build an index of the entity files in the entities directory under the given root directory, as
+     * {@link #buildIndex(Path, List)}, reusing the entries of a previous index for files which are known not to have
+     * changed since it was built. Those files are not read.
+     *
+     * @param rootDirectory   root directory (containing the entities directory)
+     * @param serializers     serializers for entity files, by file extension preference
+     * @param previousIndex   previous index of the root directory (may be null)
+     * @param isUnchangedFile test of whether a file (by its path relative to the root, using / as the separator) is
+     *                        unchanged since the previous index was built (may be null)
+     * @return entity index
+     * @throws IOException if an error occurs reading the entity files
+     */
+    public static EntityIndex buildIndex(Path rootDirectory, List<? extends EntitySerializer> serializers, EntityIndex previousIndex, Predicate<? super String> isUnchangedFile) throws IOException
+    {
+        Path entitiesDirectory = rootDirectory.resolve(ENTITIES_DIRECTORY);
+        if (!Files.isDirectory(entitiesDirectory))
+        {
+            return newEntityIndex(Collections.emptyList());
+        }
+
+        Map<String, Entry> previousEntriesByFile = new HashMap<>();
+        if ((previousIndex != null) && (isUnchangedFile != null))
+        {
+            previousIndex.getEntries().forEach(e -> previousEntriesByFile.put(e.getFilePath(), e));
+        }
+        Map<String, Entry> entriesByPath = new HashMap<>();
+        Map<String, Integer> rankByPath = new HashMap<>();
+        MessageDigest digest = newMessageDigest();
+        try (Stream<Path> stream = Files.walk(entitiesDirectory, FileVisitOption.FOLLOW_LINKS))
+        {
+            Iterator<Path> iterator = stream.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext())
+            {
+                Path file = iterator.next();
+                int rank = getSerializerIndex(file, serializers);
+                if (rank == -1)
+                {
+                    continue;
+                }
+                String filePath = toRelativeFilePath(rootDirectory.relativize(file));
+                Entry entry = previousEntriesByFile.get(filePath);
+                if ((entry == null) || !isUnchangedFile.test(filePath))
+                {
+                    byte[] content = Files.readAllBytes(file);
+                    EntityHeader header = serializers.get(rank).scanHeader(content);
+                    entry = Entry.newEntry(header.getPath(), header.getClassifierPath(), filePath, hash(digest, content));
+                }
+                Integer existingRank = rankByPath.get(entry.getPath());
+                if (existingRank != null)
+                {
+                    if (existingRank == rank)
+                    {
+                        throw new IllegalStateException("Multiple files for entity " + entry.getPath() + ": " + entriesByPath.get(entry.getPath()).getFilePath() + ", " + filePath);
+                    }
+                    if (existingRank < rank)
+                    {
+                        continue;
+                    }
+                }
+                entriesByPath.put(entry.getPath(), entry);
+                rankByPath.put(entry.getPath(), rank);
+            }
+        }
+        return newEntityIndex(entriesByPath.values());
+    }
+
+    private static int getSerializerIndex(Path file, List<? extends EntitySerializer> serializers)
+    {
+        String fileName = file.getFileName().toString();
+        for (int i = 0; i < serializers.size(); i++)
+        {
+            String extension = "." + serializers.get(i).getDefaultFileExtension();
+            if (fileName.regionMatches(true, fileName.length() - extension.length(), extension, 0, extension.length()))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Set<Path> getMarkerFiles(Path rootDirectory) throws IOException
+    {
+        Set<Path> markerFiles = new HashSet<>();
+        if (Files.isDirectory(rootDirectory))
+        {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootDirectory, p -> isMarkerFileName(p.getFileName().toString())))
+            {
+                stream.forEach(markerFiles::add);
+            }
+        }
+        return markerFiles;
+    }
+
+    private static boolean isMarkerFileName(String fileName)
+    {
+        return fileName.startsWith(MARKER_FILE_PREFIX) && fileName.endsWith(MARKER_FILE_SUFFIX);
+    }
+
+    private static String toRelativeFilePath(Path relativePath)
+    {
+        StringBuilder builder = new StringBuilder();
+        relativePath.forEach(p -> ((builder.length() == 0) ? builder : builder.append('/')).append(p));
+        return builder.toString();
+    }
+
+    private static MessageDigest newMessageDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static String hash(MessageDigest digest, byte[] content)
+    {
+        byte[] hash = digest.digest(content);
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    public static class Entry
+    {
+        private final String path;
+        private final String classifierPath;
+        private final String filePath;
+        private final String contentHash;
+
+        private Entry(String path, String classifierPath, String filePath, String contentHash)
+        {
+            this.path = Objects.requireNonNull(path, "path may not be null");
+            this.classifierPath = Objects.requireNonNull(classifierPath, "classifierPath may not be null");
+            this.filePath = Objects.requireNonNull(filePath, "filePath may not be null");
+            this.contentHash = contentHash;
+        }
+
+        @JsonProperty("path")
+        public String getPath()
+        {
+            return this.path;
+        }
+
+        @JsonProperty("classifierPath")
+        public String getClassifierPath()
+        {
+            return this.classifierPath;
+        }
+
+        /**
+         * Path of the entity file, relative to the root of the tree and using / as the separator.
+         *
+         * @return entity file path
+         */
+        @JsonProperty("file")
+        public String getFilePath()
+        {
+            return this.filePath;
+        }
+
+        /**
+         * Hex-encoded SHA-256 hash of the entity file content.
+         *
+         * @return content hash
+         */
+        @JsonProperty("contentHash")
+        public String getContentHash()
+        {
+            return this.contentHash;
+        }
+
+        public EntityHeader toHeader()
+        {
+            return EntityHeader.newEntityHeader(this.path, this.classifierPath);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "<EntityIndex.Entry path=" + this.path + " classifierPath=" + this.classifierPath + " file=" + this.filePath + ">";
+        }
+
+        @JsonCreator
+        public static Entry newEntry(@JsonProperty("path") String path, @JsonProperty("classifierPath") String classifierPath, @JsonProperty("file") String filePath, @JsonProperty("contentHash") String contentHash)
+        {
+            return new Entry(path, classifierPath, filePath, contentHash);
+        }
+    }
+
+    private static class IndexFile
+    {
+        @JsonProperty("version")
+        private final int version;
+
+        @JsonProperty("entities")
+        private final List<Entry> entities;
+
+        @JsonCreator
+        private IndexFile(@JsonProperty("version") int version, @JsonProperty("entities") List<Entry> entities)
+        {
+            this.version = version;
+            this.entities = entities;
+        }
+    }
+}
@@ -37,13 +37,21 @@ import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -52,8 +60,10 @@ public class EntityLoader implements AutoCloseable
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityLoader.class);
 
     private static final EntitySerializer ENTITY_SERIALIZER = EntitySerializers.getDefaultJsonSerializer();
+    private static final EntitySerializer BINARY_ENTITY_SERIALIZER = EntitySerializers.getDefaultBinarySerializer();
     private static final String ENTITIES_DIRECTORY = "entities";
     private static final String ENTITY_FILE_EXTENSION = "." + ENTITY_SERIALIZER.getDefaultFileExtension();
+    private static final String BINARY_ENTITY_FILE_EXTENSION = "." + BINARY_ENTITY_SERIALIZER.getDefaultFileExtension();
 
     private final List<EntityFileSearch> searchList;
 
@@ -64,10 +74,8 @@ public class EntityLoader implements AutoCloseable
 
     public Entity getEntity(String entityPath)
     {
-        String entityFilePath = entityPathToFilePath(entityPath);
         return this.searchList.stream()
-                .map(s -> s.getPath(entityFilePath))
-                .filter(EntityLoader::isPossiblyEntityFile)
+                .flatMap(s -> s.getEntityFile(entityPath))
                 .map(EntityLoader::readEntity)
                 .filter(Objects::nonNull)
                 .findFirst()
@@ -75,10 +83,50 @@ public class EntityLoader implements AutoCloseable
     }
 
     public Stream<Entity> getAllEntities()
+    {
+        return getAllEntities(false);
+    }
+
+    /**
+     * Get all entities. If lazy is true, only the header of each entity is read up front, and its content is
+     * deserialized when first requested (see {@link LazyEntity}). This is cheaper for callers which only need the
+     * content of some of the entities.
+     *
+     * @param lazy whether to deserialize entity content lazily
+     * @return all entities
+     */
+    public Stream<Entity> getAllEntities(boolean lazy)
+    {
+        try
+        {
+            return getEntitiesInPackage(EntityPaths.PACKAGE_SEPARATOR, lazy);
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error getting all entities");
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new RuntimeException(builder.toString(), e);
+        }
+    }
+
+    /**
+     * Get all entities, enumerating the search roots concurrently and deserializing entity files on the given pool.
+     * The result is the same as that of {@link #getAllEntities()}, in the same order: search roots in order, and the
+     * files of each root in the order they are found. As there, if more than one root has an entity with the same
+     * path, each of them is returned.
+     *
+     * @param pool pool to load entities on
+     * @return all entities
+     */
+    public Stream<Entity> getAllEntities(ForkJoinPool pool)
     {
         try
         {
-            return getEntitiesInDirectory(ENTITIES_DIRECTORY);
+            return getEntitiesInPackage(EntityPaths.PACKAGE_SEPARATOR, pool);
         }
         catch (Exception e)
         {
@@ -96,7 +144,7 @@ public class EntityLoader implements AutoCloseable
     {
         try
         {
-            return getEntitiesInDirectory(packagePathToDirectoryPath(packagePath));
+            return getEntitiesInPackage(packagePath, false);
         }
         catch (Exception e)
         {
@@ -110,6 +158,90 @@ public class EntityLoader implements AutoCloseable
         }
     }
 
+    /**
+     * Get all entities from the given package, loading them in parallel on the given pool. See
+     * {@link #getAllEntities(ForkJoinPool)} for the order and de-duplication of the result.
+     *
+     * @param packagePath package path
+     * @param pool        pool to load entities on
+     * @return entities in the package
+     */
+    public Stream<Entity> getEntitiesInPackage(String packagePath, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(pool, "pool may not be null");
+        List<Supplier<Stream<EntityFile>>> sources = this.searchList.stream()
+                .flatMap(s -> s.getEntityFileSourcesInPackage(packagePath).stream())
+                .collect(Collectors.toList());
+        List<Entity> entities;
+        try
+        {
+            entities = pool.submit(() ->
+            {
+                // First list the files of all the roots, keeping both the roots and the files of each root in the
+                // order of the sequential search. Then read the files from one flat list, so that the reading is split
+                // across the pool even when all the files are in a single root.
+                List<EntityFile> files = sources.parallelStream()
+                        .map(source -> source.get().collect(Collectors.toList()))
+                        .collect(Collectors.toList())
+                        .stream()
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+                return files.parallelStream()
+                        .map(EntityLoader::readEntity)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+            }).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading entities from package '" + packagePath + "'", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Error loading entities from package '" + packagePath + "'", cause);
+        }
+        return entities.stream();
+    }
+
+    /**
+     * Get all entities with the given classifier. Where an entity index is present (see {@link EntityIndex}), only
+     * the matching entity files are read; otherwise, the header of each entity file is scanned and only the matching
+     * ones are fully deserialized.
+     *
+     * @param classifierPath classifier path
+     * @return entities with the classifier
+     */
+    public Stream<Entity> getEntitiesWithClassifier(String classifierPath)
+    {
+        try
+        {
+            return this.searchList.stream()
+                    .flatMap(s -> s.getEntityFilesWithClassifier(classifierPath))
+                    .map(f -> readEntityWithClassifier(f, classifierPath))
+                    .filter(Objects::nonNull);
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error getting all entities with classifier '").append(classifierPath).append('\'');
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new RuntimeException(builder.toString(), e);
+        }
+    }
+
     @Override
     public synchronized void close() throws Exception
     {
@@ -145,12 +277,11 @@ public class EntityLoader implements AutoCloseable
         }
     }
 
-    private Stream<Entity> getEntitiesInDirectory(String directoryPath)
+    private Stream<Entity> getEntitiesInPackage(String packagePath, boolean lazy)
     {
         return this.searchList.stream()
-                .flatMap(s -> s.getPathsInDirectory(directoryPath))
-                .filter(EntityLoader::isPossiblyEntityFile)
-                .map(EntityLoader::readEntity)
+                .flatMap(s -> s.getEntityFilesInPackage(packagePath))
+                .map(lazy ? EntityLoader::readLazyEntity : EntityLoader::readEntity)
                 .filter(Objects::nonNull);
     }
 
@@ -230,23 +361,128 @@ public class EntityLoader implements AutoCloseable
         return new EntityLoader(searchList);
     }
 
-    private static Entity readEntity(Path path)
+    private static Entity readEntity(EntityFile file)
     {
-        try (InputStream stream = Files.newInputStream(path))
+        try (InputStream stream = Files.newInputStream(file.path))
         {
-            return ENTITY_SERIALIZER.deserialize(stream);
+            return getSerializer(file.path).deserialize(stream);
         }
         catch (Exception e)
         {
-            LOGGER.error("Error reading entity from file: {}", path, e);
+            LOGGER.error("Error reading entity from file: {}", file.path, e);
             return null;
         }
     }
 
-    private static String entityPathToFilePath(String entityPath)
+    private static Entity readLazyEntity(EntityFile file)
     {
-        StringBuilder builder = new StringBuilder(ENTITIES_DIRECTORY.length() + entityPath.length() + ENTITY_FILE_EXTENSION.length());
-        return writePackageablePathAsFilePath(builder.append(ENTITIES_DIRECTORY), entityPath).append(ENTITY_FILE_EXTENSION).toString();
+        try
+        {
+            EntitySerializer serializer = getSerializer(file.path);
+            byte[] content = Files.readAllBytes(file.path);
+            return (file.header == null) ? LazyEntity.newLazyEntity(serializer, content) : LazyEntity.newLazyEntity(serializer, content, file.header, false);
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Error reading entity from file: {}", file.path, e);
+            return null;
+        }
+    }
+
+    private static Entity readEntityWithClassifier(EntityFile file, String classifierPath)
+    {
+        if (file.header != null)
+        {
+            return classifierPath.equals(file.header.getClassifierPath()) ? readEntity(file) : null;
+        }
+        try
+        {
+            EntitySerializer serializer = getSerializer(file.path);
+            byte[] content = Files.readAllBytes(file.path);
+            return classifierPath.equals(serializer.scanHeader(content).getClassifierPath()) ? serializer.deserialize(content) : null;
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Error reading entity from file: {}", file.path, e);
+            return null;
+        }
+    }
+
+    private static EntityIndex readIndex(Path rootDirectory)
+    {
+        EntityIndex index;
+        try
+        {
+            index = EntityIndex.readFromDirectory(rootDirectory);
+        }
+        catch (Exception e)
+        {
+            // fall back to searching the directory tree
+            LOGGER.warn("Error reading entity index under {}", rootDirectory, e);
+            return null;
+        }
+        if (index == null)
+        {
+            return null;
+        }
+        if (!isIndexComplete(rootDirectory, index))
+        {
+            // this can happen if the root merges several artifacts (as in a shaded jar), so that the index found is
+            // only that of one of them; fall back to searching the directory tree
+            LOGGER.warn("Entity index under {} is not the only entity index written there, ignoring it", rootDirectory);
+            return null;
+        }
+        return index;
+    }
+
+    // the index is only used if it is the only one written to the root (see EntityIndex); this only lists the root
+    // directory, rather than every entity file under it
+    private static boolean isIndexComplete(Path rootDirectory, EntityIndex index)
+    {
+        try
+        {
+            return index.isOnlyIndexInDirectory(rootDirectory);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error checking entity index markers under {}", rootDirectory, e);
+            return false;
+        }
+    }
+
+    private static Stream<EntityFile> getIndexedEntityFiles(Path rootDirectory, Collection<EntityIndex.Entry> entries)
+    {
+        return entries.stream().map(e -> new EntityFile(rootDirectory.resolve(e.getFilePath()), e.toHeader()));
+    }
+
+    private static Stream<EntityFile> getEntityFilesInDirectory(Path directory)
+    {
+        return Files.isDirectory(directory) ?
+                getDirectoryStream(directory).filter(EntityLoader::isPossiblyEntityFile).filter(p -> !hasBinarySibling(p)).map(p -> new EntityFile(p, null)) :
+                Stream.empty();
+    }
+
+    private static EntitySerializer getSerializer(Path path)
+    {
+        return hasExtension(path.toString(), BINARY_ENTITY_FILE_EXTENSION) ? BINARY_ENTITY_SERIALIZER : ENTITY_SERIALIZER;
+    }
+
+    // a JSON entity file is skipped if the same entity is also present in binary form alongside it
+    private static boolean hasBinarySibling(Path path)
+    {
+        String fileName = path.getFileName().toString();
+        if (!hasExtension(fileName, ENTITY_FILE_EXTENSION))
+        {
+            return false;
+        }
+        Path sibling = path.resolveSibling(fileName.substring(0, fileName.length() - ENTITY_FILE_EXTENSION.length()) + BINARY_ENTITY_FILE_EXTENSION);
+        return Files.isRegularFile(sibling);
+    }
+
+    private static String entityPathToFilePath(String entityPath, String extension)
+    {
+        StringBuilder builder = new StringBuilder(ENTITIES_DIRECTORY.length() + entityPath.length() + extension.length());
+        return writePackageablePathAsFilePath(builder.append(ENTITIES_DIRECTORY), entityPath).append(extension).toString();
     }
 
     private static String packagePathToDirectoryPath(String packagePath)
@@ -279,7 +515,12 @@ public class EntityLoader implements AutoCloseable
 
     private static boolean isPossiblyEntityFileName(String name)
     {
-        return (name != null) && name.regionMatches(true, name.length() - ENTITY_FILE_EXTENSION.length(), ENTITY_FILE_EXTENSION, 0, ENTITY_FILE_EXTENSION.length());
+        return (name != null) && (hasExtension(name, ENTITY_FILE_EXTENSION) || hasExtension(name, BINARY_ENTITY_FILE_EXTENSION));
+    }
+
+    private static boolean hasExtension(String name, String extension)
+    {
+        return name.regionMatches(true, name.length() - extension.length(), extension, 0, extension.length());
     }
 
     private static Stream<Path> getDirectoryStream(Path dirPath)
@@ -450,14 +691,38 @@ public class EntityLoader implements AutoCloseable
 
     private interface EntityFileSearch extends AutoCloseable
     {
-        Path getPath(String filePath);
+        Stream<EntityFile> getEntityFile(String entityPath);
+
+        Stream<EntityFile> getEntityFilesInPackage(String packagePath);
 
-        Stream<Path> getPathsInDirectory(String dirPath);
+        /**
+         * Get independent sources of the entity files in the given package, which may be enumerated concurrently.
+         * Together, in order, they provide the same files as {@link #getEntityFilesInPackage}.
+         */
+        default List<Supplier<Stream<EntityFile>>> getEntityFileSourcesInPackage(String packagePath)
+        {
+            return Collections.singletonList(() -> getEntityFilesInPackage(packagePath));
+        }
+
+        Stream<EntityFile> getEntityFilesWithClassifier(String classifierPath);
+    }
+
+    private static class EntityFile
+    {
+        private final Path path;
+        private final EntityHeader header;
+
+        private EntityFile(Path path, EntityHeader header)
+        {
+            this.path = path;
+            this.header = header;
+        }
     }
 
     private static class ClassLoaderEntityFileSearch implements EntityFileSearch
     {
         private final ClassLoader classLoader;
+        private final Map<Path, Optional<EntityIndex>> indexes = new ConcurrentHashMap<>();
 
         private ClassLoaderEntityFileSearch(ClassLoader classLoader)
         {
@@ -465,19 +730,60 @@ public class EntityLoader implements AutoCloseable
         }
 
         @Override
-        public Path getPath(String filePath)
+        public Stream<EntityFile> getEntityFile(String entityPath)
+        {
+            // the binary form is preferred when both are present, as it is cheaper to read
+            return Stream.of(BINARY_ENTITY_FILE_EXTENSION, ENTITY_FILE_EXTENSION)
+                    .map(ext -> this.classLoader.getResource(entityPathToFilePath(entityPath, ext)))
+                    .filter(Objects::nonNull)
+                    .map(EntityLoader::getPathFromURL)
+                    .filter(EntityLoader::isPossiblyEntityFile)
+                    .map(p -> new EntityFile(p, null))
+                    .limit(1);
+        }
+
+        @Override
+        public Stream<EntityFile> getEntityFilesInPackage(String packagePath)
+        {
+            return getRootDirectories().flatMap(root -> getEntityFilesInPackage(root, packagePath));
+        }
+
+        @Override
+        public List<Supplier<Stream<EntityFile>>> getEntityFileSourcesInPackage(String packagePath)
         {
-            URL url = this.classLoader.getResource(filePath);
-            return (url == null) ? null : getPathFromURL(url);
+            return getRootDirectories()
+                    .<Supplier<Stream<EntityFile>>>map(root -> () -> getEntityFilesInPackage(root, packagePath))
+                    .collect(Collectors.toList());
+        }
+
+        private Stream<EntityFile> getEntityFilesInPackage(Path root, String packagePath)
+        {
+            EntityIndex index = getIndex(root);
+            return (index == null) ? getEntityFilesInDirectory(root.resolve(packagePathToDirectoryPath(packagePath))) : getIndexedEntityFiles(root, index.getEntriesInPackage(packagePath));
         }
 
         @Override
-        public Stream<Path> getPathsInDirectory(String dirPath)
+        public Stream<EntityFile> getEntityFilesWithClassifier(String classifierPath)
+        {
+            return getRootDirectories().flatMap(root ->
+            {
+                EntityIndex index = getIndex(root);
+                return (index == null) ? getEntityFilesInDirectory(root.resolve(ENTITIES_DIRECTORY)) : getIndexedEntityFiles(root, index.getEntriesWithClassifier(classifierPath));
+            });
+        }
+
+        private EntityIndex getIndex(Path rootDirectory)
+        {
+            return this.indexes.computeIfAbsent(rootDirectory, r -> Optional.ofNullable(readIndex(r))).orElse(null);
+        }
+
+        // the roots of the classpath entries which have an entities directory
+        private Stream<Path> getRootDirectories()
         {
             Enumeration<URL> urls;
             try
             {
-                urls = this.classLoader.getResources(dirPath);
+                urls = this.classLoader.getResources(ENTITIES_DIRECTORY);
             }
             catch (IOException ignore)
             {
@@ -500,7 +806,8 @@ public class EntityLoader implements AutoCloseable
                     .map(EntityLoader::getPathFromURL)
                     .filter(Objects::nonNull)
                     .filter(Files::isDirectory)
-                    .flatMap(EntityLoader::getDirectoryStream);
+                    .map(Path::getParent)
+                    .filter(Objects::nonNull);
         }
 
         @Override
@@ -512,23 +819,45 @@ public class EntityLoader implements AutoCloseable
     private static class DirectoryEntityFileSearch implements EntityFileSearch
     {
         private final Path directory;
+        private final EntityIndex index;
 
         private DirectoryEntityFileSearch(Path directory)
         {
             this.directory = directory;
+            this.index = readIndex(directory);
+        }
+
+        @Override
+        public Stream<EntityFile> getEntityFile(String entityPath)
+        {
+            if (this.index != null)
+            {
+                EntityIndex.Entry entry = this.index.getEntry(entityPath);
+                return (entry == null) ? Stream.empty() : getIndexedEntityFiles(this.directory, Collections.singletonList(entry));
+            }
+
+            // the binary form is preferred when both are present, as it is cheaper to read
+            return Stream.of(BINARY_ENTITY_FILE_EXTENSION, ENTITY_FILE_EXTENSION)
+                    .map(ext -> this.directory.resolve(entityPathToFilePath(entityPath, ext)))
+                    .filter(EntityLoader::isPossiblyEntityFile)
+                    .map(p -> new EntityFile(p, null))
+                    .limit(1);
         }
 
         @Override
-        public Path getPath(String filePath)
+        public Stream<EntityFile> getEntityFilesInPackage(String packagePath)
         {
-            return this.directory.resolve(filePath);
+            return (this.index == null) ?
+                    getEntityFilesInDirectory(this.directory.resolve(packagePathToDirectoryPath(packagePath))) :
+                    getIndexedEntityFiles(this.directory, this.index.getEntriesInPackage(packagePath));
         }
 
         @Override
-        public Stream<Path> getPathsInDirectory(String dirPath)
+        public Stream<EntityFile> getEntityFilesWithClassifier(String classifierPath)
         {
-            Path resolvedPath = this.directory.resolve(dirPath);
-            return Files.isDirectory(resolvedPath) ? EntityLoader.getDirectoryStream(resolvedPath) : Stream.empty();
+            return (this.index == null) ?
+                    getEntityFilesInDirectory(this.directory.resolve(ENTITIES_DIRECTORY)) :
+                    getIndexedEntityFiles(this.directory, this.index.getEntriesWithClassifier(classifierPath));
         }
 
         @Override
@@ -14,6 +14,7 @@
 
 package org.finos.legend.sdlc.serialization;
 
+import com.fasterxml.jackson.core.JsonParser;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
@@ -27,7 +28,9 @@ import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface EntitySerializer
 {
@@ -172,6 +175,47 @@ public interface EntitySerializer
         return deserialize(new ByteArrayInputStream(content));
     }
 
+    /**
+     * Scan the header of an entity from an input stream: its path and classifier path, without its content. This is
+     * for callers which only need to list or filter entities. Serializers which can find the header without reading
+     * the whole entity should override this; the default implementation deserializes the whole entity.
+     *
+     * @param stream input stream
+     * @return entity header
+     * @throws IOException if an I/O error occurs
+     */
+    default EntityHeader scanHeader(InputStream stream) throws IOException
+    {
+        return EntityHeader.fromEntity(deserialize(stream));
+    }
+
+    /**
+     * Scan the header of an entity from a byte array. See {@link #scanHeader(InputStream)}.
+     *
+     * @param content input bytes
+     * @return entity header
+     * @throws IOException if an I/O error occurs
+     */
+    default EntityHeader scanHeader(byte[] content) throws IOException
+    {
+        return scanHeader(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Create a JSON parser over the content of a serialized entity, positioned at the start of the content object.
+     * This lets callers bind the content straight to another type, such as a protocol class, without deserializing
+     * it to a map first. Serializers whose format cannot be read this way return null, which is what the default
+     * implementation does. The caller is responsible for closing the parser.
+     *
+     * @param content serialized entity
+     * @return parser positioned at the start of the entity content, or null
+     * @throws IOException if an I/O error occurs
+     */
+    default JsonParser newContentParser(byte[] content) throws IOException
+    {
+        return null;
+    }
+
     /**
      * Deserialize entities from an input stream.
      *
@@ -195,4 +239,45 @@ public interface EntitySerializer
     {
         return deserializeMany(new ByteArrayInputStream(content));
     }
+
+    /**
+     * Deserialize entities from a batch of sources, such as files. The result has the entities from each source,
+     * keyed by source id and in the same order as the sources. If oneEntityPerSource is true, each source must
+     * contain exactly one entity (as for {@link #deserialize(byte[])}); otherwise, each may contain any number (as
+     * for {@link #deserializeMany(byte[])}). Errors are reported with the id of the source they come from.
+     * <p>
+     * Serializers for which there is a fixed cost to each deserialization may override this to process the whole
+     * batch at once.
+     *
+     * @param contentBySourceId  content of each source, by source id
+     * @param oneEntityPerSource whether each source must contain exactly one entity
+     * @return deserialized entities, by source id
+     * @throws IOException if an I/O error occurs
+     */
+    default Map<String, List<Entity>> deserializeBatch(Map<String, byte[]> contentBySourceId, boolean oneEntityPerSource) throws IOException
+    {
+        Map<String, List<Entity>> result = new LinkedHashMap<>(contentBySourceId.size() * 4 / 3 + 1);
+        for (Map.Entry<String, byte[]> entry : contentBySourceId.entrySet())
+        {
+            try
+            {
+                result.put(entry.getKey(), oneEntityPerSource ? Collections.singletonList(deserialize(entry.getValue())) : deserializeMany(entry.getValue()));
+            }
+            catch (Exception e)
+            {
+                StringBuilder builder = new StringBuilder("Error deserializing entities from ").append(entry.getKey());
+                String eMessage = e.getMessage();
+                if (eMessage != null)
+                {
+                    builder.append(": ").append(eMessage);
+                }
+                if (e instanceof IOException)
+                {
+                    throw new IOException(builder.toString(), e);
+                }
+                throw new RuntimeException(builder.toString(), e);
+            }
+        }
+        return result;
+    }
 }
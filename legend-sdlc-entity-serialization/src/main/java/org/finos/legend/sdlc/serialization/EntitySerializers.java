@@ -31,6 +31,11 @@ public class EntitySerializers
         return new DefaultJsonEntitySerializer();
     }
 
+    public static EntitySerializer getDefaultBinarySerializer()
+    {
+        return new BinaryEntitySerializer();
+    }
+
     public static Iterable<EntitySerializer> getAvailableSerializers()
     {
         List<EntitySerializer> serializers = new ArrayList<>();
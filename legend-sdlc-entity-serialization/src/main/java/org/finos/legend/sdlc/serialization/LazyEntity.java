@@ -0,0 +1,206 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An entity backed by its serialized bytes. The path and classifier path are known up front, but the content is only
+ * deserialized the first time it is requested. The deserialized content is then retained, either strongly or through
+ * a soft reference; in the latter case, it may be released under memory pressure and is deserialized again when
+ * next requested.
+ * <p>
+ * The serialized bytes are shared, not copied, so they must not be modified.
+ */
+public class LazyEntity implements Entity
+{
+    private final EntitySerializer serializer;
+    private final byte[] serializedContent;
+    private final String path;
+    private final String classifierPath;
+    private final boolean softContent;
+    private volatile Map<String, ?> content;
+    private volatile SoftReference<Map<String, ?>> contentReference;
+
+    private LazyEntity(EntitySerializer serializer, byte[] serializedContent, String path, String classifierPath, boolean softContent)
+    {
+        this.serializer = Objects.requireNonNull(serializer, "serializer may not be null");
+        this.serializedContent = Objects.requireNonNull(serializedContent, "serialized content may not be null");
+        this.path = Objects.requireNonNull(path, "path may not be null");
+        this.classifierPath = classifierPath;
+        this.softContent = softContent;
+    }
+
+    @Override
+    public String getPath()
+    {
+        return this.path;
+    }
+
+    @Override
+    public String getClassifierPath()
+    {
+        return this.classifierPath;
+    }
+
+    @Override
+    public Map<String, ?> getContent()
+    {
+        return this.softContent ? getSoftContent() : getStrongContent();
+    }
+
+    /**
+     * Get the serializer the entity was serialized with.
+     *
+     * @return serializer
+     */
+    public EntitySerializer getSerializer()
+    {
+        return this.serializer;
+    }
+
+    /**
+     * Get the serialized entity. This is the array the entity is backed by, so it must not be modified.
+     *
+     * @return serialized entity
+     */
+    public byte[] getSerializedContent()
+    {
+        return this.serializedContent;
+    }
+
+    /**
+     * Return whether the content is currently deserialized.
+     *
+     * @return whether the content is deserialized
+     */
+    public boolean isContentLoaded()
+    {
+        if (this.softContent)
+        {
+            SoftReference<Map<String, ?>> reference = this.contentReference;
+            return (reference != null) && (reference.get() != null);
+        }
+        return this.content != null;
+    }
+
+    private Map<String, ?> getStrongContent()
+    {
+        Map<String, ?> localContent = this.content;
+        if (localContent == null)
+        {
+            synchronized (this)
+            {
+                localContent = this.content;
+                if (localContent == null)
+                {
+                    this.content = localContent = deserializeContent();
+                }
+            }
+        }
+        return localContent;
+    }
+
+    private Map<String, ?> getSoftContent()
+    {
+        SoftReference<Map<String, ?>> reference = this.contentReference;
+        Map<String, ?> localContent = (reference == null) ? null : reference.get();
+        if (localContent == null)
+        {
+            synchronized (this)
+            {
+                reference = this.contentReference;
+                localContent = (reference == null) ? null : reference.get();
+                if (localContent == null)
+                {
+                    localContent = deserializeContent();
+                    this.contentReference = new SoftReference<>(localContent);
+                }
+            }
+        }
+        return localContent;
+    }
+
+    private Map<String, ?> deserializeContent()
+    {
+        Entity entity;
+        try
+        {
+            entity = this.serializer.deserialize(this.serializedContent);
+        }
+        catch (IOException e)
+        {
+            StringBuilder builder = new StringBuilder("Error deserializing entity ").append(this.path);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new RuntimeException(builder.toString(), e);
+        }
+        if (!this.path.equals(entity.getPath()) || !Objects.equals(this.classifierPath, entity.getClassifierPath()))
+        {
+            throw new RuntimeException("Error deserializing entity " + this.path + ": found entity " + entity.getPath() + " with classifier " + entity.getClassifierPath() + ", expected classifier " + this.classifierPath);
+        }
+        return entity.getContent();
+    }
+
+    /**
+     * Create a lazy entity from serialized bytes, scanning its header to find the path and classifier path. The
+     * deserialized content is retained strongly.
+     *
+     * @param serializer        serializer the entity was serialized with
+     * @param serializedContent serialized entity
+     * @return lazy entity
+     * @throws IOException if the header cannot be scanned
+     */
+    public static LazyEntity newLazyEntity(EntitySerializer serializer, byte[] serializedContent) throws IOException
+    {
+        return newLazyEntity(serializer, serializedContent, false);
+    }
+
+    /**
+     * Create a lazy entity from serialized bytes, scanning its header to find the path and classifier path.
+     *
+     * @param serializer        serializer the entity was serialized with
+     * @param serializedContent serialized entity
+     * @param softContent       whether the deserialized content may be released under memory pressure
+     * @return lazy entity
+     * @throws IOException if the header cannot be scanned
+     */
+    public static LazyEntity newLazyEntity(EntitySerializer serializer, byte[] serializedContent, boolean softContent) throws IOException
+    {
+        return newLazyEntity(serializer, serializedContent, serializer.scanHeader(serializedContent), softContent);
+    }
+
+    /**
+     * Create a lazy entity from serialized bytes and an already known header.
+     *
+     * @param serializer        serializer the entity was serialized with
+     * @param serializedContent serialized entity
+     * @param header            entity header
+     * @param softContent       whether the deserialized content may be released under memory pressure
+     * @return lazy entity
+     */
+    public static LazyEntity newLazyEntity(EntitySerializer serializer, byte[] serializedContent, EntityHeader header, boolean softContent)
+    {
+        return new LazyEntity(serializer, serializedContent, header.getPath(), header.getClassifierPath(), softContent);
+    }
+}
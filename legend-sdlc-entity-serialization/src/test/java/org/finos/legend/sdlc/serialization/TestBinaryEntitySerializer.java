@@ -0,0 +1,163 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestBinaryEntitySerializer extends TestEntitySerializer<BinaryEntitySerializer>
+{
+    @Override
+    protected BinaryEntitySerializer getSerializer()
+    {
+        return new BinaryEntitySerializer();
+    }
+
+    @Override
+    protected String getExpectedName()
+    {
+        return "legend-binary";
+    }
+
+    @Override
+    protected String getExpectedDefaultFileExtension()
+    {
+        return "lbin";
+    }
+
+    @Test
+    public void testValuesMatchJson() throws IOException
+    {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("_type", "class");
+        content.put("name", "MyClass");
+        content.put("package", "model::test");
+        content.put("int", 5);
+        content.put("negativeInt", -5);
+        content.put("smallLong", 7L);
+        content.put("long", 12345678901L);
+        content.put("bigInt", new BigInteger("123456789012345678901234567890"));
+        content.put("float", 1.5f);
+        content.put("inexactFloat", 0.1f);
+        content.put("double", -2.25);
+        content.put("bool", false);
+        content.put("null", null);
+        content.put("list", Arrays.asList("a", "b", "a", Arrays.asList(1, 2)));
+        Entity entity = Entity.newEntity("model::test::MyClass", "meta::pure::metamodel::type::Class", content);
+
+        Assert.assertTrue(this.serializer.canSerialize(entity));
+        EntitySerializer jsonSerializer = EntitySerializers.getDefaultJsonSerializer();
+        Entity fromJson = jsonSerializer.deserialize(jsonSerializer.serializeToBytes(entity));
+        Entity fromBinary = this.serializer.deserialize(this.serializer.serializeToBytes(entity));
+        Assert.assertEquals(fromJson.getPath(), fromBinary.getPath());
+        Assert.assertEquals(fromJson.getClassifierPath(), fromBinary.getClassifierPath());
+        Assert.assertEquals(fromJson.getContent(), fromBinary.getContent());
+    }
+
+    @Test
+    public void testExactBigNumbers() throws IOException
+    {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("bigInt", new BigInteger("-98765432109876543210987654321098765432109876543210"));
+        content.put("bigDecimal", new BigDecimal("12345678901234567890.123456789012345678901"));
+        content.put("negativeScale", new BigDecimal("1.5E+400"));
+        content.put("tinyDecimal", new BigDecimal("-0.0000000000000000000000000000000000001"));
+        Entity entity = Entity.newEntity("model::test::MyClass", "meta::pure::metamodel::type::Class", content);
+
+        Entity fromBinary = this.serializer.deserialize(this.serializer.serializeToBytes(entity));
+        Assert.assertEquals(content, fromBinary.getContent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListsAreMutable() throws IOException
+    {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("empty", Collections.emptyList());
+        content.put("nonEmpty", Arrays.asList("a", "b"));
+        Entity entity = Entity.newEntity("model::test::MyClass", "meta::pure::metamodel::type::Class", content);
+
+        Map<String, ?> deserialized = this.serializer.deserialize(this.serializer.serializeToBytes(entity)).getContent();
+        List<Object> empty = (List<Object>) deserialized.get("empty");
+        empty.add("c");
+        Assert.assertEquals(Collections.singletonList("c"), empty);
+        List<Object> nonEmpty = (List<Object>) deserialized.get("nonEmpty");
+        nonEmpty.add("c");
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), nonEmpty);
+    }
+
+    @Test
+    public void testSmallerThanJson() throws IOException
+    {
+        Entity entity = TestTools.newClassEntity("ClassWith2Properties", "model::domain::test::notEmpty", Arrays.asList(TestTools.newProperty("prop2", "Integer", 1, 1), TestTools.newProperty("prop3", "Date", 0, 1)));
+        int jsonSize = EntitySerializers.getDefaultJsonSerializer().serializeToBytes(entity).length;
+        int binarySize = this.serializer.serializeToBytes(entity).length;
+        Assert.assertTrue(binarySize + " vs " + jsonSize, binarySize < jsonSize);
+    }
+
+    @Test
+    public void testCannotSerialize()
+    {
+        Entity entity = Entity.newEntity("model::test::MyClass", "meta::pure::metamodel::type::Class", Collections.singletonMap("value", new Object()));
+        Assert.assertFalse(this.serializer.canSerialize(entity));
+        Assert.assertThrows(IllegalArgumentException.class, () -> this.serializer.serializeToBytes(entity));
+    }
+
+    @Test
+    public void testInvalidInput() throws IOException
+    {
+        Assert.assertThrows(StreamCorruptedException.class, () -> this.serializer.deserialize("{\"content\": {}}".getBytes()));
+        byte[] bytes = this.serializer.serializeToBytes(TestTools.newClassEntity("EmptyClass", "model::domain::test::empty"));
+        Assert.assertThrows(StreamCorruptedException.class, () -> this.serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 1)));
+        Assert.assertThrows(StreamCorruptedException.class, () -> this.serializer.deserialize(Arrays.copyOf(bytes, bytes.length + 1)));
+    }
+
+    @Test
+    public void testHugeLengthsAndCounts()
+    {
+        // header, null classifier path, path "a", then a collection or string claiming a huge size
+        byte[] prefix = {'L', 'E', 'B', 1, 0, 7, 1, 'a'};
+        byte[] hugeVarInt = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        for (byte tag : new byte[]{9, 10, 7, 5})
+        {
+            byte[] bytes = Arrays.copyOf(prefix, prefix.length + 1 + hugeVarInt.length);
+            bytes[prefix.length] = tag;
+            System.arraycopy(hugeVarInt, 0, bytes, prefix.length + 1, hugeVarInt.length);
+            StreamCorruptedException e = Assert.assertThrows(StreamCorruptedException.class, () -> this.serializer.deserialize(bytes));
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("remain"));
+        }
+
+        // a map claiming more entries than could fit in the remaining bytes
+        byte[] bytes = Arrays.copyOf(prefix, prefix.length + 5);
+        bytes[prefix.length] = 9;
+        bytes[prefix.length + 1] = 2;
+        bytes[prefix.length + 2] = 8;
+        bytes[prefix.length + 3] = 0;
+        bytes[prefix.length + 4] = 0;
+        Assert.assertThrows(StreamCorruptedException.class, () -> this.serializer.deserialize(bytes));
+    }
+}
@@ -14,6 +14,19 @@
 
 package org.finos.legend.sdlc.serialization;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 public class TestDefaultJsonEntitySerializer extends TestEntityTextSerializer<DefaultJsonEntitySerializer>
 {
     @Override
@@ -33,4 +46,91 @@ public class TestDefaultJsonEntitySerializer extends TestEntityTextSerializer<De
     {
         return "json";
     }
+
+    @Test
+    public void testDeserializationMatchesDataBinding() throws IOException
+    {
+        String json = "{\"classifierPath\": \"meta::pure::metamodel::type::Class\", \"content\": {" +
+                "\"_type\": \"class\", \"name\": \"MyClass\", \"package\": \"model::test\", " +
+                "\"int\": 5, \"long\": 12345678901, \"bigInt\": 123456789012345678901234567890, \"float\": 1.5, " +
+                "\"bool\": true, \"null\": null, \"emptyObject\": {}, \"emptyArray\": [], " +
+                "\"properties\": [{\"name\": \"prop\", \"multiplicity\": {\"lowerBound\": 0, \"upperBound\": 1}}, [1, 2, [3]]]}}";
+        Entity entity = this.serializer.deserialize(json);
+        Assert.assertEquals("model::test::MyClass", entity.getPath());
+        Assert.assertEquals("meta::pure::metamodel::type::Class", entity.getClassifierPath());
+
+        Map<?, ?> expected = (Map<?, ?>) JsonMapper.builder().build().readValue(json, Map.class).get("content");
+        Assert.assertEquals(expected, entity.getContent());
+        Assert.assertEquals(Integer.class, entity.getContent().get("int").getClass());
+        Assert.assertEquals(Long.class, entity.getContent().get("long").getClass());
+        Assert.assertEquals(Double.class, entity.getContent().get("float").getClass());
+    }
+
+    @Test
+    public void testDeserializedContentIsMutable() throws IOException
+    {
+        Entity entity = this.serializer.deserialize("{\"classifierPath\": \"meta::pure::metamodel::type::Enumeration\", \"content\": {\"name\": \"MyEnum\", \"values\": [{\"value\": \"A\"}], \"stereotypes\": []}}");
+        Assert.assertEquals("MyEnum", entity.getPath());
+        @SuppressWarnings("unchecked")
+        List<Object> values = (List<Object>) entity.getContent().get("values");
+        values.add("B");
+        Assert.assertEquals(2, values.size());
+        @SuppressWarnings("unchecked")
+        List<Object> stereotypes = (List<Object>) entity.getContent().get("stereotypes");
+        stereotypes.add("C");
+        Assert.assertEquals(1, stereotypes.size());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> value = (Map<String, Object>) values.get(0);
+        value.put("value", "D");
+        Assert.assertEquals("D", value.get("value"));
+    }
+
+    @Test
+    public void testClassifierPathCoercion() throws IOException
+    {
+        Assert.assertEquals("5", this.serializer.deserialize("{\"classifierPath\": 5, \"content\": {\"name\": \"A\"}}").getClassifierPath());
+        Assert.assertEquals("true", this.serializer.deserialize("{\"classifierPath\": true, \"content\": {\"name\": \"A\"}}").getClassifierPath());
+        Assert.assertNull(this.serializer.deserialize("{\"classifierPath\": null, \"content\": {\"name\": \"A\"}}").getClassifierPath());
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.deserialize("{\"classifierPath\": [\"a::B\"], \"content\": {\"name\": \"A\"}}"));
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.deserialize("{\"classifierPath\": {}, \"content\": {\"name\": \"A\"}}"));
+    }
+
+    @Test
+    public void testDeserializationErrors()
+    {
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.deserialize("{\"classifierPath\": \"a::B\", \"content\": {\"name\": \"B\"}, \"other\": 1}"));
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.deserialize("[]"));
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> this.serializer.deserialize("{\"classifierPath\": \"a::B\", \"content\": {\"package\": \"a\"}}"));
+        Assert.assertEquals("Could not compute entity path", e.getMessage());
+    }
+
+    @Test
+    public void testScanHeaderStopsEarly() throws IOException
+    {
+        // everything after the header is left unread, so the truncated remainder is not an error
+        EntityHeader header = this.serializer.scanHeader("{\"classifierPath\": \"meta::pure::metamodel::type::Class\", \"content\": {\"_type\": \"class\", \"package\": \"model::test\", \"name\": \"MyClass\", \"properties\": [".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("model::test::MyClass", header.getPath());
+        Assert.assertEquals("meta::pure::metamodel::type::Class", header.getClassifierPath());
+
+        EntityHeader noPackage = this.serializer.scanHeader("{\"content\": {\"name\": \"MyClass\", \"properties\": [{\"name\": \"other\"}]}, \"classifierPath\": \"meta::pure::metamodel::type::Class\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("MyClass", noPackage.getPath());
+        Assert.assertEquals("meta::pure::metamodel::type::Class", noPackage.getClassifierPath());
+    }
+
+    @Test
+    public void testNewContentParser() throws IOException
+    {
+        String json = "{\"classifierPath\": \"meta::pure::metamodel::type::Class\", \"content\": {\"_type\": \"class\", \"name\": \"MyClass\", \"package\": \"model::test\", \"properties\": [{\"name\": \"prop\"}]}}";
+        Entity entity = this.serializer.deserialize(json);
+        try (JsonParser parser = this.serializer.newContentParser(json.getBytes(StandardCharsets.UTF_8)))
+        {
+            Assert.assertEquals(JsonToken.START_OBJECT, parser.currentToken());
+            Assert.assertEquals(entity.getContent(), JsonMapper.builder().build().readValue(parser, Map.class));
+        }
+
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.newContentParser("[]".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.newContentParser("{\"classifierPath\": \"a::B\"}".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.newContentParser("{\"classifierPath\": \"a::B\", \"content\": []}".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertThrows(JsonParseException.class, () -> this.serializer.newContentParser("{\"other\": 1, \"content\": {\"name\": \"B\"}}".getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,227 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestEntityIndex
+{
+    private static final List<EntitySerializer> SERIALIZERS = Arrays.asList(EntitySerializers.getDefaultBinarySerializer(), EntitySerializers.getDefaultJsonSerializer());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testBuildIndex() throws IOException
+    {
+        Path root = this.tempFolder.getRoot().toPath();
+        Entity emptyClass = TestTools.newClassEntity("EmptyClass", "model::domain::test::empty");
+        Entity otherClass = TestTools.newClassEntity("OtherClass", "model::domain::test2");
+        Entity genre = TestTools.newEnumerationEntity("MusicGenre", "model::domain::test::enums", "CLASSICAL", "COUNTRY");
+        writeEntity(root, emptyClass, EntitySerializers.getDefaultJsonSerializer());
+        writeEntity(root, otherClass, EntitySerializers.getDefaultJsonSerializer());
+        writeEntity(root, genre, EntitySerializers.getDefaultJsonSerializer());
+        writeEntity(root, genre, EntitySerializers.getDefaultBinarySerializer());
+        Files.write(root.resolve("entities").resolve("not_an_entity.txt"), new byte[]{1, 2, 3});
+
+        EntityIndex index = EntityIndex.buildIndex(root, SERIALIZERS);
+        Assert.assertEquals(3, index.size());
+        Assert.assertEquals("entities/model/domain/test/empty/EmptyClass.json", index.getEntry(emptyClass.getPath()).getFilePath());
+        Assert.assertEquals(emptyClass.getClassifierPath(), index.getEntry(emptyClass.getPath()).getClassifierPath());
+        Assert.assertEquals(64, index.getEntry(emptyClass.getPath()).getContentHash().length());
+        // binary is preferred
+        Assert.assertEquals("entities/model/domain/test/enums/MusicGenre.lbin", index.getEntry(genre.getPath()).getFilePath());
+        Assert.assertNull(index.getEntry("model::domain::test::NotAnEntity"));
+
+        assertPaths(Arrays.asList(emptyClass.getPath(), genre.getPath()), index.getEntriesInPackage("model::domain::test"));
+        assertPaths(Arrays.asList(emptyClass.getPath(), otherClass.getPath(), genre.getPath()), index.getEntriesInPackage("model::domain"));
+        assertPaths(Arrays.asList(emptyClass.getPath(), otherClass.getPath(), genre.getPath()), index.getEntriesInPackage("::"));
+        assertPaths(Arrays.asList(otherClass.getPath()), index.getEntriesInPackage("model::domain::test2"));
+        assertPaths(Arrays.asList(), index.getEntriesInPackage("model::domain::tes"));
+        assertPaths(Arrays.asList(emptyClass.getPath(), otherClass.getPath()), index.getEntriesWithClassifier(emptyClass.getClassifierPath()));
+        assertPaths(Arrays.asList(), index.getEntriesWithClassifier("meta::pure::metamodel::NotAClassifier"));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException
+    {
+        EntityIndex index = EntityIndex.newEntityIndex(Arrays.asList(
+                EntityIndex.Entry.newEntry("model::A", "meta::pure::metamodel::type::Class", "entities/model/A.json", "abc"),
+                EntityIndex.Entry.newEntry("model::sub::B", "meta::pure::metamodel::type::Enumeration", "entities/model/sub/B.lbin", "def")));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        index.write(stream);
+        EntityIndex read = EntityIndex.read(new ByteArrayInputStream(stream.toByteArray()));
+        Assert.assertEquals(2, read.size());
+        for (EntityIndex.Entry entry : index.getEntries())
+        {
+            EntityIndex.Entry readEntry = read.getEntry(entry.getPath());
+            Assert.assertEquals(entry.getClassifierPath(), readEntry.getClassifierPath());
+            Assert.assertEquals(entry.getFilePath(), readEntry.getFilePath());
+            Assert.assertEquals(entry.getContentHash(), readEntry.getContentHash());
+        }
+    }
+
+    @Test
+    public void testLoaderUsesIndex() throws Exception
+    {
+        Path root = this.tempFolder.getRoot().toPath();
+        Entity indexed = TestTools.newClassEntity("Indexed", "model::test");
+        writeEntity(root, indexed, EntitySerializers.getDefaultJsonSerializer());
+
+        // an index which covers all the files, but under a different entity path, shows whether the index is used
+        EntityIndex.newEntityIndex(Arrays.asList(EntityIndex.Entry.newEntry("model::test::Alias", indexed.getClassifierPath(), "entities/model/test/Indexed.json", null))).writeToDirectory(root);
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertNotNull(loader.getEntity("model::test::Alias"));
+            Assert.assertNull(loader.getEntity(indexed.getPath()));
+        }
+
+        // a built index is used
+        EntityIndex.buildIndex(root, SERIALIZERS).writeToDirectory(root);
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertNotNull(loader.getEntity(indexed.getPath()));
+            Assert.assertEquals(Arrays.asList(indexed.getPath()), loader.getAllEntities().map(Entity::getPath).collect(Collectors.toList()));
+        }
+
+        // where several indexed roots are merged (as in a shaded jar), only one index survives but all the markers do,
+        // and the index is ignored
+        EntityIndex.newEntityIndex(Arrays.asList(EntityIndex.Entry.newEntry("model::test::Alias", indexed.getClassifierPath(), "entities/model/test/Indexed.json", null))).writeToDirectory(root);
+        Entity notIndexed = TestTools.newClassEntity("NotIndexed", "model::test");
+        writeEntity(root, notIndexed, EntitySerializers.getDefaultJsonSerializer());
+        EntityIndex other = EntityIndex.newEntityIndex(Arrays.asList(EntityIndex.Entry.newEntry(notIndexed.getPath(), notIndexed.getClassifierPath(), "entities/model/test/NotIndexed.json", null)));
+        Files.createFile(root.resolve(other.getMarkerFileName()));
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertNull(loader.getEntity("model::test::Alias"));
+            Assert.assertNotNull(loader.getEntity(indexed.getPath()));
+            Assert.assertNotNull(loader.getEntity(notIndexed.getPath()));
+            Assert.assertEquals(2, loader.getAllEntities().count());
+        }
+
+        // as is an index which refers to files which do not exist
+        EntityIndex.newEntityIndex(Arrays.asList(
+                EntityIndex.Entry.newEntry(indexed.getPath(), indexed.getClassifierPath(), "entities/model/test/Indexed.json", null),
+                EntityIndex.Entry.newEntry(notIndexed.getPath(), notIndexed.getClassifierPath(), "entities/model/test/NotIndexed.json", null),
+                EntityIndex.Entry.newEntry("model::test::Missing", indexed.getClassifierPath(), "entities/model/test/Missing.json", null))).writeToDirectory(root);
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertEquals(2, loader.getAllEntities().count());
+        }
+
+        // as is an index without its marker
+        Files.delete(root.resolve(EntityIndex.readFromDirectory(root).getMarkerFileName()));
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertEquals(2, loader.getAllEntities().count());
+        }
+
+        // without the index, the directory tree is searched
+        EntityIndex.deleteFromDirectory(root);
+        Assert.assertFalse(Files.exists(root.resolve(EntityIndex.INDEX_FILE_NAME)));
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertNotNull(loader.getEntity(notIndexed.getPath()));
+            Assert.assertEquals(2, loader.getAllEntities().count());
+        }
+    }
+
+    @Test
+    public void testMarkers() throws IOException
+    {
+        Path root = this.tempFolder.getRoot().toPath();
+        Entity entity = TestTools.newClassEntity("EmptyClass", "model::test");
+        writeEntity(root, entity, EntitySerializers.getDefaultJsonSerializer());
+        EntityIndex index = EntityIndex.buildIndex(root, SERIALIZERS);
+        Assert.assertFalse(index.isOnlyIndexInDirectory(root));
+
+        index.writeToDirectory(root);
+        Assert.assertTrue(Files.exists(root.resolve(index.getMarkerFileName())));
+        Assert.assertTrue(index.isOnlyIndexInDirectory(root));
+        Assert.assertEquals(index.getId(), EntityIndex.readFromDirectory(root).getId());
+
+        // the id depends on the content
+        EntityIndex changed = EntityIndex.newEntityIndex(Arrays.asList(EntityIndex.Entry.newEntry(entity.getPath(), entity.getClassifierPath(), "entities/model/test/EmptyClass.json", "abc")));
+        Assert.assertNotEquals(index.getId(), changed.getId());
+        Assert.assertFalse(changed.isOnlyIndexInDirectory(root));
+
+        // rewriting replaces the previous marker
+        changed.writeToDirectory(root);
+        Assert.assertFalse(Files.exists(root.resolve(index.getMarkerFileName())));
+        Assert.assertTrue(changed.isOnlyIndexInDirectory(root));
+
+        // another marker, as from a merged root, means the index is not the only one
+        Files.createFile(root.resolve(index.getMarkerFileName()));
+        Assert.assertFalse(changed.isOnlyIndexInDirectory(root));
+
+        EntityIndex.deleteFromDirectory(root);
+        Assert.assertNull(EntityIndex.readFromDirectory(root));
+        Assert.assertFalse(Files.exists(root.resolve(index.getMarkerFileName())));
+        Assert.assertFalse(Files.exists(root.resolve(changed.getMarkerFileName())));
+    }
+
+    @Test
+    public void testBuildIndexReusesUnchangedEntries() throws IOException
+    {
+        Path root = this.tempFolder.getRoot().toPath();
+        Entity unchanged = TestTools.newClassEntity("Unchanged", "model::test");
+        Entity changed = TestTools.newClassEntity("Changed", "model::test");
+        writeEntity(root, unchanged, EntitySerializers.getDefaultJsonSerializer());
+        writeEntity(root, changed, EntitySerializers.getDefaultJsonSerializer());
+        EntityIndex previous = EntityIndex.buildIndex(root, SERIALIZERS);
+
+        // overwrite both files with content that cannot be read: the unchanged one is not read, so its entry is reused
+        String unchangedFile = previous.getEntry(unchanged.getPath()).getFilePath();
+        String changedFile = previous.getEntry(changed.getPath()).getFilePath();
+        Files.write(root.resolve(unchangedFile), new byte[]{1, 2, 3});
+        Entity renamed = TestTools.newClassEntity("Renamed", "model::test");
+        Files.write(root.resolve(changedFile), EntitySerializers.getDefaultJsonSerializer().serializeToBytes(renamed));
+
+        EntityIndex index = EntityIndex.buildIndex(root, SERIALIZERS, previous, unchangedFile::equals);
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(previous.getEntry(unchanged.getPath()).getContentHash(), index.getEntry(unchanged.getPath()).getContentHash());
+        Assert.assertNull(index.getEntry(changed.getPath()));
+        Assert.assertEquals(changedFile, index.getEntry(renamed.getPath()).getFilePath());
+    }
+
+    private static void writeEntity(Path root, Entity entity, EntitySerializer serializer) throws IOException
+    {
+        Path file = serializer.filePathForEntity(entity, root.resolve("entities"));
+        Files.createDirectories(file.getParent());
+        Files.write(file, serializer.serializeToBytes(entity));
+    }
+
+    private static void assertPaths(Collection<String> expected, Collection<EntityIndex.Entry> entries)
+    {
+        Set<String> actual = entries.stream().map(EntityIndex.Entry::getPath).collect(Collectors.toSet());
+        Assert.assertEquals(expected.stream().collect(Collectors.toSet()), actual);
+    }
+}
@@ -19,6 +19,7 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -29,6 +30,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 abstract class TestEntityLoader
@@ -113,6 +115,52 @@ abstract class TestEntityLoader
         TestTools.assertEntitiesEquivalent(this.testEntities, loadedEntities);
     }
 
+    @Test
+    public void testGetAllEntitiesLazily()
+    {
+        List<Entity> loadedEntities = this.entityLoader.getAllEntities(true).collect(Collectors.toList());
+        loadedEntities.forEach(e -> Assert.assertFalse(e.getPath(), ((LazyEntity) e).isContentLoaded()));
+        TestTools.assertEntitiesEquivalent(this.testEntities, loadedEntities);
+    }
+
+    @Test
+    public void testGetAllEntitiesInParallel()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            List<Entity> loadedEntities = this.entityLoader.getAllEntities(pool).collect(Collectors.toList());
+            TestTools.assertEntitiesEquivalent(this.testEntities, loadedEntities);
+
+            // order is deterministic
+            List<String> loadedPaths = loadedEntities.stream().map(Entity::getPath).collect(Collectors.toList());
+            Assert.assertEquals(loadedPaths, this.entityLoader.getAllEntities(pool).map(Entity::getPath).collect(Collectors.toList()));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEntityFilesReadConcurrently()
+    {
+        Assume.assumeTrue(this.testEntities.size() > 1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            Assert.assertEquals(0, pool.getPoolSize());
+            Assert.assertEquals(this.testEntities.size(), this.entityLoader.getAllEntities(pool).count());
+            // reading the files is split into tasks across the pool, even if they are all in one search root; if it
+            // were not, the single task would run on a single worker
+            Assert.assertTrue(Integer.toString(pool.getPoolSize()), pool.getPoolSize() > 1);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testGetEntitiesInPackage()
     {
@@ -134,6 +182,35 @@ abstract class TestEntityLoader
 
         List<Entity> nonExistentPkgEntities = this.entityLoader.getEntitiesInPackage("non::existent::package").collect(Collectors.toList());
         Assert.assertEquals(Collections.emptyList(), nonExistentPkgEntities);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            entitiesByPackage.forEach((pkg, expectedEntities) ->
+            {
+                List<Entity> pkgEntities = this.entityLoader.getEntitiesInPackage(pkg, pool).collect(Collectors.toList());
+                TestTools.assertEntitiesEquivalent(pkg, expectedEntities, pkgEntities);
+            });
+            Assert.assertEquals(0L, this.entityLoader.getEntitiesInPackage("non::existent::package", pool).count());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetEntitiesWithClassifier()
+    {
+        Map<String, List<Entity>> entitiesByClassifier = this.testEntities.stream().collect(Collectors.groupingBy(Entity::getClassifierPath));
+        entitiesByClassifier.forEach((classifierPath, expectedEntities) ->
+        {
+            List<Entity> classifierEntities = this.entityLoader.getEntitiesWithClassifier(classifierPath).collect(Collectors.toList());
+            TestTools.assertEntitiesEquivalent(classifierPath, expectedEntities, classifierEntities);
+        });
+
+        List<Entity> nonExistentClassifierEntities = this.entityLoader.getEntitiesWithClassifier("meta::pure::metamodel::NotAClassifier").collect(Collectors.toList());
+        Assert.assertEquals(Collections.emptyList(), nonExistentClassifierEntities);
     }
 
     protected abstract EntityLoader createEntityLoaderFromFiles(Map<String, byte[]> fileContentByPath) throws IOException;
@@ -29,8 +29,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class TestEntitySerializer<T extends EntitySerializer>
 {
@@ -75,6 +78,44 @@ public abstract class TestEntitySerializer<T extends EntitySerializer>
         testSerialization(this::serializeWithStream, this.serializer::deserialize);
     }
 
+    @Test
+    public void testScanHeader() throws IOException
+    {
+        for (Entity entity : getTestEntities())
+        {
+            byte[] bytes = this.serializer.serializeToBytes(entity);
+            assertHeader(entity, this.serializer.scanHeader(bytes));
+            try (InputStream stream = new ByteArrayInputStream(bytes))
+            {
+                assertHeader(entity, this.serializer.scanHeader(stream));
+            }
+        }
+    }
+
+    @Test
+    public void testDeserializeBatch() throws IOException
+    {
+        List<Entity> entities = getTestEntities();
+        Map<String, byte[]> contentBySourceId = new LinkedHashMap<>();
+        for (Entity entity : entities)
+        {
+            contentBySourceId.put(entity.getPath(), this.serializer.serializeToBytes(entity));
+        }
+        Map<String, List<Entity>> deserialized = this.serializer.deserializeBatch(contentBySourceId, true);
+        Assert.assertEquals(new ArrayList<>(contentBySourceId.keySet()), new ArrayList<>(deserialized.keySet()));
+        for (Entity entity : entities)
+        {
+            List<Entity> sourceEntities = deserialized.get(entity.getPath());
+            Assert.assertEquals(entity.getPath(), 1, sourceEntities.size());
+            assertEntitiesEqualButNotSame(entity.getPath(), entity, sourceEntities.get(0));
+        }
+
+        contentBySourceId.put("bad source", new byte[]{'#', '#', '#', '{'});
+        Exception e = Assert.assertThrows(Exception.class, () -> this.serializer.deserializeBatch(contentBySourceId, true));
+        String message = e.getMessage();
+        Assert.assertTrue(message, message.startsWith("Error deserializing entities from bad source"));
+    }
+
     @Test
     public void testSerializationToFile() throws IOException
     {
@@ -177,6 +218,12 @@ public abstract class TestEntitySerializer<T extends EntitySerializer>
         }
     }
 
+    private static void assertHeader(Entity expected, EntityHeader actual)
+    {
+        Assert.assertEquals(expected.getPath(), actual.getPath());
+        Assert.assertEquals(expected.getPath(), expected.getClassifierPath(), actual.getClassifierPath());
+    }
+
     private static void assertEntitiesEqualButNotSame(String message, Entity expected, Entity actual)
     {
         Assert.assertNotSame(message, expected, actual);
@@ -30,6 +30,14 @@ public class TestEntitySerializers
         Assert.assertTrue(EntitySerializers.getDefaultJsonSerializer() instanceof DefaultJsonEntitySerializer);
     }
 
+    @Test
+    public void testGetDefaultBinarySerializer()
+    {
+        // the binary serializer is only available explicitly, so it cannot be selected by name (e.g., in a project structure)
+        Assert.assertTrue(EntitySerializers.getDefaultBinarySerializer() instanceof BinaryEntitySerializer);
+        Assert.assertFalse(EntitySerializers.getAvailableSerializersByName().containsKey(EntitySerializers.getDefaultBinarySerializer().getName()));
+    }
+
     @Test
     public void testGetAvailableSerializers()
     {
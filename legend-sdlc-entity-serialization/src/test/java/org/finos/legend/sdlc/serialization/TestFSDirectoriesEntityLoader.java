@@ -14,13 +14,21 @@
 
 package org.finos.legend.sdlc.serialization;
 
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class TestFSDirectoriesEntityLoader extends TestEntityLoader
@@ -31,6 +39,48 @@ public class TestFSDirectoriesEntityLoader extends TestEntityLoader
     @Rule
     public TemporaryFolder tempFolder = new TemporaryFolder();
 
+    @Test
+    public void testParallelLoadingMatchesSequential() throws Exception
+    {
+        EntitySerializer serializer = EntitySerializers.getDefaultJsonSerializer();
+        Entity first = TestTools.newClassEntity("Duplicate", "model::test::dup", TestTools.newProperty("first", "String", 0, 1));
+        Entity second = TestTools.newClassEntity("Duplicate", "model::test::dup", TestTools.newProperty("second", "String", 0, 1));
+        Path firstDir = this.tempFolder.newFolder().toPath();
+        Path secondDir = this.tempFolder.newFolder().toPath();
+        serializer.serializeToFile(first, firstDir.resolve("entities"));
+        serializer.serializeToFile(second, secondDir.resolve("entities"));
+        for (String name : Arrays.asList("Zebra", "Apple", "Mango"))
+        {
+            serializer.serializeToFile(TestTools.newClassEntity(name, "model::test::dup"), firstDir.resolve("entities"));
+            serializer.serializeToFile(TestTools.newClassEntity(name + "2", "model::test::other"), secondDir.resolve("entities"));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (EntityLoader loader = EntityLoader.newEntityLoader(firstDir, secondDir))
+        {
+            List<Entity> sequential = loader.getAllEntities().collect(Collectors.toList());
+            List<Entity> parallel = loader.getAllEntities(pool).collect(Collectors.toList());
+            Assert.assertEquals(8, sequential.size());
+            Assert.assertEquals(2, sequential.stream().filter(e -> first.getPath().equals(e.getPath())).count());
+            assertSameEntitiesInOrder(sequential, parallel);
+
+            for (String pkg : Arrays.asList("model", "model::test", "model::test::dup", "model::test::other"))
+            {
+                assertSameEntitiesInOrder(loader.getEntitiesInPackage(pkg).collect(Collectors.toList()), loader.getEntitiesInPackage(pkg, pool).collect(Collectors.toList()));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertSameEntitiesInOrder(List<Entity> expected, List<Entity> actual)
+    {
+        Assert.assertEquals(expected.stream().map(Entity::getPath).collect(Collectors.toList()), actual.stream().map(Entity::getPath).collect(Collectors.toList()));
+        Assert.assertEquals(expected.stream().map(Entity::getContent).collect(Collectors.toList()), actual.stream().map(Entity::getContent).collect(Collectors.toList()));
+    }
+
     @Override
     protected EntityLoader createEntityLoaderFromFiles(Map<String, byte[]> fileContentByPath) throws IOException
     {
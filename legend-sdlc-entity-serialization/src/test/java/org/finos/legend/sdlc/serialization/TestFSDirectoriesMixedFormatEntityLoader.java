@@ -0,0 +1,68 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class TestFSDirectoriesMixedFormatEntityLoader extends TestFSDirectoriesEntityLoader
+{
+    private static final int DIR_COUNT = 3;
+
+    @Override
+    protected EntityLoader createEntityLoaderFromFiles(Map<String, byte[]> fileContentByPath) throws IOException
+    {
+        // some entities only in JSON, some only in binary, and some in both (in the same directory)
+        EntitySerializer jsonSerializer = EntitySerializers.getDefaultJsonSerializer();
+        EntitySerializer binarySerializer = EntitySerializers.getDefaultBinarySerializer();
+        Path root = this.tempFolder.getRoot().toPath();
+        int i = 0;
+        for (Map.Entry<String, byte[]> entry : fileContentByPath.entrySet())
+        {
+            Path dir = root.resolve("dir" + (i % DIR_COUNT));
+            String jsonPath = entry.getKey();
+            String binaryPath = jsonPath.substring(0, jsonPath.length() - jsonSerializer.getDefaultFileExtension().length()) + binarySerializer.getDefaultFileExtension();
+            switch ((i / DIR_COUNT) % 3)
+            {
+                case 0:
+                {
+                    write(dir.resolve(jsonPath), entry.getValue());
+                    break;
+                }
+                case 1:
+                {
+                    write(dir.resolve(binaryPath), binarySerializer.serializeToBytes(jsonSerializer.deserialize(entry.getValue())));
+                    break;
+                }
+                default:
+                {
+                    write(dir.resolve(jsonPath), entry.getValue());
+                    write(dir.resolve(binaryPath), binarySerializer.serializeToBytes(jsonSerializer.deserialize(entry.getValue())));
+                }
+            }
+            i++;
+        }
+        return EntityLoader.newEntityLoader(IntStream.range(0, DIR_COUNT).mapToObj(d -> root.resolve("dir" + d)).toArray(Path[]::new));
+    }
+
+    private static void write(Path path, byte[] content) throws IOException
+    {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+    }
+}
@@ -0,0 +1,139 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestLazyEntity
+{
+    private final Entity entity = TestTools.newClassEntity("ClassWith1Property", "model::domain::test", TestTools.newProperty("prop1", "String", 0, 1));
+    private final CountingSerializer serializer = new CountingSerializer();
+
+    @Test
+    public void testContentDeserializedOnDemand() throws IOException
+    {
+        LazyEntity lazyEntity = LazyEntity.newLazyEntity(this.serializer, this.serializer.serializeToBytes(this.entity));
+        Assert.assertEquals(this.entity.getPath(), lazyEntity.getPath());
+        Assert.assertEquals(this.entity.getClassifierPath(), lazyEntity.getClassifierPath());
+        Assert.assertFalse(lazyEntity.isContentLoaded());
+        Assert.assertEquals(0, this.serializer.deserializeCount.get());
+
+        Map<String, ?> content = lazyEntity.getContent();
+        Assert.assertEquals(this.entity.getContent(), content);
+        Assert.assertTrue(lazyEntity.isContentLoaded());
+        Assert.assertSame(content, lazyEntity.getContent());
+        Assert.assertEquals(1, this.serializer.deserializeCount.get());
+    }
+
+    @Test
+    public void testSoftContent() throws IOException
+    {
+        LazyEntity lazyEntity = LazyEntity.newLazyEntity(this.serializer, this.serializer.serializeToBytes(this.entity), true);
+        Assert.assertFalse(lazyEntity.isContentLoaded());
+        Assert.assertEquals(this.entity.getContent(), lazyEntity.getContent());
+        Assert.assertTrue(lazyEntity.isContentLoaded());
+    }
+
+    @Test
+    public void testConcurrentGetContent() throws Exception
+    {
+        LazyEntity lazyEntity = LazyEntity.newLazyEntity(this.serializer, this.serializer.serializeToBytes(this.entity));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Future<Map<String, ?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+            {
+                futures.add(executor.submit(lazyEntity::getContent));
+            }
+            Map<String, ?> first = futures.get(0).get();
+            for (Future<Map<String, ?>> future : futures)
+            {
+                Assert.assertSame(first, future.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, this.serializer.deserializeCount.get());
+    }
+
+    @Test
+    public void testHeaderMismatch() throws IOException
+    {
+        byte[] bytes = this.serializer.serializeToBytes(this.entity);
+        LazyEntity lazyEntity = LazyEntity.newLazyEntity(this.serializer, bytes, EntityHeader.newEntityHeader(this.entity.getPath(), "meta::pure::metamodel::type::Enumeration"), false);
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, lazyEntity::getContent);
+        Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Error deserializing entity " + this.entity.getPath()));
+    }
+
+    private static class CountingSerializer implements EntitySerializer
+    {
+        private final EntitySerializer delegate = EntitySerializers.getDefaultJsonSerializer();
+        private final AtomicInteger deserializeCount = new AtomicInteger();
+
+        @Override
+        public String getName()
+        {
+            return this.delegate.getName();
+        }
+
+        @Override
+        public String getDefaultFileExtension()
+        {
+            return this.delegate.getDefaultFileExtension();
+        }
+
+        @Override
+        public boolean canSerialize(Entity entity)
+        {
+            return this.delegate.canSerialize(entity);
+        }
+
+        @Override
+        public void serialize(Entity entity, OutputStream stream) throws IOException
+        {
+            this.delegate.serialize(entity, stream);
+        }
+
+        @Override
+        public Entity deserialize(InputStream stream) throws IOException
+        {
+            this.deserializeCount.incrementAndGet();
+            return this.delegate.deserialize(stream);
+        }
+
+        @Override
+        public EntityHeader scanHeader(InputStream stream) throws IOException
+        {
+            return this.delegate.scanHeader(stream);
+        }
+    }
+}
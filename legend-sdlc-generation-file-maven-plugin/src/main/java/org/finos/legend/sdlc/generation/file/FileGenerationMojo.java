@@ -45,6 +45,7 @@ import org.finos.legend.sdlc.generation.artifact.ArtifactGenerationResult;
 import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
+import org.finos.legend.sdlc.tools.parallel.Parallelism;
 
 import java.io.File;
 import java.io.IOException;
@@ -56,6 +57,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -75,6 +78,9 @@ public class FileGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject mavenProject;
 
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.generation.file.parallel}")
+    private String parallel;
+
     @Override
     public void execute() throws MojoExecutionException
     {
@@ -96,15 +102,28 @@ public class FileGenerationMojo extends AbstractMojo
         // Load Model
         long modelStart = System.nanoTime();
         getLog().info("Start loading model");
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
+        int parallelism = getParallelism();
+        getLog().info("parallelism: " + parallelism);
+        // Entities are loaded and converted in parallel if parallelism level is greater than 1; otherwise they are
+        // loaded lazily, so their content can be bound straight to protocol elements from the serialized bytes
+        ForkJoinPool loadPool = (parallelism > 1) ? createForkJoinPool(parallelism) : null;
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder().withConversionPool(loadPool);
         try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+            pureModelBuilder.addEntitiesIfPossible((loadPool == null) ? allEntities.getAllEntities(true) : allEntities.getAllEntities(loadPool));
+            pureModelBuilder.getConversionFailures().forEach(f -> getLog().debug(f.getError().getMessage()));
         }
         catch (Exception e)
         {
             throw new MojoExecutionException("Error loading entities from model", e);
         }
+        finally
+        {
+            if (loadPool != null)
+            {
+                loadPool.shutdown();
+            }
+        }
 
         int entityCount = pureModelBuilder.getElementCount();
         getLog().info("Found " + entityCount + " entities");
@@ -364,6 +383,30 @@ public class FileGenerationMojo extends AbstractMojo
         return new Protocol("pure", PureClientVersions.production);
     }
 
+    private int getParallelism()
+    {
+        int parallelism = Parallelism.parseParallel(this.parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
+    private ForkJoinPool createForkJoinPool(int parallelism)
+    {
+        // We have to create a custom fork join thread worker factory to ensure the worker threads use this thread's
+        // context class loader. This is why we cannot use the common pool.
+        return new ForkJoinPool(
+                parallelism,
+                pool -> new ForkJoinWorkerThread(pool)
+                {
+                },
+                null,
+                false);
+    }
+
     public static class PackageableElementFilter
     {
         public File[] directories;
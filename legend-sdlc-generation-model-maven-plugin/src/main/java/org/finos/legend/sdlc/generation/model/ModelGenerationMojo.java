@@ -36,6 +36,7 @@ import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
+import org.finos.legend.sdlc.tools.parallel.Parallelism;
 
 import java.io.File;
 import java.io.IOException;
@@ -45,6 +46,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -62,6 +65,9 @@ public class ModelGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${project.build.outputDirectory}")
     private File outputDirectory;
 
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.generation.model.parallel}")
+    private String parallel;
+
     @Override
     public void execute() throws MojoExecutionException
     {
@@ -83,10 +89,16 @@ public class ModelGenerationMojo extends AbstractMojo
         // Load Model
         long modelStart = System.nanoTime();
         getLog().info("Start loading model");
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
+        int parallelism = getParallelism();
+        getLog().info("parallelism: " + parallelism);
+        // Entities are loaded and converted in parallel if parallelism level is greater than 1; otherwise they are
+        // loaded lazily, so their content can be bound straight to protocol elements from the serialized bytes
+        ForkJoinPool loadPool = (parallelism > 1) ? createForkJoinPool(parallelism) : null;
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder().withConversionPool(loadPool);
         try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+            pureModelBuilder.addEntitiesIfPossible((loadPool == null) ? allEntities.getAllEntities(true) : allEntities.getAllEntities(loadPool));
+            pureModelBuilder.getConversionFailures().forEach(f -> getLog().debug(f.getError().getMessage()));
             int entityCount = pureModelBuilder.getElementCount();
             getLog().info("Found " + entityCount + " entities");
             if (entityCount == 0)
@@ -101,6 +113,13 @@ public class ModelGenerationMojo extends AbstractMojo
         {
             throw new MojoExecutionException("Error loading entities from model", e);
         }
+        finally
+        {
+            if (loadPool != null)
+            {
+                loadPool.shutdown();
+            }
+        }
         PureModelBuilder.PureModelWithContextData pureModelWithContextData = pureModelBuilder.build();
         PureModelContextData pureModelContextData = pureModelWithContextData.getPureModelContextData();
         PureModel pureModel = pureModelWithContextData.getPureModel();
@@ -218,6 +237,30 @@ public class ModelGenerationMojo extends AbstractMojo
         return new ResolvedGenerationSpecificationFilter(generationSpecPaths, generationSpec.packages);
     }
 
+    private int getParallelism()
+    {
+        int parallelism = Parallelism.parseParallel(this.parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
+    private ForkJoinPool createForkJoinPool(int parallelism)
+    {
+        // We have to create a custom fork join thread worker factory to ensure the worker threads use this thread's
+        // context class loader. This is why we cannot use the common pool.
+        return new ForkJoinPool(
+                parallelism,
+                pool -> new ForkJoinWorkerThread(pool)
+                {
+                },
+                null,
+                false);
+    }
+
     public static class GenerationSpecificationFilter
     {
         public File[] directories;
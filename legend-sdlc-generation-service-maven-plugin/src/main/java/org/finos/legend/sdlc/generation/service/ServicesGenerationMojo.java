@@ -43,6 +43,7 @@ import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder
 import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
+import org.finos.legend.sdlc.tools.parallel.Parallelism;
 
 import java.io.File;
 import java.util.Arrays;
@@ -51,8 +52,6 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
 
@@ -113,15 +112,26 @@ public class ServicesGenerationMojo extends AbstractMojo
         getLog().info("Loading model");
         long modelStart = System.nanoTime();
 
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
+        // Entities are loaded and converted in parallel if parallelism level is greater than 1; otherwise they are
+        // loaded lazily, so their content can be bound straight to protocol elements from the serialized bytes
+        ForkJoinPool loadPool = (parallelism > 1) ? createForkJoinPool(parallelism) : null;
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder().withConversionPool(loadPool);
         try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+            pureModelBuilder.addEntitiesIfPossible((loadPool == null) ? allEntities.getAllEntities(true) : allEntities.getAllEntities(loadPool));
+            pureModelBuilder.getConversionFailures().forEach(f -> getLog().debug(f.getError().getMessage()));
         }
         catch (Exception e)
         {
             throw new MojoExecutionException("Error loading entities from model", e);
         }
+        finally
+        {
+            if (loadPool != null)
+            {
+                loadPool.shutdown();
+            }
+        }
         int elementCount = pureModelBuilder.getElementCount();
         getLog().info("Found " + elementCount + " elements in the model");
         if (elementCount == 0)
@@ -273,7 +283,7 @@ public class ServicesGenerationMojo extends AbstractMojo
 
     private int getParallelism()
     {
-        int parallelism = parseParallel(this.parallel);
+        int parallelism = Parallelism.parseParallel(this.parallel);
         if (parallelism < 1)
         {
             getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
@@ -381,68 +391,4 @@ public class ServicesGenerationMojo extends AbstractMojo
             return !matches(servicePath);
         }
     }
-
-    // package private for testing
-    static int parseParallel(String parallel)
-    {
-        if ((parallel == null) || parallel.isEmpty())
-        {
-            return 1;
-        }
-
-        Pattern pattern = Pattern.compile("\\s*((?<true>true)|(?<false>false)|(?<integer>[+-]?\\d+)|(?<cpu>((?<cpux>\\d+(\\.\\d+)?)\\s*)?C(\\s*(?<cpupm>[+-])\\s*(?<cpua>\\d+))?))?\\s*", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(parallel);
-        if (!matcher.matches())
-        {
-            throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"");
-        }
-        if (matcher.group("true") != null)
-        {
-            // by default, we use the number of available processors minus 1
-            return Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
-        }
-        if (matcher.group("false") != null)
-        {
-            return 1;
-        }
-        String integer = matcher.group("integer");
-        if (integer != null)
-        {
-            try
-            {
-                return Integer.parseInt(integer);
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
-            }
-        }
-        if (matcher.group("cpu") != null)
-        {
-            int parallelism = Runtime.getRuntime().availableProcessors();
-            try
-            {
-                String multiplier = matcher.group("cpux");
-                if (multiplier != null)
-                {
-                    parallelism = Math.round(Float.parseFloat(multiplier) * parallelism);
-                }
-
-                String addendum = matcher.group("cpua");
-                if (addendum != null)
-                {
-                    int toAdd = Integer.parseInt(addendum);
-                    parallelism += "-".equals(matcher.group("cpupm")) ? -toAdd : toAdd;
-                }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
-            }
-            return parallelism;
-        }
-
-        // only whitespace
-        return 1;
-    }
 }
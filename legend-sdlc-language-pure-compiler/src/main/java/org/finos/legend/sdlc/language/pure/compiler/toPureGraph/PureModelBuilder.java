@@ -27,7 +27,9 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
 import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
 
+import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 public class PureModelBuilder
@@ -47,6 +49,11 @@ public class PureModelBuilder
         return this.contextDataBuilder.getElementCount();
     }
 
+    public List<PureModelContextDataBuilder.EntityConversionFailure> getConversionFailures()
+    {
+        return this.contextDataBuilder.getConversionFailures();
+    }
+
     public void addPackageableElement(PackageableElement element)
     {
         this.contextDataBuilder.addPackageableElement(element);
@@ -146,6 +153,17 @@ public class PureModelBuilder
         return this;
     }
 
+    public void setConversionPool(ForkJoinPool conversionPool)
+    {
+        this.contextDataBuilder.setConversionPool(conversionPool);
+    }
+
+    public PureModelBuilder withConversionPool(ForkJoinPool conversionPool)
+    {
+        setConversionPool(conversionPool);
+        return this;
+    }
+
     public PureModelBuilder withSDLC(SDLC sdlc)
     {
         this.contextDataBuilder.withSDLC(sdlc);
@@ -0,0 +1,97 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools.parallel;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class Parallelism
+{
+    private static final Pattern PARALLEL_PATTERN = Pattern.compile("\\s*((?<true>true)|(?<false>false)|(?<integer>[+-]?\\d+)|(?<cpu>((?<cpux>\\d+(\\.\\d+)?)\\s*)?C(\\s*(?<cpupm>[+-])\\s*(?<cpua>\\d+))?))?\\s*", Pattern.CASE_INSENSITIVE);
+
+    private Parallelism()
+    {
+    }
+
+    /**
+     * Parse a parallelism specification, as used by the Legend Maven plugins. This may be empty (1), true (the number
+     * of available processors minus 1), false (1), an integer, or a multiple of the number of available processors
+     * with an optional addendum (such as 2.5C or C-1). The result may be less than 1.
+     *
+     * @param parallel parallelism specification
+     * @return parallelism
+     */
+    public static int parseParallel(String parallel)
+    {
+        if ((parallel == null) || parallel.isEmpty())
+        {
+            return 1;
+        }
+
+        Matcher matcher = PARALLEL_PATTERN.matcher(parallel);
+        if (!matcher.matches())
+        {
+            throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"");
+        }
+        if (matcher.group("true") != null)
+        {
+            // by default, we use the number of available processors minus 1
+            return Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        }
+        if (matcher.group("false") != null)
+        {
+            return 1;
+        }
+        String integer = matcher.group("integer");
+        if (integer != null)
+        {
+            try
+            {
+                return Integer.parseInt(integer);
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
+            }
+        }
+        if (matcher.group("cpu") != null)
+        {
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            try
+            {
+                String multiplier = matcher.group("cpux");
+                if (multiplier != null)
+                {
+                    parallelism = Math.round(Float.parseFloat(multiplier) * parallelism);
+                }
+
+                String addendum = matcher.group("cpua");
+                if (addendum != null)
+                {
+                    int toAdd = Integer.parseInt(addendum);
+                    parallelism += "-".equals(matcher.group("cpupm")) ? -toAdd : toAdd;
+                }
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
+            }
+            return parallelism;
+        }
+
+        // only whitespace
+        return 1;
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools.parallel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParallelism
+{
+    @Test
+    public void testParseParallel()
+    {
+        int procCount = Runtime.getRuntime().availableProcessors();
+
+        // Null, empty, whitespace
+        Assert.assertEquals(1, Parallelism.parseParallel(null));
+        Assert.assertEquals(1, Parallelism.parseParallel(""));
+        Assert.assertEquals(1, Parallelism.parseParallel("   \r\t\n  \r\n \n\r "));
+
+        // Integers
+        for (int i = 0; i < 256; i++)
+        {
+            String s = Integer.toString(i);
+            Assert.assertEquals(s, i, Parallelism.parseParallel(s));
+            Assert.assertEquals(s, i, Parallelism.parseParallel("+" + s));
+            Assert.assertEquals(s, -i, Parallelism.parseParallel("-" + s));
+            Assert.assertEquals(s, i, Parallelism.parseParallel("00000000" + s));
+            Assert.assertEquals(s, i, Parallelism.parseParallel("    " + s + "    "));
+        }
+
+        // False
+        Assert.assertEquals(1, Parallelism.parseParallel("false"));
+        Assert.assertEquals(1, Parallelism.parseParallel("FALSE"));
+        Assert.assertEquals(1, Parallelism.parseParallel("False"));
+        Assert.assertEquals(1, Parallelism.parseParallel("FaLsE"));
+        Assert.assertEquals(1, Parallelism.parseParallel(" false "));
+        Assert.assertEquals(1, Parallelism.parseParallel("   false "));
+
+        // True
+        int defaultParallelism = Math.max(procCount - 1, 1);
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel("true"));
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel("TRUE"));
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel("True"));
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel("TrUe"));
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel(" true "));
+        Assert.assertEquals(defaultParallelism, Parallelism.parseParallel("   true "));
+
+        // Processor based
+        Assert.assertEquals(procCount, Parallelism.parseParallel("C"));
+        Assert.assertEquals(procCount, Parallelism.parseParallel("c"));
+        Assert.assertEquals(procCount, Parallelism.parseParallel(" C  "));
+        Assert.assertEquals(procCount, Parallelism.parseParallel("1.0C"));
+        Assert.assertEquals(procCount, Parallelism.parseParallel("1C"));
+        Assert.assertEquals(2 * procCount, Parallelism.parseParallel("2.0C"));
+        Assert.assertEquals(2 * procCount, Parallelism.parseParallel("2\tC"));
+        Assert.assertEquals(Math.round(2.5 * procCount), Parallelism.parseParallel("2.5C"));
+        Assert.assertEquals(Math.round(12.3 * procCount), Parallelism.parseParallel("12.3  C"));
+        Assert.assertEquals(procCount - 1, Parallelism.parseParallel("C-1"));
+        Assert.assertEquals(procCount - 1, Parallelism.parseParallel("C - 1"));
+        Assert.assertEquals(procCount + 1, Parallelism.parseParallel("C + 1"));
+        Assert.assertEquals(procCount + 2, Parallelism.parseParallel("C + 2"));
+        Assert.assertEquals(Math.round(2.5 * procCount) + 2, Parallelism.parseParallel("2.5C + 2"));
+        Assert.assertEquals(Math.round(3.5 * procCount) - 1, Parallelism.parseParallel("3.5c-1"));
+
+        for (String invalid : new String[]{"blah", "trueee", "null", "123.123", "2.5*C", "C / 5"})
+        {
+            RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> Parallelism.parseParallel(invalid));
+            Assert.assertEquals(invalid, "Could not parse parallel value: \"" + invalid + "\"", e.getMessage());
+        }
+    }
+}
@@ -14,13 +14,22 @@
 
 package org.finos.legend.sdlc.protocol.pure.v1;
 
+import com.fasterxml.jackson.core.JsonParser;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.finos.legend.engine.protocol.pure.v1.ProtocolToClassifierPathLoader;
 import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.EntityToProtocolConverter;
+import org.finos.legend.sdlc.serialization.LazyEntity;
+
+import java.io.IOException;
 
 public class EntityToPureConverter extends EntityToProtocolConverter<PackageableElement>
 {
+    private final ImmutableSet<String> pureClassifiers = Sets.immutable.withAll(ProtocolToClassifierPathLoader.getProtocolClassToClassifierMap().values());
+
     public EntityToPureConverter()
     {
         super(PureProtocolObjectMapperFactory.getNewObjectMapper());
@@ -31,4 +40,32 @@ public class EntityToPureConverter extends EntityToProtocolConverter<Packageable
     {
         return PackageableElement.class;
     }
+
+    /**
+     * Whether an entity has the classifier of a Pure protocol element. Entities with other classifiers cannot be
+     * converted, and checking this is much cheaper than attempting to convert them.
+     *
+     * @param entity entity
+     * @return whether the entity has a Pure classifier
+     */
+    boolean hasPureClassifier(Entity entity)
+    {
+        return this.pureClassifiers.contains(entity.getClassifierPath());
+    }
+
+    @Override
+    protected JsonParser newContentParser(Entity entity) throws IOException
+    {
+        // Bind entities backed by serialized bytes straight from those bytes, unless their content has already been
+        // deserialized, in which case it is cheaper to convert that
+        if (entity instanceof LazyEntity)
+        {
+            LazyEntity lazyEntity = (LazyEntity) entity;
+            if (!lazyEntity.isContentLoaded())
+            {
+                return lazyEntity.getSerializer().newContentParser(lazyEntity.getSerializedContent());
+            }
+        }
+        return null;
+    }
 }
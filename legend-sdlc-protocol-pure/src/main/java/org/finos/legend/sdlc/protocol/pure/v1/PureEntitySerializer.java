@@ -14,7 +14,9 @@
 
 package org.finos.legend.sdlc.protocol.pure.v1;
 
+import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
@@ -22,6 +24,10 @@ import org.finos.legend.engine.language.pure.grammar.to.PureGrammarComposer;
 import org.finos.legend.engine.language.pure.grammar.to.PureGrammarComposerContext;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Association;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Enumeration;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Profile;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.section.ImportAwareCodeSection;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.section.Section;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.section.SectionIndex;
@@ -37,15 +43,23 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class PureEntitySerializer implements EntityTextSerializer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(PureEntitySerializer.class);
 
+    private static final String SECTION_HEADER_PREFIX = "###";
+
     private final PureToEntityConverter pureToEntityConverter = new PureToEntityConverter();
     private final PureGrammarParser pureParser = PureGrammarParser.newInstance();
 
@@ -54,6 +68,16 @@ public class PureEntitySerializer implements EntityTextSerializer
             .withRenderStyle(RenderStyle.PRETTY)
             .build());
 
+    // Classifiers of elements whose grammar round trip is known to be lossless, unless they contain one of the
+    // constructs checked in needsVerification. For these, composing the grammar is enough to show that an entity can
+    // be serialized; other entities are also re-parsed from the composed grammar.
+    private final ImmutableSet<String> composeOnlyClassifiers = Sets.immutable.with(Class.class, Enumeration.class, Association.class, Profile.class)
+            .collect(this.pureToEntityConverter::getClassifierForClass);
+
+    // The grammar composed by the last call to canSerialize on each thread, so that serializing the same entity
+    // straight afterwards does not compose it again; only the composed text is kept, and it is cleared once used
+    private final ThreadLocal<ComposedEntity> lastComposed = new ThreadLocal<>();
+
     @Override
     public String getName()
     {
@@ -69,6 +93,20 @@ public class PureEntitySerializer implements EntityTextSerializer
     @Override
     public boolean canSerialize(Entity entity)
     {
+        return canSerialize(entity, false);
+    }
+
+    /**
+     * Check whether an entity can be serialized. If alwaysVerify is true, the composed grammar is re-parsed even for
+     * entities for which composing it is known to be enough.
+     *
+     * @param entity       entity
+     * @param alwaysVerify whether to always re-parse the composed grammar
+     * @return whether the entity can be serialized
+     */
+    boolean canSerialize(Entity entity, boolean alwaysVerify)
+    {
+        this.lastComposed.remove();
         if (!this.pureToEntityConverter.isSupportedClassifier(entity.getClassifierPath()))
         {
             return false;
@@ -91,9 +129,16 @@ public class PureEntitySerializer implements EntityTextSerializer
             return false;
         }
 
+        if (!alwaysVerify && !needsVerification(entity.getClassifierPath(), element.get()))
+        {
+            this.lastComposed.set(new ComposedEntity(entity, serialized));
+            return true;
+        }
+
         try
         {
             deserialize(serialized);
+            this.lastComposed.set(new ComposedEntity(entity, serialized));
             return true;
         }
         catch (Exception e)
@@ -127,10 +172,46 @@ public class PureEntitySerializer implements EntityTextSerializer
     @Override
     public String serializeToString(Entity entity)
     {
+        ComposedEntity composed = this.lastComposed.get();
+        if (composed != null)
+        {
+            this.lastComposed.remove();
+            if (composed.isFor(entity))
+            {
+                return composed.serialized;
+            }
+        }
         PackageableElement element = this.entityToPureConverter.fromEntity(entity);
         return serializeToString(element);
     }
 
+    private boolean needsVerification(String classifierPath, PackageableElement element)
+    {
+        if (!this.composeOnlyClassifiers.contains(classifierPath))
+        {
+            return true;
+        }
+        // lambdas (in constraints, derived properties, and default values) and generated milestoned properties are
+        // not guaranteed to survive the round trip
+        if (element instanceof Class)
+        {
+            Class cls = (Class) element;
+            return isNotEmpty(cls.constraints) || isNotEmpty(cls.qualifiedProperties) || isNotEmpty(cls.originalMilestonedProperties) ||
+                    ((cls.properties != null) && ListIterate.anySatisfy(cls.properties, p -> p.defaultValue != null));
+        }
+        if (element instanceof Association)
+        {
+            Association association = (Association) element;
+            return isNotEmpty(association.qualifiedProperties) || isNotEmpty(association.originalMilestonedProperties);
+        }
+        return false;
+    }
+
+    private static boolean isNotEmpty(List<?> list)
+    {
+        return !isEmpty(list);
+    }
+
     private String serializeToString(PackageableElement element)
     {
         PureModelContextData pureModelContextData = PureModelContextData.newPureModelContextData(null, null, Collections.singletonList(element));
@@ -229,6 +310,130 @@ public class PureEntitySerializer implements EntityTextSerializer
                 this.pureToEntityConverter::toEntity);
     }
 
+    /**
+     * Deserialize a batch of Pure sources. All the sources are first parsed together, each in its own section,
+     * which avoids paying the cost of a parse for each source. If that fails, or the elements cannot be attributed
+     * to their sources, the sources are parsed one by one, so that errors are reported with the source they come
+     * from.
+     */
+    @Override
+    public Map<String, List<Entity>> deserializeBatch(Map<String, byte[]> contentBySourceId, boolean oneEntityPerSource) throws IOException
+    {
+        if (contentBySourceId.size() > 1)
+        {
+            Map<String, List<Entity>> result = deserializeBatchInOneParse(contentBySourceId, oneEntityPerSource);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+        return EntityTextSerializer.super.deserializeBatch(contentBySourceId, oneEntityPerSource);
+    }
+
+    private Map<String, List<Entity>> deserializeBatchInOneParse(Map<String, byte[]> contentBySourceId, boolean oneEntityPerSource)
+    {
+        StringBuilder builder = new StringBuilder();
+        int[] sectionCounts = new int[contentBySourceId.size()];
+        int i = 0;
+        for (byte[] content : contentBySourceId.values())
+        {
+            String text = new String(content, StandardCharsets.UTF_8);
+            if (builder.length() > 0)
+            {
+                builder.append('\n');
+            }
+            builder.append(SECTION_HEADER_PREFIX).append("Pure\n").append(text);
+            sectionCounts[i++] = 1 + countSectionHeaders(text);
+        }
+
+        List<PackageableElement> elements;
+        try
+        {
+            elements = this.pureParser.parseModel(builder.toString(), false).getElements();
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Error parsing batch of {} sources, parsing them one by one", contentBySourceId.size(), e);
+            return null;
+        }
+
+        // the parser creates an initial (here empty) section, followed by one for each section header
+        SectionIndex sectionIndex = null;
+        Map<String, PackageableElement> elementsByPath = new HashMap<>(elements.size());
+        for (PackageableElement element : elements)
+        {
+            if (element instanceof SectionIndex)
+            {
+                if (sectionIndex != null)
+                {
+                    return null;
+                }
+                sectionIndex = (SectionIndex) element;
+            }
+            else if (elementsByPath.put(element.getPath(), element) != null)
+            {
+                return null;
+            }
+        }
+        if ((sectionIndex == null) || (sectionIndex.sections == null) || ListIterate.anySatisfy(sectionIndex.sections, this::hasImports))
+        {
+            return null;
+        }
+        List<Section> sections = sectionIndex.sections;
+        if ((sections.size() != (1 + Arrays.stream(sectionCounts).sum())) || !isEmpty(sections.get(0).elements))
+        {
+            return null;
+        }
+
+        Map<String, List<Entity>> result = new LinkedHashMap<>(contentBySourceId.size() * 4 / 3 + 1);
+        int sectionIndexStart = 1;
+        int sourceIndex = 0;
+        int elementCount = 0;
+        for (String sourceId : contentBySourceId.keySet())
+        {
+            List<Entity> entities = new ArrayList<>(1);
+            int sectionIndexEnd = sectionIndexStart + sectionCounts[sourceIndex++];
+            for (Section section : sections.subList(sectionIndexStart, sectionIndexEnd))
+            {
+                if (section.elements != null)
+                {
+                    for (String elementPath : section.elements)
+                    {
+                        PackageableElement element = elementsByPath.get(elementPath);
+                        if (element == null)
+                        {
+                            return null;
+                        }
+                        entities.add(this.pureToEntityConverter.toEntity(element));
+                    }
+                }
+            }
+            if (oneEntityPerSource && (entities.size() != 1))
+            {
+                return null;
+            }
+            elementCount += entities.size();
+            result.put(sourceId, entities);
+            sectionIndexStart = sectionIndexEnd;
+        }
+        return (elementCount == elementsByPath.size()) ? result : null;
+    }
+
+    private static int countSectionHeaders(String text)
+    {
+        int count = text.startsWith(SECTION_HEADER_PREFIX) ? 1 : 0;
+        for (int index = text.indexOf("\n" + SECTION_HEADER_PREFIX); index != -1; index = text.indexOf("\n" + SECTION_HEADER_PREFIX, index + 1))
+        {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isEmpty(List<?> list)
+    {
+        return (list == null) || list.isEmpty();
+    }
+
     private List<PackageableElement> deserializeToElements(String content)
     {
         PureModelContextData pureModelContextData = this.pureParser.parseModel(
@@ -249,6 +454,27 @@ public class PureEntitySerializer implements EntityTextSerializer
         }
     }
 
+    private static class ComposedEntity
+    {
+        private final WeakReference<Entity> entity;
+        private final int contentHash;
+        private final String serialized;
+
+        private ComposedEntity(Entity entity, String serialized)
+        {
+            this.entity = new WeakReference<>(entity);
+            this.contentHash = entity.getContent().hashCode();
+            this.serialized = serialized;
+        }
+
+        private boolean isFor(Entity other)
+        {
+            // the content of an entity may be modified in place, so its hash is checked against the one taken when
+            // composing; this does not copy or hold on to the content
+            return (this.entity.get() == other) && (this.contentHash == other.getContent().hashCode());
+        }
+    }
+
     private boolean hasImports(Section section)
     {
         if (!(section instanceof ImportAwareCodeSection))
@@ -24,13 +24,20 @@ import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class PureModelContextDataBuilder
 {
     private final EntityToPureConverter converter;
     private final MutableList<PackageableElement> elements = Lists.mutable.empty();
+    private final MutableList<EntityConversionFailure> conversionFailures = Lists.mutable.empty();
+    private ForkJoinPool conversionPool;
     private Protocol protocol;
     private SDLC sdlc;
 
@@ -44,6 +51,17 @@ public class PureModelContextDataBuilder
         return this.elements.size();
     }
 
+    /**
+     * Get the entities which could not be converted by one of the "if possible" methods, in the order they were
+     * added. Entities which are not Pure elements at all are skipped by those methods, and are not failures.
+     *
+     * @return conversion failures
+     */
+    public List<EntityConversionFailure> getConversionFailures()
+    {
+        return this.conversionFailures.asUnmodifiable();
+    }
+
     public void addPackageableElement(PackageableElement element)
     {
         this.elements.add(element);
@@ -68,7 +86,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Stream<? extends Entity> entities)
     {
-        entities.forEach(this::addEntity);
+        if (this.conversionPool == null)
+        {
+            entities.forEach(this::addEntity);
+        }
+        else
+        {
+            addEntitiesInParallel(entities.collect(Collectors.toList()), false);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Stream<? extends Entity> entities)
@@ -79,7 +104,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Iterable<? extends Entity> entities)
     {
-        entities.forEach(this::addEntity);
+        if (this.conversionPool == null)
+        {
+            entities.forEach(this::addEntity);
+        }
+        else
+        {
+            addEntitiesInParallel(Lists.mutable.withAll(entities), false);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Iterable<? extends Entity> entities)
@@ -90,7 +122,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Entity... entities)
     {
-        ArrayIterate.forEach(entities, this::addEntity);
+        if (this.conversionPool == null)
+        {
+            ArrayIterate.forEach(entities, this::addEntity);
+        }
+        else
+        {
+            addEntitiesInParallel(Arrays.asList(entities), false);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Entity... entities)
@@ -101,9 +140,26 @@ public class PureModelContextDataBuilder
 
     public boolean addEntityIfPossible(Entity entity)
     {
-        Optional<PackageableElement> element = this.converter.fromEntityIfPossible(entity);
-        element.ifPresent(this::addPackageableElement);
-        return element.isPresent();
+        if ((entity == null) || !this.converter.hasPureClassifier(entity))
+        {
+            return false;
+        }
+        PackageableElement element;
+        try
+        {
+            element = this.converter.fromEntity(entity);
+        }
+        catch (RuntimeException e)
+        {
+            this.conversionFailures.add(new EntityConversionFailure(entity, e));
+            return false;
+        }
+        if (element == null)
+        {
+            return false;
+        }
+        addPackageableElement(element);
+        return true;
     }
 
     public PureModelContextDataBuilder withEntityIfPossible(Entity entity)
@@ -114,7 +170,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Stream<? extends Entity> entities)
     {
-        entities.forEach(this::addEntityIfPossible);
+        if (this.conversionPool == null)
+        {
+            entities.forEach(this::addEntityIfPossible);
+        }
+        else
+        {
+            addEntitiesInParallel(entities.collect(Collectors.toList()), true);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Stream<? extends Entity> entities)
@@ -125,7 +188,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Iterable<? extends Entity> entities)
     {
-        entities.forEach(this::addEntityIfPossible);
+        if (this.conversionPool == null)
+        {
+            entities.forEach(this::addEntityIfPossible);
+        }
+        else
+        {
+            addEntitiesInParallel(Lists.mutable.withAll(entities), true);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Iterable<? extends Entity> entities)
@@ -136,7 +206,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Entity... entities)
     {
-        ArrayIterate.forEach(entities, this::addEntityIfPossible);
+        if (this.conversionPool == null)
+        {
+            ArrayIterate.forEach(entities, this::addEntityIfPossible);
+        }
+        else
+        {
+            addEntitiesInParallel(Arrays.asList(entities), true);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Entity... entities)
@@ -145,6 +222,24 @@ public class PureModelContextDataBuilder
         return this;
     }
 
+    /**
+     * Set a pool to convert entities on. If set, the methods which add several entities at once convert them on this
+     * pool. Elements are still added in the order of the entities, so the result is the same as converting them on
+     * the calling thread. If null (the default), entities are converted on the calling thread.
+     *
+     * @param conversionPool pool to convert entities on, or null
+     */
+    public void setConversionPool(ForkJoinPool conversionPool)
+    {
+        this.conversionPool = conversionPool;
+    }
+
+    public PureModelContextDataBuilder withConversionPool(ForkJoinPool conversionPool)
+    {
+        setConversionPool(conversionPool);
+        return this;
+    }
+
     public void setProtocol(Protocol protocol)
     {
         this.protocol = protocol;
@@ -190,6 +285,67 @@ public class PureModelContextDataBuilder
         return builder.build();
     }
 
+    private void addEntitiesInParallel(List<? extends Entity> entities, boolean ifPossible)
+    {
+        int count = entities.size();
+        PackageableElement[] converted = new PackageableElement[count];
+        RuntimeException[] errors = new RuntimeException[count];
+        try
+        {
+            this.conversionPool.submit(() -> IntStream.range(0, count).parallel().forEach(i ->
+            {
+                Entity entity = entities.get(i);
+                if (ifPossible && ((entity == null) || !this.converter.hasPureClassifier(entity)))
+                {
+                    return;
+                }
+                try
+                {
+                    converted[i] = this.converter.fromEntity(entity);
+                }
+                catch (RuntimeException e)
+                {
+                    errors[i] = e;
+                }
+            })).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while converting entities", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+
+        // add in entity order, stopping at the first failure as converting one at a time would
+        for (int i = 0; i < count; i++)
+        {
+            if (errors[i] != null)
+            {
+                if (!ifPossible)
+                {
+                    throw errors[i];
+                }
+                this.conversionFailures.add(new EntityConversionFailure(entities.get(i), errors[i]));
+            }
+            else if (converted[i] != null)
+            {
+                addPackageableElement(converted[i]);
+            }
+        }
+    }
+
     public static PureModelContextDataBuilder newBuilder()
     {
         return newBuilder(null);
@@ -199,4 +355,33 @@ public class PureModelContextDataBuilder
     {
         return new PureModelContextDataBuilder(converter);
     }
+
+    public static class EntityConversionFailure
+    {
+        private final String entityPath;
+        private final String classifierPath;
+        private final RuntimeException error;
+
+        private EntityConversionFailure(Entity entity, RuntimeException error)
+        {
+            this.entityPath = (entity == null) ? null : entity.getPath();
+            this.classifierPath = (entity == null) ? null : entity.getClassifierPath();
+            this.error = error;
+        }
+
+        public String getEntityPath()
+        {
+            return this.entityPath;
+        }
+
+        public String getClassifierPath()
+        {
+            return this.classifierPath;
+        }
+
+        public RuntimeException getError()
+        {
+            return this.error;
+        }
+    }
 }
@@ -15,14 +15,21 @@
 package org.finos.legend.sdlc.protocol.pure.v1;
 
 import java.util.stream.Collectors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
 import org.finos.legend.sdlc.domain.model.TestTools;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.DefaultJsonEntitySerializer;
+import org.finos.legend.sdlc.serialization.LazyEntity;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class TestEntityToPureConverter
@@ -67,4 +74,42 @@ public class TestEntityToPureConverter
         Optional<PackageableElement> nothing = this.converter.fromEntityIfPossible(Entity.newEntity("note::a::real::PureEntity", "meta::unknown::NotAClassifier", Collections.emptyMap()));
         Assert.assertFalse(nothing.isPresent());
     }
+
+    @Test
+    public void testFromLazyEntity() throws IOException
+    {
+        DefaultJsonEntitySerializer serializer = new DefaultJsonEntitySerializer();
+        Entity entity = TestTools.newClassEntity("ClassWithProperty", "model::test", TestTools.newProperty("prop", "String", 0, 1));
+        PackageableElement expected = this.converter.fromEntity(entity);
+
+        LazyEntity lazyEntity = LazyEntity.newLazyEntity(serializer, serializer.serializeToBytes(entity));
+        PackageableElement result = this.converter.fromEntity(lazyEntity);
+        Assert.assertFalse(lazyEntity.isContentLoaded());
+        Assert.assertTrue(result instanceof Class);
+        Class resultClass = (Class) result;
+        Assert.assertEquals("ClassWithProperty", resultClass.name);
+        Assert.assertEquals("model::test", resultClass._package);
+        Assert.assertEquals(Collections.singletonList("prop"), resultClass.properties.stream().map(p -> p.name).collect(Collectors.toList()));
+        ObjectMapper mapper = PureProtocolObjectMapperFactory.getNewObjectMapper();
+        Assert.assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(result));
+
+        Optional<PackageableElement> possibleResult = this.converter.fromEntityIfPossible(lazyEntity);
+        Assert.assertTrue(possibleResult.isPresent());
+        Assert.assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(possibleResult.get()));
+        Assert.assertFalse(lazyEntity.isContentLoaded());
+
+        Map<String, String> notPureContent = new HashMap<>();
+        notPureContent.put("name", "PureEntity");
+        notPureContent.put("package", "not::a::real");
+        LazyEntity notPure = LazyEntity.newLazyEntity(serializer, serializer.serializeToBytes(Entity.newEntity("not::a::real::PureEntity", "meta::unknown::NotAClassifier", notPureContent)));
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> this.converter.fromEntity(notPure));
+        String message = e.getMessage();
+        Assert.assertNotNull(message);
+        String expectedPrefix = "Could not convert entity not::a::real::PureEntity with classifier meta::unknown::NotAClassifier to class PackageableElement";
+        if (!message.startsWith(expectedPrefix))
+        {
+            Assert.assertEquals(expectedPrefix, message);
+        }
+        Assert.assertFalse(this.converter.fromEntityIfPossible(notPure).isPresent());
+    }
 }
@@ -30,12 +30,23 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class TestPureEntitySerializer
 {
@@ -128,6 +139,118 @@ public class TestPureEntitySerializer
         }
     }
 
+    @Test
+    public void testCanSerializeReusesComposedText()
+    {
+        Entity entity = readEntityFromJsonResource(buildResourceName("class", "TestClass") + "_full.json");
+        String expected = new PureEntitySerializer().serializeToString(entity);
+
+        Assert.assertTrue(this.pureSerializer.canSerialize(entity));
+        String serialized = this.pureSerializer.serializeToString(entity);
+        Assert.assertEquals(expected, serialized);
+
+        // the composed text is only used once
+        String reserialized = this.pureSerializer.serializeToString(entity);
+        Assert.assertEquals(expected, reserialized);
+        Assert.assertNotSame(serialized, reserialized);
+
+        // another entity with the same content is composed afresh
+        Entity copy = Entity.newEntity(entity.getPath(), entity.getClassifierPath(), entity.getContent());
+        String copySerialized = this.pureSerializer.serializeToString(copy);
+        Assert.assertEquals(expected, copySerialized);
+        Assert.assertNotSame(serialized, copySerialized);
+    }
+
+    @Test
+    public void testCanSerializeThenModifyContent()
+    {
+        Entity entity = readEntityFromJsonResource(buildResourceName("class", "TestClass") + "_full.json");
+        Assert.assertTrue(this.pureSerializer.canSerialize(entity));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> content = (Map<String, Object>) entity.getContent();
+        content.put("name", "RenamedClass");
+        Entity renamed = Entity.newEntity(entity.getPath().replace("TestClass", "RenamedClass"), entity.getClassifierPath(), content);
+        String expected = new PureEntitySerializer().serializeToString(renamed);
+
+        String serialized = this.pureSerializer.serializeToString(entity);
+        Assert.assertEquals(expected, serialized);
+        Assert.assertTrue(serialized, serialized.contains("RenamedClass"));
+    }
+
+    @Test
+    public void testCanSerializeWithoutVerification() throws IOException
+    {
+        List<String> resourceNames = new ArrayList<>();
+        for (String directory : Arrays.asList("pure-entity-serializer-test", "pure-model-context-data-builder-test-model"))
+        {
+            Path root;
+            try
+            {
+                root = Paths.get(getClass().getClassLoader().getResource(directory).toURI());
+            }
+            catch (URISyntaxException e)
+            {
+                throw new RuntimeException(e);
+            }
+            try (Stream<Path> stream = Files.walk(root))
+            {
+                stream.filter(p -> p.getFileName().toString().endsWith(".json"))
+                        .map(p -> directory + "/" + root.relativize(p).toString().replace(root.getFileSystem().getSeparator(), "/"))
+                        .sorted()
+                        .forEach(resourceNames::add);
+            }
+        }
+        Assert.assertFalse(resourceNames.isEmpty());
+
+        PureEntitySerializer verifyingSerializer = new PureEntitySerializer();
+        for (String resourceName : resourceNames)
+        {
+            Entity entity = readEntityFromJsonResource(resourceName);
+            Assert.assertEquals(resourceName, verifyingSerializer.canSerialize(entity, true), this.pureSerializer.canSerialize(entity));
+        }
+    }
+
+    @Test
+    public void testDeserializeBatch() throws IOException
+    {
+        Map<String, byte[]> singleElementSources = new LinkedHashMap<>();
+        for (String resourceName : Arrays.asList(buildResourceName("class", "TestClass.pure"), buildResourceName("enumeration", "TestEnumeration.pure"), buildResourceName("association", "TestAssociation.pure"), buildResourceName("mapping", "m2m", "TestMapping.pure")))
+        {
+            singleElementSources.put(resourceName, readTextFromResource(resourceName).getBytes(StandardCharsets.UTF_8));
+        }
+        assertBatchDeserialization(singleElementSources, true);
+        assertBatchDeserialization(singleElementSources, false);
+
+        Map<String, byte[]> multiElementSources = new LinkedHashMap<>();
+        multiElementSources.put("mapping", singleElementSources.get(buildResourceName("mapping", "m2m", "TestMapping.pure")));
+        multiElementSources.put("multi", readTextFromResource(buildResourceName("invalid", "TestMultiElement.pure")).getBytes(StandardCharsets.UTF_8));
+        assertBatchDeserialization(multiElementSources, false);
+
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> this.pureSerializer.deserializeBatch(multiElementSources, true));
+        Assert.assertEquals("Error deserializing entities from multi: Expected one element, found 3", e.getMessage());
+    }
+
+    private void assertBatchDeserialization(Map<String, byte[]> contentBySourceId, boolean oneEntityPerSource) throws IOException
+    {
+        Map<String, List<Entity>> actual = this.pureSerializer.deserializeBatch(contentBySourceId, oneEntityPerSource);
+        Assert.assertEquals(new ArrayList<>(contentBySourceId.keySet()), new ArrayList<>(actual.keySet()));
+        for (Map.Entry<String, byte[]> entry : contentBySourceId.entrySet())
+        {
+            List<Entity> expected;
+            try (InputStream stream = new ByteArrayInputStream(entry.getValue()))
+            {
+                expected = this.pureSerializer.deserializeMany(stream);
+            }
+            List<Entity> actualEntities = actual.get(entry.getKey());
+            Assert.assertEquals(entry.getKey(), expected.size(), actualEntities.size());
+            for (int i = 0; i < expected.size(); i++)
+            {
+                assertEntitiesEqual(expected.get(i), actualEntities.get(i));
+            }
+        }
+    }
+
     private void testSerialize(String... names)
     {
         String baseName = buildResourceName(names);
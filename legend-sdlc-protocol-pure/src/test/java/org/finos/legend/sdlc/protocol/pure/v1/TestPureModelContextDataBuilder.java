@@ -14,20 +14,29 @@
 
 package org.finos.legend.sdlc.protocol.pure.v1;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.protocol.Protocol;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.mapping.Mapping;
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public class TestPureModelContextDataBuilder
 {
@@ -162,6 +171,62 @@ public class TestPureModelContextDataBuilder
                 pureModelContextData.getElementsOfType(Mapping.class));
     }
 
+    @Test
+    public void testParallelConversion() throws Exception
+    {
+        MutableList<Entity> entities = Lists.mutable.empty();
+        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(Paths.get(Objects.requireNonNull(getClass().getClassLoader().getResource("pure-model-context-data-builder-test-model")).toURI())))
+        {
+            entityLoader.getAllEntities().forEach(entities::add);
+        }
+        for (int i = 0; i < 50; i++)
+        {
+            entities.add(TestTools.newClassEntity("Class" + i, "model::parallel"));
+        }
+        entities.add(10, Entity.newEntity("not::a::real::PureEntity", "meta::unknown::NotAClassifier", Collections.emptyMap()));
+        entities.add(20, newBrokenClassEntity("model::broken::BrokenClass"));
+        entities.add(30, Entity.newEntity("not::a::real::OtherEntity", "meta::unknown::NotAClassifier", Collections.emptyMap()));
+        entities.add(40, newBrokenClassEntity("model::broken::OtherBrokenClass"));
+
+        ObjectMapper mapper = PureProtocolObjectMapperFactory.getNewObjectMapper();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            PureModelContextDataBuilder sequential = PureModelContextDataBuilder.newBuilder().withEntitiesIfPossible(entities);
+            PureModelContextDataBuilder parallel = PureModelContextDataBuilder.newBuilder().withConversionPool(pool).withEntitiesIfPossible(entities);
+            Assert.assertEquals(entities.size() - 4, parallel.getElementCount());
+            Assert.assertEquals(mapper.writeValueAsString(sequential.build()), mapper.writeValueAsString(parallel.build()));
+            // entities which are not Pure elements are skipped, not failures
+            Assert.assertEquals(Lists.fixedSize.with("model::broken::BrokenClass", "model::broken::OtherBrokenClass"), ListIterate.collect(sequential.getConversionFailures(), PureModelContextDataBuilder.EntityConversionFailure::getEntityPath));
+            Assert.assertEquals(Lists.fixedSize.with("model::broken::BrokenClass", "model::broken::OtherBrokenClass"), ListIterate.collect(parallel.getConversionFailures(), PureModelContextDataBuilder.EntityConversionFailure::getEntityPath));
+            Assert.assertEquals(ListIterate.collect(sequential.getConversionFailures(), f -> f.getError().getMessage()), ListIterate.collect(parallel.getConversionFailures(), f -> f.getError().getMessage()));
+
+            // without "if possible", the elements before the first failure are added and then the failure is thrown
+            PureModelContextDataBuilder sequentialStrict = PureModelContextDataBuilder.newBuilder();
+            IllegalArgumentException sequentialError = Assert.assertThrows(IllegalArgumentException.class, () -> sequentialStrict.addEntities(entities));
+            PureModelContextDataBuilder parallelStrict = PureModelContextDataBuilder.newBuilder().withConversionPool(pool);
+            IllegalArgumentException parallelError = Assert.assertThrows(IllegalArgumentException.class, () -> parallelStrict.addEntities(entities.stream()));
+            Assert.assertEquals(sequentialError.getMessage(), parallelError.getMessage());
+            Assert.assertEquals(10, parallelStrict.getElementCount());
+            Assert.assertEquals(mapper.writeValueAsString(sequentialStrict.build()), mapper.writeValueAsString(parallelStrict.build()));
+            Assert.assertEquals(Collections.emptyList(), parallelStrict.getConversionFailures());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private static Entity newBrokenClassEntity(String path)
+    {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("_type", "class");
+        content.put("name", path.substring(path.lastIndexOf(':') + 1));
+        content.put("package", path.substring(0, path.lastIndexOf("::")));
+        content.put("properties", "not a list of properties");
+        return Entity.newEntity(path, "meta::pure::metamodel::type::Class", content);
+    }
+
     private static class TestSDLC extends SDLC
     {
         private final String project;
@@ -14,9 +14,11 @@
 
 package org.finos.legend.sdlc.protocol;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 
@@ -36,6 +38,27 @@ public abstract class EntityToProtocolConverter<T>
             throw new IllegalArgumentException("Cannot convert null entity");
         }
 
+        JsonParser contentParser;
+        try
+        {
+            contentParser = newContentParser(entity);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalArgumentException(buildConversionErrorMessage(entity, null, e), e);
+        }
+        if (contentParser != null)
+        {
+            try (JsonParser parser = contentParser)
+            {
+                return fromContentParser(entity, parser);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalArgumentException(buildConversionErrorMessage(entity, null, e), e);
+            }
+        }
+
         Map<String, ?> content = entity.getContent();
         if (content == null)
         {
@@ -54,13 +77,7 @@ public abstract class EntityToProtocolConverter<T>
         }
         catch (Exception e)
         {
-            StringBuilder builder = new StringBuilder("Could not convert entity ").append(entity.getPath()).append(" with classifier ").append(entity.getClassifierPath()).append(" to class ").append(targetClass.getSimpleName());
-            String eMessage = e.getMessage();
-            if (eMessage != null)
-            {
-                builder.append(": ").append(eMessage);
-            }
-            throw new IllegalArgumentException(builder.toString(), e);
+            throw new IllegalArgumentException(buildConversionErrorMessage(entity, targetClass, e), e);
         }
     }
 
@@ -68,6 +85,19 @@ public abstract class EntityToProtocolConverter<T>
     {
         if (entity != null)
         {
+            try (JsonParser contentParser = newContentParser(entity))
+            {
+                if (contentParser != null)
+                {
+                    return Optional.ofNullable(fromContentParser(entity, contentParser));
+                }
+            }
+            catch (Exception ignore)
+            {
+                // could not convert
+                return Optional.empty();
+            }
+
             Map<String, ?> content = entity.getContent();
             if (content != null)
             {
@@ -88,5 +118,53 @@ public abstract class EntityToProtocolConverter<T>
         return Optional.empty();
     }
 
+    /**
+     * Create a JSON parser over the serialized content of an entity, positioned at the start of the content object,
+     * if one is available. The content is then bound straight to the target class, which avoids building the content
+     * as a map and then converting that. Returns null if the entity should be converted from its content map, which
+     * is what the default implementation does.
+     *
+     * @param entity entity
+     * @return parser positioned at the start of the entity content, or null
+     * @throws IOException if an I/O error occurs
+     */
+    protected JsonParser newContentParser(Entity entity) throws IOException
+    {
+        return null;
+    }
+
+    private T fromContentParser(Entity entity, JsonParser contentParser)
+    {
+        Class<? extends T> targetClass = getTargetClass(entity);
+        if (targetClass == null)
+        {
+            throw new IllegalArgumentException("Could not convert entity " + entity.getPath() + " with classifier " + entity.getClassifierPath() + ": no appropriate target class found");
+        }
+
+        try
+        {
+            return this.objectMapper.readValue(contentParser, targetClass);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalArgumentException(buildConversionErrorMessage(entity, targetClass, e), e);
+        }
+    }
+
+    private static String buildConversionErrorMessage(Entity entity, Class<?> targetClass, Exception e)
+    {
+        StringBuilder builder = new StringBuilder("Could not convert entity ").append(entity.getPath()).append(" with classifier ").append(entity.getClassifierPath());
+        if (targetClass != null)
+        {
+            builder.append(" to class ").append(targetClass.getSimpleName());
+        }
+        String eMessage = e.getMessage();
+        if (eMessage != null)
+        {
+            builder.append(": ").append(eMessage);
+        }
+        return builder.toString();
+    }
+
     protected abstract Class<? extends T> getTargetClass(Entity entity);
 }
@@ -31,6 +31,7 @@ import org.finos.legend.sdlc.server.config.ServerConfiguration;
 import org.finos.legend.sdlc.server.error.CatchAllExceptionMapper;
 import org.finos.legend.sdlc.server.error.JsonProcessingExceptionMapper;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerExceptionMapper;
+import org.finos.legend.sdlc.server.resources.ConditionalGetFilter;
 import org.finos.legend.sdlc.server.time.EndInstant;
 import org.finos.legend.sdlc.server.time.ResolvedInstant;
 import org.finos.legend.sdlc.server.time.StartInstant;
@@ -121,6 +122,9 @@ public abstract class BaseServer<C extends ServerConfiguration> extends Applicat
         environment.jersey().register(new JsonProcessingExceptionMapper(includeStackTraces));
         environment.jersey().register(new LegendSDLCServerExceptionMapper(includeStackTraces));
         environment.jersey().register(new CatchAllExceptionMapper(includeStackTraces));
+
+        // Conditional GETs
+        environment.jersey().register(new ConditionalGetFilter());
     }
 
     public ServerInfo getServerInfo()
@@ -0,0 +1,166 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.monitoring;
+
+import org.finos.legend.sdlc.server.tools.StringTools;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Counts of the calls made to downstream services (such as GitLab) while serving a single request, along with the
+ * total time spent in them. The stats for the current request are bound to the thread serving it; work done for the
+ * request on other threads can be attributed to it with {@link #attach}.
+ */
+public class DownstreamCallStats
+{
+    private static final ThreadLocal<DownstreamCallStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, ServiceStats> statsByService = new TreeMap<>();
+
+    /**
+     * Get the stats for the request being served by the current thread, if any.
+     *
+     * @return current stats or null
+     */
+    public static DownstreamCallStats getCurrent()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start collecting stats for a request on the current thread. The returned scope must be closed when the request
+     * is finished.
+     *
+     * @return scope
+     */
+    public static Scope start()
+    {
+        return bind(new DownstreamCallStats());
+    }
+
+    /**
+     * Bind the given stats to the current thread, so that downstream calls made on it are attributed to them, until
+     * the returned scope is closed. This is for work done on behalf of a request on a thread other than the one
+     * serving it.
+     *
+     * @param stats stats (may be null)
+     * @return scope
+     */
+    public static Scope attach(DownstreamCallStats stats)
+    {
+        return bind(stats);
+    }
+
+    static void recordCall(String service, long durationNanos)
+    {
+        DownstreamCallStats stats = CURRENT.get();
+        if (stats != null)
+        {
+            stats.record(service, durationNanos);
+        }
+    }
+
+    private static Scope bind(DownstreamCallStats stats)
+    {
+        DownstreamCallStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return new Scope(stats, previous);
+    }
+
+    public synchronized void record(String service, long durationNanos)
+    {
+        ServiceStats serviceStats = this.statsByService.computeIfAbsent(Objects.requireNonNull(service, "service may not be null"), k -> new ServiceStats());
+        serviceStats.callCount++;
+        serviceStats.totalNanos += durationNanos;
+    }
+
+    public synchronized int getCallCount(String service)
+    {
+        ServiceStats serviceStats = this.statsByService.get(service);
+        return (serviceStats == null) ? 0 : serviceStats.callCount;
+    }
+
+    public synchronized long getTotalNanos(String service)
+    {
+        ServiceStats serviceStats = this.statsByService.get(service);
+        return (serviceStats == null) ? 0L : serviceStats.totalNanos;
+    }
+
+    public synchronized boolean isEmpty()
+    {
+        return this.statsByService.isEmpty();
+    }
+
+    /**
+     * Append a summary of the stats to the builder, in the form "3 gitlab calls in 0.123456789s".
+     *
+     * @param builder builder
+     * @return builder
+     */
+    public synchronized StringBuilder appendSummary(StringBuilder builder)
+    {
+        boolean first = true;
+        for (Map.Entry<String, ServiceStats> entry : this.statsByService.entrySet())
+        {
+            if (!first)
+            {
+                builder.append(", ");
+            }
+            first = false;
+            int callCount = entry.getValue().callCount;
+            builder.append(callCount).append(' ').append(entry.getKey()).append((callCount == 1) ? " call in " : " calls in ");
+            StringTools.formatDurationInNanos(builder, entry.getValue().totalNanos).append('s');
+        }
+        return builder;
+    }
+
+    public static class Scope implements AutoCloseable
+    {
+        private final DownstreamCallStats stats;
+        private final DownstreamCallStats previous;
+
+        private Scope(DownstreamCallStats stats, DownstreamCallStats previous)
+        {
+            this.stats = stats;
+            this.previous = previous;
+        }
+
+        public DownstreamCallStats getStats()
+        {
+            return this.stats;
+        }
+
+        @Override
+        public void close()
+        {
+            if (this.previous == null)
+            {
+                CURRENT.remove();
+            }
+            else
+            {
+                CURRENT.set(this.previous);
+            }
+        }
+    }
+
+    private static class ServiceStats
+    {
+        private int callCount = 0;
+        private long totalNanos = 0L;
+    }
+}
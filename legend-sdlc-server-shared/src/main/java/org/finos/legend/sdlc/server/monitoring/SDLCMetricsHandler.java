@@ -16,6 +16,7 @@ package org.finos.legend.sdlc.server.monitoring;
 
 import io.prometheus.client.Collector;
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.SimpleTimer;
 import io.prometheus.client.Summary;
@@ -36,6 +37,9 @@ public class SDLCMetricsHandler
     private static final Summary OPERATION_REDIRECT_SUMMARY = createDurationSummary("sdlc_operations_redirected", "Duration summary for SDLC operations terminating with a redirect");
     private static final Summary OPERATION_ERROR_SUMMARY = createDurationSummary("sdlc_operations_errors", "Duration summary for SDLC operations terminating with an error");
     private static final Histogram SUCCESSFUL_REQUEST_LATENCY_HISTOGRAM = createRequestLatencyHistogram("sdlc_successful_request_latency", "Measure sdlc http request latency");
+    private static final Histogram DOWNSTREAM_CALL_LATENCY_HISTOGRAM = createDownstreamCallLatencyHistogram("sdlc_downstream_call_latency", "Measure latency of calls to downstream services by endpoint");
+    private static final Counter DOWNSTREAM_CALL_RETRY_COUNTER = createDownstreamCallCounter("sdlc_downstream_call_retries", "Counter of retried calls to downstream services by endpoint");
+    private static final Counter DOWNSTREAM_CALL_BYTES_COUNTER = createDownstreamCallCounter("sdlc_downstream_call_bytes", "Counter of bytes transferred in calls to downstream services by endpoint");
 
     private static final MetricsRegistry<Summary> ADDITIONAL_SUMMARIES = new MetricsRegistry<Summary>("duration summary")
     {
@@ -55,6 +59,15 @@ public class SDLCMetricsHandler
         }
     };
 
+    private static final MetricsRegistry<Gauge> ADDITIONAL_GAUGES = new MetricsRegistry<Gauge>("gauge")
+    {
+        @Override
+        protected Gauge createNewMetric(String name, String help)
+        {
+            return createGauge(name, help);
+        }
+    };
+
     public static void operationStart()
     {
         OPERATION_START_COUNTER.inc();
@@ -90,6 +103,44 @@ public class SDLCMetricsHandler
         }
     }
 
+    /**
+     * Record a call to a downstream service, such as GitLab. The call is also counted towards the stats of the request
+     * being served, if any (see {@link DownstreamCallStats}).
+     *
+     * @param service    downstream service
+     * @param endpoint   logical endpoint of the service
+     * @param startNanos start of the call
+     * @param endNanos   end of the call
+     * @param success    whether the call succeeded
+     */
+    public static void downstreamCall(String service, String endpoint, long startNanos, long endNanos, boolean success)
+    {
+        DOWNSTREAM_CALL_LATENCY_HISTOGRAM.labels(service, endpoint, success ? "success" : "error").observe(SimpleTimer.elapsedSecondsFromNanos(startNanos, endNanos));
+        DownstreamCallStats.recordCall(service, endNanos - startNanos);
+    }
+
+    public static void downstreamCallRetry(String service, String endpoint)
+    {
+        DOWNSTREAM_CALL_RETRY_COUNTER.labels(service, endpoint).inc();
+    }
+
+    public static void downstreamCallBytes(String service, String endpoint, long bytes)
+    {
+        if (bytes > 0)
+        {
+            DOWNSTREAM_CALL_BYTES_COUNTER.labels(service, endpoint).inc(bytes);
+        }
+    }
+
+    public static void observeDuration(String name, long startNanos, long endNanos)
+    {
+        Summary summary = ADDITIONAL_SUMMARIES.getOrCreate(name);
+        if (summary != null)
+        {
+            summary.observe(SimpleTimer.elapsedSecondsFromNanos(startNanos, endNanos));
+        }
+    }
+
     public static void incrementCounter(String name)
     {
         Counter counter = ADDITIONAL_COUNTERS.getOrCreate(name);
@@ -99,6 +150,15 @@ public class SDLCMetricsHandler
         }
     }
 
+    public static void setGauge(String name, double value)
+    {
+        Gauge gauge = ADDITIONAL_GAUGES.getOrCreate(name);
+        if (gauge != null)
+        {
+            gauge.set(value);
+        }
+    }
+
     private static Histogram createRequestLatencyHistogram(String name, String help)
     {
         return Histogram.build().name(name)
@@ -108,6 +168,22 @@ public class SDLCMetricsHandler
                 .register();
     }
 
+    private static Histogram createDownstreamCallLatencyHistogram(String name, String help)
+    {
+        return Histogram.build().name(name)
+                .help(help)
+                .buckets(.01, .025, .05, .1, .25, .5, 1, 2.5, 5, 10, 30)
+                .labelNames("service", "endpoint", "outcome")
+                .register();
+    }
+
+    private static Counter createDownstreamCallCounter(String name, String help)
+    {
+        return Counter.build(name, help)
+                .labelNames("service", "endpoint")
+                .register();
+    }
+
     private static Summary createDurationSummary(String name, String help)
     {
         return Summary.build(name, help)
@@ -120,6 +196,11 @@ public class SDLCMetricsHandler
         return Counter.build(name, help).register();
     }
 
+    private static Gauge createGauge(String name, String help)
+    {
+        return Gauge.build(name, help).register();
+    }
+
     private abstract static class MetricsRegistry<T extends Collector>
     {
         private static final String METRIC_PREFIX = "sdlc_";
@@ -15,6 +15,7 @@
 package org.finos.legend.sdlc.server.resources;
 
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.monitoring.DownstreamCallStats;
 import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
 import org.finos.legend.sdlc.server.tools.StringTools;
 import org.slf4j.Logger;
@@ -41,7 +42,7 @@ public abstract class BaseResource
         {
             logger.info("Starting {}", sanitizedDescription);
         }
-        try
+        try (DownstreamCallStats.Scope callStatsScope = DownstreamCallStats.start())
         {
             T result = supplier.get();
             long endTime = System.nanoTime();
@@ -49,9 +50,15 @@ public abstract class BaseResource
             if (isInfoLogging)
             {
                 long duration = endTime - startTime;
-                StringBuilder builder = new StringBuilder(sanitizedDescription.length() + 32).append("Finished ").append(sanitizedDescription).append(" (");
+                StringBuilder builder = new StringBuilder(sanitizedDescription.length() + 64).append("Finished ").append(sanitizedDescription).append(" (");
                 StringTools.formatDurationInNanos(builder, duration);
-                builder.append("s)");
+                builder.append('s');
+                DownstreamCallStats callStats = callStatsScope.getStats();
+                if (!callStats.isEmpty())
+                {
+                    callStats.appendSummary(builder.append("; "));
+                }
+                builder.append(')');
                 logger.info(builder.toString());
             }
             return result;
@@ -0,0 +1,114 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.resources;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * Filter which does the HTTP side of conditional GETs for resources, so that resource methods can keep their typed
+ * signatures. While a GET is being served, the request is available to the resource through
+ * {@link #isNotModified}. When the response is written, the entity tag the resource computed is added to it, and if
+ * the request preconditions matched the tag, the response is replaced by Not Modified. Other precondition results
+ * (such as a failed If-Match) are left to the resource, which serves the request as usual.
+ * <p>
+ * Without this filter, conditional GET resources simply serve every request in full.
+ */
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter
+{
+    private static final String ENTITY_TAG_PROPERTY = ConditionalGetFilter.class.getName() + ".entityTag";
+    private static final String NOT_MODIFIED_PROPERTY = ConditionalGetFilter.class.getName() + ".notModified";
+
+    private static final ThreadLocal<ContainerRequestContext> CURRENT_REQUEST = new ThreadLocal<>();
+
+    @Override
+    public void filter(ContainerRequestContext requestContext)
+    {
+        // clear any request left by one which failed before the response filter ran
+        CURRENT_REQUEST.remove();
+        String method = requestContext.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))
+        {
+            CURRENT_REQUEST.set(requestContext);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+    {
+        CURRENT_REQUEST.remove();
+        EntityTag entityTag = (EntityTag) requestContext.getProperty(ENTITY_TAG_PROPERTY);
+        if (entityTag == null)
+        {
+            return;
+        }
+        if (Boolean.TRUE.equals(requestContext.getProperty(NOT_MODIFIED_PROPERTY)))
+        {
+            responseContext.setStatusInfo(Status.NOT_MODIFIED);
+            responseContext.setEntity(null);
+            responseContext.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+        }
+        else if ((responseContext.getStatusInfo().getFamily() == Status.Family.SUCCESSFUL) && !responseContext.getHeaders().containsKey(HttpHeaders.ETAG))
+        {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+        }
+    }
+
+    /**
+     * Record the entity tag for the response to the current request, and check whether the request preconditions
+     * match it such that the response is Not Modified. If so, the resource need not compute the response, since it
+     * will be replaced by Not Modified. This may be called at most once per request. If there is no current request
+     * (e.g., because this filter is not registered), this returns false.
+     *
+     * @param entityTag entity tag for the response
+     * @return whether the response is not modified
+     */
+    public static boolean isNotModified(EntityTag entityTag)
+    {
+        ContainerRequestContext requestContext = CURRENT_REQUEST.get();
+        if (requestContext == null)
+        {
+            return false;
+        }
+        // the request is only needed here, so it is released now rather than relying on the response filter
+        CURRENT_REQUEST.remove();
+        requestContext.setProperty(ENTITY_TAG_PROPERTY, entityTag);
+        Response.ResponseBuilder builder = requestContext.getRequest().evaluatePreconditions(entityTag);
+        if ((builder == null) || (builder.build().getStatus() != Status.NOT_MODIFIED.getStatusCode()))
+        {
+            return false;
+        }
+        requestContext.setProperty(NOT_MODIFIED_PROPERTY, true);
+        return true;
+    }
+
+    /**
+     * Clear the current request, if any. Resources which may fail before calling {@link #isNotModified} call this
+     * when they are done, so that the request is not held by the thread if the response filter does not run.
+     */
+    public static void clearCurrentRequest()
+    {
+        CURRENT_REQUEST.remove();
+    }
+}
@@ -16,6 +16,8 @@ package org.finos.legend.sdlc.server.resources;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.monitoring.DownstreamCallStats;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -63,6 +65,30 @@ public class TestBaseResource
         }
     }
 
+    @Test
+    public void testExecuteWithLogging_DownstreamCalls()
+    {
+        TestResource resource = new TestResource();
+
+        resource.executeWithLogging("getting project ABCD", () ->
+        {
+            SDLCMetricsHandler.downstreamCall("gitlab", "getProject", 0L, 1_000_000L, true);
+            SDLCMetricsHandler.downstreamCall("gitlab", "getBranch", 0L, 2_500_000L, false);
+            SDLCMetricsHandler.downstreamCall("other", "getThing", 0L, 1L, true);
+        });
+        Assert.assertNull(DownstreamCallStats.getCurrent());
+
+        List<SubstituteLoggingEvent> events = resource.getLoggingEvents();
+        Assert.assertEquals(2, events.size());
+        SubstituteLoggingEvent event2 = events.get(1);
+        Assert.assertSame(Level.INFO, event2.getLevel());
+        String expectedPattern = "Finished getting project ABCD \\(\\d+\\.\\d{9}s; \\Q2 gitlab calls in 0.003500000s, 1 other call in 0.000000001s\\E\\)";
+        if (!event2.getMessage().matches(expectedPattern))
+        {
+            Assert.fail("Failed to match \"" + expectedPattern + "\": " + event2.getMessage());
+        }
+    }
+
     @Test
     public void testExecuteWithLogging_LegendSDLCServerException()
     {
@@ -0,0 +1,126 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+public class TestConditionalGetFilter
+{
+    private static final EntityTag TAG = new EntityTag("abc123");
+
+    private final ConditionalGetFilter filter = new ConditionalGetFilter();
+
+    @After
+    public void clearCurrentRequest()
+    {
+        ConditionalGetFilter.clearCurrentRequest();
+    }
+
+    @Test
+    public void testNotModified()
+    {
+        this.filter.filter(newRequestContext(HttpMethod.GET, Status.NOT_MODIFIED));
+        Assert.assertTrue(ConditionalGetFilter.isNotModified(TAG));
+    }
+
+    @Test
+    public void testNoPreconditions()
+    {
+        this.filter.filter(newRequestContext(HttpMethod.GET, null));
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+    }
+
+    @Test
+    public void testPreconditionFailedIsNotNotModified()
+    {
+        this.filter.filter(newRequestContext(HttpMethod.GET, Status.PRECONDITION_FAILED));
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+    }
+
+    @Test
+    public void testNoCurrentRequest()
+    {
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+
+        this.filter.filter(newRequestContext(HttpMethod.POST, Status.NOT_MODIFIED));
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+
+        this.filter.filter(newRequestContext(HttpMethod.GET, Status.NOT_MODIFIED));
+        ConditionalGetFilter.clearCurrentRequest();
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+    }
+
+    @Test
+    public void testFailedRequestNotSeenByNextRequest()
+    {
+        // a GET which fails before the response filter runs, followed by a POST on the same thread
+        this.filter.filter(newRequestContext(HttpMethod.GET, Status.NOT_MODIFIED));
+        this.filter.filter(newRequestContext(HttpMethod.POST, null));
+        Assert.assertFalse(ConditionalGetFilter.isNotModified(TAG));
+    }
+
+    private static ContainerRequestContext newRequestContext(String method, Status preconditionStatus)
+    {
+        Request request = (Request) Proxy.newProxyInstance(TestConditionalGetFilter.class.getClassLoader(), new Class<?>[]{Request.class}, (proxy, m, args) ->
+        {
+            if ("evaluatePreconditions".equals(m.getName()) && (args != null) && (args.length == 1) && (args[0] instanceof EntityTag))
+            {
+                return (preconditionStatus == null) ? null : Response.status(preconditionStatus);
+            }
+            throw new UnsupportedOperationException(m.getName());
+        });
+        Map<String, Object> properties = new HashMap<>();
+        return (ContainerRequestContext) Proxy.newProxyInstance(TestConditionalGetFilter.class.getClassLoader(), new Class<?>[]{ContainerRequestContext.class}, (proxy, m, args) ->
+        {
+            switch (m.getName())
+            {
+                case "getMethod":
+                {
+                    return method;
+                }
+                case "getRequest":
+                {
+                    return request;
+                }
+                case "getProperty":
+                {
+                    return properties.get((String) args[0]);
+                }
+                case "setProperty":
+                {
+                    properties.put((String) args[0], args[1]);
+                    return null;
+                }
+                default:
+                {
+                    throw new UnsupportedOperationException(m.getName());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.domain.api.entity;
+
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EntityAccessContext} which remains usable after the request that created it is complete, for example
+ * from a background task. It must be closed when it is no longer needed.
+ */
+public interface DetachedEntityAccessContext extends EntityAccessContext, AutoCloseable
+{
+    @Override
+    void close();
+
+    static DetachedEntityAccessContext newDetachedEntityAccessContext(EntityAccessContext delegate, Runnable onClose)
+    {
+        Objects.requireNonNull(delegate, "delegate may not be null");
+        return new DetachedEntityAccessContext()
+        {
+            @Override
+            public Entity getEntity(String path)
+            {
+                return delegate.getEntity(path);
+            }
+
+            @Override
+            public List<Entity> getEntities(Predicate<String> entityPathPredicate, Predicate<String> classifierPathPredicate, Predicate<? super Map<String, ?>> entityContentPredicate, boolean excludeInvalid)
+            {
+                return delegate.getEntities(entityPathPredicate, classifierPathPredicate, entityContentPredicate, excludeInvalid);
+            }
+
+            @Override
+            public List<String> getEntityPaths(Predicate<String> entityPathPredicate, Predicate<String> classifierPathPredicate, Predicate<? super Map<String, ?>> entityContentPredicate)
+            {
+                return delegate.getEntityPaths(entityPathPredicate, classifierPathPredicate, entityContentPredicate);
+            }
+
+            @Override
+            public void close()
+            {
+                if (onClose != null)
+                {
+                    onClose.run();
+                }
+            }
+        };
+    }
+}
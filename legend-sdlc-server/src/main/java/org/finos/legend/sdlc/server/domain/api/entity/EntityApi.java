@@ -32,6 +32,20 @@ public interface EntityApi
         return getEntityAccessContext(projectId, sourceSpecification, null);
     }
 
+    /**
+     * Get an entity access context which remains usable after the current request is complete, for example from a
+     * background task. By default, this is the regular access context, which is assumed not to depend on the request.
+     *
+     * @param projectId           project id
+     * @param sourceSpecification source specification
+     * @param revisionId          revision id (should be resolved, so that the context does not depend on when it is used)
+     * @return detached entity access context, which must be closed when no longer needed
+     */
+    default DetachedEntityAccessContext getDetachedEntityAccessContext(String projectId, SourceSpecification sourceSpecification, String revisionId)
+    {
+        return DetachedEntityAccessContext.newDetachedEntityAccessContext(getEntityAccessContext(projectId, sourceSpecification, revisionId), null);
+    }
+
     EntityAccessContext getReviewFromEntityAccessContext(String projectId, String reviewId);
 
     EntityAccessContext getReviewToEntityAccessContext(String projectId, String reviewId);
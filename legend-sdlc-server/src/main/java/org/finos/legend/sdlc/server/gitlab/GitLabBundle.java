@@ -14,15 +14,24 @@
 
 package org.finos.legend.sdlc.server.gitlab;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.Configuration;
 import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import org.finos.legend.sdlc.server.gitlab.auth.GitLabApiRequestListener;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabWebFilter;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabReferenceCache;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabRequestGovernor;
+import org.finos.legend.sdlc.server.project.DeserializedEntityCache;
+import org.finos.legend.sdlc.server.project.ProjectFileSnapshotCache;
+import org.finos.legend.sdlc.server.project.VersionPureModelContextDataStore;
 
 import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.FilterRegistration;
+import java.nio.file.Paths;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.function.Function;
@@ -55,5 +64,56 @@ public class GitLabBundle<C extends Configuration> implements ConfiguredBundle<C
         FilterRegistration.Dynamic registration = environment.servlets().addFilter("GitLab", filter);
         environment.healthChecks().register("gitLabServer", healthCheck);
         registration.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), false, "*");
+        environment.servlets().addServletListeners(new GitLabApiRequestListener());
+
+        configureCaches(gitLabConfig.getCacheConfiguration(), environment.getObjectMapper());
+        configureClients(gitLabConfig.getClientConfiguration());
+    }
+
+    private void configureCaches(GitLabConfiguration.CacheConfiguration cacheConfig, ObjectMapper objectMapper)
+    {
+        Long snapshotMaxMemoryBytes = cacheConfig.getSnapshotMaxMemoryBytes();
+        String snapshotDirectory = cacheConfig.getSnapshotDirectory();
+        Long snapshotMaxDiskBytes = cacheConfig.getSnapshotMaxDiskBytes();
+        ProjectFileSnapshotCache.setSharedCache(ProjectFileSnapshotCache.newCache(
+                (snapshotMaxMemoryBytes == null) ? ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES : snapshotMaxMemoryBytes,
+                (snapshotDirectory == null) ? null : Paths.get(snapshotDirectory),
+                (snapshotMaxDiskBytes == null) ? ProjectFileSnapshotCache.DEFAULT_MAX_DISK_BYTES : snapshotMaxDiskBytes));
+
+        Long referenceTimeToLiveMillis = cacheConfig.getReferenceTimeToLiveMillis();
+        GitLabReferenceCache.setSharedCache(GitLabReferenceCache.newCache((referenceTimeToLiveMillis == null) ? GitLabReferenceCache.DEFAULT_TTL_MILLIS : referenceTimeToLiveMillis));
+
+        Long entityMaxMemoryBytes = cacheConfig.getEntityMaxMemoryBytes();
+        DeserializedEntityCache.setSharedCache(DeserializedEntityCache.newCache((entityMaxMemoryBytes == null) ? DeserializedEntityCache.DEFAULT_MAX_MEMORY_BYTES : entityMaxMemoryBytes));
+
+        String versionPMCDDirectory = cacheConfig.getVersionPMCDDirectory();
+        if (versionPMCDDirectory != null)
+        {
+            Long versionPMCDMaxDiskBytes = cacheConfig.getVersionPMCDMaxDiskBytes();
+            VersionPureModelContextDataStore.setSharedStore(VersionPureModelContextDataStore.newStore(
+                    Paths.get(versionPMCDDirectory),
+                    (versionPMCDMaxDiskBytes == null) ? VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES : versionPMCDMaxDiskBytes,
+                    objectMapper,
+                    Boolean.TRUE.equals(cacheConfig.getPrecomputeVersionPMCD())));
+        }
+    }
+
+    private void configureClients(GitLabConfiguration.ClientConfiguration clientConfig)
+    {
+        Integer maxPoolSize = clientConfig.getMaxPoolSize();
+        Long idleTimeoutMillis = clientConfig.getIdleTimeoutMillis();
+        GitLabApiPool.setSharedPool(GitLabApiPool.newPool(
+                (maxPoolSize == null) ? GitLabApiPool.DEFAULT_MAX_SIZE : maxPoolSize,
+                (idleTimeoutMillis == null) ? GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS : idleTimeoutMillis,
+                clientConfig.getConnectTimeoutMillis(),
+                clientConfig.getReadTimeoutMillis()));
+
+        Integer maxReadConcurrency = clientConfig.getMaxReadConcurrency();
+        Integer maxWriteConcurrency = clientConfig.getMaxWriteConcurrency();
+        Long maxQueueWaitMillis = clientConfig.getMaxQueueWaitMillis();
+        GitLabRequestGovernor.setSharedGovernor(GitLabRequestGovernor.newGovernor(
+                (maxReadConcurrency == null) ? GitLabRequestGovernor.DEFAULT_MAX_READ_CONCURRENCY : maxReadConcurrency,
+                (maxWriteConcurrency == null) ? GitLabRequestGovernor.DEFAULT_MAX_WRITE_CONCURRENCY : maxWriteConcurrency,
+                (maxQueueWaitMillis == null) ? GitLabRequestGovernor.DEFAULT_MAX_QUEUE_WAIT_MILLIS : maxQueueWaitMillis));
     }
 }
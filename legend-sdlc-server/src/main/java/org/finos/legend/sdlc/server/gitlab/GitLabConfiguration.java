@@ -37,8 +37,10 @@ public class GitLabConfiguration
     private final AppConfiguration appConfig;
     private final NewProjectVisibility newProjectVisibility;
     private final List<GitLabAuthorizer> gitLabAuthorizers;
+    private final CacheConfiguration cacheConfig;
+    private final ClientConfiguration clientConfig;
 
-    private GitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility, List<GitLabAuthorizer> gitLabAuthorizers)
+    private GitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility, List<GitLabAuthorizer> gitLabAuthorizers, CacheConfiguration cacheConfig, ClientConfiguration clientConfig)
     {
         if ((projectTag != null) && !LEGEND_SDLC_PROJECT_TAG_PATTERN.matcher(projectTag).matches())
         {
@@ -55,6 +57,8 @@ public class GitLabConfiguration
         this.appConfig = appConfig;
         this.newProjectVisibility = newProjectVisibility;
         this.gitLabAuthorizers = gitLabAuthorizers == null ? Collections.emptyList() : gitLabAuthorizers;
+        this.cacheConfig = (cacheConfig == null) ? CacheConfiguration.newCacheConfiguration(null, null, null, null, null, null, null, null) : cacheConfig;
+        this.clientConfig = (clientConfig == null) ? ClientConfiguration.newClientConfiguration(null, null, null, null, null, null, null) : clientConfig;
     }
 
     public String getProjectTag()
@@ -92,6 +96,16 @@ public class GitLabConfiguration
         return this.gitLabAuthorizers;
     }
 
+    public CacheConfiguration getCacheConfiguration()
+    {
+        return this.cacheConfig;
+    }
+
+    public ClientConfiguration getClientConfiguration()
+    {
+        return this.clientConfig;
+    }
+
     @JsonCreator
     public static GitLabConfiguration newGitLabConfiguration(
             @JsonProperty("projectTag") String projectTag,
@@ -102,7 +116,9 @@ public class GitLabConfiguration
             @JsonProperty("server") ServerConfiguration serverConfig,
             @JsonProperty("app") AppConfiguration appConfig,
             @JsonProperty("newProjectVisibility") NewProjectVisibility newProjectVisibility,
-            @JsonProperty("gitlabAuthorizers") List<GitLabAuthorizer> gitLabAuthorizers)
+            @JsonProperty("gitlabAuthorizers") List<GitLabAuthorizer> gitLabAuthorizers,
+            @JsonProperty("cache") CacheConfiguration cacheConfig,
+            @JsonProperty("client") ClientConfiguration clientConfig)
     {
         // Legacy configuration case
         if ((uatConfig != null) || (prodConfig != null))
@@ -117,10 +133,10 @@ public class GitLabConfiguration
             }
 
             ModeConfiguration modeConfig = (uatConfig == null) ? prodConfig : uatConfig;
-            return newGitLabConfiguration(projectTag, (uatConfig == null) ? "PROD" : "UAT", authConfig, modeConfig.getServerConfiguration(), modeConfig.getAppConfiguration(), newProjectVisibility, gitLabAuthorizers);
+            return newGitLabConfiguration(projectTag, (uatConfig == null) ? "PROD" : "UAT", authConfig, modeConfig.getServerConfiguration(), modeConfig.getAppConfiguration(), newProjectVisibility, gitLabAuthorizers, cacheConfig, clientConfig);
         }
 
-        return newGitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers);
+        return newGitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers, cacheConfig, clientConfig);
     }
 
     public static GitLabConfiguration newGitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility)
@@ -130,7 +146,17 @@ public class GitLabConfiguration
 
     public static GitLabConfiguration newGitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility, List<GitLabAuthorizer> gitLabAuthorizers)
     {
-        return new GitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers);
+        return newGitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers, null);
+    }
+
+    public static GitLabConfiguration newGitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility, List<GitLabAuthorizer> gitLabAuthorizers, CacheConfiguration cacheConfig)
+    {
+        return newGitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers, cacheConfig, null);
+    }
+
+    public static GitLabConfiguration newGitLabConfiguration(String projectTag, String projectIdPrefix, AuthConfiguration authConfig, ServerConfiguration serverConfig, AppConfiguration appConfig, NewProjectVisibility newProjectVisibility, List<GitLabAuthorizer> gitLabAuthorizers, CacheConfiguration cacheConfig, ClientConfiguration clientConfig)
+    {
+        return new GitLabConfiguration(projectTag, projectIdPrefix, authConfig, serverConfig, appConfig, newProjectVisibility, gitLabAuthorizers, cacheConfig, clientConfig);
     }
 
     public static void configureObjectMapper(ObjectMapper objectMapper)
@@ -263,6 +289,241 @@ public class GitLabConfiguration
         }
     }
 
+    public static class CacheConfiguration
+    {
+        private final Long snapshotMaxMemoryBytes;
+        private final String snapshotDirectory;
+        private final Long snapshotMaxDiskBytes;
+        private final Long referenceTimeToLiveMillis;
+        private final Long entityMaxMemoryBytes;
+        private final String versionPMCDDirectory;
+        private final Long versionPMCDMaxDiskBytes;
+        private final Boolean precomputeVersionPMCD;
+
+        private CacheConfiguration(Long snapshotMaxMemoryBytes, String snapshotDirectory, Long snapshotMaxDiskBytes, Long referenceTimeToLiveMillis, Long entityMaxMemoryBytes, String versionPMCDDirectory, Long versionPMCDMaxDiskBytes, Boolean precomputeVersionPMCD)
+        {
+            this.snapshotMaxMemoryBytes = snapshotMaxMemoryBytes;
+            this.snapshotDirectory = snapshotDirectory;
+            this.snapshotMaxDiskBytes = snapshotMaxDiskBytes;
+            this.referenceTimeToLiveMillis = referenceTimeToLiveMillis;
+            this.entityMaxMemoryBytes = entityMaxMemoryBytes;
+            this.versionPMCDDirectory = versionPMCDDirectory;
+            this.versionPMCDMaxDiskBytes = versionPMCDMaxDiskBytes;
+            this.precomputeVersionPMCD = precomputeVersionPMCD;
+        }
+
+        /**
+         * Maximum total size, in bytes, of revision snapshots held in memory. If null, a default is used.
+         *
+         * @return max memory bytes for snapshots
+         */
+        public Long getSnapshotMaxMemoryBytes()
+        {
+            return this.snapshotMaxMemoryBytes;
+        }
+
+        /**
+         * Local directory in which to persist revision snapshots. If null, snapshots are only cached in memory.
+         *
+         * @return snapshot directory
+         */
+        public String getSnapshotDirectory()
+        {
+            return this.snapshotDirectory;
+        }
+
+        /**
+         * Maximum total size, in bytes, of revision snapshots persisted to disk. If null, a default is used.
+         *
+         * @return max disk bytes for snapshots
+         */
+        public Long getSnapshotMaxDiskBytes()
+        {
+            return this.snapshotMaxDiskBytes;
+        }
+
+        /**
+         * Time, in milliseconds, for which resolutions of branches and other references to commits are cached. If
+         * null, a default is used. If zero, resolutions are not cached, but concurrent resolutions of the same
+         * reference are still coalesced.
+         *
+         * @return reference resolution time to live in milliseconds
+         */
+        public Long getReferenceTimeToLiveMillis()
+        {
+            return this.referenceTimeToLiveMillis;
+        }
+
+        /**
+         * Maximum approximate total size, in bytes, of deserialized entities held in memory. If null, a default is
+         * used.
+         *
+         * @return max memory bytes for deserialized entities
+         */
+        public Long getEntityMaxMemoryBytes()
+        {
+            return this.entityMaxMemoryBytes;
+        }
+
+        /**
+         * Local directory in which to store the Pure model context data of project versions. If null, the data is
+         * computed for every request.
+         *
+         * @return version Pure model context data directory
+         */
+        public String getVersionPMCDDirectory()
+        {
+            return this.versionPMCDDirectory;
+        }
+
+        /**
+         * Maximum total size, in bytes, of the Pure model context data of project versions stored on disk. If null, a
+         * default is used.
+         *
+         * @return max disk bytes for version Pure model context data
+         */
+        public Long getVersionPMCDMaxDiskBytes()
+        {
+            return this.versionPMCDMaxDiskBytes;
+        }
+
+        /**
+         * Whether to compute and store the Pure model context data of a version in the background when it is created.
+         * Only applies if a directory is configured. If null, data is not precomputed.
+         *
+         * @return whether to precompute version Pure model context data
+         */
+        public Boolean getPrecomputeVersionPMCD()
+        {
+            return this.precomputeVersionPMCD;
+        }
+
+        @JsonCreator
+        public static CacheConfiguration newCacheConfiguration(
+                @JsonProperty("snapshotMaxMemoryBytes") Long snapshotMaxMemoryBytes,
+                @JsonProperty("snapshotDirectory") String snapshotDirectory,
+                @JsonProperty("snapshotMaxDiskBytes") Long snapshotMaxDiskBytes,
+                @JsonProperty("referenceTimeToLiveMillis") Long referenceTimeToLiveMillis,
+                @JsonProperty("entityMaxMemoryBytes") Long entityMaxMemoryBytes,
+                @JsonProperty("versionPMCDDirectory") String versionPMCDDirectory,
+                @JsonProperty("versionPMCDMaxDiskBytes") Long versionPMCDMaxDiskBytes,
+                @JsonProperty("precomputeVersionPMCD") Boolean precomputeVersionPMCD)
+        {
+            return new CacheConfiguration(snapshotMaxMemoryBytes, snapshotDirectory, snapshotMaxDiskBytes, referenceTimeToLiveMillis, entityMaxMemoryBytes, versionPMCDDirectory, versionPMCDMaxDiskBytes, precomputeVersionPMCD);
+        }
+    }
+
+    public static class ClientConfiguration
+    {
+        private final Integer maxPoolSize;
+        private final Long idleTimeoutMillis;
+        private final Integer connectTimeoutMillis;
+        private final Integer readTimeoutMillis;
+        private final Integer maxReadConcurrency;
+        private final Integer maxWriteConcurrency;
+        private final Long maxQueueWaitMillis;
+
+        private ClientConfiguration(Integer maxPoolSize, Long idleTimeoutMillis, Integer connectTimeoutMillis, Integer readTimeoutMillis, Integer maxReadConcurrency, Integer maxWriteConcurrency, Long maxQueueWaitMillis)
+        {
+            this.maxPoolSize = maxPoolSize;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.readTimeoutMillis = readTimeoutMillis;
+            this.maxReadConcurrency = maxReadConcurrency;
+            this.maxWriteConcurrency = maxWriteConcurrency;
+            this.maxQueueWaitMillis = maxQueueWaitMillis;
+        }
+
+        /**
+         * Maximum number of GitLab API clients (one per user token) kept for reuse across requests. This bounds the
+         * number of clients, not the number of HTTP connections, as each client manages its own connections. If null,
+         * a default is used. If zero, clients are not reused.
+         *
+         * @return max client pool size
+         */
+        public Integer getMaxPoolSize()
+        {
+            return this.maxPoolSize;
+        }
+
+        /**
+         * Time, in milliseconds, after which an unused client is evicted from the pool and closed, dropping its token.
+         * If null, a default is used.
+         *
+         * @return client idle timeout in milliseconds
+         */
+        public Long getIdleTimeoutMillis()
+        {
+            return this.idleTimeoutMillis;
+        }
+
+        /**
+         * Timeout, in milliseconds, for connecting to GitLab. If null, the HTTP client default is used.
+         *
+         * @return connect timeout in milliseconds
+         */
+        public Integer getConnectTimeoutMillis()
+        {
+            return this.connectTimeoutMillis;
+        }
+
+        /**
+         * Timeout, in milliseconds, for reading responses from GitLab. If null, the HTTP client default is used.
+         *
+         * @return read timeout in milliseconds
+         */
+        public Integer getReadTimeoutMillis()
+        {
+            return this.readTimeoutMillis;
+        }
+
+        /**
+         * Maximum number of concurrent GitLab calls made while serving read requests. The actual limit adapts to
+         * GitLab's load, but never exceeds this. If null, a default is used.
+         *
+         * @return max read concurrency
+         */
+        public Integer getMaxReadConcurrency()
+        {
+            return this.maxReadConcurrency;
+        }
+
+        /**
+         * Maximum number of concurrent GitLab calls made while serving requests which may modify state. The actual
+         * limit adapts to GitLab's load, but never exceeds this. If null, a default is used.
+         *
+         * @return max write concurrency
+         */
+        public Integer getMaxWriteConcurrency()
+        {
+            return this.maxWriteConcurrency;
+        }
+
+        /**
+         * Maximum time, in milliseconds, a GitLab call may wait for the concurrency limit before failing. If null, a
+         * default is used.
+         *
+         * @return max queue wait in milliseconds
+         */
+        public Long getMaxQueueWaitMillis()
+        {
+            return this.maxQueueWaitMillis;
+        }
+
+        @JsonCreator
+        public static ClientConfiguration newClientConfiguration(
+                @JsonProperty("maxPoolSize") Integer maxPoolSize,
+                @JsonProperty("idleTimeoutMillis") Long idleTimeoutMillis,
+                @JsonProperty("connectTimeoutMillis") Integer connectTimeoutMillis,
+                @JsonProperty("readTimeoutMillis") Integer readTimeoutMillis,
+                @JsonProperty("maxReadConcurrency") Integer maxReadConcurrency,
+                @JsonProperty("maxWriteConcurrency") Integer maxWriteConcurrency,
+                @JsonProperty("maxQueueWaitMillis") Long maxQueueWaitMillis)
+        {
+            return new ClientConfiguration(maxPoolSize, idleTimeoutMillis, connectTimeoutMillis, readTimeoutMillis, maxReadConcurrency, maxWriteConcurrency, maxQueueWaitMillis);
+        }
+    }
+
     public enum NewProjectVisibility
     {
         PUBLIC(Visibility.PUBLIC), PRIVATE(Visibility.PRIVATE), INTERNAL(Visibility.INTERNAL);
@@ -47,20 +47,20 @@ abstract class AbstractGitlabWorkflowApi extends GitLabApiWithFileAccess
     protected Pager<Pipeline> getMergeRequestPipelines(int gitLabProjectId, int mergeRequestId) throws GitLabApiException
     {
         MergeRequestApi mergeRequestApi = getGitLabApi().getMergeRequestApi();
-        return withRetries(() -> mergeRequestApi.getMergeRequestPipelines(gitLabProjectId, mergeRequestId, ITEMS_PER_PAGE));
+        return withRetries("getMergeRequestPipelines", () -> mergeRequestApi.getMergeRequestPipelines(gitLabProjectId, mergeRequestId, ITEMS_PER_PAGE));
     }
 
     protected Pipeline getRefPipeline(int gitLabProjectId, String ref, int pipelineId) throws GitLabApiException
     {
         PipelineApi pipelineApi = getGitLabApi().getPipelineApi();
-        Pipeline pipeline = withRetries(() -> pipelineApi.getPipeline(gitLabProjectId, pipelineId));
+        Pipeline pipeline = withRetries("getPipeline", () -> pipelineApi.getPipeline(gitLabProjectId, pipelineId));
         return ((pipeline != null) && ref.equals(pipeline.getRef())) ? pipeline : null;
     }
 
     protected Pager<Pipeline> getRefPipelines(int gitLabProjectId, String ref) throws GitLabApiException
     {
         PipelineApi pipelineApi = getGitLabApi().getPipelineApi();
-        return withRetries(() -> pipelineApi.getPipelines(gitLabProjectId, null, null, ref, false, null, null, null, null, ITEMS_PER_PAGE));
+        return withRetries("getPipelines", () -> pipelineApi.getPipelines(gitLabProjectId, null, null, ref, false, null, null, null, null, ITEMS_PER_PAGE));
     }
 
     protected IntObjectMap<Pipeline> indexPipelinesById(Pager<Pipeline> pager, boolean ignoreNullIds, boolean ignoreIdConflicts)
@@ -42,10 +42,15 @@ import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabAuthException;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
 import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabReferenceCache;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabRequestGovernor;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabRequestGovernor.RequestKind;
 import org.finos.legend.sdlc.server.gitlab.tools.PagerTools;
+import org.finos.legend.sdlc.server.monitoring.DownstreamCallStats;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.WorkspaceAccessType;
 import org.finos.legend.sdlc.server.tools.StringTools;
+import org.finos.legend.sdlc.server.tools.ThrowingFunction;
 import org.finos.legend.sdlc.server.tools.ThrowingRunnable;
 import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
@@ -53,9 +58,12 @@ import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.MergeRequestApi;
+import org.gitlab4j.api.Pager;
 import org.gitlab4j.api.ProjectApi;
+import org.gitlab4j.api.TagsApi;
 import org.gitlab4j.api.models.AbstractUser;
 import org.gitlab4j.api.models.Commit;
+import org.gitlab4j.api.models.CommitAction;
 import org.gitlab4j.api.models.CommitRef;
 import org.gitlab4j.api.models.MergeRequest;
 import org.gitlab4j.api.models.Project;
@@ -71,6 +79,7 @@ import java.time.Instant;
 import java.util.Base64;
 import java.util.Base64.Encoder;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
@@ -79,7 +88,9 @@ import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
@@ -122,11 +133,13 @@ abstract class BaseGitLabApi
 
     private final GitLabConfiguration gitLabConfiguration;
     private final GitLabUserContext userContext;
+    private final RequestKind requestKind;
 
     protected BaseGitLabApi(GitLabConfiguration gitLabConfiguration, GitLabUserContext userContext)
     {
         this.gitLabConfiguration = gitLabConfiguration;
         this.userContext = userContext;
+        this.requestKind = getRequestKind(userContext);
     }
 
     protected GitLabConfiguration getGitLabConfiguration()
@@ -134,6 +147,11 @@ abstract class BaseGitLabApi
         return this.gitLabConfiguration;
     }
 
+    protected GitLabUserContext getUserContext()
+    {
+        return this.userContext;
+    }
+
     protected String getCurrentUser()
     {
         return this.userContext.getCurrentUser();
@@ -464,7 +482,7 @@ abstract class BaseGitLabApi
         try
         {
             ProjectApi projectApi = getGitLabApi().getProjectApi();
-            return getDefaultBranch(withRetries(() -> projectApi.getProject(projectId.getGitLabId())));
+            return getDefaultBranch(withRetries("getProject", () -> projectApi.getProject(projectId.getGitLabId())));
         }
         catch (Exception e)
         {
@@ -881,6 +899,11 @@ abstract class BaseGitLabApi
                         // this means the access token is invalid
                         this.userContext.clearAccessToken();
                         HttpServletRequest httpRequest = this.userContext.getHttpRequest();
+                        if (httpRequest == null)
+                        {
+                            // not serving a request (e.g., a background task), so there is nothing to retry
+                            return new LegendSDLCServerException("GitLab access token for user " + getCurrentUser() + " is no longer valid", Status.UNAUTHORIZED, glae);
+                        }
                         StringBuffer urlBuilder = httpRequest.getRequestURL();
                         String requestQueryString = httpRequest.getQueryString();
                         if (requestQueryString != null)
@@ -1015,20 +1038,209 @@ abstract class BaseGitLabApi
         return new LegendSDLCServerException(message, e);
     }
 
-    protected <T> T withRetries(ThrowingSupplier<T, ? extends GitLabApiException> apiCall) throws GitLabApiException
+    /**
+     * Call the GitLab API, retrying on retryable exceptions. Each attempt is subject to the request governor and is
+     * instrumented as a call to the given logical endpoint.
+     *
+     * @param endpoint logical GitLab endpoint, such as getBranch
+     * @param apiCall  GitLab API call
+     * @param <T>      result type
+     * @return result of the call
+     * @throws GitLabApiException if the call fails and cannot be retried
+     */
+    protected <T> T withRetries(String endpoint, ThrowingSupplier<T, ? extends GitLabApiException> apiCall) throws GitLabApiException
+    {
+        GitLabRequestGovernor governor = getRequestGovernor();
+        String user = getGovernorUser();
+        RequestKind kind = this.requestKind;
+        // instrument inside the governor, so that time spent queued for a permit is not counted as GitLab time
+        return GitLabApiTools.retryCall(endpoint, () -> governor.call(user, kind, () -> GitLabApiTools.instrumentCall(endpoint, apiCall)), MAX_RETRIES, INITIAL_RETRY_WAIT_INTERVAL_MILLIS, RETRY_WAIT_INTERVAL_UPDATER);
+    }
+
+    protected void withRetries(String endpoint, ThrowingRunnable<? extends GitLabApiException> apiCall) throws GitLabApiException
+    {
+        withRetries(endpoint, () ->
+        {
+            apiCall.run();
+            return null;
+        });
+    }
+
+    /**
+     * Call the GitLab API once, without retries, for calls which are not safe to repeat. The call is subject to the
+     * request governor and is instrumented as a call to the given logical endpoint.
+     *
+     * @param endpoint logical GitLab endpoint, such as createCommit
+     * @param apiCall  GitLab API call
+     * @param <T>      result type
+     * @return result of the call
+     * @throws GitLabApiException if the call fails
+     */
+    protected <T> T callGitLab(String endpoint, ThrowingSupplier<T, ? extends GitLabApiException> apiCall) throws GitLabApiException
     {
-        return GitLabApiTools.callWithRetries(apiCall, MAX_RETRIES, INITIAL_RETRY_WAIT_INTERVAL_MILLIS, RETRY_WAIT_INTERVAL_UPDATER);
+        return getRequestGovernor().call(getGovernorUser(), this.requestKind, () -> GitLabApiTools.instrumentCall(endpoint, apiCall));
     }
 
-    protected void withRetries(ThrowingRunnable<? extends GitLabApiException> apiCall) throws GitLabApiException
+    protected void callGitLab(String endpoint, ThrowingRunnable<? extends GitLabApiException> apiCall) throws GitLabApiException
     {
-        withRetries(() ->
+        callGitLab(endpoint, () ->
         {
             apiCall.run();
             return null;
         });
     }
 
+    /**
+     * Create a commit on the given branch. The commit is made once, without retries, and the size of the content of
+     * its actions is recorded as bytes sent to GitLab.
+     *
+     * @param commitsApi commits API
+     * @param projectId  GitLab project id
+     * @param branch     branch to commit to
+     * @param message    commit message
+     * @param authorName commit author name (may be null)
+     * @param actions    commit actions
+     * @return new commit
+     * @throws GitLabApiException if the commit fails
+     */
+    protected Commit createCommit(CommitsApi commitsApi, GitLabProjectId projectId, String branch, String message, String authorName, List<CommitAction> actions) throws GitLabApiException
+    {
+        Commit commit = changeReferences(projectId, () -> callGitLab("createCommit", () -> commitsApi.createCommit(projectId.getGitLabId(), branch, message, null, null, authorName, actions)));
+        long bytes = 0L;
+        for (CommitAction action : actions)
+        {
+            String content = action.getContent();
+            if (content != null)
+            {
+                bytes += content.length();
+            }
+        }
+        GitLabApiTools.noteBytesTransferred("createCommit", bytes);
+        return commit;
+    }
+
+    /**
+     * Stream the items of a pager, fetching the remaining pages concurrently once the first page is known. Page
+     * fetches are subject to the request governor, on behalf of the current user, and are instrumented as calls to
+     * the given logical endpoint.
+     *
+     * @param endpoint    logical GitLab endpoint, such as getBranches
+     * @param pager       pager
+     * @param pageFetcher function to fetch a page of the same listing by page number
+     * @param <T>         item type
+     * @return stream of items
+     */
+    protected <T> Stream<T> prefetchingStream(String endpoint, Pager<T> pager, ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher)
+    {
+        GitLabRequestGovernor governor = getRequestGovernor();
+        String user = getGovernorUser();
+        RequestKind kind = this.requestKind;
+        DownstreamCallStats callStats = DownstreamCallStats.getCurrent();
+        return PagerTools.stream(pager, page ->
+        {
+            try (DownstreamCallStats.Scope ignore = DownstreamCallStats.attach(callStats))
+            {
+                return governor.call(user, kind, () -> GitLabApiTools.instrumentCall(endpoint, () -> pageFetcher.apply(page)));
+            }
+        });
+    }
+
+    protected GitLabRequestGovernor getRequestGovernor()
+    {
+        return GitLabRequestGovernor.getSharedGovernor();
+    }
+
+    private String getGovernorUser()
+    {
+        try
+        {
+            return (this.userContext == null) ? null : getCurrentUser();
+        }
+        catch (Exception e)
+        {
+            // calls which cannot be attributed to a user share a queue
+            return null;
+        }
+    }
+
+    // GitLab calls made while serving requests which may modify state count against the write budget
+    private static RequestKind getRequestKind(GitLabUserContext userContext)
+    {
+        try
+        {
+            HttpServletRequest httpRequest = (userContext == null) ? null : userContext.getHttpRequest();
+            String method = (httpRequest == null) ? null : httpRequest.getMethod();
+            return ((method == null) || HttpMethod.GET.equalsIgnoreCase(method) || HttpMethod.HEAD.equalsIgnoreCase(method) || HttpMethod.OPTIONS.equalsIgnoreCase(method)) ? RequestKind.READ : RequestKind.WRITE;
+        }
+        catch (Exception e)
+        {
+            return RequestKind.READ;
+        }
+    }
+
+    protected GitLabReferenceCache getReferenceCache()
+    {
+        return GitLabReferenceCache.getSharedCache();
+    }
+
+    /**
+     * Resolve a reference (branch, tag, or commit id) to a commit for the current user, or return null if it cannot
+     * be found. Resolutions may be served from the reference cache, and concurrent resolutions of the same reference
+     * are coalesced into a single call.
+     *
+     * @param projectId project id
+     * @param reference reference to resolve
+     * @return commit or null
+     * @throws GitLabApiException if there is an error resolving the reference
+     */
+    protected Commit resolveReferenceCommit(GitLabProjectId projectId, String reference) throws GitLabApiException
+    {
+        CommitsApi commitsApi = getGitLabApi().getCommitsApi();
+        return getReferenceCache().resolve(getCurrentUser(), projectId, reference, () ->
+        {
+            try
+            {
+                return withRetries("getCommit", () -> commitsApi.getCommit(projectId.getGitLabId(), reference));
+            }
+            catch (GitLabApiException e)
+            {
+                if (GitLabApiTools.isNotFoundGitLabApiException(e))
+                {
+                    return null;
+                }
+                throw e;
+            }
+        });
+    }
+
+    protected void invalidateReferences(GitLabProjectId projectId)
+    {
+        getReferenceCache().invalidate(projectId);
+    }
+
+    /**
+     * Make a change to the references of a project, such as creating, deleting, or moving a branch or tag, and then
+     * invalidate the cached reference resolutions for the project. They are invalidated even if the change fails, as
+     * it may have been partially applied.
+     *
+     * @param projectId project id
+     * @param change    change to make
+     * @param <T>       result type
+     * @return result of the change
+     * @throws GitLabApiException if the change fails
+     */
+    protected <T> T changeReferences(GitLabProjectId projectId, ThrowingSupplier<T, ? extends GitLabApiException> change) throws GitLabApiException
+    {
+        try
+        {
+            return change.get();
+        }
+        finally
+        {
+            invalidateReferences(projectId);
+        }
+    }
+
     protected static User fromGitLabAbstractUser(AbstractUser<?> user)
     {
         if (user == null)
@@ -1131,7 +1343,7 @@ abstract class BaseGitLabApi
         MergeRequest mergeRequest;
         try
         {
-            mergeRequest = withRetries(() -> mergeRequestApi.getMergeRequest(projectId.getGitLabId(), mergeRequestId, false, null, includeRebaseInProgress));
+            mergeRequest = withRetries("getMergeRequest", () -> mergeRequestApi.getMergeRequest(projectId.getGitLabId(), mergeRequestId, false, null, includeRebaseInProgress));
         }
         catch (Exception e)
         {
@@ -1168,7 +1380,7 @@ abstract class BaseGitLabApi
         MergeRequest mergeRequest;
         try
         {
-            mergeRequest = withRetries(() -> mergeRequestApi.getMergeRequestApprovals(projectId.getGitLabId(), mergeRequestId));
+            mergeRequest = withRetries("getMergeRequestApprovals", () -> mergeRequestApi.getMergeRequestApprovals(projectId.getGitLabId(), mergeRequestId));
         }
         catch (Exception e)
         {
@@ -1342,7 +1554,8 @@ abstract class BaseGitLabApi
         String name = buildVersionTagName(versionId);
         try
         {
-            return fromGitLabTag(projectId, getGitLabApi().getTagsApi().getTag(gitLabProjectId.getGitLabId(), name));
+            TagsApi tagsApi = getGitLabApi().getTagsApi();
+            return fromGitLabTag(projectId, withRetries("getTag", () -> tagsApi.getTag(gitLabProjectId.getGitLabId(), name)));
         }
         catch (Exception e)
         {
@@ -1366,7 +1579,7 @@ abstract class BaseGitLabApi
             Commit referenceCommit;
             if (revisionId == null)
             {
-                referenceCommit = withRetries(() -> commitsApi.getCommit(projectId.getGitLabId(), getSourceBranch(projectId, patchReleaseVersionId)));
+                referenceCommit = withRetries("getCommit", () -> commitsApi.getCommit(projectId.getGitLabId(), getSourceBranch(projectId, patchReleaseVersionId)));
                 if (referenceCommit == null)
                 {
                     throw new LegendSDLCServerException("Cannot create version " + versionId.toVersionIdString() + " of project " + projectId + ": cannot find current revision (project may be corrupt)", Status.INTERNAL_SERVER_ERROR);
@@ -1376,7 +1589,7 @@ abstract class BaseGitLabApi
             {
                 try
                 {
-                    referenceCommit = withRetries(() -> commitsApi.getCommit(projectId.getGitLabId(), revisionId));
+                    referenceCommit = withRetries("getCommit", () -> commitsApi.getCommit(projectId.getGitLabId(), revisionId));
                 }
                 catch (GitLabApiException e)
                 {
@@ -1388,7 +1601,7 @@ abstract class BaseGitLabApi
                 }
 
                 String sourceBranch = getSourceBranch(projectId, patchReleaseVersionId);
-                boolean isOnSourceBranch = PagerTools.stream(withRetries(() -> commitsApi.getCommitRefs(projectId.getGitLabId(), revisionId, CommitRef.RefType.BRANCH, ITEMS_PER_PAGE)))
+                boolean isOnSourceBranch = PagerTools.stream(withRetries("getCommitRefs", () -> commitsApi.getCommitRefs(projectId.getGitLabId(), revisionId, CommitRef.RefType.BRANCH, ITEMS_PER_PAGE)))
                         .anyMatch(ref -> sourceBranch.equals(ref.getName()));
                 if (!isOnSourceBranch)
                 {
@@ -1396,10 +1609,10 @@ abstract class BaseGitLabApi
                 }
             }
 
-            Tag tag = gitLabApi.getTagsApi().createTag(projectId.getGitLabId(), tagName, referenceCommit.getId(), message, (String) null);
+            Tag tag = changeReferences(projectId, () -> callGitLab("createTag", () -> gitLabApi.getTagsApi().createTag(projectId.getGitLabId(), tagName, referenceCommit.getId(), message, (String) null)));
             if (notes != null)
             {
-                gitLabApi.getReleasesApi().createRelease(projectId.getGitLabId(), new ReleaseParams().withTagName(tagName).withDescription(notes));
+                callGitLab("createRelease", () -> gitLabApi.getReleasesApi().createRelease(projectId.getGitLabId(), new ReleaseParams().withTagName(tagName).withDescription(notes)));
             }
             return fromGitLabTag(projectId.toString(), tag);
         }
@@ -18,6 +18,7 @@ import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.utils.CountingInputStream;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
@@ -40,19 +41,25 @@ import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabConfiguration;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
 import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabArchiveApi;
 import org.finos.legend.sdlc.server.gitlab.tools.PagerTools;
+import org.finos.legend.sdlc.server.monitoring.DownstreamCallStats;
 import org.finos.legend.sdlc.server.project.AbstractFileAccessContext;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.FileModificationContext;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.RevisionAccessContext;
 import org.finos.legend.sdlc.server.project.ProjectFileOperation;
+import org.finos.legend.sdlc.server.project.ProjectFileSnapshot;
+import org.finos.legend.sdlc.server.project.ProjectFileSnapshotCache;
 import org.finos.legend.sdlc.server.project.ProjectFiles;
 import org.finos.legend.sdlc.server.project.ProjectPaths;
 import org.finos.legend.sdlc.server.project.ProjectStructure;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.IOTools;
 import org.finos.legend.sdlc.server.tools.StringTools;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
 import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.Constants;
 import org.gitlab4j.api.Constants.Encoding;
@@ -67,6 +74,8 @@ import org.gitlab4j.api.models.CommitAction;
 import org.gitlab4j.api.models.CommitAction.Action;
 import org.gitlab4j.api.models.CommitRef;
 import org.gitlab4j.api.models.CommitRef.RefType;
+import org.gitlab4j.api.models.CompareResults;
+import org.gitlab4j.api.models.Diff;
 import org.gitlab4j.api.models.Pipeline;
 import org.gitlab4j.api.models.PipelineStatus;
 import org.gitlab4j.api.models.RepositoryFile;
@@ -87,6 +96,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -100,6 +116,11 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
 
     private static final int MAX_COMMIT_SIZE = 512;
     private static final int MAX_COMMIT_RETRIES = 10;
+    private static final int MAX_INCREMENTAL_SNAPSHOT_CHANGES = 20;
+    private static final String SYMLINK_MODE = "120000";
+    private static final String SUBMODULE_MODE = "160000";
+    private static final int ARCHIVE_DOWNLOAD_THREADS = 8;
+    private static final ExecutorService ARCHIVE_DOWNLOAD_EXECUTOR = newArchiveDownloadExecutor();
 
     private final BackgroundTaskProcessor backgroundTaskProcessor;
 
@@ -191,6 +212,11 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         return resolvedRevisionId;
     }
 
+    protected ProjectFileSnapshotCache getSnapshotCache()
+    {
+        return ProjectFileSnapshotCache.getSharedCache();
+    }
+
     private String getCurrentRevisionId(GitLabProjectId projectId, SourceSpecification sourceSpecification)
     {
         Revision revision = new GitLabRevisionAccessContext(projectId, sourceSpecification, null).getCurrentRevision();
@@ -258,34 +284,259 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                     () -> "Failed to access files for " + getDescriptionForExceptionMessage());
         }
 
-        private Stream<ProjectFileAccessProvider.ProjectFile> getFilesFromRepoArchive(MutableList<String> directories) throws GitLabApiException, IOException
+        private Stream<ProjectFileAccessProvider.ProjectFile> getFilesFromRepoArchive(MutableList<String> directories) throws Exception
+        {
+            String commitId = resolveReferenceCommitId();
+            if (commitId == null)
+            {
+                // could not resolve the reference to a commit, so we cannot use the snapshot cache
+                return getFilesFromRepoArchive(getReference(), directories);
+            }
+            String referenceId = getReference();
+            ProjectFileSnapshotCache snapshotCache = getSnapshotCache();
+            // the reference has been resolved with the current user's credentials, so concurrent loads of the same
+            // revision for different users can safely be shared
+            ProjectFileSnapshot snapshot = snapshotCache.getIfAbsentPut(this.projectId.toString(), commitId, directories, missingDirectories -> newSnapshot(snapshotCache, referenceId, commitId, missingDirectories));
+            if (!commitId.equals(referenceId))
+            {
+                snapshotCache.setLatestRevisionId(this.projectId.toString(), referenceId, commitId);
+            }
+            return snapshot.getFilesInCanonicalDirectories(directories);
+        }
+
+        private ProjectFileSnapshot newSnapshot(ProjectFileSnapshotCache snapshotCache, String referenceId, String commitId, MutableList<String> directories) throws GitLabApiException, IOException
+        {
+            String previousCommitId = commitId.equals(referenceId) ? null : snapshotCache.getLatestRevisionId(this.projectId.toString(), referenceId);
+            ProjectFileSnapshot previousSnapshot = ((previousCommitId == null) || previousCommitId.equals(commitId)) ? null : snapshotCache.get(this.projectId.toString(), previousCommitId);
+            if ((previousSnapshot != null) && previousSnapshot.covers(directories))
+            {
+                ProjectFileSnapshot snapshot = newSnapshotFromComparison(previousSnapshot, commitId);
+                if (snapshot != null)
+                {
+                    return snapshot;
+                }
+            }
+            return newSnapshotFromRepoArchive(commitId, directories);
+        }
+
+        /**
+         * Try to compute the snapshot for a revision from the snapshot of an earlier revision and the diff between
+         * them. This only fetches the files which were added or modified. Returns null if the diff is too large or
+         * cannot be computed, in which case the full snapshot should be loaded from the repository archive.
+         *
+         * @param previousSnapshot snapshot of an earlier revision
+         * @param commitId         commit id to compute the snapshot for
+         * @return snapshot or null
+         */
+        private ProjectFileSnapshot newSnapshotFromComparison(ProjectFileSnapshot previousSnapshot, String commitId)
         {
-            InputStream inStream = null;
-            ArchiveInputStream archiveInputStream = null;
             try
             {
-                String referenceId = getReference();
                 RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
-                inStream = withRetries(() -> repositoryApi.getRepositoryArchive(this.projectId.getGitLabId(), referenceId));
-                archiveInputStream = new TarArchiveInputStream(new GzipCompressorInputStream(inStream));
-                Stream<ProjectFileAccessProvider.ProjectFile> stream = IOTools.streamCloseableSpliterator(new ArchiveStreamProjectFileSpliterator(archiveInputStream), false);
-                if (directories.size() == 1)
+                CompareResults comparison = withRetries("compare", () -> repositoryApi.compare(this.projectId.getGitLabId(), previousSnapshot.getRevisionId(), commitId, true));
+                List<Diff> diffs = comparison.getDiffs();
+                if (Boolean.TRUE.equals(comparison.getCompareTimeout()) || (diffs == null) || (diffs.size() > MAX_INCREMENTAL_SNAPSHOT_CHANGES))
+                {
+                    LOGGER.debug("Cannot compute snapshot for revision {} of project {} from revision {}: comparison too large", commitId, this.projectId, previousSnapshot.getRevisionId());
+                    return null;
+                }
+
+                MutableList<String> deletedPaths = Lists.mutable.empty();
+                Map<String, byte[]> modifiedFiles = Maps.mutable.empty();
+                RepositoryFileApi repositoryFileApi = getGitLabApi().getRepositoryFileApi();
+                for (Diff diff : diffs)
                 {
-                    String directory = directories.get(0);
-                    if (!ProjectPaths.ROOT_DIRECTORY.equals(directory))
+                    if (Boolean.TRUE.equals(diff.getDeletedFile()) || Boolean.TRUE.equals(diff.getRenamedFile()))
                     {
-                        stream = stream.filter(f -> f.getPath().startsWith(directory));
+                        deletedPaths.add(toCanonicalPath(diff.getOldPath()));
+                    }
+                    // files outside the directories covered by the snapshot are not needed
+                    if (!Boolean.TRUE.equals(diff.getDeletedFile()) && !SUBMODULE_MODE.equals(diff.getBMode()) && previousSnapshot.coversFile(toCanonicalPath(diff.getNewPath())))
+                    {
+                        String path = diff.getNewPath();
+                        byte[] content;
+                        if (SYMLINK_MODE.equals(diff.getBMode()))
+                        {
+                            // symbolic links have no content in the repository archive
+                            content = new byte[0];
+                        }
+                        else
+                        {
+                            try (InputStream stream = new ByteCountingInputStream("getRawFile", withRetries("getRawFile", () -> repositoryFileApi.getRawFile(this.projectId.getGitLabId(), commitId, path))))
+                            {
+                                content = IOTools.readAllBytes(stream);
+                            }
+                        }
+                        modifiedFiles.put(toCanonicalPath(path), content);
                     }
                 }
-                else
+                LOGGER.debug("Computed snapshot for revision {} of project {} from revision {} ({} changes)", commitId, this.projectId, previousSnapshot.getRevisionId(), diffs.size());
+                return previousSnapshot.withChanges(commitId, deletedPaths, modifiedFiles);
+            }
+            catch (Exception e)
+            {
+                LOGGER.warn("Failed to compute snapshot for revision {} of project {} from revision {}", commitId, this.projectId, previousSnapshot.getRevisionId(), e);
+                return null;
+            }
+        }
+
+        private String toCanonicalPath(String path)
+        {
+            return path.startsWith(ProjectPaths.PATH_SEPARATOR) ? path : (ProjectPaths.PATH_SEPARATOR + path);
+        }
+
+        private ProjectFileSnapshot newSnapshotFromRepoArchive(String commitId, MutableList<String> directories) throws GitLabApiException, IOException
+        {
+            LOGGER.debug("Loading snapshot of {} for revision {} of project {} from repository archive", directories, commitId, this.projectId);
+            try (Stream<ProjectFileAccessProvider.ProjectFile> stream = getFilesFromPathScopedRepoArchives(commitId, directories))
+            {
+                return ProjectFileSnapshot.newSnapshot(this.projectId.toString(), commitId, directories, stream);
+            }
+        }
+
+        /**
+         * Get the files in the given directories from archives restricted to those directories. If there is more than
+         * one directory, the archives are downloaded in parallel and fully read before the files are returned.
+         *
+         * @param referenceId resolved commit id
+         * @param directories canonical, reduced list of directories
+         * @return stream of project files in the given directories
+         */
+        private Stream<ProjectFileAccessProvider.ProjectFile> getFilesFromPathScopedRepoArchives(String referenceId, MutableList<String> directories) throws GitLabApiException, IOException
+        {
+            // the GitLab API must be obtained on the request thread
+            GitLabArchiveApi archiveApi = new GitLabArchiveApi(getGitLabApi());
+            if (directories.size() == 1)
+            {
+                return getFilesFromRepoArchive(archiveApi, referenceId, directories.get(0));
+            }
+
+            MutableList<Future<List<ProjectFileAccessProvider.ProjectFile>>> futures = Lists.mutable.ofInitialCapacity(directories.size() - 1);
+            try
+            {
+                // download the first archive on this thread and the rest in parallel
+                DownstreamCallStats callStats = DownstreamCallStats.getCurrent();
+                directories.subList(1, directories.size()).forEach(d -> futures.add(ARCHIVE_DOWNLOAD_EXECUTOR.submit(() ->
                 {
-                    stream = stream.filter(f ->
+                    try (DownstreamCallStats.Scope ignore = DownstreamCallStats.attach(callStats))
                     {
-                        String path = f.getPath();
-                        return directories.anySatisfy(path::startsWith);
-                    });
+                        return readFilesFromRepoArchive(archiveApi, referenceId, d);
+                    }
+                })));
+                MutableList<ProjectFileAccessProvider.ProjectFile> files = Lists.mutable.withAll(readFilesFromRepoArchive(archiveApi, referenceId, directories.get(0)));
+                for (Future<List<ProjectFileAccessProvider.ProjectFile>> future : futures)
+                {
+                    files.addAll(getArchiveDownloadResult(future));
+                }
+                return files.stream();
+            }
+            finally
+            {
+                futures.forEach(f -> f.cancel(true));
+            }
+        }
+
+        private List<ProjectFileAccessProvider.ProjectFile> getArchiveDownloadResult(Future<List<ProjectFileAccessProvider.ProjectFile>> future) throws GitLabApiException, IOException
+        {
+            try
+            {
+                return future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while downloading repository archive", e);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof GitLabApiException)
+                {
+                    throw (GitLabApiException) cause;
+                }
+                if (cause instanceof IOException)
+                {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+
+        private List<ProjectFileAccessProvider.ProjectFile> readFilesFromRepoArchive(GitLabArchiveApi archiveApi, String referenceId, String directory) throws GitLabApiException, IOException
+        {
+            try (Stream<ProjectFileAccessProvider.ProjectFile> stream = getFilesFromRepoArchive(archiveApi, referenceId, directory))
+            {
+                return stream.collect(Collectors.toList());
+            }
+        }
+
+        private Stream<ProjectFileAccessProvider.ProjectFile> getFilesFromRepoArchive(GitLabArchiveApi archiveApi, String referenceId, String directory) throws GitLabApiException, IOException
+        {
+            if (ProjectPaths.ROOT_DIRECTORY.equals(directory))
+            {
+                return openRepoArchive("getRepositoryArchive", () -> archiveApi.getRepositoryArchive(this.projectId.getGitLabId(), referenceId, null));
+            }
+
+            // GitLab expects a path without leading or trailing separators
+            String path = directory.substring(1, directory.length() - 1);
+            Stream<ProjectFileAccessProvider.ProjectFile> stream;
+            try
+            {
+                stream = openRepoArchive("getRepositoryArchive", () -> archiveApi.getRepositoryArchive(this.projectId.getGitLabId(), referenceId, path));
+            }
+            catch (GitLabApiException e)
+            {
+                if (GitLabApiTools.isNotFoundGitLabApiException(e))
+                {
+                    // the directory does not exist
+                    return Stream.empty();
+                }
+                throw e;
+            }
+            // older versions of GitLab ignore the path parameter and return the whole repository
+            return stream.filter(f -> f.getPath().startsWith(directory));
+        }
+
+        private Stream<ProjectFileAccessProvider.ProjectFile> getFilesFromRepoArchive(String referenceId, MutableList<String> directories) throws GitLabApiException, IOException
+        {
+            RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
+            Stream<ProjectFileAccessProvider.ProjectFile> stream = openRepoArchive("getRepositoryArchive", () -> repositoryApi.getRepositoryArchive(this.projectId.getGitLabId(), referenceId));
+            if (directories.size() == 1)
+            {
+                String directory = directories.get(0);
+                if (!ProjectPaths.ROOT_DIRECTORY.equals(directory))
+                {
+                    stream = stream.filter(f -> f.getPath().startsWith(directory));
                 }
-                return stream;
+            }
+            else
+            {
+                stream = stream.filter(f ->
+                {
+                    String path = f.getPath();
+                    return directories.anySatisfy(path::startsWith);
+                });
+            }
+            return stream;
+        }
+
+        private Stream<ProjectFileAccessProvider.ProjectFile> openRepoArchive(String endpoint, ThrowingSupplier<InputStream, ? extends GitLabApiException> archiveSupplier) throws GitLabApiException, IOException
+        {
+            InputStream inStream = null;
+            ArchiveInputStream archiveInputStream = null;
+            try
+            {
+                inStream = new ByteCountingInputStream(endpoint, withRetries(endpoint, archiveSupplier));
+                archiveInputStream = new TarArchiveInputStream(new GzipCompressorInputStream(inStream));
+                return IOTools.streamCloseableSpliterator(new ArchiveStreamProjectFileSpliterator(archiveInputStream), false);
             }
             catch (Exception e)
             {
@@ -326,7 +577,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                 Pager<TreeItem> pager;
                 try
                 {
-                    pager = withRetries(() -> repositoryApi.getTree(this.projectId.getGitLabId(), filePath, referenceId, true, ITEMS_PER_PAGE));
+                    pager = withRetries("getTree", () -> repositoryApi.getTree(this.projectId.getGitLabId(), filePath, referenceId, true, ITEMS_PER_PAGE));
                 }
                 catch (GitLabApiException e)
                 {
@@ -352,20 +603,30 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             return pagers.stream()
                     .flatMap(PagerTools::stream)
                     .filter(ti -> ti.getType() == TreeItem.Type.BLOB)
-                    .map(TreeItem::getPath)
-                    .map(p -> p.startsWith("/") ? p : ("/" + p))
-                    .map(path -> ProjectFiles.newDelegatingProjectFile(path, this::getFile));
+                    .map(ti ->
+                    {
+                        String path = ti.getPath();
+                        return ProjectFiles.newDelegatingProjectFile(path.startsWith("/") ? path : ("/" + path), ti.getId(), this::getFile);
+                    });
         }
 
         @Override
         public ProjectFileAccessProvider.ProjectFile getFile(String path)
         {
+            ProjectFileSnapshot snapshot = getCachedSnapshot(path);
+            if (snapshot != null)
+            {
+                return snapshot.getFile(path);
+            }
+
             String referenceId = getReference();
             try
             {
                 RepositoryFileApi repositoryFileApi = getGitLabApi().getRepositoryFileApi();
                 String gitLabFilePath = toGitLabFilePath(path);
-                RepositoryFile file = withRetries(() -> repositoryFileApi.getFile(this.projectId.getGitLabId(), gitLabFilePath, referenceId, true));
+                RepositoryFile file = withRetries("getFile", () -> repositoryFileApi.getFile(this.projectId.getGitLabId(), gitLabFilePath, referenceId, true));
+                String fileContent = file.getContent();
+                GitLabApiTools.noteBytesTransferred("getFile", (fileContent == null) ? 0L : fileContent.length());
                 Encoding encoding = file.getEncoding();
                 if (encoding == null)
                 {
@@ -375,12 +636,12 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                 {
                     case TEXT:
                     {
-                        return ProjectFiles.newStringProjectFile(path, file.getContent());
+                        return ProjectFiles.newStringProjectFile(path, file.getContent(), file.getBlobId());
                     }
                     case BASE64:
                     {
                         byte[] content = Base64.getDecoder().decode(file.getContent().getBytes(StandardCharsets.ISO_8859_1));
-                        return ProjectFiles.newByteArrayProjectFile(path, content);
+                        return ProjectFiles.newByteArrayProjectFile(path, content, file.getBlobId());
                     }
                     default:
                     {
@@ -404,12 +665,18 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         @Override
         public boolean fileExists(String path)
         {
+            ProjectFileSnapshot snapshot = getCachedSnapshot(path);
+            if (snapshot != null)
+            {
+                return snapshot.fileExists(path);
+            }
+
             String referenceId = getReference();
             try
             {
                 RepositoryFileApi repositoryFileApi = getGitLabApi().getRepositoryFileApi();
                 String gitLabFilePath = toGitLabFilePath(path);
-                RepositoryFile file = withRetries(() -> repositoryFileApi.getFile(this.projectId.getGitLabId(), gitLabFilePath, referenceId, false));
+                RepositoryFile file = withRetries("getFile", () -> repositoryFileApi.getFile(this.projectId.getGitLabId(), gitLabFilePath, referenceId, false));
                 return file != null;
             }
             catch (Exception e)
@@ -430,6 +697,38 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             return (this.revisionId == null) ? getRef(this.projectId, this.sourceSpecification) : this.revisionId;
         }
 
+        /**
+         * Resolve the reference to a commit id, or return null if it cannot be resolved. Note that this is always
+         * done with the current user's credentials, so it also serves to check that the user has access to the
+         * revision before anything is served from the snapshot cache.
+         *
+         * @return commit id or null
+         */
+        protected String resolveReferenceCommitId() throws GitLabApiException
+        {
+            Commit commit = resolveReferenceCommit(this.projectId, getReference());
+            return (commit == null) ? null : commit.getId();
+        }
+
+        /**
+         * Get the snapshot for the reference if it can be found without calling GitLab and it covers the given path;
+         * that is, if the current user has a cached resolution of the reference and a snapshot for the resolved
+         * revision covering the path is cached.
+         *
+         * @param path file path
+         * @return cached snapshot or null
+         */
+        private ProjectFileSnapshot getCachedSnapshot(String path)
+        {
+            if (!path.startsWith(ProjectPaths.PATH_SEPARATOR))
+            {
+                return null;
+            }
+            Commit commit = getReferenceCache().peek(getCurrentUser(), this.projectId, getReference());
+            ProjectFileSnapshot snapshot = (commit == null) ? null : getSnapshotCache().get(this.projectId.toString(), commit.getId());
+            return ((snapshot == null) || !snapshot.coversFile(path)) ? null : snapshot;
+        }
+
         protected String getDescriptionForExceptionMessage()
         {
             return getReferenceInfo(this.projectId, this.sourceSpecification, this.revisionId);
@@ -477,7 +776,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                 Commit currentCommit;
                 if (this.paths == null)
                 {
-                    currentCommit = getCurrentCommit(commitsApi, referenceId, null);
+                    currentCommit = resolveReferenceCommit(this.projectId, referenceId);
                 }
                 else
                 {
@@ -536,7 +835,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
 
         private Commit getCurrentCommit(CommitsApi commitsApi, String referenceId, String filePath) throws GitLabApiException
         {
-            Pager<Commit> pager = withRetries(() -> commitsApi.getCommits(this.projectId.getGitLabId(), referenceId, null, null, filePath, 1));
+            Pager<Commit> pager = withRetries("getCommits", () -> commitsApi.getCommits(this.projectId.getGitLabId(), referenceId, null, null, filePath, 1));
             List<Commit> page = pager.next();
             return ((page == null) || page.isEmpty()) ? null : page.get(0);
         }
@@ -605,7 +904,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             {
                 RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
                 String sourceBranch = getSourceBranch(this.projectId, (WorkspaceSourceSpecification) this.sourceSpecification);
-                Revision workspaceBaseRevision = fromGitLabCommit(withRetries(() -> repositoryApi.getMergeBase(this.projectId.getGitLabId(), Lists.fixedSize.with(sourceBranch, reference))));
+                Revision workspaceBaseRevision = fromGitLabCommit(withRetries("getMergeBase", () -> repositoryApi.getMergeBase(this.projectId.getGitLabId(), Lists.fixedSize.with(sourceBranch, reference))));
                 if (this.paths == null)
                 {
                     return workspaceBaseRevision;
@@ -640,7 +939,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
 
         private Commit getBaseCommit(CommitsApi commitsApi, String referenceId, String filePath) throws GitLabApiException
         {
-            Pager<Commit> pager = withRetries(() -> commitsApi.getCommits(this.projectId.getGitLabId(), referenceId, null, null, filePath, 1));
+            Pager<Commit> pager = withRetries("getCommits", () -> commitsApi.getCommits(this.projectId.getGitLabId(), referenceId, null, null, filePath, 1));
             List<Commit> page = pager.last();
             return ((page == null) || page.isEmpty()) ? null : page.get(0);
         }
@@ -670,7 +969,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             Commit commit;
             try
             {
-                commit = withRetries(() -> commitsApi.getCommit(this.projectId.getGitLabId(), resolvedRevisionId));
+                commit = withRetries("getCommit", () -> commitsApi.getCommit(this.projectId.getGitLabId(), resolvedRevisionId));
             }
             catch (Exception e)
             {
@@ -684,7 +983,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             String referenceId = getReference();
             try
             {
-                Pager<CommitRef> commitRefPager = withRetries(() -> commitsApi.getCommitRefs(this.projectId.getGitLabId(), resolvedRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
+                Pager<CommitRef> commitRefPager = withRetries("getCommitRefs", () -> commitsApi.getCommitRefs(this.projectId.getGitLabId(), resolvedRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
                 if (PagerTools.stream(commitRefPager).map(CommitRef::getName).noneMatch(referenceId::equals))
                 {
                     throw new LegendSDLCServerException("Revision " + resolvedRevisionId + " is unknown for " + getDescriptionForExceptionMessage(), Status.NOT_FOUND);
@@ -775,7 +1074,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         {
             if (this.paths == null)
             {
-                Pager<Commit> pager = withRetries(() -> commitsApi.getCommits(this.projectId.getGitLabId(), branchName, since, until, null, itemsPerPage));
+                Pager<Commit> pager = withRetries("getCommits", () -> commitsApi.getCommits(this.projectId.getGitLabId(), branchName, since, until, null, itemsPerPage));
                 return PagerTools.isEmpty(pager) ? null : PagerTools.stream(pager);
             }
 
@@ -783,7 +1082,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             int streamCount = 0;
             for (String path : this.paths)
             {
-                Pager<Commit> pager = withRetries(() -> commitsApi.getCommits(this.projectId.getGitLabId(), branchName, since, until, path, itemsPerPage));
+                Pager<Commit> pager = withRetries("getCommits", () -> commitsApi.getCommits(this.projectId.getGitLabId(), branchName, since, until, path, itemsPerPage));
                 if (!PagerTools.isEmpty(pager))
                 {
                     streamCount++;
@@ -887,6 +1186,8 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         @Override
         public Revision submit(String message, List<? extends ProjectFileOperation> operations)
         {
+            // make sure the revision checks below see the current state of the branch
+            invalidateReferences(this.projectId);
             try
             {
                 int changeCount = operations.size();
@@ -921,7 +1222,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                         }
                     }
                     String branchName = getBranchName(this.projectId, this.sourceSpecification);
-                    commit = getGitLabApi().getCommitsApi().createCommit(this.projectId.getGitLabId(), branchName, message, null, null, null, commitActions);
+                    commit = createCommit(getGitLabApi().getCommitsApi(), this.projectId, branchName, message, null, commitActions);
                 }
                 if (LOGGER.isDebugEnabled())
                 {
@@ -936,6 +1237,10 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                         () -> "Unknown " + getDescription(),
                         () -> "Failed to perform changes on " + getDescription() + " (message: " + message + ")");
             }
+            finally
+            {
+                invalidateReferences(this.projectId);
+            }
         }
 
         private CommitAction fileOperationToCommitAction(ProjectFileOperation fileOperation)
@@ -1004,7 +1309,8 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                             }
                             LOGGER.debug("Getting content for move from {} to {} from revision {}", commitAction.getPreviousPath(), commitAction.getFilePath(), referenceRevisionId);
                             // TODO handle not found case
-                            RepositoryFile file = getGitLabApi().getRepositoryFileApi().getFile(this.projectId.getGitLabId(), commitAction.getPreviousPath(), referenceRevisionId, true);
+                            String fileRevisionId = referenceRevisionId;
+                            RepositoryFile file = withRetries("getFile", () -> getGitLabApi().getRepositoryFileApi().getFile(this.projectId.getGitLabId(), commitAction.getPreviousPath(), fileRevisionId, true));
                             commitAction.setEncoding(file.getEncoding());
                             commitAction.setContent(file.getContent());
                         }
@@ -1076,6 +1382,11 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         return new String(Base64.getEncoder().encode(content), StandardCharsets.ISO_8859_1);
     }
 
+    protected BackgroundTaskProcessor getBackgroundTaskProcessor()
+    {
+        return this.backgroundTaskProcessor;
+    }
+
     protected void submitBackgroundTask(BackgroundTaskProcessor.Task task)
     {
         this.backgroundTaskProcessor.submitTask(task);
@@ -1106,6 +1417,24 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException, minWaitBetweenRetriesMillis, description);
     }
 
+    /**
+     * Submit a retryable task which uses the given {@link GitLabApi}. The task holds its own pool reference on the
+     * {@link GitLabApi} from submission until it ends, so that it is not closed while the task may still use it, even
+     * after the request which acquired it is complete or it has been evicted from the pool.
+     *
+     * @param gitLabApi                   GitLab API used by the task
+     * @param task                        retryable task
+     * @param minWaitBetweenRetriesMillis minimum time to wait between retries in milliseconds
+     * @param description                 task description for logging and error messages
+     */
+    protected void submitBackgroundRetryableTask(GitLabApi gitLabApi, BackgroundTaskProcessor.RetryableTask task, long minWaitBetweenRetriesMillis, String description)
+    {
+        GitLabApiPool pool = GitLabApiPool.getSharedPool();
+        // an api which is not from the pool is not closed by it, so there is nothing to hold
+        Runnable onEnd = pool.retainGitLabApi(gitLabApi) ? () -> pool.releaseGitLabApi(gitLabApi) : null;
+        this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException, minWaitBetweenRetriesMillis, description, onEnd);
+    }
+
     private String toGitLabFilePath(String path)
     {
         return ((path != null) && path.startsWith("/")) ? path.substring(1) : path;
@@ -1117,6 +1446,19 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         return new TemporaryBranch(projectId, sourceSpecification, initialRevisionId);
     }
 
+    private static ExecutorService newArchiveDownloadExecutor()
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(ARCHIVE_DOWNLOAD_THREADS, ARCHIVE_DOWNLOAD_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r ->
+        {
+            Thread thread = new Thread(r, "gitlab-archive-download-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private static boolean shouldRetryOnException(Exception e)
     {
         if (!(e instanceof GitLabApiException))
@@ -1128,12 +1470,12 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         return GitLabApiTools.isRetryableGitLabApiException(glae) || (glae.getHttpStatus() == Status.INTERNAL_SERVER_ERROR.getStatusCode());
     }
 
-    protected static boolean waitForPipelinesDeleteBranchAndVerify(GitLabApi gitLabApi, GitLabProjectId projectId, String branchName)
+    protected boolean waitForPipelinesDeleteBranchAndVerify(GitLabApi gitLabApi, GitLabProjectId projectId, String branchName)
     {
         LOGGER.debug("Checking for pending pipelines for branch {} in project {}", branchName, projectId);
         try
         {
-            Pager<Pipeline> pendingPipelines = GitLabApiTools.callWithRetries(() -> gitLabApi.getPipelineApi().getPipelines(projectId.getGitLabId(), Constants.PipelineScope.PENDING, PipelineStatus.PENDING, branchName, false, null, null, null, null, 1), 10, 1000L);
+            Pager<Pipeline> pendingPipelines = GitLabApiTools.callWithRetries("getPipelines", () -> gitLabApi.getPipelineApi().getPipelines(projectId.getGitLabId(), Constants.PipelineScope.PENDING, PipelineStatus.PENDING, branchName, false, null, null, null, null, 1), 10, 1000L);
             if (!PagerTools.isEmpty(pendingPipelines))
             {
                 LOGGER.debug("Found pending pipelines for branch {} in project {}", branchName, projectId);
@@ -1154,7 +1496,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         LOGGER.debug("Checking for running pipelines for branch {} in project {}", branchName, projectId);
         try
         {
-            Pager<Pipeline> runningPipelines = GitLabApiTools.callWithRetries(() -> gitLabApi.getPipelineApi().getPipelines(projectId.getGitLabId(), Constants.PipelineScope.RUNNING, PipelineStatus.RUNNING, branchName, false, null, null, null, null, 1), 10, 1000L);
+            Pager<Pipeline> runningPipelines = GitLabApiTools.callWithRetries("getPipelines", () -> gitLabApi.getPipelineApi().getPipelines(projectId.getGitLabId(), Constants.PipelineScope.RUNNING, PipelineStatus.RUNNING, branchName, false, null, null, null, null, 1), 10, 1000L);
             if (!PagerTools.isEmpty(runningPipelines))
             {
                 LOGGER.debug("Found running pipelines for branch {} in project {}", branchName, projectId);
@@ -1175,7 +1517,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         LOGGER.debug("Deleting branch {} in project {}", branchName, projectId);
         try
         {
-            boolean success = GitLabApiTools.deleteBranchAndVerify(gitLabApi, projectId.getGitLabId(), branchName, 5, 1000L);
+            boolean success = changeReferences(projectId, () -> GitLabApiTools.deleteBranchAndVerify(gitLabApi, projectId.getGitLabId(), branchName, 5, 1000L));
             if (success)
             {
                 LOGGER.debug("Deleted branch {} in project {}", branchName, projectId);
@@ -1238,7 +1580,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                     {
                         createNewTempBranch();
                     }
-                    Commit commit = commitsApi.createCommit(this.projectId.getGitLabId(), this.tempBranchName, message, null, null, null, commitActions);
+                    Commit commit = createCommit(commitsApi, this.projectId, this.tempBranchName, message, null, commitActions);
                     if (i > 1)
                     {
                         LOGGER.debug("Commit succeeded on try {}", i);
@@ -1308,7 +1650,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             Branch targetBranch;
             try
             {
-                targetBranch = withRetries(() -> GitLabApiTools.getBranch(repositoryApi, this.projectId.getGitLabId(), targetBranchName));
+                targetBranch = withRetries("getBranch", () -> GitLabApiTools.getBranch(repositoryApi, this.projectId.getGitLabId(), targetBranchName));
             }
             catch (Exception e)
             {
@@ -1330,7 +1672,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
                 boolean oldDeleted;
                 try
                 {
-                    oldDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), targetBranchName, 20, 1_000);
+                    oldDeleted = changeReferences(this.projectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), targetBranchName, 20, 1_000));
                 }
                 catch (Exception e)
                 {
@@ -1348,7 +1690,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             Branch newBranch;
             try
             {
-                newBranch = GitLabApiTools.createBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), targetBranchName, this.lastSuccessfulCommitId, 30, 1_000);
+                newBranch = changeReferences(this.projectId, () -> GitLabApiTools.createBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), targetBranchName, this.lastSuccessfulCommitId, 30, 1_000));
             }
             catch (Exception e)
             {
@@ -1400,7 +1742,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
             Branch tempBranch;
             try
             {
-                tempBranch = GitLabApiTools.createBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), newTempBranchName, branchCreationRef, 30, 1_000);
+                tempBranch = changeReferences(this.projectId, () -> GitLabApiTools.createBranchAndVerify(repositoryApi, this.projectId.getGitLabId(), newTempBranchName, branchCreationRef, 30, 1_000));
                 LOGGER.debug("Created temporary branch for {} in project {} from {}: {}", this.sourceSpec, this.projectId, branchCreationRef, newTempBranchName);
             }
             catch (Exception e)
@@ -1428,7 +1770,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         {
             GitLabApi gitLabApi = getGitLabApi();
             GitLabProjectId projectId = this.projectId;
-            submitBackgroundRetryableTask(() -> waitForPipelinesDeleteBranchAndVerify(gitLabApi, projectId, branchName), 5000L, "delete " + branchName);
+            submitBackgroundRetryableTask(gitLabApi, () -> waitForPipelinesDeleteBranchAndVerify(gitLabApi, projectId, branchName), 5000L, "delete " + branchName);
         }
 
         private void checkOpen()
@@ -1440,6 +1782,30 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         }
     }
 
+    // records the number of bytes read from a GitLab response when it is closed
+    private static class ByteCountingInputStream extends CountingInputStream
+    {
+        private final String endpoint;
+        private boolean closed = false;
+
+        private ByteCountingInputStream(String endpoint, InputStream stream)
+        {
+            super(stream);
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (!this.closed)
+            {
+                this.closed = true;
+                GitLabApiTools.noteBytesTransferred(this.endpoint, getBytesRead());
+            }
+            super.close();
+        }
+    }
+
     private static class ArchiveStreamProjectFileSpliterator implements Spliterator<ProjectFileAccessProvider.ProjectFile>, Closeable
     {
         private final Object streamLock = new Object();
@@ -23,6 +23,7 @@ import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
 import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.WorkspaceAccessType;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.RepositoryApi;
 import org.gitlab4j.api.models.Branch;
 import org.slf4j.Logger;
@@ -54,7 +55,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
         try
         {
-            boolean success = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getWorkspaceBranchName(backupWorkspaceSpec), 20, 1_000);
+            boolean success = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getWorkspaceBranchName(backupWorkspaceSpec), 20, 1_000));
             if (!success)
             {
                 throw new LegendSDLCServerException("Failed to delete " + getReferenceInfo(projectId, backupWorkspaceSpec));
@@ -93,12 +94,13 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         String mainWorkspaceBranchName = getWorkspaceBranchName(mainWorkspaceSpec);
         String backupWorkspaceBranchName = getWorkspaceBranchName(backupWorkspaceSpec);
 
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
+        GitLabApi gitLabApi = getGitLabApi();
+        RepositoryApi repositoryApi = gitLabApi.getRepositoryApi();
 
         // Verify the backup exists
         try
         {
-            withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), backupWorkspaceBranchName));
+            withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), backupWorkspaceBranchName));
         }
         catch (Exception e)
         {
@@ -112,7 +114,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         Branch existingBranch = null;
         try
         {
-            existingBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), mainWorkspaceBranchName));
+            existingBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), mainWorkspaceBranchName));
         }
         catch (Exception e)
         {
@@ -134,7 +136,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
             boolean workspaceDeleted;
             try
             {
-                workspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), mainWorkspaceBranchName, 20, 1_000);
+                workspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), mainWorkspaceBranchName, 20, 1_000));
             }
             catch (Exception e)
             {
@@ -152,7 +154,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         Branch workspaceBranch;
         try
         {
-            workspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), mainWorkspaceBranchName, backupWorkspaceBranchName, 30, 1_000);
+            workspaceBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), mainWorkspaceBranchName, backupWorkspaceBranchName, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -170,7 +172,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         boolean deleted;
         try
         {
-            deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupWorkspaceBranchName, 20, 1_000);
+            deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupWorkspaceBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -181,7 +183,7 @@ public class GitLabBackupApi extends GitLabApiWithFileAccess implements BackupAp
         if (!deleted)
         {
             LOGGER.warn("Failed to delete {} in project {}, submitting background task", backupWorkspaceBranchName, projectId);
-            submitBackgroundRetryableTask(() -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupWorkspaceBranchName, 5, 1_000), 5000L, "delete " + backupWorkspaceBranchName);
+            submitBackgroundRetryableTask(gitLabApi, () -> changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupWorkspaceBranchName, 5, 1_000)), 5000L, "delete " + backupWorkspaceBranchName);
         }
     }
 }
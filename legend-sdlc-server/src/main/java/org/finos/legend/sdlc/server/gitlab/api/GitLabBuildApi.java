@@ -157,7 +157,7 @@ public class GitLabBuildApi extends GitLabApiWithFileAccess implements BuildApi
             Pipeline pipeline;
             try
             {
-                pipeline = withRetries(() -> getGitLabApi().getPipelineApi().getPipeline(this.projectId.getGitLabId(), pipelineId));
+                pipeline = withRetries("getPipeline", () -> getGitLabApi().getPipelineApi().getPipeline(this.projectId.getGitLabId(), pipelineId));
             }
             catch (Exception e)
             {
@@ -194,7 +194,7 @@ public class GitLabBuildApi extends GitLabApiWithFileAccess implements BuildApi
                     limited = true;
                 }
                 PipelineApi pipelineApi = getGitLabApi().getPipelineApi();
-                Pager<Pipeline> pager = withRetries(() -> pipelineApi.getPipelines(this.projectId.getGitLabId(), null, null, getRef(), false, null, null, null, null, ITEMS_PER_PAGE));
+                Pager<Pipeline> pager = withRetries("getPipelines", () -> pipelineApi.getPipelines(this.projectId.getGitLabId(), null, null, getRef(), false, null, null, null, null, ITEMS_PER_PAGE));
                 Stream<Pipeline> pipelineStream = PagerTools.stream(pager);
                 Set<String> revisionIdSet = (revisionIds == null)
                     ? Collections.emptySet()
@@ -232,7 +232,7 @@ public class GitLabBuildApi extends GitLabApiWithFileAccess implements BuildApi
                     {
                         try
                         {
-                            return withRetries(() -> pipelineApi.getPipeline(this.projectId.getGitLabId(), p.getId()));
+                            return withRetries("getPipeline", () -> pipelineApi.getPipeline(this.projectId.getGitLabId(), p.getId()));
                         }
                         catch (Exception ignore)
                         {
@@ -63,7 +63,7 @@ public class GitLabComparisonApi extends GitLabApiWithFileAccess implements Comp
         try
         {
             String workspaceBranchName = getWorkspaceBranchName(workspaceSpecification);
-            Branch workspaceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
+            Branch workspaceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
             currentCommit = workspaceBranch.getCommit();
         }
         catch (Exception e)
@@ -82,7 +82,7 @@ public class GitLabComparisonApi extends GitLabApiWithFileAccess implements Comp
         try
         {
             String sourceBranchName = getSourceBranch(gitLabProjectId, workspaceSpecification);
-            creationCommit = repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranchName, currentCommit.getId()));
+            creationCommit = withRetries("getMergeBase", () -> repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranchName, currentCommit.getId())));
         }
         catch (Exception e)
         {
@@ -114,7 +114,7 @@ public class GitLabComparisonApi extends GitLabApiWithFileAccess implements Comp
         try
         {
             String workspaceBranchName = getWorkspaceBranchName(workspaceSpecification);
-            Branch workspaceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
+            Branch workspaceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
             workspaceCommit = workspaceBranch.getCommit();
         }
         catch (Exception e)
@@ -133,7 +133,7 @@ public class GitLabComparisonApi extends GitLabApiWithFileAccess implements Comp
         try
         {
             String sourceBranchName = getSourceBranch(gitLabProjectId, workspaceSpecification);
-            Branch sourceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
+            Branch sourceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
             sourceCommit = sourceBranch.getCommit();
         }
         catch (Exception e)
@@ -222,7 +222,7 @@ public class GitLabComparisonApi extends GitLabApiWithFileAccess implements Comp
     {
         try
         {
-            CompareResults comparisonResult = repositoryApi.compare(gitLabProjectId.getGitLabId(), fromRevisionId, toRevisionId, true);
+            CompareResults comparisonResult = withRetries("compare", () -> repositoryApi.compare(gitLabProjectId.getGitLabId(), fromRevisionId, toRevisionId, true));
             return fromGitCompareResults(fromRevisionId, toRevisionId, comparisonResult, fromProjectStructure, toProjectStructure);
         }
         catch (Exception e)
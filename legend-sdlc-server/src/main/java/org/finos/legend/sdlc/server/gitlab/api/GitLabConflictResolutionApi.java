@@ -25,6 +25,7 @@ import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
 import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.WorkspaceAccessType;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.RepositoryApi;
 import org.gitlab4j.api.models.Branch;
 import org.slf4j.Logger;
@@ -57,7 +58,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
         try
         {
-            boolean success = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getWorkspaceBranchName(conflictResWorkspaceSpec), 20, 1_000);
+            boolean success = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getWorkspaceBranchName(conflictResWorkspaceSpec), 20, 1_000));
             if (!success)
             {
                 throw new LegendSDLCServerException("Failed to delete " + getReferenceInfo(projectId, conflictResWorkspaceSpec));
@@ -87,7 +88,8 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         LegendSDLCServerException.validateNonNull(workspaceSpecification, "workspace specification may not be null");
 
         GitLabProjectId gitLabProjectId = parseProjectId(projectId);
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
+        GitLabApi gitLabApi = getGitLabApi();
+        RepositoryApi repositoryApi = gitLabApi.getRepositoryApi();
 
         WorkspaceSpecification workspaceWorkspaceSpec = getWorkspaceSpecWithAccessType(workspaceSpecification, WorkspaceAccessType.WORKSPACE);
         WorkspaceSpecification conflictResWorkspaceSpec = getWorkspaceSpecWithAccessType(workspaceSpecification, WorkspaceAccessType.CONFLICT_RESOLUTION);
@@ -100,7 +102,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         // Verify conflict resolution is happening
         try
         {
-            withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), conflictResBranchName));
+            withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), conflictResBranchName));
         }
         catch (Exception e)
         {
@@ -118,7 +120,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean backupWorkspaceDeleted;
         try
         {
-            backupWorkspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+            backupWorkspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -137,7 +139,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         Branch workspaceBranch;
         try
         {
-            workspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000);
+            workspaceBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -155,7 +157,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean originalBranchDeleted;
         try
         {
-            originalBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000);
+            originalBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -173,7 +175,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         Branch newWorkspaceBranch;
         try
         {
-            newWorkspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, getSourceBranch(gitLabProjectId, workspaceWorkspaceSpec), 30, 1_000);
+            newWorkspaceBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, getSourceBranch(gitLabProjectId, workspaceWorkspaceSpec), 30, 1_000));
         }
         catch (Exception e)
         {
@@ -191,7 +193,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean conflictResolutionWorkspaceDeleted;
         try
         {
-            conflictResolutionWorkspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResBranchName, 20, 1_000);
+            conflictResolutionWorkspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -209,7 +211,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean backupBranchDeleted;
         try
         {
-            backupBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+            backupBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -220,7 +222,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         if (!backupBranchDeleted)
         {
             LOGGER.error("Failed to delete backup branch {} in project {}, submitting background task", backupBranchName, projectId);
-            submitBackgroundRetryableTask(() -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 5, 1_000), 5000L, "delete " + backupBranchName);
+            submitBackgroundRetryableTask(gitLabApi, () -> changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 5, 1_000)), 5000L, "delete " + backupBranchName);
         }
     }
 
@@ -242,7 +244,8 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         LegendSDLCServerException.validateNonNull(workspaceSpecification, "workspace specification may not be null");
 
         GitLabProjectId gitLabProjectId = parseProjectId(projectId);
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
+        GitLabApi gitLabApi = getGitLabApi();
+        RepositoryApi repositoryApi = gitLabApi.getRepositoryApi();
 
         WorkspaceSpecification workspaceWorkspaceSpec = getWorkspaceSpecWithAccessType(workspaceSpecification, WorkspaceAccessType.WORKSPACE);
         WorkspaceSpecification conflictResWorkspaceSpec = getWorkspaceSpecWithAccessType(workspaceSpecification, WorkspaceAccessType.CONFLICT_RESOLUTION);
@@ -255,7 +258,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         // Verify conflict resolution is happening
         try
         {
-            withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), conflictResBranchName));
+            withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), conflictResBranchName));
         }
         catch (Exception e)
         {
@@ -286,7 +289,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean backupWorkspaceDeleted;
         try
         {
-            backupWorkspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+            backupWorkspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -314,7 +317,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         Branch newBackupBranch;
         try
         {
-            newBackupBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000);
+            newBackupBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -332,7 +335,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean originalBranchDeleted;
         try
         {
-            originalBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000);
+            originalBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -359,7 +362,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         Branch newWorkspaceBranch;
         try
         {
-            newWorkspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, conflictResBranchName, 30, 1_000);
+            newWorkspaceBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, conflictResBranchName, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -378,7 +381,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         try
         {
             // No need to waste wait time here since conflict resolution branch was long created during update
-            conflictResolutionWorkspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResBranchName, 20, 1_000);
+            conflictResolutionWorkspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -405,7 +408,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         boolean backupBranchDeleted;
         try
         {
-            backupBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+            backupBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -416,7 +419,7 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         if (!backupBranchDeleted)
         {
             LOGGER.error("Failed to delete backup branch {} in project {}, submitting background task", backupBranchName, projectId);
-            submitBackgroundRetryableTask(() -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 5, 1_000), 5000L, "delete " + backupBranchName);
+            submitBackgroundRetryableTask(gitLabApi, () -> changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 5, 1_000)), 5000L, "delete " + backupBranchName);
         }
     }
 
@@ -23,6 +23,7 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.domain.model.entity.change.EntityChange;
 import org.finos.legend.sdlc.domain.model.entity.change.EntityChangeType;
 import org.finos.legend.sdlc.domain.model.revision.Revision;
+import org.finos.legend.sdlc.server.domain.api.entity.DetachedEntityAccessContext;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityAccessContext;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityModificationContext;
@@ -32,11 +33,14 @@ import org.finos.legend.sdlc.server.domain.api.workspace.WorkspaceSpecification;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabConfiguration;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
+import org.finos.legend.sdlc.server.gitlab.auth.DetachedGitLabUserContext;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
 import org.finos.legend.sdlc.server.project.CachingFileAccessContext;
+import org.finos.legend.sdlc.server.project.DeserializedEntityCache;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectFileOperation;
 import org.finos.legend.sdlc.server.project.ProjectStructure;
+import org.finos.legend.sdlc.serialization.EntityHeader;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.StringTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
@@ -74,6 +78,24 @@ public class GitLabEntityApi extends GitLabApiWithFileAccess implements EntityAp
         return new GitLabEntityAccessContext(projectId, sourceSpecification, revisionId);
     }
 
+    @Override
+    public DetachedEntityAccessContext getDetachedEntityAccessContext(String projectId, SourceSpecification sourceSpecification, String revisionId)
+    {
+        LegendSDLCServerException.validateNonNull(projectId, "projectId may not be null");
+        LegendSDLCServerException.validateNonNull(sourceSpecification, "sourceSpecification may not be null");
+        DetachedGitLabUserContext detachedUserContext = getUserContext().detach();
+        try
+        {
+            GitLabEntityApi detachedApi = new GitLabEntityApi(getGitLabConfiguration(), detachedUserContext, getBackgroundTaskProcessor());
+            return DetachedEntityAccessContext.newDetachedEntityAccessContext(detachedApi.getEntityAccessContext(projectId, sourceSpecification, revisionId), detachedUserContext::close);
+        }
+        catch (Exception e)
+        {
+            detachedUserContext.close();
+            throw e;
+        }
+    }
+
     @Override
     public EntityAccessContext getReviewFromEntityAccessContext(String projectId, String reviewId)
     {
@@ -533,17 +555,17 @@ public class GitLabEntityApi extends GitLabApiWithFileAccess implements EntityAp
         {
             stream = stream.filter(excludeInvalid ? epf ->
             {
-                Entity entity;
+                String classifierPath;
                 try
                 {
-                    entity =  epf.getEntity();
+                    classifierPath = epf.getClassifierPath();
                 }
                 catch (Exception ignore)
                 {
                     return false;
                 }
-                return classifierPathPredicate.test(entity.getClassifierPath());
-            } : epf -> classifierPathPredicate.test(epf.getEntity().getClassifierPath()));
+                return classifierPathPredicate.test(classifierPath);
+            } : epf -> classifierPathPredicate.test(epf.getClassifierPath()));
         }
         if (contentPredicate != null)
         {
@@ -576,7 +598,7 @@ public class GitLabEntityApi extends GitLabApiWithFileAccess implements EntityAp
     {
         return accessContext.getFilesInDirectory(sourceDirectory.getDirectory())
                 .filter(f -> sourceDirectory.isPossiblyEntityFilePath(f.getPath()))
-                .map(f -> new EntityProjectFile(sourceDirectory, f));
+                .map(f -> new EntityProjectFile(sourceDirectory, f, getEntityCache()));
     }
 
     private static void validateEntityChanges(List<? extends EntityChange> entityChanges)
@@ -729,17 +751,25 @@ public class GitLabEntityApi extends GitLabApiWithFileAccess implements EntityAp
         }
     }
 
+    protected DeserializedEntityCache getEntityCache()
+    {
+        return DeserializedEntityCache.getSharedCache();
+    }
+
     private static class EntityProjectFile
     {
         private final ProjectStructure.EntitySourceDirectory sourceDirectory;
         private final ProjectFileAccessProvider.ProjectFile file;
+        private final DeserializedEntityCache entityCache;
         private String path;
+        private EntityHeader header;
         private Entity entity;
 
-        private EntityProjectFile(ProjectStructure.EntitySourceDirectory sourceDirectory, ProjectFileAccessProvider.ProjectFile file)
+        private EntityProjectFile(ProjectStructure.EntitySourceDirectory sourceDirectory, ProjectFileAccessProvider.ProjectFile file, DeserializedEntityCache entityCache)
         {
             this.sourceDirectory = sourceDirectory;
             this.file = file;
+            this.entityCache = entityCache;
         }
 
         synchronized String getEntityPath()
@@ -751,11 +781,31 @@ public class GitLabEntityApi extends GitLabApiWithFileAccess implements EntityAp
             return this.path;
         }
 
+        synchronized String getClassifierPath()
+        {
+            if (this.entity != null)
+            {
+                return this.entity.getClassifierPath();
+            }
+            if (this.header == null)
+            {
+                // only the header is needed, so avoid building the content of the entity
+                EntityHeader localHeader = this.sourceDirectory.scanHeader(this.file);
+                if (!Objects.equals(localHeader.getPath(), getEntityPath()))
+                {
+                    throw new RuntimeException("Expected entity path " + getEntityPath() + ", found " + localHeader.getPath());
+                }
+                this.header = localHeader;
+            }
+            return this.header.getClassifierPath();
+        }
+
         synchronized Entity getEntity()
         {
             if (this.entity == null)
             {
-                Entity localEntity = this.sourceDirectory.deserialize(this.file);
+                // files with the same content (e.g., in different workspaces or revisions) share the deserialized entity
+                Entity localEntity = this.entityCache.getIfAbsentPut(this.sourceDirectory.getSerializer().getName(), this.file.getContentId(), () -> this.sourceDirectory.deserialize(this.file));
                 if (!Objects.equals(localEntity.getPath(), getEntityPath()))
                 {
                     throw new RuntimeException("Expected entity path " + getEntityPath() + ", found " + localEntity.getPath());
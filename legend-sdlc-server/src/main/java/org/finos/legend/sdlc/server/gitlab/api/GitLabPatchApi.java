@@ -26,6 +26,7 @@ import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
 import org.finos.legend.sdlc.server.gitlab.tools.PagerTools;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.gitlab4j.api.Constants;
+import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.Pager;
 import org.gitlab4j.api.RepositoryApi;
 import org.gitlab4j.api.models.Branch;
@@ -97,7 +98,7 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         Branch branch;
         try
         {
-            branch = GitLabApiTools.createProtectedBranchFromSourceTagAndVerify(getGitLabApi(), gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(targetVersionId), buildVersionTagName(sourceVersionId), 30, 1_000);
+            branch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createProtectedBranchFromSourceTagAndVerify(getGitLabApi(), gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(targetVersionId), buildVersionTagName(sourceVersionId), 30, 1_000));
         }
         catch (Exception e)
         {
@@ -126,7 +127,7 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
             GitLabProjectId gitLabProjectId = parseProjectId(projectId);
             String branchName = getPatchReleaseBranchName(patchReleaseVersionId);
             RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
-            Branch branch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), branchName));
+            Branch branch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), branchName));
             return fromPatchBranchName(projectId, branch.getName());
         }
         catch (Exception e)
@@ -146,7 +147,7 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         {
             GitLabProjectId gitLabProjectId = parseProjectId(projectId);
             String branchPrefix = getPatchReleaseBranchPrefix();
-            Pager<Branch> pager = getGitLabApi().getRepositoryApi().getBranches(gitLabProjectId.getGitLabId(), "^" + branchPrefix, ITEMS_PER_PAGE);
+            Pager<Branch> pager = withRetries("getBranches", () -> getGitLabApi().getRepositoryApi().getBranches(gitLabProjectId.getGitLabId(), "^" + branchPrefix, ITEMS_PER_PAGE));
             Stream<Patch> stream = PagerTools.stream(pager)
                     .filter(branch -> (branch != null) && (branch.getName() != null) && branch.getName().startsWith(branchPrefix))
                     .map(branch -> fromPatchBranchName(projectId, branch.getName()));
@@ -255,15 +256,16 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         LegendSDLCServerException.validateNonNull(patchReleaseVersionId, "patchReleaseVersionId may not be null");
 
         GitLabProjectId gitLabProjectId = parseProjectId(projectId);
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
+        GitLabApi gitLabApi = getGitLabApi();
+        RepositoryApi repositoryApi = gitLabApi.getRepositoryApi();
 
         // Delete patch branch
         boolean patchBranchDeleted;
         try
         {
-            patchBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId), 20, 1_000);
+            patchBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId), 20, 1_000));
             // close merge requests created for patch release branch
-            submitBackgroundRetryableTask(() -> closeMergeRequestsCreatedForPatchReleaseBranch(gitLabProjectId, patchReleaseVersionId), 5000L, "close merge requests created for branch " + getPatchReleaseBranchName(patchReleaseVersionId));
+            submitBackgroundRetryableTask(gitLabApi, () -> closeMergeRequestsCreatedForPatchReleaseBranch(gitLabApi, gitLabProjectId, patchReleaseVersionId), 5000L, "close merge requests created for branch " + getPatchReleaseBranchName(patchReleaseVersionId));
         }
         catch (Exception e)
         {
@@ -305,7 +307,7 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         Branch patchBranch = null;
         try
         {
-            patchBranch = getGitLabApi().getRepositoryApi().getBranch(gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId));
+            patchBranch = withRetries("getBranch", () -> getGitLabApi().getRepositoryApi().getBranch(gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId)));
         }
         catch (Exception e)
         {
@@ -318,19 +320,20 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         Version releaseVersion =  newVersion(gitLabProjectId, patchReleaseVersionId, patchBranch.getCommit().getId(), VersionId.newVersionId(patchReleaseVersionId.getMajorVersion(), patchReleaseVersionId.getMinorVersion(), patchReleaseVersionId.getPatchVersion()), "");
 
         // delete the patch release branch and close the MRs created for this branch
-        submitBackgroundRetryableTask(() -> GitLabApiTools.deleteBranchAndVerify(getGitLabApi().getRepositoryApi(), gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId), 20, 1_000), 5000L, "delete " + getPatchReleaseBranchName(patchReleaseVersionId));
-        submitBackgroundRetryableTask(() -> closeMergeRequestsCreatedForPatchReleaseBranch(gitLabProjectId, patchReleaseVersionId), 5000L, "close merge requests created for branch " + getPatchReleaseBranchName(patchReleaseVersionId));
+        GitLabApi gitLabApi = getGitLabApi();
+        submitBackgroundRetryableTask(gitLabApi, () -> changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(gitLabApi.getRepositoryApi(), gitLabProjectId.getGitLabId(), getPatchReleaseBranchName(patchReleaseVersionId), 20, 1_000)), 5000L, "delete " + getPatchReleaseBranchName(patchReleaseVersionId));
+        submitBackgroundRetryableTask(gitLabApi, () -> closeMergeRequestsCreatedForPatchReleaseBranch(gitLabApi, gitLabProjectId, patchReleaseVersionId), 5000L, "close merge requests created for branch " + getPatchReleaseBranchName(patchReleaseVersionId));
         return releaseVersion;
     }
 
-    private boolean closeMergeRequestsCreatedForPatchReleaseBranch(GitLabProjectId projectId, VersionId patchReleaseVersionId)
+    private boolean closeMergeRequestsCreatedForPatchReleaseBranch(GitLabApi gitLabApi, GitLabProjectId projectId, VersionId patchReleaseVersionId)
     {
         String branchName = getPatchReleaseBranchName(patchReleaseVersionId);
         List<MergeRequest> mergeRequests;
         try
         {
            MergeRequestFilter mergeRequestFilter = new MergeRequestFilter().withTargetBranch(branchName).withState(Constants.MergeRequestState.OPENED);
-           mergeRequests = PagerTools.stream(withRetries(() -> getGitLabApi().getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE))).collect(Collectors.toList());
+           mergeRequests = PagerTools.stream(withRetries("getMergeRequests", () -> gitLabApi.getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE))).collect(Collectors.toList());
         }
         catch (Exception e)
         {
@@ -346,7 +349,7 @@ public class GitLabPatchApi extends GitLabApiWithFileAccess implements PatchApi
         {
             try
             {
-                getGitLabApi().getMergeRequestApi().updateMergeRequest(projectId.getGitLabId(), mergeRequest.getIid(), branchName, null, null, null, Constants.StateEvent.CLOSE, null, null, null, null, null, null);
+                callGitLab("updateMergeRequest", () -> gitLabApi.getMergeRequestApi().updateMergeRequest(projectId.getGitLabId(), mergeRequest.getIid(), branchName, null, null, null, Constants.StateEvent.CLOSE, null, null, null, null, null, null));
             }
             catch (Exception e)
             {
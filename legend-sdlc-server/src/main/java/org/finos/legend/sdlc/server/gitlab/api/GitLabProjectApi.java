@@ -128,7 +128,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         String search = (tagSet.contains("legend_sandbox") && searchString == null) ? getCurrentUser() : searchString;
         try
         {
-            Pager<org.gitlab4j.api.models.Project> pager = withRetries(() -> getGitLabApi().getProjectApi().getProjects(null, null, null, null, search, true, null, user, null, null, ITEMS_PER_PAGE));
+            Pager<org.gitlab4j.api.models.Project> pager = withRetries("getProjects", () -> getGitLabApi().getProjectApi().getProjects(null, null, null, null, search, true, null, user, null, null, ITEMS_PER_PAGE));
             Stream<org.gitlab4j.api.models.Project> stream = PagerTools.stream(pager).filter(this::isLegendSDLCProject);
             if (!tagSet.isEmpty())
             {
@@ -214,7 +214,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
                     .withIssuesEnabled(true)
                     .withWikiEnabled(false)
                     .withSnippetsEnabled(false);
-            gitLabProject = projectApi.createProject(gitLabProjectSpec);
+            gitLabProject = callGitLab("createProject", () -> projectApi.createProject(gitLabProjectSpec));
         }
         catch (Exception e)
         {
@@ -243,7 +243,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         try
         {
             ProtectedBranchesApi protectedBranchesApi = gitLabApi.getProtectedBranchesApi();
-            withRetries(() -> protectedBranchesApi.protectBranch(gitLabProject.getId(), defaultBranchName, pushAccessLevel, mergeAccessLevel));
+            withRetries("protectBranch", () -> protectedBranchesApi.protectBranch(gitLabProject.getId(), defaultBranchName, pushAccessLevel, mergeAccessLevel));
         }
         catch (Exception e)
         {
@@ -289,7 +289,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         try
         {
             UserApi userApi = gitLabApi.getUserApi();
-            currentUser = withRetries(userApi::getCurrentUser);
+            currentUser = withRetries("getCurrentUser", userApi::getCurrentUser);
         }
         catch (Exception e)
         {
@@ -306,7 +306,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
                 Member member;
                 try
                 {
-                    member = withRetries(() -> projectApi.getMember(projectId, userId));
+                    member = withRetries("getMember", () -> projectApi.getMember(projectId, userId));
                 }
                 catch (GitLabApiException e)
                 {
@@ -314,11 +314,11 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
                     {
                         throw e;
                     }
-                    return projectApi.addMember(projectId, userId, accessLevel).getAccessLevel();
+                    return callGitLab("addMember", () -> projectApi.addMember(projectId, userId, accessLevel)).getAccessLevel();
                 }
                 return accessLevelAtLeast(member.getAccessLevel(), accessLevel) ?
                         member.getAccessLevel() :
-                        projectApi.updateMember(projectId, userId, accessLevel).getAccessLevel();
+                        callGitLab("updateMember", () -> projectApi.updateMember(projectId, userId, accessLevel)).getAccessLevel();
             }
             catch (Exception e)
             {
@@ -363,7 +363,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         org.gitlab4j.api.models.Project currentProject;
         try
         {
-            currentProject = withRetries(() -> gitLabProjectApi.getProject(projectId.getGitLabId()));
+            currentProject = withRetries("getProject", () -> gitLabProjectApi.getProject(projectId.getGitLabId()));
         }
         catch (Exception e)
         {
@@ -381,7 +381,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         String defaultBranch = getDefaultBranch(projectId);
         try
         {
-            workspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), defaultBranch, 30, 1_000);
+            workspaceBranch = changeReferences(projectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), defaultBranch, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -412,7 +412,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
             MergeRequest mergeRequest;
             try
             {
-                mergeRequest = gitLabApi.getMergeRequestApi().createMergeRequest(projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), defaultBranch, "Project structure", "Set up project structure", null, null, null, null, true, false);
+                mergeRequest = callGitLab("createMergeRequest", () -> gitLabApi.getMergeRequestApi().createMergeRequest(projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), defaultBranch, "Project structure", "Set up project structure", null, null, null, null, true, false));
             }
             catch (Exception e)
             {
@@ -445,7 +445,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
             org.gitlab4j.api.models.Project updatedProject;
             try
             {
-                updatedProject = gitLabProjectApi.updateProject(new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withTagList(updatedTags));
+                updatedProject = callGitLab("updateProject", () -> gitLabProjectApi.updateProject(new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withTagList(updatedTags)));
             }
             catch (Exception e)
             {
@@ -529,7 +529,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
     {
         try
         {
-            boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), 30, 1_000);
+            boolean deleted = changeReferences(projectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, projectId.getGitLabId(), getWorkspaceBranchName(workspaceSpec), 30, 1_000));
             if (!deleted)
             {
                 LOGGER.error("Failed to delete {} {} {} in project {}", workspaceSpec.getType().getLabel(), workspaceSpec.getAccessType().getLabel(), workspaceSpec.getId(), projectId);
@@ -550,7 +550,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         {
             GitLabProjectId projectId = parseProjectId(id);
             org.gitlab4j.api.models.Project currentProject = getLegendSDLCGitLabProject(projectId);
-            withRetries(() -> getGitLabApi().getProjectApi().deleteProject(currentProject));
+            withRetries("deleteProject", () -> getGitLabApi().getProjectApi().deleteProject(currentProject));
         }
         catch (Exception e)
         {
@@ -575,7 +575,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
                 return;
             }
             org.gitlab4j.api.models.Project updatedProject = new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withName(newName);
-            withRetries(() -> getGitLabApi().getProjectApi().updateProject(updatedProject));
+            withRetries("updateProject", () -> getGitLabApi().getProjectApi().updateProject(updatedProject));
         }
         catch (Exception e)
         {
@@ -596,7 +596,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
             GitLabProjectId projectId = parseProjectId(id);
             org.gitlab4j.api.models.Project currentProject = getLegendSDLCGitLabProject(projectId);
             org.gitlab4j.api.models.Project updatedProject = new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withDescription(newDescription);
-            withRetries(() -> getGitLabApi().getProjectApi().updateProject(updatedProject));
+            withRetries("updateProject", () -> getGitLabApi().getProjectApi().updateProject(updatedProject));
         }
         catch (LegendSDLCServerException e)
         {
@@ -637,7 +637,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
             updatedTags.addAll(toAddSet);
 
             org.gitlab4j.api.models.Project updatedProject = new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withTagList(updatedTags);
-            withRetries(() -> getGitLabApi().getProjectApi().updateProject(updatedProject));
+            withRetries("updateProject", () -> getGitLabApi().getProjectApi().updateProject(updatedProject));
         }
         catch (Exception e)
         {
@@ -674,7 +674,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
             updatedTags.addAll(newTags);
 
             org.gitlab4j.api.models.Project updatedProject = new org.gitlab4j.api.models.Project().withId(currentProject.getId()).withTagList(updatedTags);
-            withRetries(() -> getGitLabApi().getProjectApi().updateProject(updatedProject));
+            withRetries("updateProject", () -> getGitLabApi().getProjectApi().updateProject(updatedProject));
         }
         catch (Exception e)
         {
@@ -692,7 +692,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         try
         {
             GitLabProjectId projectId = parseProjectId(id);
-            org.gitlab4j.api.models.Project gitLabProject = withRetries(() -> getGitLabApi().getProjectApi().getProject(projectId.getGitLabId()));
+            org.gitlab4j.api.models.Project gitLabProject = withRetries("getProject", () -> getGitLabApi().getProjectApi().getProject(projectId.getGitLabId()));
             if (!isLegendSDLCProject(gitLabProject))
             {
                 throw new LegendSDLCServerException("Failed to get project " + id);
@@ -747,8 +747,8 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         try
         {
             GitLabProjectId projectId = parseProjectId(id);
-            List<Member> members = getGitLabApi().getProjectApi().getAllMembers(projectId.getGitLabId());
-            List<ProtectedTag> protectedTags = withRetries(() -> getGitLabApi().getTagsApi().getProtectedTags(projectId.getGitLabId()));
+            List<Member> members = withRetries("getAllMembers", () -> getGitLabApi().getProjectApi().getAllMembers(projectId.getGitLabId()));
+            List<ProtectedTag> protectedTags = withRetries("getProtectedTags", () -> getGitLabApi().getTagsApi().getProtectedTags(projectId.getGitLabId()));
             return processUserAuthorizedActions(protectedTags, members, actions);
         }
         catch (Exception e)
@@ -814,7 +814,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
     {
         try
         {
-            List<ProtectedTag> protectedTags = withRetries(() -> getGitLabApi().getTagsApi().getProtectedTags(projectId.getGitLabId()));
+            List<ProtectedTag> protectedTags = withRetries("getProtectedTags", () -> getGitLabApi().getTagsApi().getProtectedTags(projectId.getGitLabId()));
             return checkUserAction(protectedTags, action, accessLevel);
         }
         catch (Exception e)
@@ -970,7 +970,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
         try
         {
             org.gitlab4j.api.ProjectApi projectApi = getGitLabApi().getProjectApi();
-            gitLabProject = withRetries(() -> projectApi.getProject(projectId.getGitLabId()));
+            gitLabProject = withRetries("getProject", () -> projectApi.getProject(projectId.getGitLabId()));
         }
         catch (Exception e)
         {
@@ -237,7 +237,7 @@ public class GitLabProjectConfigurationApi extends GitLabApiWithFileAccess imple
                 MergeRequestFilter mergeRequestFilter =  new MergeRequestFilter();
                 mergeRequestFilter.setProjectId(gitLabProjectId.getGitLabId());
                 mergeRequestFilter.setTargetBranch(getDefaultBranch(gitLabProjectId));
-                Stream<MergeRequest> mergeRequests = PagerTools.stream(withRetries(() -> getGitLabApi().getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE)));
+                Stream<MergeRequest> mergeRequests = PagerTools.stream(withRetries("getMergeRequests", () -> getGitLabApi().getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE)));
                 mergeRequests.filter(mr -> mr.getSourceBranch() != null && mr.getSourceBranch().contains(GitLabProjectApi.PROJECT_CONFIGURATION_WORKSPACE_ID_PREFIX)).map(mr -> toStringIfNotNull(mr.getIid())).forEach(reviewIds::add);
             }
             catch (Exception e)
@@ -117,7 +117,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
                 {
                     try
                     {
-                        return PagerTools.stream(withRetries(() -> commitsApi.getMergeRequests(gitLabProjectId.getGitLabId(), revisionId, ITEMS_PER_PAGE)));
+                        return PagerTools.stream(withRetries("getMergeRequests", () -> commitsApi.getMergeRequests(gitLabProjectId.getGitLabId(), revisionId, ITEMS_PER_PAGE)));
                     }
                     catch (Exception e)
                     {
@@ -142,7 +142,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
                 {
                     mergeRequestFilter.withTargetBranch(sourceBranches.getAny());
                 }
-                mergeRequestStream = PagerTools.stream(withRetries(() -> getGitLabApi().getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE)));
+                mergeRequestStream = streamMergeRequests(mergeRequestFilter);
             }
             if (sourceBranches.notEmpty())
             {
@@ -150,8 +150,11 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
             }
             String defaultBranch = getDefaultBranch(gitLabProjectId);
             Supplier<String> defaultBranchSupplier = () -> defaultBranch;
-            Stream<Review> stream = mergeRequestStream.filter(mr -> isReviewMergeRequest(mr, defaultBranchSupplier)).map(mr -> fromGitLabMergeRequest(projectId, mr));
-            return addReviewFilters(stream, state, workspaceIdAndTypePredicate, since, until, limit).collect(Collectors.toList());
+            try (Stream<Review> stream = mergeRequestStream.filter(mr -> isReviewMergeRequest(mr, defaultBranchSupplier)).map(mr -> fromGitLabMergeRequest(projectId, mr)))
+            {
+                // closing the stream stops any page prefetching once the limit is reached
+                return addReviewFilters(stream, state, workspaceIdAndTypePredicate, since, until, limit).collect(Collectors.toList());
+            }
         }
         catch (Exception e)
         {
@@ -172,7 +175,16 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         }
 
         MergeRequestFilter mergeRequestFilter = withMergeRequestLabels(withMergeRequestFilters(new MergeRequestFilter(), state, since, until).withScope(assignedToMe ? MergeRequestScope.ASSIGNED_TO_ME : (authoredByMe ? MergeRequestScope.CREATED_BY_ME : MergeRequestScope.ALL)), labels);
-        return addReviewFilters(getReviewStream(mergeRequestFilter), state, workspaceIdAndTypePredicate, since, until, limit).collect(Collectors.toList());
+        try (Stream<Review> stream = getReviewStream(mergeRequestFilter))
+        {
+            return addReviewFilters(stream, state, workspaceIdAndTypePredicate, since, until, limit).collect(Collectors.toList());
+        }
+    }
+
+    private Stream<MergeRequest> streamMergeRequests(MergeRequestFilter mergeRequestFilter) throws GitLabApiException
+    {
+        MergeRequestApi mergeRequestApi = getGitLabApi().getMergeRequestApi();
+        return prefetchingStream("getMergeRequests", withRetries("getMergeRequests", () -> mergeRequestApi.getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE)), page -> mergeRequestApi.getMergeRequests(mergeRequestFilter, page, ITEMS_PER_PAGE));
     }
 
     private Stream<Review> getReviewStream(MergeRequestFilter mergeRequestFilter)
@@ -181,7 +193,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         String idPrefix = getGitLabConfiguration().getProjectIdPrefix();
         try
         {
-            return PagerTools.stream(withRetries(() -> getGitLabApi().getMergeRequestApi().getMergeRequests(mergeRequestFilter, ITEMS_PER_PAGE)))
+            return streamMergeRequests(mergeRequestFilter)
                     .filter(mr -> isReviewMergeRequest(mr, () -> defaultBranchByProject.getIfAbsentPut(mr.getProjectId(), () -> getDefaultBranch(GitLabProjectId.newProjectId(idPrefix, mr.getProjectId())))))
                     .map(mr -> fromGitLabMergeRequest(GitLabProjectId.newProjectId(idPrefix, mr.getProjectId()).toString(), mr));
         }
@@ -358,13 +370,13 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         try
         {
             GitLabApi gitLabApi = getGitLabApi();
-            boolean sourceBranchExists = withRetries(() -> GitLabApiTools.branchExists(gitLabApi, gitLabProjectId.getGitLabId(), sourceBranchName));
+            boolean sourceBranchExists = withRetries("branchExists", () -> GitLabApiTools.branchExists(gitLabApi, gitLabProjectId.getGitLabId(), sourceBranchName));
             if (!sourceBranchExists)
             {
                 throw new LegendSDLCServerException("Review target does not exist: " + getReferenceInfo(projectId, workspaceSpecification.getSource()), Status.CONFLICT);
             }
 
-            MergeRequest mergeRequest = gitLabApi.getMergeRequestApi().createMergeRequest(gitLabProjectId.getGitLabId(), workspaceBranchName, sourceBranchName, title, description, null, null, (labels == null || labels.isEmpty()) ? null : labels.toArray(new String[0]), null, true);
+            MergeRequest mergeRequest = callGitLab("createMergeRequest", () -> gitLabApi.getMergeRequestApi().createMergeRequest(gitLabProjectId.getGitLabId(), workspaceBranchName, sourceBranchName, title, description, null, null, (labels == null || labels.isEmpty()) ? null : labels.toArray(new String[0]), null, true));
             return fromGitLabMergeRequest(projectId, mergeRequest);
         }
         catch (Exception e)
@@ -435,7 +447,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         MergeRequest mergeRequest = getReviewMergeRequest(mergeRequestApi, gitLabProjectId, reviewId);
         try
         {
-            MergeRequest approvalMergeRequest = mergeRequestApi.approveMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), mergeRequest.getSha());
+            MergeRequest approvalMergeRequest = callGitLab("approveMergeRequest", () -> mergeRequestApi.approveMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), mergeRequest.getSha()));
             // The MergeRequest that comes back from the approveMergeRequest call is not adequate for
             // creating a Review, as most relevant properties are null. The only useful thing we get
             // from it is the last update time.
@@ -494,7 +506,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         MergeRequest mergeRequest = getReviewMergeRequest(mergeRequestApi, gitLabProjectId, reviewId);
         try
         {
-            MergeRequest revokeApprovalMergeRequest = mergeRequestApi.unapproveMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid());
+            MergeRequest revokeApprovalMergeRequest = callGitLab("unapproveMergeRequest", () -> mergeRequestApi.unapproveMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid()));
             // The MergeRequest that comes back from the unapproveMergeRequest call is not adequate
             // for creating a Review, as most relevant properties are null. The only useful thing we
             // get from it is the last update time.
@@ -593,7 +605,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         // Accept
         try
         {
-            return fromGitLabMergeRequest(projectId, mergeRequestApi.acceptMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), message, true, null, null));
+            return fromGitLabMergeRequest(projectId, changeReferences(gitLabProjectId, () -> callGitLab("acceptMergeRequest", () -> mergeRequestApi.acceptMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), message, true, null, null))));
         }
         catch (GitLabApiException e)
         {
@@ -707,7 +719,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         try
         {
             CallUntil<MergeRequest, GitLabApiException> callUntil = CallUntil.callUntil(
-                    () -> withRetries(() -> mergeRequestApi.rebaseMergeRequest(gitLabProjectId.getGitLabId(), initialMergeRequest.getIid())),
+                    () -> withRetries("rebaseMergeRequest", () -> mergeRequestApi.rebaseMergeRequest(gitLabProjectId.getGitLabId(), initialMergeRequest.getIid())),
                     MergeRequest::getRebaseInProgress,
                     3,
                     500L);
@@ -752,7 +764,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
                 mergeRequestParams.withLabels(labels);
             }
 
-            MergeRequest editedRequest = mergeRequestApi.updateMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), mergeRequestParams);
+            MergeRequest editedRequest = callGitLab("updateMergeRequest", () -> mergeRequestApi.updateMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), mergeRequestParams));
             return fromGitLabMergeRequest(projectId, editedRequest);
         }
         catch (Exception e)
@@ -827,7 +839,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         Commit mergeBase;
         try
         {
-            mergeBase = withRetries(() -> repositoryApi.getMergeBase(projectId.getGitLabId(), Arrays.asList(sourceBranchName, targetBranchName)));
+            mergeBase = withRetries("getMergeBase", () -> repositoryApi.getMergeBase(projectId.getGitLabId(), Arrays.asList(sourceBranchName, targetBranchName)));
         }
         catch (Exception e)
         {
@@ -850,7 +862,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
         Branch targetBranch;
         try
         {
-            targetBranch = withRetries(() -> repositoryApi.getBranch(projectId.getGitLabId(), mergeRequest.getTargetBranch()));
+            targetBranch = withRetries("getBranch", () -> repositoryApi.getBranch(projectId.getGitLabId(), mergeRequest.getTargetBranch()));
         }
         catch (Exception e)
         {
@@ -879,7 +891,7 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
 
     protected MergeRequest updateMergeRequestState(MergeRequestApi mergeRequestApi, GitLabProjectId projectId, MergeRequest mergeRequest, Constants.StateEvent stateEvent) throws GitLabApiException
     {
-        return mergeRequestApi.updateMergeRequest(projectId.getGitLabId(), mergeRequest.getIid(), null, null, null, null, stateEvent, null, null, null, null, null, null);
+        return changeReferences(projectId, () -> callGitLab("updateMergeRequest", () -> mergeRequestApi.updateMergeRequest(projectId.getGitLabId(), mergeRequest.getIid(), null, null, null, null, stateEvent, null, null, null, null, null, null)));
     }
 
     private boolean isCreatedAtWithinBounds(Review review, Instant lowerBound, Instant upperBound)
@@ -123,7 +123,7 @@ public class GitLabRevisionApi extends GitLabApiWithFileAccess implements Revisi
             CommitsApi commitsApi = gitLabApi.getCommitsApi();
             Revision revision = getRevisionContext(projectId, SourceSpecification.projectSourceSpecification()).getRevision(revisionId);
 
-            MutableList<CommitRef> commitRefs = PagerTools.stream(withRetries(() -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), revision.getId(), RefType.ALL, ITEMS_PER_PAGE)))
+            MutableList<CommitRef> commitRefs = PagerTools.stream(withRetries("getCommitRefs", () -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), revision.getId(), RefType.ALL, ITEMS_PER_PAGE)))
                     .collect(Collectors.toCollection(Lists.mutable::empty));
 
             String defaultBranch = getDefaultBranch(gitLabProjectId);
@@ -141,7 +141,7 @@ public class GitLabRevisionApi extends GitLabApiWithFileAccess implements Revisi
                 versions = Lists.mutable.ofInitialCapacity(versionTagNames.size());
                 for (String tagName : versionTagNames)
                 {
-                    Tag tag = withRetries(() -> tagsApi.getTag(gitLabProjectId.getGitLabId(), tagName));
+                    Tag tag = withRetries("getTag", () -> tagsApi.getTag(gitLabProjectId.getGitLabId(), tagName));
                     versions.add(fromGitLabTag(projectId, tag));
                 }
                 versions.sort(Comparator.comparing(Version::getId));
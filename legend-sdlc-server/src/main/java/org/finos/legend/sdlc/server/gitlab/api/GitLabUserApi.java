@@ -39,7 +39,7 @@ public class GitLabUserApi extends BaseGitLabApi implements UserApi
     {
         try
         {
-            return PagerTools.stream(getGitLabApi().getUserApi().getUsers(ITEMS_PER_PAGE))
+            return PagerTools.stream(withRetries("getUsers", () -> getGitLabApi().getUserApi().getUsers(ITEMS_PER_PAGE)))
                 .map(BaseGitLabApi::fromGitLabAbstractUser).collect(Collectors.toList());
         }
         catch (Exception e)
@@ -58,7 +58,7 @@ public class GitLabUserApi extends BaseGitLabApi implements UserApi
         User user;
         try
         {
-            user = fromGitLabAbstractUser(getGitLabApi().getUserApi().getUser(userId));
+            user = fromGitLabAbstractUser(withRetries("getUser", () -> getGitLabApi().getUserApi().getUser(userId)));
         }
         catch (Exception e)
         {
@@ -80,7 +80,7 @@ public class GitLabUserApi extends BaseGitLabApi implements UserApi
         LegendSDLCServerException.validateNonNull(search, "search cannot be null");
         try
         {
-            return PagerTools.stream(getGitLabApi().getUserApi().findUsers(search, ITEMS_PER_PAGE))
+            return PagerTools.stream(withRetries("findUsers", () -> getGitLabApi().getUserApi().findUsers(search, ITEMS_PER_PAGE)))
                 .map(BaseGitLabApi::fromGitLabAbstractUser).collect(Collectors.toList());
         }
         catch (Exception e)
@@ -98,7 +98,7 @@ public class GitLabUserApi extends BaseGitLabApi implements UserApi
         User user;
         try
         {
-            user = fromGitLabAbstractUser(getGitLabApi().getUserApi().getCurrentUser());
+            user = fromGitLabAbstractUser(withRetries("getCurrentUser", () -> getGitLabApi().getUserApi().getCurrentUser()));
         }
         catch (Exception e)
         {
@@ -22,8 +22,8 @@ import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabConfiguration;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
-import org.finos.legend.sdlc.server.gitlab.tools.PagerTools;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+import org.gitlab4j.api.TagsApi;
 
 import java.util.Comparator;
 import java.util.List;
@@ -104,7 +104,8 @@ public class GitLabVersionApi extends GitLabApiWithFileAccess implements Version
     {
         try
         {
-            Stream<Version> stream = PagerTools.stream(getGitLabApi().getTagsApi().getTags(projectId.getGitLabId(), ITEMS_PER_PAGE)).filter(GitLabVersionApi::isVersionTag).map(tag -> fromGitLabTag(projectId.toString(), tag));
+            TagsApi tagsApi = getGitLabApi().getTagsApi();
+            Stream<Version> stream = prefetchingStream("getTags", withRetries("getTags", () -> tagsApi.getTags(projectId.getGitLabId(), ITEMS_PER_PAGE)), page -> tagsApi.getTags(projectId.getGitLabId(), page, ITEMS_PER_PAGE)).filter(GitLabVersionApi::isVersionTag).map(tag -> fromGitLabTag(projectId.toString(), tag));
 
             // major version constraint
             if ((minMajorVersion != null) && (maxMajorVersion != null))
@@ -31,6 +31,7 @@ import org.finos.legend.sdlc.server.gitlab.GitLabConfiguration;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
 import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiTools;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabBranchApi;
 import org.finos.legend.sdlc.server.gitlab.tools.PagerTools;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.WorkspaceAccessType;
@@ -96,7 +97,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             GitLabProjectId gitLabProjectId = parseProjectId(projectId);
             String branchName = getWorkspaceBranchName(workspaceSpecification);
             RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
-            Branch branch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), branchName));
+            Branch branch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), branchName));
             return fromWorkspaceBranchName(projectId, branch.getName());
         }
         catch (Exception e)
@@ -155,7 +156,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 // However, we still should verify that the project exists and that the user is allowed to access branches.
                 // The following request should result in an error if either the project does not exist or the user is not
                 // allowed to access branches.
-                withRetries(() -> getGitLabApi().getRepositoryApi().getBranches(gitLabProjectId.getGitLabId(), 1));
+                withRetries("getBranches", () -> getGitLabApi().getRepositoryApi().getBranches(gitLabProjectId.getGitLabId(), 1));
                 return Collections.emptyList();
             }
             String prIdStr = gitLabProjectId.toString();
@@ -173,9 +174,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
     private Stream<WorkspaceSpecification> getAllPatchWorkspaces(GitLabProjectId projectId, Set<WorkspaceType> types, Set<WorkspaceAccessType> accessTypes, String userId) throws GitLabApiException
     {
         String branchPrefix = getPatchWorkspaceBranchPrefix();
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
-        Pager<Branch> pager = withRetries(() -> repositoryApi.getBranches(projectId.getGitLabId(), "^" + branchPrefix, ITEMS_PER_PAGE));
-        Stream<WorkspaceSpecification> stream = PagerTools.stream(pager)
+        Stream<WorkspaceSpecification> stream = streamBranches(projectId, "^" + branchPrefix)
                 .map(Branch::getName)
                 .filter(n -> (n != null) && n.startsWith(branchPrefix))
                 .map(GitLabWorkspaceApi::parseWorkspaceBranchName)
@@ -199,9 +198,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
     {
         String branchPrefix = getBranchSearchPrefix(type, accessType, source, userId);
 
-        RepositoryApi repositoryApi = getGitLabApi().getRepositoryApi();
-        Pager<Branch> pager = withRetries(() -> repositoryApi.getBranches(projectId.getGitLabId(), "^" + branchPrefix, ITEMS_PER_PAGE));
-        return PagerTools.stream(pager)
+        return streamBranches(projectId, "^" + branchPrefix)
                 .map(Branch::getName)
                 .filter(n -> (n != null) && n.startsWith(branchPrefix))
                 .map(GitLabWorkspaceApi::parseWorkspaceBranchName)
@@ -209,6 +206,15 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 .filter(spec -> (spec.getType() == type) && (spec.getAccessType() == accessType) && source.equals(spec.getSource()));
     }
 
+    private Stream<Branch> streamBranches(GitLabProjectId projectId, String search) throws GitLabApiException
+    {
+        GitLabApi gitLabApi = getGitLabApi();
+        RepositoryApi repositoryApi = gitLabApi.getRepositoryApi();
+        GitLabBranchApi branchApi = new GitLabBranchApi(gitLabApi);
+        Pager<Branch> pager = withRetries("getBranches", () -> repositoryApi.getBranches(projectId.getGitLabId(), search, ITEMS_PER_PAGE));
+        return prefetchingStream("getBranches", pager, page -> branchApi.getBranches(projectId.getGitLabId(), search, page, ITEMS_PER_PAGE));
+    }
+
     private String getBranchSearchPrefix(WorkspaceType type, WorkspaceAccessType accessType, WorkspaceSource source, String userId)
     {
         if (type == WorkspaceType.USER)
@@ -235,7 +241,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch workspaceBranch;
         try
         {
-            workspaceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
+            workspaceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
         }
         catch (Exception e)
         {
@@ -251,7 +257,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch sourceBranch;
         try
         {
-            sourceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
+            sourceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
         }
         catch (Exception e)
         {
@@ -271,7 +277,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         CommitsApi commitsApi = gitLabApi.getCommitsApi();
         try
         {
-            Pager<CommitRef> sourceCommitRefsPager = withRetries(() -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), sourceBranchRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
+            Pager<CommitRef> sourceCommitRefsPager = withRetries("getCommitRefs", () -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), sourceBranchRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
             Stream<CommitRef> sourceCommitRefs = PagerTools.stream(sourceCommitRefsPager);
             // This will check if the branch contains the master HEAD commit by looking up the list of references the commit is pushed to
             return sourceCommitRefs.noneMatch(cr -> workspaceBranchName.equals(cr.getName()));
@@ -297,7 +303,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         String workspaceBranchName = getWorkspaceBranchName(workspaceSpecification);
         try
         {
-            withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
+            withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
         }
         catch (Exception e)
         {
@@ -365,7 +371,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             if (GitLabApiTools.branchExists(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName))
             {
                 LOGGER.debug("Cleaning up left-over backup branch {} in project {}", backupBranchName, projectId);
-                boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+                boolean deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
                 if (!deleted)
                 {
                     LOGGER.error("Failed to delete backup branch {} in project {}", backupBranchName, projectId);
@@ -384,7 +390,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             if (GitLabApiTools.branchExists(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionBranchName))
             {
                 LOGGER.debug("Cleaning up left-over conflict resolution branch {} in project {}", conflictResolutionBranchName, projectId);
-                boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionBranchName, 20, 1_000);
+                boolean deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionBranchName, 20, 1_000));
                 if (!deleted)
                 {
                     LOGGER.error("Failed to delete conflict resolution branch {} in project {}", conflictResolutionBranchName, projectId);
@@ -403,8 +409,8 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         List<String> tags;
         try
         {
-            branch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, sourceBranchName, 30, 1_000);
-            tags = getGitLabApi().getProjectApi().getProject(gitLabProjectId.getGitLabId()).getTagList();
+            branch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, sourceBranchName, 30, 1_000));
+            tags = withRetries("getProject", () -> getGitLabApi().getProjectApi().getProject(gitLabProjectId.getGitLabId())).getTagList();
         }
         catch (Exception e)
         {
@@ -442,7 +448,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         boolean workspaceDeleted;
         try
         {
-            workspaceDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000);
+            workspaceDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000));
         }
         catch (Exception e)
         {
@@ -460,7 +466,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         String conflictResolutionBranchName = getWorkspaceBranchName(WorkspaceSpecification.newWorkspaceSpecification(workspaceSpecification.getId(), workspaceSpecification.getType(), WorkspaceAccessType.CONFLICT_RESOLUTION, workspaceSpecification.getSource()));
         try
         {
-            boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionBranchName, 20, 1_000);
+            boolean deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionBranchName, 20, 1_000));
             if (!deleted)
             {
                 LOGGER.error("Failed to delete {} in project {}", conflictResolutionBranchName, projectId);
@@ -476,7 +482,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         String backupBranchName = getWorkspaceBranchName(WorkspaceSpecification.newWorkspaceSpecification(workspaceSpecification.getId(), workspaceSpecification.getType(), WorkspaceAccessType.BACKUP, workspaceSpecification.getSource()));
         try
         {
-            boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+            boolean deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
             if (!deleted)
             {
                 LOGGER.error("Failed to delete {} in project {}", backupBranchName, projectId);
@@ -523,7 +529,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch workspaceBranch;
         try
         {
-            workspaceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
+            workspaceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), workspaceBranchName));
         }
         catch (Exception e)
         {
@@ -540,7 +546,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch sourceBranch;
         try
         {
-            sourceBranch = withRetries(() -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
+            sourceBranch = withRetries("getBranch", () -> repositoryApi.getBranch(gitLabProjectId.getGitLabId(), sourceBranchName));
         }
         catch (Exception e)
         {
@@ -564,7 +570,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             }
             else
             {
-                Pager<CommitRef> sourceRevisionRefPager = withRetries(() -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), sourceRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
+                Pager<CommitRef> sourceRevisionRefPager = withRetries("getCommitRefs", () -> commitsApi.getCommitRefs(gitLabProjectId.getGitLabId(), sourceRevisionId, RefType.BRANCH, ITEMS_PER_PAGE));
                 isAlreadyLatest = PagerTools.stream(sourceRevisionRefPager).anyMatch(cr -> workspaceBranchName.equals(cr.getName()));
             }
             if (isAlreadyLatest)
@@ -587,7 +593,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch tempBranch;
         try
         {
-            tempBranch = GitLabApiTools.createBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), tempBranchName, currentWorkspaceRevisionId, 30, 1_000);
+            tempBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), tempBranchName, currentWorkspaceRevisionId, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -614,7 +620,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             String workspaceCreationRevisionId;
             try
             {
-                workspaceCreationRevisionId = withRetries(() -> repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranchName, currentWorkspaceRevisionId)).getId());
+                workspaceCreationRevisionId = withRetries("getMergeBase", () -> repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranchName, currentWorkspaceRevisionId)).getId());
             }
             catch (Exception e)
             {
@@ -672,7 +678,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         Branch tempBranch;
         try
         {
-            tempBranch = GitLabApiTools.createBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), tempBranchName, workspaceCreationRevisionId, 30, 1_000);
+            tempBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), tempBranchName, workspaceCreationRevisionId, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -688,7 +694,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         CompareResults comparisonResult;
         try
         {
-            comparisonResult = withRetries(() -> repositoryApi.compare(gitLabProjectId.getGitLabId(), workspaceCreationRevisionId, currentWorkspaceRevisionId, true));
+            comparisonResult = withRetries("compare", () -> repositoryApi.compare(gitLabProjectId.getGitLabId(), workspaceCreationRevisionId, currentWorkspaceRevisionId, true));
         }
         catch (Exception e)
         {
@@ -763,7 +769,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                     );
                 }
             });
-            squashedCommit = commitsApi.createCommit(gitLabProjectId.getGitLabId(), tempBranchName, "aggregated changes for workspace " + workspaceSpecification.getId(), null, null, getCurrentUser(), commitActions);
+            squashedCommit = createCommit(commitsApi, gitLabProjectId, tempBranchName, "aggregated changes for workspace " + workspaceSpecification.getId(), getCurrentUser(), commitActions);
         }
         catch (Exception e)
         {
@@ -807,7 +813,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         MergeRequest mergeRequest;
         try
         {
-            mergeRequest = mergeRequestApi.createMergeRequest(gitLabProjectId.getGitLabId(), tempBranchName, getSourceBranch(gitLabProjectId, workspaceSpecification), title, message, null, null, null, null, false, false);
+            mergeRequest = callGitLab("createMergeRequest", () -> mergeRequestApi.createMergeRequest(gitLabProjectId.getGitLabId(), tempBranchName, getSourceBranch(gitLabProjectId, workspaceSpecification), title, message, null, null, null, null, false, false));
         }
         catch (Exception e)
         {
@@ -819,12 +825,12 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         // Attempt to rebase the merge request
         try
         {
-            mergeRequestApi.rebaseMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid());
+            callGitLab("rebaseMergeRequest", () -> mergeRequestApi.rebaseMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid()));
             // Check rebase status
             // This only throws when we have 403, so we need to keep polling till we know the result
             // See https://docs.gitlab.com/ee/api/merge_requests.html#rebase-a-merge-request
             CallUntil<MergeRequest, GitLabApiException> rebaseStatusCallUntil = CallUntil.callUntil(
-                    () -> withRetries(() -> mergeRequestApi.getRebaseStatus(gitLabProjectId.getGitLabId(), mergeRequest.getIid())),
+                    () -> withRetries("getRebaseStatus", () -> mergeRequestApi.getRebaseStatus(gitLabProjectId.getGitLabId(), mergeRequest.getIid())),
                     mr -> !mr.getRebaseInProgress(),
                     600,
                     1000L);
@@ -848,7 +854,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 String backupBranchName = getWorkspaceBranchName(backupWorkspaceSpec);
                 try
                 {
-                    backupBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000);
+                    backupBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, workspaceBranchName, 30, 1_000));
                 }
                 catch (Exception e)
                 {
@@ -865,7 +871,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 boolean originalBranchDeleted;
                 try
                 {
-                    originalBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000);
+                    originalBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), workspaceBranchName, 20, 1_000));
                 }
                 catch (Exception e)
                 {
@@ -882,10 +888,10 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 Branch newWorkspaceBranch;
                 try
                 {
-                    newWorkspaceBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(),
+                    newWorkspaceBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(),
                             workspaceBranchName,
                             tempBranchName,
-                            30, 1_000);
+                            30, 1_000));
                 }
                 catch (Exception e)
                 {
@@ -901,7 +907,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 // Delete backup branch
                 try
                 {
-                    boolean deleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000);
+                    boolean deleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), backupBranchName, 20, 1_000));
                     if (!deleted)
                     {
                         LOGGER.error("Failed to delete {} in project {}", backupBranchName, projectId);
@@ -926,7 +932,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             // Try to close merge request
             try
             {
-                mergeRequestApi.updateMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), null, title, null, null, StateEvent.CLOSE, null, null, null, null, null, null);
+                callGitLab("updateMergeRequest", () -> mergeRequestApi.updateMergeRequest(gitLabProjectId.getGitLabId(), mergeRequest.getIid(), null, title, null, null, StateEvent.CLOSE, null, null, null, null, null, null));
             }
             catch (Exception closeEx)
             {
@@ -934,7 +940,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 LOGGER.error("Could not close merge request {} for project {}: {}", mergeRequest.getIid(), projectId, mergeRequest.getWebUrl(), closeEx);
             }
             // Delete temporary branch in the background
-            submitBackgroundRetryableTask(() -> waitForPipelinesDeleteBranchAndVerify(gitLabApi, gitLabProjectId, tempBranchName), 5000L, "delete " + tempBranchName);
+            submitBackgroundRetryableTask(gitLabApi, () -> waitForPipelinesDeleteBranchAndVerify(gitLabApi, gitLabProjectId, tempBranchName), 5000L, "delete " + tempBranchName);
         }
         return true;
     }
@@ -961,7 +967,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                 boolean conflictResolutionBranchDeleted;
                 try
                 {
-                    conflictResolutionBranchDeleted = GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionWorkspaceBranchName, 20, 1_000);
+                    conflictResolutionBranchDeleted = changeReferences(gitLabProjectId, () -> GitLabApiTools.deleteBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionWorkspaceBranchName, 20, 1_000));
                 }
                 catch (Exception e)
                 {
@@ -986,7 +992,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         String sourceBranch = getSourceBranch(gitLabProjectId, workspaceSpec);
         try
         {
-            conflictResolutionBranch = GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionWorkspaceBranchName, sourceBranch, 30, 1_000);
+            conflictResolutionBranch = changeReferences(gitLabProjectId, () -> GitLabApiTools.createBranchFromSourceBranchAndVerify(repositoryApi, gitLabProjectId.getGitLabId(), conflictResolutionWorkspaceBranchName, sourceBranch, 30, 1_000));
         }
         catch (Exception e)
         {
@@ -1005,7 +1011,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
 
         try
         {
-            workspaceCreationRevisionId = withRetries(() -> repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranch, currentWorkspaceRevisionId)).getId());
+            workspaceCreationRevisionId = withRetries("getMergeBase", () -> repositoryApi.getMergeBase(gitLabProjectId.getGitLabId(), Arrays.asList(sourceBranch, currentWorkspaceRevisionId)).getId());
         }
         catch (Exception e)
         {
@@ -1017,7 +1023,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
         CompareResults comparisonResult;
         try
         {
-            comparisonResult = withRetries(() -> repositoryApi.compare(gitLabProjectId.getGitLabId(), workspaceCreationRevisionId, currentWorkspaceRevisionId, true));
+            comparisonResult = withRetries("compare", () -> repositoryApi.compare(gitLabProjectId.getGitLabId(), workspaceCreationRevisionId, currentWorkspaceRevisionId, true));
         }
         catch (Exception e)
         {
@@ -1100,7 +1106,7 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
                     );
                 }
             });
-            commitsApi.createCommit(gitLabProjectId.getGitLabId(), conflictResolutionWorkspaceBranchName, "aggregated changes for conflict resolution", null, null, getCurrentUser(), commitActions);
+            createCommit(commitsApi, gitLabProjectId, conflictResolutionWorkspaceBranchName, "aggregated changes for conflict resolution", getCurrentUser(), commitActions);
         }
         catch (Exception e)
         {
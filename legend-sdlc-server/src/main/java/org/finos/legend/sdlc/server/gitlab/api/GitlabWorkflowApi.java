@@ -209,7 +209,7 @@ public class GitlabWorkflowApi extends AbstractGitlabWorkflowApi implements Work
                             {
                                 try
                                 {
-                                    return withRetries(() -> gitLabApi.getPipelineApi().getPipeline(this.gitLabProjectId.getGitLabId(), p.getId()));
+                                    return withRetries("getPipeline", () -> gitLabApi.getPipelineApi().getPipeline(this.gitLabProjectId.getGitLabId(), p.getId()));
                                 }
                                 catch (Exception ignore)
                                 {
@@ -144,7 +144,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
             List<Job> jobs;
             try
             {
-                jobs = withRetries(() -> jobApi.getJobsForPipeline(this.gitLabProjectId.getGitLabId(), pipelineId));
+                jobs = withRetries("getJobsForPipeline", () -> jobApi.getJobsForPipeline(this.gitLabProjectId.getGitLabId(), pipelineId));
             }
             catch (Exception e)
             {
@@ -175,7 +175,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
             JobApi jobApi = getGitLabApi().getJobApi();
             try
             {
-                return withRetries(() -> jobApi.getTrace(this.gitLabProjectId.getGitLabId(), job.getId()));
+                return withRetries("getTrace", () -> jobApi.getTrace(this.gitLabProjectId.getGitLabId(), job.getId()));
             }
             catch (Exception e)
             {
@@ -203,7 +203,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
             Job result;
             try
             {
-                result = withRetries(() -> jobApi.playJob(this.gitLabProjectId.getGitLabId(), job.getId()));
+                result = withRetries("playJob", () -> jobApi.playJob(this.gitLabProjectId.getGitLabId(), job.getId()));
             }
             catch (Exception e)
             {
@@ -231,7 +231,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
             Job result;
             try
             {
-                result = withRetries(() -> jobApi.retryJob(this.gitLabProjectId.getGitLabId(), job.getId()));
+                result = withRetries("retryJob", () -> jobApi.retryJob(this.gitLabProjectId.getGitLabId(), job.getId()));
             }
             catch (Exception e)
             {
@@ -260,7 +260,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
             Job result;
             try
             {
-                result = withRetries(() -> jobApi.cancelJob(this.gitLabProjectId.getGitLabId(), job.getId()));
+                result = withRetries("cancelJob", () -> jobApi.cancelJob(this.gitLabProjectId.getGitLabId(), job.getId()));
             }
             catch (Exception e)
             {
@@ -322,7 +322,7 @@ public class GitlabWorkflowJobApi extends AbstractGitlabWorkflowApi implements W
         protected Job getJob(int pipelineId, int jobId) throws GitLabApiException
         {
             JobApi jobApi = getGitLabApi().getJobApi();
-            Job job = withRetries(() -> jobApi.getJob(this.gitLabProjectId.getGitLabId(), jobId));
+            Job job = withRetries("getJob", () -> jobApi.getJob(this.gitLabProjectId.getGitLabId(), jobId));
             return ((job.getPipeline() != null) && (job.getPipeline().getId() != null) && (pipelineId == job.getPipeline().getId())) ? job : null;
         }
 
@@ -0,0 +1,84 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.gitlab.auth;
+
+import org.finos.legend.sdlc.server.auth.Session;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.gitlab.GitLabAppInfo;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
+import org.gitlab4j.api.GitLabApi;
+
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * A {@link GitLabUserContext} which is not bound to a request. It uses a single {@link GitLabApi}, on which it holds
+ * its own pool reference until it is closed. See {@link GitLabUserContext#detach()}.
+ */
+public class DetachedGitLabUserContext extends GitLabUserContext implements AutoCloseable
+{
+    private GitLabApi api;
+
+    DetachedGitLabUserContext(Session session, GitLabAppInfo appInfo, GitLabApi api)
+    {
+        super(session, appInfo);
+        this.api = api;
+    }
+
+    @Override
+    public void gitLabAuthCallback(String code)
+    {
+        throw new UnsupportedOperationException("Authorization is not possible outside of a request");
+    }
+
+    @Override
+    public synchronized GitLabApi getGitLabAPI(boolean redirectAllowed)
+    {
+        if (this.api == null)
+        {
+            throw new LegendSDLCServerException("GitLab access for user " + getCurrentUser() + " is no longer available", Status.UNAUTHORIZED);
+        }
+        return this.api;
+    }
+
+    @Override
+    public synchronized boolean isUserAuthorized()
+    {
+        return this.api != null;
+    }
+
+    @Override
+    public synchronized void clearAccessToken()
+    {
+        if (this.api != null)
+        {
+            // the token is no longer valid, so the client for it should not be reused; the session is left to the
+            // request which owns it
+            GitLabApiPool.getSharedPool().invalidateGitLabApi(this.api);
+            GitLabApiPool.getSharedPool().releaseGitLabApi(this.api);
+            this.api = null;
+        }
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (this.api != null)
+        {
+            GitLabApiPool.getSharedPool().releaseGitLabApi(this.api);
+            this.api = null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.gitlab.auth;
+
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
+import org.gitlab4j.api.GitLabApi;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.ServletRequestListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Releases the {@link GitLabApi} instances acquired from the {@link GitLabApiPool} during a request once the request
+ * is complete.
+ */
+public class GitLabApiRequestListener implements ServletRequestListener
+{
+    private static final String ATTRIBUTE = GitLabApiRequestListener.class.getName() + ".apis";
+
+    @Override
+    public void requestInitialized(ServletRequestEvent event)
+    {
+    }
+
+    @Override
+    public void requestDestroyed(ServletRequestEvent event)
+    {
+        ServletRequest request = event.getServletRequest();
+        List<GitLabApi> apis = getApis(request);
+        if (apis != null)
+        {
+            request.removeAttribute(ATTRIBUTE);
+            GitLabApiPool pool = GitLabApiPool.getSharedPool();
+            apis.forEach(pool::releaseGitLabApi);
+        }
+    }
+
+    static void releaseAtEndOfRequest(ServletRequest request, GitLabApi api)
+    {
+        List<GitLabApi> apis = getApis(request);
+        if (apis == null)
+        {
+            request.setAttribute(ATTRIBUTE, apis = new ArrayList<>(1));
+        }
+        apis.add(api);
+    }
+
+    static void releaseNow(ServletRequest request, GitLabApi api)
+    {
+        List<GitLabApi> apis = getApis(request);
+        if ((apis != null) && apis.remove(api))
+        {
+            GitLabApiPool.getSharedPool().releaseGitLabApi(api);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GitLabApi> getApis(ServletRequest request)
+    {
+        return (List<GitLabApi>) request.getAttribute(ATTRIBUTE);
+    }
+}
@@ -16,11 +16,12 @@ package org.finos.legend.sdlc.server.gitlab.auth;
 
 import com.google.inject.servlet.RequestScoped;
 import org.finos.legend.sdlc.server.auth.LegendSDLCWebFilter;
+import org.finos.legend.sdlc.server.auth.Session;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabAppInfo;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
 import org.finos.legend.sdlc.server.guice.UserContext;
 import org.gitlab4j.api.GitLabApi;
-import org.gitlab4j.api.GitLabApi.ApiVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +50,13 @@ public class GitLabUserContext extends UserContext
         this.appInfo = appInfo;
     }
 
+    GitLabUserContext(Session session, GitLabAppInfo appInfo)
+    {
+        super(session);
+        this.authorizerManager = null;
+        this.appInfo = appInfo;
+    }
+
     public void gitLabAuthCallback(String code)
     {
         GitLabSession gitLabSession = getGitLabSession();
@@ -101,7 +109,8 @@ public class GitLabUserContext extends UserContext
                     token = setGitlabTokenForSession(redirectAllowed, gitLabSession);
                 }
             }
-            this.api = new GitLabApi(ApiVersion.V4, this.appInfo.getServerInfo().getGitLabURLString(), token.getTokenType(), token.getToken());
+            this.api = GitLabApiPool.getSharedPool().acquireGitLabApi(this.appInfo.getServerInfo().getGitLabURLString(), token.getTokenType(), token.getToken());
+            GitLabApiRequestListener.releaseAtEndOfRequest(this.httpRequest, this.api);
         }
         return this.api;
     }
@@ -179,12 +188,35 @@ public class GitLabUserContext extends UserContext
 
     public void clearAccessToken()
     {
-        this.api = null;
+        if (this.api != null)
+        {
+            // the token is no longer valid, so the client for it should not be reused
+            GitLabApiPool.getSharedPool().invalidateGitLabApi(this.api);
+            GitLabApiRequestListener.releaseNow(this.httpRequest, this.api);
+            this.api = null;
+        }
         GitLabSession gitLabSession = getGitLabSession();
         gitLabSession.clearGitLabToken();
         LegendSDLCWebFilter.setSessionCookie(this.httpResponse, gitLabSession);
     }
 
+    /**
+     * Get a copy of this context which remains usable after the current request is complete, for example from a
+     * background task. It holds its own reference to the current {@link GitLabApi}, which is released when it is
+     * closed. Since it has no access to the request, it cannot refresh or re-authorize the token.
+     *
+     * @return detached user context
+     */
+    public DetachedGitLabUserContext detach()
+    {
+        GitLabApi gitLabApi = getGitLabAPI();
+        if (!GitLabApiPool.getSharedPool().retainGitLabApi(gitLabApi))
+        {
+            throw new IllegalStateException("GitLab API for user " + getCurrentUser() + " is no longer available");
+        }
+        return new DetachedGitLabUserContext(this.session, this.appInfo, gitLabApi);
+    }
+
     private GitLabSession getGitLabSession()
     {
         return (GitLabSession) this.session;
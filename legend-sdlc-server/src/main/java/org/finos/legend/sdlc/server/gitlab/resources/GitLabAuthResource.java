@@ -84,7 +84,7 @@ public class GitLabAuthResource extends BaseResource
             GitLabApi api = this.userContext.getGitLabAPI();
             try
             {
-                GitLabApiTools.callWithRetries(() -> api.getUserApi().getCurrentUser(), 5, 1000);
+                GitLabApiTools.callWithRetries("getCurrentUser", () -> api.getUserApi().getCurrentUser(), 5, 1000);
                 // NOTE: we have to return a set for backward compatibility reason
                 return Collections.emptySet();
             }
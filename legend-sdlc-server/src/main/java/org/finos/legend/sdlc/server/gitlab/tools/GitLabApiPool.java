@@ -0,0 +1,383 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.gitlab4j.api.Constants.TokenType;
+import org.gitlab4j.api.GitLabApi;
+import org.gitlab4j.api.GitLabApi.ApiVersion;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A server-wide pool of {@link GitLabApi} instances, keyed by server and token. Each {@link GitLabApi} holds its own
+ * HTTP client, along with its TLS context and kept-alive connections, so reusing one across requests made with the
+ * same token avoids paying for client construction, connection setup, and TLS handshakes on every request.
+ * <p>
+ * The version of gitlab4j in use does not allow an HTTP client to be shared between instances with different tokens,
+ * so instances are pooled per token instead. The pool is bounded in the number of clients (and so in the number of
+ * tokens), not in the number of connections; each client manages its own connections. Instances which have not been
+ * used for the idle timeout are evicted, as are the least recently used ones when the pool is full.
+ * <p>
+ * Instances are reference counted: each call to {@link #acquireGitLabApi} must be matched by a call to
+ * {@link #releaseGitLabApi}. An evicted or invalidated instance is closed, and its token dropped, as soon as its last
+ * reference is released.
+ */
+public class GitLabApiPool
+{
+    private static final String HIT_METRIC = "gitlab api pool hit";
+    private static final String MISS_METRIC = "gitlab api pool miss";
+    private static final String EVICTION_METRIC = "gitlab api pool eviction";
+    private static final String SIZE_METRIC = "gitlab api pool size";
+    private static final String UTILIZATION_METRIC = "gitlab api pool utilization";
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60L * 1000L;
+
+    private static volatile GitLabApiPool sharedPool;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final IdentityHashMap<GitLabApi, Entry> entriesByApi = new IdentityHashMap<>();
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final Integer connectTimeoutMillis;
+    private final Integer readTimeoutMillis;
+
+    private GitLabApiPool(int maxSize, long idleTimeoutMillis, Integer connectTimeoutMillis, Integer readTimeoutMillis)
+    {
+        if (maxSize < 0)
+        {
+            throw new IllegalArgumentException("Invalid max size: " + maxSize);
+        }
+        if (idleTimeoutMillis < 0L)
+        {
+            throw new IllegalArgumentException("Invalid idle timeout: " + idleTimeoutMillis);
+        }
+        if ((connectTimeoutMillis != null) && (connectTimeoutMillis < 0))
+        {
+            throw new IllegalArgumentException("Invalid connect timeout: " + connectTimeoutMillis);
+        }
+        if ((readTimeoutMillis != null) && (readTimeoutMillis < 0))
+        {
+            throw new IllegalArgumentException("Invalid read timeout: " + readTimeoutMillis);
+        }
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Acquire a {@link GitLabApi} for the given server and token, reusing a pooled one if possible. The caller must
+     * call {@link #releaseGitLabApi} when it is done with it, and must not use it afterwards.
+     *
+     * @param serverURL GitLab server URL
+     * @param tokenType token type
+     * @param token     token
+     * @return GitLab API
+     */
+    public GitLabApi acquireGitLabApi(String serverURL, TokenType tokenType, String token)
+    {
+        Key key = new Key(serverURL, tokenType, token);
+        long now = System.nanoTime();
+        synchronized (this.entries)
+        {
+            evictIdle(now);
+            Entry entry = this.entries.get(key);
+            if (entry != null)
+            {
+                entry.references++;
+                entry.lastAccessNanos = now;
+                SDLCMetricsHandler.incrementCounter(HIT_METRIC);
+                return entry.api;
+            }
+        }
+
+        SDLCMetricsHandler.incrementCounter(MISS_METRIC);
+        GitLabApi api = newGitLabApi(serverURL, tokenType, token);
+        synchronized (this.entries)
+        {
+            if (this.maxSize == 0)
+            {
+                Entry entry = new Entry(key, api, now);
+                entry.pooled = false;
+                this.entriesByApi.put(api, entry);
+                return api;
+            }
+
+            // another thread may have created one in the meantime
+            Entry entry = this.entries.get(key);
+            if (entry != null)
+            {
+                entry.references++;
+                entry.lastAccessNanos = now;
+                api.close();
+                return entry.api;
+            }
+            entry = new Entry(key, api, now);
+            this.entries.put(key, entry);
+            this.entriesByApi.put(api, entry);
+            Iterator<Entry> iterator = this.entries.values().iterator();
+            while ((this.entries.size() > this.maxSize) && iterator.hasNext())
+            {
+                evict(iterator.next(), iterator);
+            }
+            updateGauges();
+        }
+        return api;
+    }
+
+    /**
+     * Add a reference to a {@link GitLabApi} already acquired from {@link #acquireGitLabApi}, so that it stays open
+     * after the original holder releases it. Each successful retain must be matched by a call to
+     * {@link #releaseGitLabApi}.
+     *
+     * @param api GitLab API
+     * @return whether the reference was added (false if the api is not known to the pool or has already been closed)
+     */
+    public boolean retainGitLabApi(GitLabApi api)
+    {
+        synchronized (this.entries)
+        {
+            Entry entry = this.entriesByApi.get(api);
+            if ((entry == null) || (entry.references <= 0))
+            {
+                return false;
+            }
+            entry.references++;
+            entry.lastAccessNanos = System.nanoTime();
+            return true;
+        }
+    }
+
+    /**
+     * Release a {@link GitLabApi} acquired from {@link #acquireGitLabApi}. If it has been evicted or invalidated and
+     * this was its last reference, it is closed.
+     *
+     * @param api GitLab API
+     */
+    public void releaseGitLabApi(GitLabApi api)
+    {
+        long now = System.nanoTime();
+        synchronized (this.entries)
+        {
+            Entry entry = this.entriesByApi.get(api);
+            if ((entry == null) || (entry.references <= 0))
+            {
+                return;
+            }
+            entry.references--;
+            if (entry.pooled)
+            {
+                // touch the entry so that the access order reflects the last use
+                entry.lastAccessNanos = now;
+                this.entries.get(entry.key);
+            }
+            else if (entry.references == 0)
+            {
+                close(entry);
+            }
+        }
+    }
+
+    /**
+     * Remove a {@link GitLabApi} from the pool so it will not be handed out again, for example because its token has
+     * been revoked or replaced. It is closed once all references to it have been released.
+     *
+     * @param api GitLab API
+     */
+    public void invalidateGitLabApi(GitLabApi api)
+    {
+        synchronized (this.entries)
+        {
+            Entry entry = this.entriesByApi.get(api);
+            if ((entry != null) && entry.pooled)
+            {
+                this.entries.remove(entry.key);
+                entry.pooled = false;
+                if (entry.references == 0)
+                {
+                    close(entry);
+                }
+                updateGauges();
+            }
+        }
+    }
+
+    public int size()
+    {
+        synchronized (this.entries)
+        {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Check whether a {@link GitLabApi} from this pool is still open; that is, whether it is still pooled or is still
+     * referenced by someone.
+     *
+     * @param api GitLab API
+     * @return whether the api is open
+     */
+    public boolean isOpen(GitLabApi api)
+    {
+        synchronized (this.entries)
+        {
+            return this.entriesByApi.containsKey(api);
+        }
+    }
+
+    private GitLabApi newGitLabApi(String serverURL, TokenType tokenType, String token)
+    {
+        GitLabApi api = new GitLabApi(ApiVersion.V4, serverURL, tokenType, token);
+        if ((this.connectTimeoutMillis != null) || (this.readTimeoutMillis != null))
+        {
+            api.setRequestTimeout(this.connectTimeoutMillis, this.readTimeoutMillis);
+        }
+        return api;
+    }
+
+    private void evictIdle(long now)
+    {
+        // entries are in access order, so the idle ones are at the start
+        boolean evicted = false;
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext())
+        {
+            Entry entry = iterator.next();
+            if ((now - entry.lastAccessNanos) < this.idleTimeoutNanos)
+            {
+                break;
+            }
+            evict(entry, iterator);
+            evicted = true;
+        }
+        if (evicted)
+        {
+            updateGauges();
+        }
+    }
+
+    private void evict(Entry entry, Iterator<Entry> iterator)
+    {
+        iterator.remove();
+        entry.pooled = false;
+        if (entry.references == 0)
+        {
+            close(entry);
+        }
+        SDLCMetricsHandler.incrementCounter(EVICTION_METRIC);
+    }
+
+    private void close(Entry entry)
+    {
+        this.entriesByApi.remove(entry.api);
+        entry.api.close();
+    }
+
+    private void updateGauges()
+    {
+        int size = this.entries.size();
+        SDLCMetricsHandler.setGauge(SIZE_METRIC, size);
+        SDLCMetricsHandler.setGauge(UTILIZATION_METRIC, (double) size / this.maxSize);
+    }
+
+    public static GitLabApiPool newPool(int maxSize, long idleTimeoutMillis, Integer connectTimeoutMillis, Integer readTimeoutMillis)
+    {
+        return new GitLabApiPool(maxSize, idleTimeoutMillis, connectTimeoutMillis, readTimeoutMillis);
+    }
+
+    /**
+     * Get the server-wide pool. If none has been configured, one with the default settings is created.
+     *
+     * @return server-wide pool
+     */
+    public static GitLabApiPool getSharedPool()
+    {
+        GitLabApiPool pool = sharedPool;
+        if (pool == null)
+        {
+            synchronized (GitLabApiPool.class)
+            {
+                pool = sharedPool;
+                if (pool == null)
+                {
+                    sharedPool = pool = newPool(DEFAULT_MAX_SIZE, DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+                }
+            }
+        }
+        return pool;
+    }
+
+    public static synchronized void setSharedPool(GitLabApiPool pool)
+    {
+        sharedPool = pool;
+    }
+
+    private static class Entry
+    {
+        private final Key key;
+        private final GitLabApi api;
+        private long lastAccessNanos;
+        private int references = 1;
+        private boolean pooled = true;
+
+        private Entry(Key key, GitLabApi api, long lastAccessNanos)
+        {
+            this.key = key;
+            this.api = api;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    private static class Key
+    {
+        private final String serverURL;
+        private final TokenType tokenType;
+        private final String token;
+
+        private Key(String serverURL, TokenType tokenType, String token)
+        {
+            this.serverURL = Objects.requireNonNull(serverURL, "server URL may not be null");
+            this.tokenType = Objects.requireNonNull(tokenType, "token type may not be null");
+            this.token = Objects.requireNonNull(token, "token may not be null");
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+            Key that = (Key) other;
+            return this.serverURL.equals(that.serverURL) && (this.tokenType == that.tokenType) && this.token.equals(that.token);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.serverURL.hashCode() + 31 * (this.tokenType.hashCode() + 31 * this.token.hashCode());
+        }
+    }
+}
@@ -41,12 +41,58 @@ public class GitLabApiTools
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabApiTools.class);
     private static final String RETRY_METRIC = "gitlab retryable exception";
 
+    private static final ThreadLocal<Boolean> IN_INSTRUMENTED_CALL = ThreadLocal.withInitial(() -> false);
+
+    public static final String METRICS_SERVICE = "gitlab";
+
     public static <T> T callWithRetries(ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long waitIntervalMillis) throws GitLabApiException
     {
         return callWithRetries(apiCall, maxRetries, waitIntervalMillis, null);
     }
 
     public static <T> T callWithRetries(ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long initialWaitIntervalMillis, LongUnaryOperator waitIntervalUpdater) throws GitLabApiException
+    {
+        return callWithRetries(null, apiCall, maxRetries, initialWaitIntervalMillis, waitIntervalUpdater);
+    }
+
+    public static <T> T callWithRetries(String endpoint, ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long waitIntervalMillis) throws GitLabApiException
+    {
+        return callWithRetries(endpoint, apiCall, maxRetries, waitIntervalMillis, null);
+    }
+
+    /**
+     * Call the GitLab API, retrying on retryable exceptions. If endpoint is non-null, each attempt is instrumented as
+     * a call to that endpoint (see {@link #instrumentCall}) and retries are counted against it.
+     *
+     * @param endpoint                  logical GitLab endpoint (optional)
+     * @param apiCall                   GitLab API call
+     * @param maxRetries                maximum number of retries
+     * @param initialWaitIntervalMillis initial wait between attempts
+     * @param waitIntervalUpdater       wait interval updater (optional)
+     * @param <T>                       result type
+     * @return result of the call
+     * @throws GitLabApiException if the call fails and cannot be retried
+     */
+    public static <T> T callWithRetries(String endpoint, ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long initialWaitIntervalMillis, LongUnaryOperator waitIntervalUpdater) throws GitLabApiException
+    {
+        return retryCall(endpoint, (endpoint == null) ? apiCall : () -> instrumentCall(endpoint, apiCall), maxRetries, initialWaitIntervalMillis, waitIntervalUpdater);
+    }
+
+    /**
+     * Call the GitLab API, retrying on retryable exceptions. Unlike {@link #callWithRetries}, attempts are not
+     * instrumented, which is left to the caller (for example, so that time spent waiting for the request governor is
+     * not counted as GitLab time); retries are still counted against the endpoint, if non-null.
+     *
+     * @param endpoint                  logical GitLab endpoint (optional)
+     * @param apiCall                   GitLab API call
+     * @param maxRetries                maximum number of retries
+     * @param initialWaitIntervalMillis initial wait between attempts
+     * @param waitIntervalUpdater       wait interval updater (optional)
+     * @param <T>                       result type
+     * @return result of the call
+     * @throws GitLabApiException if the call fails and cannot be retried
+     */
+    public static <T> T retryCall(String endpoint, ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long initialWaitIntervalMillis, LongUnaryOperator waitIntervalUpdater) throws GitLabApiException
     {
         if (maxRetries <= 0)
         {
@@ -64,7 +110,7 @@ public class GitLabApiTools
             {
                 throw e;
             }
-            noteRetryableException();
+            noteRetryableException(endpoint);
             exceptions = Lists.mutable.ofInitialCapacity(maxRetries + 1);
             exceptions.add(e);
             LOGGER.error(getRetryableExceptionLogMessage(e, 1), e);
@@ -100,7 +146,7 @@ public class GitLabApiTools
                     addSuppressedExceptions(e, exceptions);
                     throw e;
                 }
-                noteRetryableException();
+                noteRetryableException(endpoint);
                 exceptions.add(e);
                 LOGGER.error(getRetryableExceptionLogMessage(e, i + 2), e);
             }
@@ -198,9 +244,59 @@ public class GitLabApiTools
         return builder.toString();
     }
 
-    private static void noteRetryableException()
+    private static void noteRetryableException(String endpoint)
     {
         SDLCMetricsHandler.incrementCounter(RETRY_METRIC);
+        if (endpoint != null)
+        {
+            SDLCMetricsHandler.downstreamCallRetry(METRICS_SERVICE, endpoint);
+        }
+    }
+
+    /**
+     * Make a GitLab API call, recording its latency and outcome against the given logical endpoint (such as getBranch
+     * or createCommit). The call is also counted towards the stats of the request being served.
+     *
+     * @param endpoint logical GitLab endpoint
+     * @param apiCall  GitLab API call
+     * @param <T>      result type
+     * @param <E>      exception type
+     * @return result of the call
+     * @throws E if the call throws
+     */
+    public static <T, E extends Exception> T instrumentCall(String endpoint, ThrowingSupplier<T, E> apiCall) throws E
+    {
+        if (IN_INSTRUMENTED_CALL.get())
+        {
+            // only the outermost instrumented call is recorded, so helpers wrapped by their callers are not double counted
+            return apiCall.get();
+        }
+
+        IN_INSTRUMENTED_CALL.set(true);
+        long start = System.nanoTime();
+        boolean success = false;
+        try
+        {
+            T result = apiCall.get();
+            success = true;
+            return result;
+        }
+        finally
+        {
+            IN_INSTRUMENTED_CALL.set(false);
+            SDLCMetricsHandler.downstreamCall(METRICS_SERVICE, endpoint, start, System.nanoTime(), success);
+        }
+    }
+
+    /**
+     * Record bytes transferred to or from GitLab for the given logical endpoint.
+     *
+     * @param endpoint logical GitLab endpoint
+     * @param bytes    number of bytes
+     */
+    public static void noteBytesTransferred(String endpoint, long bytes)
+    {
+        SDLCMetricsHandler.downstreamCallBytes(METRICS_SERVICE, endpoint, bytes);
     }
 
     public static boolean branchExists(GitLabApi api, Object projectIdOrPath, String branchName) throws GitLabApiException
@@ -222,7 +318,7 @@ public class GitLabApiTools
     {
         try
         {
-            return api.getBranch(projectIdOrPath, branchName);
+            return instrumentCall("getBranch", () -> api.getBranch(projectIdOrPath, branchName));
         }
         catch (GitLabApiException e)
         {
@@ -246,7 +342,11 @@ public class GitLabApiTools
         // Try to delete branch
         try
         {
-            api.deleteBranch(projectIdOrPath, branchName);
+            instrumentCall("deleteBranch", () ->
+            {
+                api.deleteBranch(projectIdOrPath, branchName);
+                return null;
+            });
         }
         catch (GitLabApiException e)
         {
@@ -272,7 +372,7 @@ public class GitLabApiTools
         if (branch == null)
         {
             // Branch does not exist in the expected form, try to create it
-            api.createBranch(projectIdOrPath, branchName, sourceCommitId);
+            instrumentCall("createBranch", () -> api.createBranch(projectIdOrPath, branchName, sourceCommitId));
             CallUntil<Branch, GitLabApiException> callUntil = CallUntil.callUntil(() -> getBranchAtCommit(api, projectIdOrPath, branchName, sourceCommitId), Objects::nonNull, maxVerificationTries, verificationWaitMillis);
             if (callUntil.succeeded())
             {
@@ -344,7 +444,7 @@ public class GitLabApiTools
             throw new LegendSDLCServerException("Source release version " + sourceTagName + " does not exist", Response.Status.CONFLICT);
         }
         Branch targetBranch = createBranchAndVerify(api.getRepositoryApi(), projectIdOrPath, branchName, sourceTag.getCommit().getId(), maxVerificationTries, verificationWaitMillis);
-        api.getProtectedBranchesApi().protectBranch(projectIdOrPath, branchName, AccessLevel.NONE, AccessLevel.MAINTAINER, AccessLevel.MAINTAINER, true);
+        instrumentCall("protectBranch", () -> api.getProtectedBranchesApi().protectBranch(projectIdOrPath, branchName, AccessLevel.NONE, AccessLevel.MAINTAINER, AccessLevel.MAINTAINER, true));
         return targetBranch;
     }
 
@@ -352,7 +452,7 @@ public class GitLabApiTools
     {
         try
         {
-           return api.getTagsApi().getTag(projectIdOrPath, tagName);
+            return instrumentCall("getTag", () -> api.getTagsApi().getTag(projectIdOrPath, tagName));
         }
         catch (GitLabApiException e)
         {
@@ -0,0 +1,55 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.gitlab4j.api.AbstractApi;
+import org.gitlab4j.api.GitLabApi;
+import org.gitlab4j.api.GitLabApiException;
+import org.gitlab4j.api.GitLabApiForm;
+
+import java.io.InputStream;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Access to repository archives, including archives restricted to a path within the repository. The version of
+ * gitlab4j in use does not support the path parameter of the archive API.
+ */
+public class GitLabArchiveApi extends AbstractApi
+{
+    public GitLabArchiveApi(GitLabApi gitLabApi)
+    {
+        super(gitLabApi);
+    }
+
+    /**
+     * Get a tar.gz archive of the repository at the given reference. If path is non-null, the archive only includes
+     * files under that path. Paths of entries in the archive are relative to the root of the repository either way.
+     *
+     * @param projectIdOrPath project id or path
+     * @param sha             commit id or other reference
+     * @param path            path within the repository (optional)
+     * @return archive input stream
+     * @throws GitLabApiException if there is an error getting the archive
+     */
+    public InputStream getRepositoryArchive(Object projectIdOrPath, String sha, String path) throws GitLabApiException
+    {
+        GitLabApiForm formData = new GitLabApiForm()
+                .withParam("sha", sha)
+                .withParam("path", path);
+        Response response = getWithAccepts(Response.Status.OK, formData.asMap(), MediaType.WILDCARD, "projects", getProjectIdOrPath(projectIdOrPath), "repository", "archive.tar.gz");
+        return response.readEntity(InputStream.class);
+    }
+}
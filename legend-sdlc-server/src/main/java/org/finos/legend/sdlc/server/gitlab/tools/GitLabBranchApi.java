@@ -0,0 +1,59 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.gitlab4j.api.AbstractApi;
+import org.gitlab4j.api.GitLabApi;
+import org.gitlab4j.api.GitLabApiException;
+import org.gitlab4j.api.GitLabApiForm;
+import org.gitlab4j.api.models.Branch;
+
+import java.util.List;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Access to individual pages of branch searches. The version of gitlab4j in use only supports branch searches via a
+ * {@link org.gitlab4j.api.Pager}, which cannot be used to fetch pages concurrently.
+ */
+public class GitLabBranchApi extends AbstractApi
+{
+    public GitLabBranchApi(GitLabApi gitLabApi)
+    {
+        super(gitLabApi);
+    }
+
+    /**
+     * Get a page of the branches of a project whose names match the given search.
+     *
+     * @param projectIdOrPath project id or path
+     * @param search          branch name search (optional)
+     * @param page            page number (1-based)
+     * @param perPage         number of branches per page
+     * @return page of branches
+     * @throws GitLabApiException if there is an error getting the branches
+     */
+    public List<Branch> getBranches(Object projectIdOrPath, String search, int page, int perPage) throws GitLabApiException
+    {
+        GitLabApiForm formData = new GitLabApiForm()
+                .withParam("search", search)
+                .withParam(PAGE_PARAM, page)
+                .withParam(PER_PAGE_PARAM, perPage);
+        Response response = get(Response.Status.OK, formData.asMap(), "projects", getProjectIdOrPath(projectIdOrPath), "repository", "branches");
+        return response.readEntity(new GenericType<List<Branch>>()
+        {
+        });
+    }
+}
@@ -0,0 +1,242 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.finos.legend.sdlc.server.tools.SingleFlight;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
+import org.gitlab4j.api.GitLabApiException;
+import org.gitlab4j.api.models.Commit;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A short-lived cache of reference (branch, tag, etc.) to commit resolutions. Entries are kept for a configurable
+ * time to live (a few seconds by default), and concurrent resolutions of the same reference are coalesced into a
+ * single call to GitLab. With a time to live of zero, nothing is retained but concurrent resolutions are still
+ * coalesced.
+ * <p>
+ * Entries are keyed by user as well as by project and reference, so one user's resolution is never used to answer
+ * another user's request. Writes to a project should call {@link #invalidate} so that subsequent resolutions see
+ * the new head immediately.
+ */
+public class GitLabReferenceCache
+{
+    private static final String HIT_METRIC = "reference cache hit";
+    private static final String MISS_METRIC = "reference cache miss";
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    public static final long DEFAULT_TTL_MILLIS = 3_000L;
+
+    private static volatile GitLabReferenceCache sharedCache;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<Key, Commit> singleFlight = new SingleFlight<>();
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final long ttlNanos;
+
+    private GitLabReferenceCache(long ttlMillis)
+    {
+        if (ttlMillis < 0L)
+        {
+            throw new IllegalArgumentException("Invalid time to live: " + ttlMillis);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Resolve a reference to a commit, using a cached resolution if there is an unexpired one. Otherwise, the
+     * resolver is called (coalesced with any concurrent calls for the same user, project, and reference). Null
+     * results are not cached.
+     *
+     * @param user      user on whose behalf the reference is being resolved
+     * @param projectId GitLab project id
+     * @param reference reference to resolve
+     * @param resolver  function to resolve the reference with GitLab
+     * @return commit or null
+     * @throws GitLabApiException if the resolver throws
+     */
+    public Commit resolve(String user, GitLabProjectId projectId, String reference, ThrowingSupplier<? extends Commit, ? extends GitLabApiException> resolver) throws GitLabApiException
+    {
+        Key key = new Key(user, projectId, reference);
+        if (this.ttlNanos > 0L)
+        {
+            Entry entry = this.entries.get(key);
+            if (entry != null)
+            {
+                if (!entry.isExpired(System.nanoTime()))
+                {
+                    SDLCMetricsHandler.incrementCounter(HIT_METRIC);
+                    return entry.commit;
+                }
+                this.entries.remove(key, entry);
+            }
+        }
+        SDLCMetricsHandler.incrementCounter(MISS_METRIC);
+        return this.singleFlight.call(key, () ->
+        {
+            long invalidations = this.invalidationCount.get();
+            Commit commit = resolver.get();
+            // do not cache the resolution if there was an invalidation while resolving, as it may be stale
+            if ((commit != null) && (this.ttlNanos > 0L) && (invalidations == this.invalidationCount.get()))
+            {
+                put(key, new Entry(commit, System.nanoTime() + this.ttlNanos));
+            }
+            return commit;
+        });
+    }
+
+    /**
+     * Get the unexpired cached resolution of a reference, if there is one. This never calls GitLab.
+     *
+     * @param user      user on whose behalf the reference is being resolved
+     * @param projectId GitLab project id
+     * @param reference reference
+     * @return cached commit or null
+     */
+    public Commit peek(String user, GitLabProjectId projectId, String reference)
+    {
+        if (this.ttlNanos <= 0L)
+        {
+            return null;
+        }
+        Entry entry = this.entries.get(new Key(user, projectId, reference));
+        return ((entry == null) || entry.isExpired(System.nanoTime())) ? null : entry.commit;
+    }
+
+    /**
+     * Invalidate all cached resolutions of references in a project, for all users.
+     *
+     * @param projectId GitLab project id
+     */
+    public void invalidate(GitLabProjectId projectId)
+    {
+        this.invalidationCount.incrementAndGet();
+        if (!this.entries.isEmpty())
+        {
+            this.entries.keySet().removeIf(k -> k.projectId.equals(projectId));
+        }
+    }
+
+    public long getTimeToLiveMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(this.ttlNanos);
+    }
+
+    private void put(Key key, Entry entry)
+    {
+        if (this.entries.size() >= MAX_ENTRIES)
+        {
+            long now = System.nanoTime();
+            this.entries.values().removeIf(e -> e.isExpired(now));
+            if (this.entries.size() >= MAX_ENTRIES)
+            {
+                this.entries.clear();
+            }
+        }
+        this.entries.put(key, entry);
+    }
+
+    public static GitLabReferenceCache newCache(long ttlMillis)
+    {
+        return new GitLabReferenceCache(ttlMillis);
+    }
+
+    /**
+     * Get the server-wide reference cache. If none has been configured, one with the default time to live is
+     * created.
+     *
+     * @return server-wide reference cache
+     */
+    public static GitLabReferenceCache getSharedCache()
+    {
+        GitLabReferenceCache cache = sharedCache;
+        if (cache == null)
+        {
+            synchronized (GitLabReferenceCache.class)
+            {
+                cache = sharedCache;
+                if (cache == null)
+                {
+                    sharedCache = cache = newCache(DEFAULT_TTL_MILLIS);
+                }
+            }
+        }
+        return cache;
+    }
+
+    public static synchronized void setSharedCache(GitLabReferenceCache cache)
+    {
+        sharedCache = cache;
+    }
+
+    private static class Entry
+    {
+        private final Commit commit;
+        private final long expirationNanos;
+
+        private Entry(Commit commit, long expirationNanos)
+        {
+            this.commit = commit;
+            this.expirationNanos = expirationNanos;
+        }
+
+        private boolean isExpired(long now)
+        {
+            return (now - this.expirationNanos) >= 0L;
+        }
+    }
+
+    private static class Key
+    {
+        private final String user;
+        private final GitLabProjectId projectId;
+        private final String reference;
+
+        private Key(String user, GitLabProjectId projectId, String reference)
+        {
+            this.user = user;
+            this.projectId = Objects.requireNonNull(projectId, "project id may not be null");
+            this.reference = Objects.requireNonNull(reference, "reference may not be null");
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+            Key that = (Key) other;
+            return Objects.equals(this.user, that.user) && this.projectId.equals(that.projectId) && this.reference.equals(that.reference);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hashCode(this.user) + 31 * (this.projectId.hashCode() + 31 * this.reference.hashCode());
+        }
+    }
+}
@@ -0,0 +1,385 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
+import org.gitlab4j.api.GitLabApiException;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * Limits the number of concurrent calls to GitLab, adapting the limit to GitLab's load. Each kind of request (read
+ * or write) has its own limit, which grows additively while calls succeed and is halved whenever GitLab reports that
+ * it is overloaded (429 or 503). After an overload response, no new calls of that kind are started until a backoff
+ * period has passed; the backoff doubles on consecutive overloads and resets on success.
+ * <p>
+ * Calls waiting for a permit are queued per user and served round-robin across users, so one user issuing many
+ * calls cannot starve others. A call which waits longer than the maximum queue wait fails with
+ * {@link Status#SERVICE_UNAVAILABLE} rather than adding to GitLab's load. Time spent waiting for a permit is
+ * reported separately from the time of the GitLab calls themselves.
+ * <p>
+ * The version of gitlab4j in use does not expose response headers on errors, so Retry-After and RateLimit-* headers
+ * cannot be honored; the backoff is used instead.
+ */
+public class GitLabRequestGovernor
+{
+    public enum RequestKind
+    {
+        READ, WRITE
+    }
+
+    private static final String OVERLOAD_METRIC = "gitlab governor overload";
+    private static final String QUEUE_TIMEOUT_METRIC = "gitlab governor queue timeout";
+
+    private static final long INITIAL_BACKOFF_MILLIS = 500L;
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+    public static final int DEFAULT_MAX_READ_CONCURRENCY = 64;
+    public static final int DEFAULT_MAX_WRITE_CONCURRENCY = 16;
+    public static final long DEFAULT_MAX_QUEUE_WAIT_MILLIS = 60_000L;
+
+    private static volatile GitLabRequestGovernor sharedGovernor;
+
+    private final Limiter readLimiter;
+    private final Limiter writeLimiter;
+
+    private GitLabRequestGovernor(int maxReadConcurrency, int maxWriteConcurrency, long maxQueueWaitMillis)
+    {
+        if (maxQueueWaitMillis < 0L)
+        {
+            throw new IllegalArgumentException("Invalid max queue wait: " + maxQueueWaitMillis);
+        }
+        this.readLimiter = new Limiter("read", maxReadConcurrency, maxQueueWaitMillis);
+        this.writeLimiter = new Limiter("write", maxWriteConcurrency, maxQueueWaitMillis);
+    }
+
+    /**
+     * Make a call to GitLab once a permit is available for the given user and kind of request. If no permit becomes
+     * available within the maximum queue wait, or the thread is interrupted while waiting, the call is not made and
+     * this fails with {@link Status#SERVICE_UNAVAILABLE}.
+     *
+     * @param user    user on whose behalf the call is made (may be null)
+     * @param kind    kind of request
+     * @param apiCall GitLab API call
+     * @param <T>     result type
+     * @param <E>     exception type
+     * @return result of the call
+     * @throws E if the call throws
+     */
+    public <T, E extends Exception> T call(String user, RequestKind kind, ThrowingSupplier<T, E> apiCall) throws E
+    {
+        Limiter limiter = (kind == RequestKind.WRITE) ? this.writeLimiter : this.readLimiter;
+        limiter.acquire(user);
+        boolean overloaded = false;
+        try
+        {
+            return apiCall.get();
+        }
+        catch (Exception e)
+        {
+            overloaded = isOverloadException(e);
+            throw e;
+        }
+        finally
+        {
+            limiter.release(overloaded);
+        }
+    }
+
+    public int getLimit(RequestKind kind)
+    {
+        return ((kind == RequestKind.WRITE) ? this.writeLimiter : this.readLimiter).getLimit();
+    }
+
+    public int getQueueDepth(RequestKind kind)
+    {
+        return ((kind == RequestKind.WRITE) ? this.writeLimiter : this.readLimiter).getQueueDepth();
+    }
+
+    private static boolean isOverloadException(Exception e)
+    {
+        if (!(e instanceof GitLabApiException))
+        {
+            return false;
+        }
+        int status = ((GitLabApiException) e).getHttpStatus();
+        return (status == Status.TOO_MANY_REQUESTS.getStatusCode()) || (status == Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+
+    public static GitLabRequestGovernor newGovernor(int maxReadConcurrency, int maxWriteConcurrency, long maxQueueWaitMillis)
+    {
+        return new GitLabRequestGovernor(maxReadConcurrency, maxWriteConcurrency, maxQueueWaitMillis);
+    }
+
+    /**
+     * Get the server-wide governor. If none has been configured, one with the default settings is created.
+     *
+     * @return server-wide governor
+     */
+    public static GitLabRequestGovernor getSharedGovernor()
+    {
+        GitLabRequestGovernor governor = sharedGovernor;
+        if (governor == null)
+        {
+            synchronized (GitLabRequestGovernor.class)
+            {
+                governor = sharedGovernor;
+                if (governor == null)
+                {
+                    sharedGovernor = governor = newGovernor(DEFAULT_MAX_READ_CONCURRENCY, DEFAULT_MAX_WRITE_CONCURRENCY, DEFAULT_MAX_QUEUE_WAIT_MILLIS);
+                }
+            }
+        }
+        return governor;
+    }
+
+    public static synchronized void setSharedGovernor(GitLabRequestGovernor governor)
+    {
+        sharedGovernor = governor;
+    }
+
+    private static class Limiter
+    {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition changed = this.lock.newCondition();
+        private final LinkedHashMap<String, ArrayDeque<Waiter>> queues = new LinkedHashMap<>();
+        private final String limitMetric;
+        private final String queueDepthMetric;
+        private final String inFlightMetric;
+        private final String queueWaitMetric;
+        private final int maxLimit;
+        private final long maxQueueWaitNanos;
+        private double limit;
+        private int inFlight = 0;
+        private int queueDepth = 0;
+        private long backoffNanos = TimeUnit.MILLISECONDS.toNanos(INITIAL_BACKOFF_MILLIS);
+        private long cooldownUntilNanos;
+        private boolean coolingDown = false;
+
+        private Limiter(String kind, int maxLimit, long maxQueueWaitMillis)
+        {
+            if (maxLimit < 1)
+            {
+                throw new IllegalArgumentException("Invalid max " + kind + " concurrency: " + maxLimit);
+            }
+            this.limitMetric = "gitlab governor " + kind + " limit";
+            this.queueDepthMetric = "gitlab governor " + kind + " queue depth";
+            this.inFlightMetric = "gitlab governor " + kind + " in flight";
+            this.queueWaitMetric = "gitlab governor " + kind + " queue wait";
+            this.maxLimit = maxLimit;
+            this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+            this.limit = maxLimit;
+        }
+
+        /**
+         * Acquire a permit, waiting if necessary. Fails with {@link Status#SERVICE_UNAVAILABLE} if no permit is granted
+         * within the maximum queue wait or if the thread is interrupted while waiting; in the latter case, the
+         * interrupt flag is restored.
+         */
+        private void acquire(String user)
+        {
+            this.lock.lock();
+            try
+            {
+                long now = System.nanoTime();
+                if ((this.queueDepth == 0) && canStart(now))
+                {
+                    this.inFlight++;
+                    updateGauges();
+                    SDLCMetricsHandler.observeDuration(this.queueWaitMetric, now, now);
+                    return;
+                }
+
+                Waiter waiter = new Waiter();
+                this.queues.computeIfAbsent(user, k -> new ArrayDeque<>()).addLast(waiter);
+                this.queueDepth++;
+                updateGauges();
+                long start = now;
+                long deadline = start + this.maxQueueWaitNanos;
+                try
+                {
+                    while (!waiter.granted)
+                    {
+                        now = System.nanoTime();
+                        dispatch(now);
+                        if (waiter.granted)
+                        {
+                            break;
+                        }
+                        long remaining = deadline - now;
+                        if (remaining <= 0L)
+                        {
+                            removeWaiter(user, waiter);
+                            SDLCMetricsHandler.incrementCounter(QUEUE_TIMEOUT_METRIC);
+                            throw new LegendSDLCServerException("GitLab is overloaded, please try again later", Status.SERVICE_UNAVAILABLE);
+                        }
+                        if (this.coolingDown)
+                        {
+                            remaining = Math.min(remaining, this.cooldownUntilNanos - now);
+                        }
+                        this.changed.awaitNanos(Math.max(remaining, 1L));
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    if (!waiter.granted)
+                    {
+                        removeWaiter(user, waiter);
+                        throw new LegendSDLCServerException("Interrupted while waiting to call GitLab", Status.SERVICE_UNAVAILABLE, e);
+                    }
+                    // a permit was granted before the interrupt, so the call may go ahead
+                }
+                SDLCMetricsHandler.observeDuration(this.queueWaitMetric, start, System.nanoTime());
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+        }
+
+        private void release(boolean overloaded)
+        {
+            this.lock.lock();
+            try
+            {
+                this.inFlight--;
+                long now = System.nanoTime();
+                if (overloaded)
+                {
+                    SDLCMetricsHandler.incrementCounter(OVERLOAD_METRIC);
+                    this.limit = Math.max(1.0, this.limit / 2.0);
+                    this.cooldownUntilNanos = now + this.backoffNanos;
+                    this.coolingDown = true;
+                    this.backoffNanos = Math.min(this.backoffNanos * 2L, TimeUnit.MILLISECONDS.toNanos(MAX_BACKOFF_MILLIS));
+                }
+                else
+                {
+                    // additive increase: about one more permit per window of successful calls
+                    this.limit = Math.min(this.maxLimit, this.limit + (1.0 / this.limit));
+                    this.backoffNanos = TimeUnit.MILLISECONDS.toNanos(INITIAL_BACKOFF_MILLIS);
+                }
+                dispatch(now);
+                updateGauges();
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+        }
+
+        private int getLimit()
+        {
+            this.lock.lock();
+            try
+            {
+                return (int) this.limit;
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+        }
+
+        private int getQueueDepth()
+        {
+            this.lock.lock();
+            try
+            {
+                return this.queueDepth;
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+        }
+
+        private boolean canStart(long now)
+        {
+            if (this.coolingDown)
+            {
+                if ((now - this.cooldownUntilNanos) < 0L)
+                {
+                    return false;
+                }
+                this.coolingDown = false;
+            }
+            return this.inFlight < (int) this.limit;
+        }
+
+        // grant permits to queued waiters, taking one waiter from each user in turn
+        private void dispatch(long now)
+        {
+            boolean granted = false;
+            while ((this.queueDepth > 0) && canStart(now))
+            {
+                Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = this.queues.entrySet().iterator();
+                Map.Entry<String, ArrayDeque<Waiter>> next = iterator.next();
+                iterator.remove();
+                ArrayDeque<Waiter> userQueue = next.getValue();
+                Waiter waiter = userQueue.removeFirst();
+                if (!userQueue.isEmpty())
+                {
+                    // move the user to the back of the line
+                    this.queues.put(next.getKey(), userQueue);
+                }
+                waiter.granted = true;
+                this.queueDepth--;
+                this.inFlight++;
+                granted = true;
+            }
+            if (granted)
+            {
+                this.changed.signalAll();
+                updateGauges();
+            }
+        }
+
+        private void removeWaiter(String user, Waiter waiter)
+        {
+            ArrayDeque<Waiter> userQueue = this.queues.get(user);
+            if ((userQueue != null) && userQueue.remove(waiter))
+            {
+                this.queueDepth--;
+                if (userQueue.isEmpty())
+                {
+                    this.queues.remove(user);
+                }
+                updateGauges();
+            }
+        }
+
+        private void updateGauges()
+        {
+            SDLCMetricsHandler.setGauge(this.limitMetric, (int) this.limit);
+            SDLCMetricsHandler.setGauge(this.queueDepthMetric, this.queueDepth);
+            SDLCMetricsHandler.setGauge(this.inFlightMetric, this.inFlight);
+        }
+    }
+
+    private static class Waiter
+    {
+        private boolean granted = false;
+    }
+}
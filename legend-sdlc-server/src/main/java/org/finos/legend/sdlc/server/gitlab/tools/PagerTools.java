@@ -15,11 +15,21 @@
 package org.finos.legend.sdlc.server.gitlab.tools;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.sdlc.server.tools.ThrowingFunction;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.Pager;
 
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.Collector;
@@ -33,6 +43,12 @@ public class PagerTools
     private static final long DEFAULT_INITIAL_RETRY_WAIT_INTERVAL_MILLIS = 1000L;
     private static final LongUnaryOperator DEFAULT_RETRY_WAIT_INTERVAL_UPDATER = w -> w + 1000L;
 
+    private static final String NEXT_PAGE_ENDPOINT = "getNextPage";
+
+    public static final int DEFAULT_MAX_PREFETCH_PARALLELISM = 4;
+    private static final int PREFETCH_THREADS = 32;
+    private static final ExecutorService PREFETCH_EXECUTOR = newPrefetchExecutor();
+
     private PagerTools()
     {
         // static utility class
@@ -48,6 +64,46 @@ public class PagerTools
         return StreamSupport.stream(new PagerSpliterator<>(pager, maxRetries, initialRetryWaitInterval, retryWaitIntervalIncrementer), false);
     }
 
+    public static <T> Stream<T> stream(Pager<T> pager, ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher)
+    {
+        return stream(pager, pageFetcher, DEFAULT_MAX_PREFETCH_PARALLELISM);
+    }
+
+    /**
+     * Stream the items of a pager, prefetching pages concurrently. Once the first page has been read from the pager,
+     * the remaining pages are fetched with pageFetcher, with at most maxParallelism fetches in progress at a time.
+     * Items are still streamed in page order. The page fetcher must return the given (1-based) page of the same
+     * listing as the pager, with the same number of items per page, and may be called from other threads.
+     * <p>
+     * Prefetching starts when the stream is first advanced, and the number of pages fetched ahead starts at one and
+     * grows with each page consumed, so a consumer which stops early causes few unneeded fetches. Closing the stream
+     * cancels any prefetching still in progress, so consumers which may stop early should close it.
+     * <p>
+     * If the total number of pages is not known (GitLab omits it for very large listings), or if the pager has
+     * already moved past the first page, this falls back to reading pages sequentially from the pager.
+     *
+     * @param pager          pager
+     * @param pageFetcher    function to fetch a page of the listing by page number
+     * @param maxParallelism maximum number of pages to fetch concurrently
+     * @param <T>            item type
+     * @return stream of items
+     */
+    public static <T> Stream<T> stream(Pager<T> pager, ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher, int maxParallelism)
+    {
+        int totalPages = pager.getTotalPages();
+        if ((maxParallelism < 2) || (totalPages < 2) || (pager.getCurrentPage() > 1))
+        {
+            return stream(pager);
+        }
+        return stream(pager.page(1), totalPages, pageFetcher, maxParallelism, DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_RETRY_WAIT_INTERVAL_MILLIS, DEFAULT_RETRY_WAIT_INTERVAL_UPDATER);
+    }
+
+    static <T> Stream<T> stream(List<T> firstPage, int totalPages, ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher, int maxParallelism, int maxRetries, long initialRetryWaitInterval, LongUnaryOperator retryWaitIntervalIncrementer)
+    {
+        PrefetchingPageSpliterator<T> spliterator = new PrefetchingPageSpliterator<>(firstPage, totalPages, pageFetcher, maxParallelism, maxRetries, initialRetryWaitInterval, retryWaitIntervalIncrementer);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+    }
+
     public static <T> Collector<T, ?, List<T>> listCollector(Pager<?> pager)
     {
         return listCollector(pager, -1);
@@ -134,14 +190,20 @@ public class PagerTools
 
     public static <T> List<T> getNextWithRetries(Pager<T> pager, int maxRetries, long initialWaitIntervalMillis, LongUnaryOperator waitIntervalUpdater)
     {
-        if (maxRetries <= 0)
+        if (pager.getCurrentPage() == 0)
         {
+            // the first page is fetched when the pager is created
             return pager.next();
         }
 
+        if (maxRetries <= 0)
+        {
+            return GitLabApiTools.instrumentCall(NEXT_PAGE_ENDPOINT, pager::next);
+        }
+
         try
         {
-            return GitLabApiTools.callWithRetries(() ->
+            return GitLabApiTools.callWithRetries(NEXT_PAGE_ENDPOINT, () ->
             {
                 try
                 {
@@ -306,4 +368,175 @@ public class PagerTools
             return null;
         }
     }
+
+    private static ExecutorService newPrefetchExecutor()
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r ->
+        {
+            Thread thread = new Thread(r, "gitlab-page-prefetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class PrefetchingPageSpliterator<T> implements Spliterator<T>
+    {
+        private final ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher;
+        private final int totalPages;
+        private final int maxParallelism;
+        private final int maxRetries;
+        private final long initialRetryWaitIntervalMillis;
+        private final LongUnaryOperator retryWaitIntervalUpdater;
+        private final ArrayDeque<Future<List<T>>> pending = new ArrayDeque<>();
+        private volatile boolean cancelled = false;
+        private boolean started = false;
+        private int window = 1;
+        private int nextPage = 2;
+        private Spliterator<T> current;
+
+        private PrefetchingPageSpliterator(List<T> firstPage, int totalPages, ThrowingFunction<? super Integer, ? extends List<T>, ? extends GitLabApiException> pageFetcher, int maxParallelism, int maxRetries, long initialRetryWaitIntervalMillis, LongUnaryOperator retryWaitIntervalUpdater)
+        {
+            this.pageFetcher = pageFetcher;
+            this.totalPages = totalPages;
+            this.maxParallelism = maxParallelism;
+            this.maxRetries = maxRetries;
+            this.initialRetryWaitIntervalMillis = initialRetryWaitIntervalMillis;
+            this.retryWaitIntervalUpdater = retryWaitIntervalUpdater;
+            this.current = ((firstPage == null) || firstPage.isEmpty()) ? null : firstPage.spliterator();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            start();
+            while (this.current != null)
+            {
+                if (this.current.tryAdvance(action))
+                {
+                    return true;
+                }
+                this.current = getNextSpliterator();
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action)
+        {
+            start();
+            while (this.current != null)
+            {
+                this.current.forEachRemaining(action);
+                this.current = getNextSpliterator();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit()
+        {
+            return null;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return (this.started && (this.current == null)) ? 0L : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return 0;
+        }
+
+        private void start()
+        {
+            if (!this.started)
+            {
+                this.started = true;
+                fillWindow();
+                if (this.current == null)
+                {
+                    this.current = getNextSpliterator();
+                }
+            }
+        }
+
+        private void cancel()
+        {
+            this.cancelled = true;
+            this.pending.forEach(f -> f.cancel(true));
+            this.pending.clear();
+            this.nextPage = this.totalPages + 1;
+            this.current = null;
+        }
+
+        private void fillWindow()
+        {
+            while (!this.cancelled && (this.pending.size() < this.window) && (this.nextPage <= this.totalPages))
+            {
+                int page = this.nextPage++;
+                this.pending.addLast(PREFETCH_EXECUTOR.submit(() -> fetchPage(page)));
+            }
+        }
+
+        private List<T> fetchPage(int page) throws GitLabApiException
+        {
+            if (this.cancelled)
+            {
+                // the consumer is gone, so there is no need to fetch the page
+                return null;
+            }
+            return (this.maxRetries <= 0) ?
+                   this.pageFetcher.apply(page) :
+                   GitLabApiTools.callWithRetries(() -> this.pageFetcher.apply(page), this.maxRetries, this.initialRetryWaitIntervalMillis, this.retryWaitIntervalUpdater);
+        }
+
+        private Spliterator<T> getNextSpliterator()
+        {
+            while (!this.pending.isEmpty())
+            {
+                List<T> page = awaitPage(this.pending.removeFirst());
+                // the consumer has moved on to another page, so it is worth fetching further ahead
+                this.window = Math.min(this.window + 1, this.maxParallelism);
+                fillWindow();
+                if ((page != null) && !page.isEmpty())
+                {
+                    return page.spliterator();
+                }
+            }
+            return null;
+        }
+
+        private List<T> awaitPage(Future<List<T>> future)
+        {
+            try
+            {
+                return future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("Interrupted while waiting for page");
+            }
+            catch (ExecutionException e)
+            {
+                cancel();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
 }
@@ -22,6 +22,7 @@ import org.finos.legend.sdlc.server.tools.SessionProvider;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Objects;
 
 @RequestScoped
 public class UserContext
@@ -39,6 +40,18 @@ public class UserContext
         this.session = LegendSDLCServerException.validateNonNull(SessionProvider.findSession(httpRequest), "Invalid request");
     }
 
+    /**
+     * Constructor for a context which is not bound to a request, and so has no request or response.
+     *
+     * @param session user session
+     */
+    protected UserContext(Session session)
+    {
+        this.httpRequest = null;
+        this.httpResponse = null;
+        this.session = Objects.requireNonNull(session, "session may not be null");
+    }
+
     public String getCurrentUser()
     {
         return this.session.getUserId();
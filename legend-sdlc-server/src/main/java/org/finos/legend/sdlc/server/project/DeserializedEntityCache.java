@@ -0,0 +1,273 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An in-memory LRU cache of deserialized entities, keyed by serializer name and file content id (git blob id). Since
+ * the content id identifies the file content, an entry can be shared by any file with the same content, regardless
+ * of path, revision, or workspace. The cache is bounded by the approximate total size in bytes of the cached entities.
+ * <p>
+ * Cached entities are shared, so their content is frozen when they are put in the cache: maps and lists in the
+ * content are replaced by unmodifiable copies all the way down, and attempts to modify them throw.
+ */
+public class DeserializedEntityCache
+{
+    private static final String HIT_METRIC = "entity cache hit";
+    private static final String MISS_METRIC = "entity cache miss";
+    private static final String EVICTION_METRIC = "entity cache eviction";
+
+    private static final long OBJECT_OVERHEAD = 16L;
+    private static final long REFERENCE_SIZE = 8L;
+    private static final long MAP_ENTRY_OVERHEAD = 32L;
+    private static final long STRING_OVERHEAD = 40L;
+
+    public static final long DEFAULT_MAX_MEMORY_BYTES = 128L * 1024L * 1024L;
+
+    private static volatile DeserializedEntityCache sharedCache;
+
+    private final LinkedHashMap<String, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxMemoryBytes;
+    private long memoryBytes = 0L;
+
+    private DeserializedEntityCache(long maxMemoryBytes)
+    {
+        if (maxMemoryBytes < 0L)
+        {
+            throw new IllegalArgumentException("Invalid max memory bytes: " + maxMemoryBytes);
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Get an entity from the cache, or null if it is not present.
+     *
+     * @param serializerName serializer name
+     * @param contentId      file content id
+     * @return cached entity or null
+     */
+    public Entity get(String serializerName, String contentId)
+    {
+        String key = getKey(serializerName, contentId);
+        CacheEntry entry;
+        synchronized (this.cache)
+        {
+            entry = this.cache.get(key);
+        }
+        if (entry == null)
+        {
+            SDLCMetricsHandler.incrementCounter(MISS_METRIC);
+            return null;
+        }
+        SDLCMetricsHandler.incrementCounter(HIT_METRIC);
+        return entry.entity;
+    }
+
+    /**
+     * Get an entity from the cache, deserializing it with the given deserializer if it is not present. If the
+     * deserializer throws, nothing is cached. The entity returned is always the frozen one, never the one returned by
+     * the deserializer.
+     *
+     * @param serializerName serializer name
+     * @param contentId      file content id
+     * @param deserializer   entity deserializer
+     * @param <E>            deserializer exception type
+     * @return entity
+     * @throws E if the deserializer throws
+     */
+    public <E extends Exception> Entity getIfAbsentPut(String serializerName, String contentId, ThrowingSupplier<? extends Entity, E> deserializer) throws E
+    {
+        Entity entity = get(serializerName, contentId);
+        if (entity == null)
+        {
+            Entity newEntity = deserializer.get();
+            if (newEntity != null)
+            {
+                entity = put(serializerName, contentId, newEntity);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Put an entity in the cache. The entity's content is frozen first, and the frozen entity is what is cached.
+     *
+     * @param serializerName serializer name
+     * @param contentId      file content id
+     * @param entity         entity
+     * @return frozen entity
+     */
+    public Entity put(String serializerName, String contentId, Entity entity)
+    {
+        Entity frozenEntity = freeze(entity);
+        long size = estimateSize(frozenEntity);
+        if (size > this.maxMemoryBytes)
+        {
+            return frozenEntity;
+        }
+        String key = getKey(serializerName, contentId);
+        synchronized (this.cache)
+        {
+            CacheEntry old = this.cache.put(key, new CacheEntry(frozenEntity, size));
+            if (old != null)
+            {
+                this.memoryBytes -= old.size;
+            }
+            this.memoryBytes += size;
+            Iterator<CacheEntry> iterator = this.cache.values().iterator();
+            while ((this.memoryBytes > this.maxMemoryBytes) && iterator.hasNext())
+            {
+                CacheEntry eldest = iterator.next();
+                iterator.remove();
+                this.memoryBytes -= eldest.size;
+                SDLCMetricsHandler.incrementCounter(EVICTION_METRIC);
+            }
+        }
+        return frozenEntity;
+    }
+
+    public int size()
+    {
+        synchronized (this.cache)
+        {
+            return this.cache.size();
+        }
+    }
+
+    private static String getKey(String serializerName, String contentId)
+    {
+        return Objects.requireNonNull(serializerName, "serializer name may not be null") + ":" + Objects.requireNonNull(contentId, "content id may not be null");
+    }
+
+    private static Entity freeze(Entity entity)
+    {
+        Map<String, ?> content = entity.getContent();
+        return Entity.newEntity(entity.getPath(), entity.getClassifierPath(), (content == null) ? null : freezeMap(content));
+    }
+
+    private static Object freezeValue(Object value)
+    {
+        if (value instanceof Map)
+        {
+            return freezeMap((Map<?, ?>) value);
+        }
+        if (value instanceof List)
+        {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(freezeValue(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private static <K> Map<K, Object> freezeMap(Map<K, ?> map)
+    {
+        Map<K, Object> copy = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+        map.forEach((key, value) -> copy.put(key, freezeValue(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static long estimateSize(Entity entity)
+    {
+        return OBJECT_OVERHEAD + estimateSize(entity.getPath()) + estimateSize(entity.getClassifierPath()) + estimateSize(entity.getContent());
+    }
+
+    private static long estimateSize(Object value)
+    {
+        if (value == null)
+        {
+            return 0L;
+        }
+        if (value instanceof String)
+        {
+            return STRING_OVERHEAD + (2L * ((String) value).length());
+        }
+        if (value instanceof Map)
+        {
+            long size = OBJECT_OVERHEAD;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+            {
+                size += MAP_ENTRY_OVERHEAD + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof List)
+        {
+            long size = OBJECT_OVERHEAD;
+            for (Object element : (List<?>) value)
+            {
+                size += REFERENCE_SIZE + estimateSize(element);
+            }
+            return size;
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    public static DeserializedEntityCache newCache(long maxMemoryBytes)
+    {
+        return new DeserializedEntityCache(maxMemoryBytes);
+    }
+
+    /**
+     * Get the server-wide entity cache. If none has been configured, one with the default size is created.
+     *
+     * @return server-wide entity cache
+     */
+    public static DeserializedEntityCache getSharedCache()
+    {
+        DeserializedEntityCache cache = sharedCache;
+        if (cache == null)
+        {
+            synchronized (DeserializedEntityCache.class)
+            {
+                cache = sharedCache;
+                if (cache == null)
+                {
+                    sharedCache = cache = newCache(DEFAULT_MAX_MEMORY_BYTES);
+                }
+            }
+        }
+        return cache;
+    }
+
+    public static synchronized void setSharedCache(DeserializedEntityCache cache)
+    {
+        sharedCache = cache;
+    }
+
+    private static class CacheEntry
+    {
+        private final Entity entity;
+        private final long size;
+
+        private CacheEntry(Entity entity, long size)
+        {
+            this.entity = entity;
+            this.size = size;
+        }
+    }
+}
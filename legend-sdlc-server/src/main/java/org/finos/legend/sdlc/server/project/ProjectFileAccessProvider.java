@@ -180,6 +180,19 @@ public interface ProjectFileAccessProvider
                 throw new UncheckedIOException(e);
             }
         }
+
+        /**
+         * Get an id for the content of the file. This is the git blob id (object
+         * id) of the content, so files with the same content have the same id
+         * regardless of path or revision. Implementations may know the id without
+         * needing to access the content.
+         *
+         * @return content id
+         */
+        default String getContentId()
+        {
+            return ProjectFiles.getGitBlobId(getContentAsBytes());
+        }
     }
 
     /**
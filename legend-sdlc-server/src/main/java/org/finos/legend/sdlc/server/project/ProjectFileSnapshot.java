@@ -0,0 +1,299 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.ProjectFile;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * An immutable snapshot of the files of a project at a particular revision. Since revision ids identify immutable
+ * states, snapshots may be freely shared between users and requests.
+ * <p>
+ * A snapshot may cover only some directories of the project, in which case it contains all the files in those
+ * directories and no others. Use {@link #covers} and {@link #coversFile} to check whether a snapshot can answer a
+ * request.
+ */
+public class ProjectFileSnapshot
+{
+    private static final long ENTRY_OVERHEAD = 64L;
+    private static final long CONTENT_ID_SIZE = 128L;
+    private static final ListIterable<String> ROOT_DIRECTORIES = Lists.immutable.with(ProjectPaths.ROOT_DIRECTORY);
+
+    private final String projectId;
+    private final String revisionId;
+    private final ListIterable<String> directories;
+    private final Map<String, byte[]> files;
+    private final Map<String, String> contentIds;
+    private final long size;
+
+    private ProjectFileSnapshot(String projectId, String revisionId, ListIterable<String> directories, Map<String, byte[]> files, Map<String, String> contentIds)
+    {
+        this.projectId = Objects.requireNonNull(projectId, "project id may not be null");
+        this.revisionId = Objects.requireNonNull(revisionId, "revision id may not be null");
+        this.directories = Objects.requireNonNull(directories, "directories may not be null").toImmutable();
+        this.files = Collections.unmodifiableMap(files);
+        this.contentIds = (contentIds == null) ? computeContentIds(files) : contentIds;
+        this.size = computeSize(projectId, revisionId, files);
+    }
+
+    private ProjectFileSnapshot(String projectId, String revisionId, ListIterable<String> directories, Map<String, byte[]> files)
+    {
+        this(projectId, revisionId, directories, files, null);
+    }
+
+    public String getProjectId()
+    {
+        return this.projectId;
+    }
+
+    public String getRevisionId()
+    {
+        return this.revisionId;
+    }
+
+    /**
+     * The canonical directories covered by this snapshot. If the snapshot covers the whole project, this is just the
+     * root directory.
+     *
+     * @return covered directories
+     */
+    public ListIterable<String> getDirectories()
+    {
+        return this.directories;
+    }
+
+    /**
+     * Whether the snapshot covers all of the given canonical directories.
+     *
+     * @param canonicalDirectories canonical directories
+     * @return whether all the directories are covered
+     */
+    public boolean covers(ListIterable<String> canonicalDirectories)
+    {
+        return canonicalDirectories.allSatisfy(this::coversFile);
+    }
+
+    /**
+     * Whether the snapshot covers the given canonical file or directory path; that is, whether the path is in one of
+     * the snapshot's directories.
+     *
+     * @param canonicalPath canonical file or directory path
+     * @return whether the path is covered
+     */
+    public boolean coversFile(String canonicalPath)
+    {
+        return this.directories.anySatisfy(canonicalPath::startsWith);
+    }
+
+    /**
+     * Approximate size of the snapshot in bytes. This is used to bound caches of snapshots.
+     *
+     * @return approximate size in bytes
+     */
+    public long getSize()
+    {
+        return this.size;
+    }
+
+    public int getFileCount()
+    {
+        return this.files.size();
+    }
+
+    public ProjectFile getFile(String canonicalPath)
+    {
+        byte[] content = this.files.get(canonicalPath);
+        return (content == null) ? null : newProjectFile(canonicalPath, content);
+    }
+
+    /**
+     * Get the content id (git blob id) of a file, or null if there is no such file.
+     *
+     * @param canonicalPath canonical file path
+     * @return content id or null
+     */
+    public String getContentId(String canonicalPath)
+    {
+        return this.contentIds.get(canonicalPath);
+    }
+
+    public boolean fileExists(String canonicalPath)
+    {
+        return this.files.containsKey(canonicalPath);
+    }
+
+    public Stream<ProjectFile> getFiles()
+    {
+        return this.files.entrySet().stream().map(e -> newProjectFile(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * Get the files in a non-empty, canonicalized, and reduced list of directories. See
+     * {@link AbstractFileAccessContext#getFilesInCanonicalDirectories}.
+     *
+     * @param directories non-empty, canonicalized, reduced list of directories
+     * @return stream of project files in the given directories
+     */
+    public Stream<ProjectFile> getFilesInCanonicalDirectories(ListIterable<String> directories)
+    {
+        Stream<Map.Entry<String, byte[]>> stream = this.files.entrySet().stream();
+        if (directories.size() == 1)
+        {
+            String directory = directories.get(0);
+            if (!ProjectPaths.ROOT_DIRECTORY.equals(directory))
+            {
+                stream = stream.filter(f -> f.getKey().startsWith(directory));
+            }
+        }
+        else
+        {
+            stream = stream.filter(f ->
+            {
+                String path = f.getKey();
+                return directories.anySatisfy(path::startsWith);
+            });
+        }
+        return stream.map(e -> newProjectFile(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * Iterate through the raw contents of the snapshot. The byte arrays passed to the consumer must not be modified.
+     *
+     * @param consumer file path and content consumer
+     */
+    public void forEachFile(BiConsumer<? super String, ? super byte[]> consumer)
+    {
+        this.files.forEach(consumer);
+    }
+
+    /**
+     * Create a new snapshot for another revision of the same project by applying changes to this snapshot. Files
+     * which are not deleted or modified are shared with this snapshot. The new snapshot covers the same directories
+     * as this one; changes to files outside those directories are ignored.
+     *
+     * @param newRevisionId new revision id
+     * @param deletedPaths  canonical paths of deleted files
+     * @param modifiedFiles added or modified files, by canonical path
+     * @return new snapshot
+     */
+    public ProjectFileSnapshot withChanges(String newRevisionId, Iterable<String> deletedPaths, Map<String, byte[]> modifiedFiles)
+    {
+        MutableMap<String, byte[]> newFiles = Maps.mutable.withMap(this.files);
+        MutableMap<String, String> newContentIds = Maps.mutable.withMap(this.contentIds);
+        deletedPaths.forEach(path ->
+        {
+            newFiles.remove(path);
+            newContentIds.remove(path);
+        });
+        modifiedFiles.forEach((path, content) ->
+        {
+            if (coversFile(path))
+            {
+                newFiles.put(path, content);
+                newContentIds.put(path, ProjectFiles.getGitBlobId(content));
+            }
+        });
+        return new ProjectFileSnapshot(this.projectId, newRevisionId, this.directories, newFiles, newContentIds);
+    }
+
+    /**
+     * Create a new snapshot covering the directories of both this snapshot and another snapshot of the same
+     * revision.
+     *
+     * @param other another snapshot of the same revision of the same project
+     * @return merged snapshot
+     */
+    public ProjectFileSnapshot merge(ProjectFileSnapshot other)
+    {
+        if (!this.projectId.equals(other.projectId) || !this.revisionId.equals(other.revisionId))
+        {
+            throw new IllegalArgumentException("Cannot merge " + this + " with " + other);
+        }
+        MutableMap<String, byte[]> newFiles = Maps.mutable.withMap(this.files);
+        newFiles.putAll(other.files);
+        MutableMap<String, String> newContentIds = Maps.mutable.withMap(this.contentIds);
+        newContentIds.putAll(other.contentIds);
+        return new ProjectFileSnapshot(this.projectId, this.revisionId, ProjectPaths.canonicalizeAndReduceDirectories(Lists.mutable.withAll(this.directories).withAll(other.directories)), newFiles, newContentIds);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "<ProjectFileSnapshot projectId=" + this.projectId + " revisionId=" + this.revisionId + " directories=" + this.directories.makeString("[", ", ", "]") + " files=" + this.files.size() + " size=" + this.size + ">";
+    }
+
+    private ProjectFile newProjectFile(String path, byte[] content)
+    {
+        return ProjectFiles.newByteArrayProjectFile(path, content, this.contentIds.get(path));
+    }
+
+    public static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, Stream<? extends ProjectFile> files)
+    {
+        return newSnapshot(projectId, revisionId, ROOT_DIRECTORIES, files);
+    }
+
+    public static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, Map<String, byte[]> files)
+    {
+        return newSnapshot(projectId, revisionId, ROOT_DIRECTORIES, files);
+    }
+
+    /**
+     * Create a new snapshot covering the given directories. The files must be exactly the files in those
+     * directories.
+     *
+     * @param projectId   project id
+     * @param revisionId  revision id
+     * @param directories canonical, reduced list of directories
+     * @param files       files in the directories
+     * @return snapshot
+     */
+    public static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, ListIterable<String> directories, Stream<? extends ProjectFile> files)
+    {
+        MutableMap<String, byte[]> map = Maps.mutable.empty();
+        files.forEach(f -> map.put(f.getPath(), f.getContentAsBytes()));
+        return new ProjectFileSnapshot(projectId, revisionId, directories, map);
+    }
+
+    public static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, ListIterable<String> directories, Map<String, byte[]> files)
+    {
+        return new ProjectFileSnapshot(projectId, revisionId, directories, Maps.mutable.withMap(files));
+    }
+
+    private static Map<String, String> computeContentIds(Map<String, byte[]> files)
+    {
+        MutableMap<String, String> contentIds = Maps.mutable.ofInitialCapacity(files.size());
+        files.forEach((path, content) -> contentIds.put(path, ProjectFiles.getGitBlobId(content)));
+        return contentIds;
+    }
+
+    private static long computeSize(String projectId, String revisionId, Map<String, byte[]> files)
+    {
+        long size = ENTRY_OVERHEAD + (2L * (projectId.length() + revisionId.length()));
+        for (Map.Entry<String, byte[]> entry : files.entrySet())
+        {
+            size += ENTRY_OVERHEAD + (2L * entry.getKey().length()) + entry.getValue().length + CONTENT_ID_SIZE;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,589 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.finos.legend.sdlc.server.tools.SingleFlight;
+import org.finos.legend.sdlc.server.tools.ThrowingFunction;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A two tier cache of {@link ProjectFileSnapshot}s, keyed by project id and revision id. Since revision ids identify
+ * immutable states, entries never need to be invalidated; they are only evicted to keep the cache within its size
+ * bounds. The first tier is an in-memory LRU cache bounded by total snapshot size in bytes. The optional second tier
+ * is a directory on local disk, also evicted in LRU order and bounded by total file size in bytes.
+ * <p>
+ * Revision ids used as keys must be resolved commit ids, never branch names or other mutable references.
+ */
+public class ProjectFileSnapshotCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectFileSnapshotCache.class);
+
+    private static final String HIT_METRIC = "snapshot cache hit";
+    private static final String DISK_HIT_METRIC = "snapshot cache disk hit";
+    private static final String MISS_METRIC = "snapshot cache miss";
+    private static final String EVICTION_METRIC = "snapshot cache eviction";
+    private static final String DISK_EVICTION_METRIC = "snapshot cache disk eviction";
+
+    private static final String FILE_EXTENSION = ".snapshot";
+    private static final int FILE_FORMAT_VERSION = 2;
+    private static final Pattern FILE_NAME_REPLACE = Pattern.compile("[^\\w.-]++");
+    private static final int MAX_REFERENCE_ENTRIES = 10_000;
+
+    public static final long DEFAULT_MAX_MEMORY_BYTES = 256L * 1024L * 1024L;
+    public static final long DEFAULT_MAX_DISK_BYTES = 4L * 1024L * 1024L * 1024L;
+
+    private static volatile ProjectFileSnapshotCache sharedCache;
+
+    private final LinkedHashMap<String, ProjectFileSnapshot> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, String> referenceRevisions = new LinkedHashMap<String, String>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+        {
+            return size() > MAX_REFERENCE_ENTRIES;
+        }
+    };
+    private final SingleFlight<String, ProjectFileSnapshot> loads = new SingleFlight<>();
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private long memoryBytes = 0L;
+    private long diskBytes = 0L;
+
+    private ProjectFileSnapshotCache(long maxMemoryBytes, Path directory, long maxDiskBytes)
+    {
+        if (maxMemoryBytes < 0L)
+        {
+            throw new IllegalArgumentException("Invalid max memory bytes: " + maxMemoryBytes);
+        }
+        if (maxDiskBytes < 0L)
+        {
+            throw new IllegalArgumentException("Invalid max disk bytes: " + maxDiskBytes);
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        if (this.directory != null)
+        {
+            initializeDiskIndex();
+        }
+    }
+
+    /**
+     * Get a snapshot from the cache, or null if it is not present in either tier.
+     *
+     * @param projectId  project id
+     * @param revisionId resolved revision id
+     * @return cached snapshot or null
+     */
+    public ProjectFileSnapshot get(String projectId, String revisionId)
+    {
+        Lookup lookup = lookUp(projectId, revisionId);
+        SDLCMetricsHandler.incrementCounter(lookup.getMetric());
+        return lookup.snapshot;
+    }
+
+    /**
+     * Get a snapshot from the cache, loading it with the given loader if it is not present. If the loader returns
+     * null, null is returned and nothing is cached.
+     *
+     * @param projectId  project id
+     * @param revisionId resolved revision id
+     * @param loader     snapshot loader
+     * @param <E>        loader exception type
+     * @return snapshot
+     * @throws E if the loader throws
+     */
+    public <E extends Exception> ProjectFileSnapshot getIfAbsentPut(String projectId, String revisionId, ThrowingSupplier<? extends ProjectFileSnapshot, E> loader) throws E
+    {
+        ProjectFileSnapshot snapshot = get(projectId, revisionId);
+        if (snapshot == null)
+        {
+            snapshot = loader.get();
+            if (snapshot != null)
+            {
+                put(snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get a snapshot covering the given directories, loading any directories which are not covered by the cached
+     * snapshot with the given loader and merging the result into the cache. The loader is called with the directories
+     * to load, and must return a snapshot covering them (or null, in which case null is returned and nothing is
+     * cached).
+     * <p>
+     * Concurrent calls for the same project, revision, and directories share a single call to the loader, so the
+     * caller must have already checked that the user has access to the revision.
+     *
+     * @param projectId   project id
+     * @param revisionId  resolved revision id
+     * @param directories canonical, reduced list of directories
+     * @param loader      snapshot loader
+     * @param <E>         loader exception type
+     * @return snapshot covering the directories
+     * @throws E if the loader throws
+     */
+    public <E extends Exception> ProjectFileSnapshot getIfAbsentPut(String projectId, String revisionId, ListIterable<String> directories, ThrowingFunction<? super MutableList<String>, ? extends ProjectFileSnapshot, E> loader) throws E
+    {
+        Lookup lookup = lookUp(projectId, revisionId);
+        ProjectFileSnapshot snapshot = lookup.snapshot;
+        if ((snapshot != null) && snapshot.covers(directories))
+        {
+            SDLCMetricsHandler.incrementCounter(lookup.getMetric());
+            return snapshot;
+        }
+        // a snapshot which does not cover the directories does not serve the request
+        SDLCMetricsHandler.incrementCounter(MISS_METRIC);
+        String loadKey = getKey(projectId, revisionId) + directories.toSortedList().makeString(":", ",", "");
+        return this.loads.call(loadKey, () ->
+        {
+            // another load may have completed in the meantime
+            ProjectFileSnapshot current = lookUp(projectId, revisionId).snapshot;
+            if ((current != null) && current.covers(directories))
+            {
+                return current;
+            }
+            MutableList<String> missingDirectories = (current == null) ? Lists.mutable.withAll(directories) : directories.reject(current::coversFile, Lists.mutable.empty());
+            ProjectFileSnapshot loaded = loader.apply(missingDirectories);
+            if (loaded == null)
+            {
+                return null;
+            }
+            return put((current == null) ? loaded : current.merge(loaded));
+        });
+    }
+
+    private Lookup lookUp(String projectId, String revisionId)
+    {
+        String key = getKey(projectId, revisionId);
+        ProjectFileSnapshot snapshot = getFromMemory(key);
+        if (snapshot != null)
+        {
+            return new Lookup(snapshot, false);
+        }
+        snapshot = getFromDisk(key, projectId, revisionId);
+        if (snapshot != null)
+        {
+            putInMemory(key, snapshot);
+            return new Lookup(snapshot, true);
+        }
+        return new Lookup(null, false);
+    }
+
+    /**
+     * Put a snapshot in the cache. If there is already a snapshot for the same revision in memory which covers other
+     * directories, the two are merged.
+     *
+     * @param snapshot snapshot
+     * @return the snapshot now in the cache
+     */
+    public ProjectFileSnapshot put(ProjectFileSnapshot snapshot)
+    {
+        String key = getKey(snapshot.getProjectId(), snapshot.getRevisionId());
+        ProjectFileSnapshot existing = getFromMemory(key);
+        ProjectFileSnapshot toCache = ((existing == null) || snapshot.covers(existing.getDirectories())) ? snapshot : snapshot.merge(existing);
+        putInMemory(key, toCache);
+        putOnDisk(key, toCache);
+        return toCache;
+    }
+
+    /**
+     * Record the revision a mutable reference (such as a branch) was most recently resolved to when getting a
+     * snapshot. This allows a snapshot for a later revision of the reference to be computed incrementally.
+     *
+     * @param projectId  project id
+     * @param reference  reference
+     * @param revisionId resolved revision id
+     */
+    public void setLatestRevisionId(String projectId, String reference, String revisionId)
+    {
+        String key = Objects.requireNonNull(projectId, "project id may not be null") + ":" + Objects.requireNonNull(reference, "reference may not be null");
+        synchronized (this.referenceRevisions)
+        {
+            this.referenceRevisions.put(key, Objects.requireNonNull(revisionId, "revision id may not be null"));
+        }
+    }
+
+    /**
+     * Get the revision a reference was most recently resolved to, or null if unknown. See
+     * {@link #setLatestRevisionId}. Note that there is no guarantee that a snapshot for the revision is still cached.
+     *
+     * @param projectId project id
+     * @param reference reference
+     * @return latest known revision id or null
+     */
+    public String getLatestRevisionId(String projectId, String reference)
+    {
+        String key = projectId + ":" + reference;
+        synchronized (this.referenceRevisions)
+        {
+            return this.referenceRevisions.get(key);
+        }
+    }
+
+    public boolean isDiskEnabled()
+    {
+        return this.directory != null;
+    }
+
+    private ProjectFileSnapshot getFromMemory(String key)
+    {
+        synchronized (this.memoryCache)
+        {
+            return this.memoryCache.get(key);
+        }
+    }
+
+    private void putInMemory(String key, ProjectFileSnapshot snapshot)
+    {
+        long size = snapshot.getSize();
+        if (size > this.maxMemoryBytes)
+        {
+            LOGGER.debug("Not caching {} in memory: too large", snapshot);
+            return;
+        }
+        synchronized (this.memoryCache)
+        {
+            ProjectFileSnapshot old = this.memoryCache.put(key, snapshot);
+            if (old != null)
+            {
+                this.memoryBytes -= old.getSize();
+            }
+            this.memoryBytes += size;
+            Iterator<ProjectFileSnapshot> iterator = this.memoryCache.values().iterator();
+            while ((this.memoryBytes > this.maxMemoryBytes) && iterator.hasNext())
+            {
+                ProjectFileSnapshot eldest = iterator.next();
+                iterator.remove();
+                this.memoryBytes -= eldest.getSize();
+                SDLCMetricsHandler.incrementCounter(EVICTION_METRIC);
+                LOGGER.debug("Evicted {} from memory", eldest);
+            }
+        }
+    }
+
+    private ProjectFileSnapshot getFromDisk(String key, String projectId, String revisionId)
+    {
+        if (this.directory == null)
+        {
+            return null;
+        }
+
+        Path file;
+        synchronized (this.diskIndex)
+        {
+            if (this.diskIndex.get(key) == null)
+            {
+                return null;
+            }
+            file = getFile(key);
+        }
+
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)))))
+        {
+            return readSnapshot(stream, projectId, revisionId);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error reading snapshot for revision {} of project {} from {}, removing", revisionId, projectId, file, e);
+            synchronized (this.diskIndex)
+            {
+                removeFromDisk(key);
+            }
+            return null;
+        }
+    }
+
+    private void putOnDisk(String key, ProjectFileSnapshot snapshot)
+    {
+        if ((this.directory == null) || (snapshot.getSize() > this.maxDiskBytes))
+        {
+            return;
+        }
+        // a snapshot covering the whole project never changes, but partial snapshots are rewritten as they grow
+        if (snapshot.coversFile(ProjectPaths.ROOT_DIRECTORY))
+        {
+            synchronized (this.diskIndex)
+            {
+                if (this.diskIndex.containsKey(key))
+                {
+                    return;
+                }
+            }
+        }
+
+        Path file = getFile(key);
+        Path tmpFile = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        long fileSize;
+        try
+        {
+            try (OutputStream fileStream = Files.newOutputStream(tmpFile);
+                 DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(fileStream))))
+            {
+                writeSnapshot(stream, snapshot);
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            fileSize = Files.size(file);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error writing {} to {}", snapshot, file, e);
+            try
+            {
+                Files.deleteIfExists(tmpFile);
+            }
+            catch (Exception ignore)
+            {
+                // ignore failure to clean up
+            }
+            return;
+        }
+
+        synchronized (this.diskIndex)
+        {
+            Long old = this.diskIndex.put(key, fileSize);
+            if (old != null)
+            {
+                this.diskBytes -= old;
+            }
+            this.diskBytes += fileSize;
+            Iterator<Map.Entry<String, Long>> iterator = this.diskIndex.entrySet().iterator();
+            while ((this.diskBytes > this.maxDiskBytes) && iterator.hasNext())
+            {
+                Map.Entry<String, Long> eldest = iterator.next();
+                iterator.remove();
+                this.diskBytes -= eldest.getValue();
+                deleteFile(eldest.getKey());
+                SDLCMetricsHandler.incrementCounter(DISK_EVICTION_METRIC);
+            }
+        }
+    }
+
+    private void removeFromDisk(String key)
+    {
+        Long size = this.diskIndex.remove(key);
+        if (size != null)
+        {
+            this.diskBytes -= size;
+        }
+        deleteFile(key);
+    }
+
+    private void deleteFile(String key)
+    {
+        Path file = getFile(key);
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error deleting {}", file, e);
+        }
+    }
+
+    private Path getFile(String key)
+    {
+        return this.directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private void initializeDiskIndex()
+    {
+        try
+        {
+            Files.createDirectories(this.directory);
+            List<Path> files;
+            try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(this.directory, "*" + FILE_EXTENSION))
+            {
+                files = Lists.mutable.withAll(dirStream);
+            }
+            Map<Path, Long> lastModified = Maps.mutable.ofInitialCapacity(files.size());
+            for (Path file : files)
+            {
+                lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+            files.sort(Comparator.comparing(lastModified::get));
+            for (Path file : files)
+            {
+                String fileName = file.getFileName().toString();
+                long size = Files.size(file);
+                this.diskIndex.put(fileName.substring(0, fileName.length() - FILE_EXTENSION.length()), size);
+                this.diskBytes += size;
+            }
+            LOGGER.info("Found {} snapshot(s) ({} bytes) in {}", this.diskIndex.size(), this.diskBytes, this.directory);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error initializing snapshot cache directory " + this.directory, e);
+        }
+    }
+
+    private static void writeSnapshot(DataOutputStream stream, ProjectFileSnapshot snapshot) throws IOException
+    {
+        stream.writeInt(FILE_FORMAT_VERSION);
+        stream.writeUTF(snapshot.getProjectId());
+        stream.writeUTF(snapshot.getRevisionId());
+        ListIterable<String> directories = snapshot.getDirectories();
+        stream.writeInt(directories.size());
+        for (String directory : directories)
+        {
+            stream.writeUTF(directory);
+        }
+        stream.writeInt(snapshot.getFileCount());
+        IOException[] exception = new IOException[1];
+        snapshot.forEachFile((path, content) ->
+        {
+            if (exception[0] == null)
+            {
+                try
+                {
+                    stream.writeUTF(path);
+                    stream.writeInt(content.length);
+                    stream.write(content);
+                }
+                catch (IOException e)
+                {
+                    exception[0] = e;
+                }
+            }
+        });
+        if (exception[0] != null)
+        {
+            throw exception[0];
+        }
+    }
+
+    private static ProjectFileSnapshot readSnapshot(DataInputStream stream, String projectId, String revisionId) throws IOException
+    {
+        int version = stream.readInt();
+        if (version != FILE_FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported snapshot format version: " + version);
+        }
+        String fileProjectId = stream.readUTF();
+        String fileRevisionId = stream.readUTF();
+        if (!projectId.equals(fileProjectId) || !revisionId.equals(fileRevisionId))
+        {
+            throw new IOException("Snapshot is for revision " + fileRevisionId + " of project " + fileProjectId);
+        }
+        int directoryCount = stream.readInt();
+        MutableList<String> directories = Lists.mutable.ofInitialCapacity(directoryCount);
+        for (int i = 0; i < directoryCount; i++)
+        {
+            directories.add(stream.readUTF());
+        }
+        int count = stream.readInt();
+        Map<String, byte[]> files = Maps.mutable.ofInitialCapacity(count);
+        for (int i = 0; i < count; i++)
+        {
+            String path = stream.readUTF();
+            byte[] content = new byte[stream.readInt()];
+            stream.readFully(content);
+            files.put(path, content);
+        }
+        return ProjectFileSnapshot.newSnapshot(projectId, revisionId, directories, files);
+    }
+
+    private static String getKey(String projectId, String revisionId)
+    {
+        return FILE_NAME_REPLACE.matcher(Objects.requireNonNull(projectId, "project id may not be null")).replaceAll("_") + "-" +
+                FILE_NAME_REPLACE.matcher(Objects.requireNonNull(revisionId, "revision id may not be null")).replaceAll("_");
+    }
+
+    public static ProjectFileSnapshotCache newCache(long maxMemoryBytes)
+    {
+        return newCache(maxMemoryBytes, null, 0L);
+    }
+
+    public static ProjectFileSnapshotCache newCache(long maxMemoryBytes, Path directory, long maxDiskBytes)
+    {
+        return new ProjectFileSnapshotCache(maxMemoryBytes, directory, maxDiskBytes);
+    }
+
+    /**
+     * Get the server-wide snapshot cache. If none has been configured, an in-memory cache with the default size is
+     * created.
+     *
+     * @return server-wide snapshot cache
+     */
+    public static ProjectFileSnapshotCache getSharedCache()
+    {
+        ProjectFileSnapshotCache cache = sharedCache;
+        if (cache == null)
+        {
+            synchronized (ProjectFileSnapshotCache.class)
+            {
+                cache = sharedCache;
+                if (cache == null)
+                {
+                    sharedCache = cache = newCache(DEFAULT_MAX_MEMORY_BYTES);
+                }
+            }
+        }
+        return cache;
+    }
+
+    public static synchronized void setSharedCache(ProjectFileSnapshotCache cache)
+    {
+        sharedCache = cache;
+    }
+
+    private static class Lookup
+    {
+        private final ProjectFileSnapshot snapshot;
+        private final boolean fromDisk;
+
+        private Lookup(ProjectFileSnapshot snapshot, boolean fromDisk)
+        {
+            this.snapshot = snapshot;
+            this.fromDisk = fromDisk;
+        }
+
+        private String getMetric()
+        {
+            return (this.snapshot == null) ? MISS_METRIC : (this.fromDisk ? DISK_HIT_METRIC : HIT_METRIC);
+        }
+    }
+}
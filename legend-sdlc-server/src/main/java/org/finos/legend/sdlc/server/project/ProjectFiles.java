@@ -21,14 +21,23 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.function.Function;
 
 public class ProjectFiles
 {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     public static ProjectFile newStringProjectFile(String path, String content)
     {
-        return new SimpleStringProjectFile(path, content);
+        return newStringProjectFile(path, content, null);
+    }
+
+    public static ProjectFile newStringProjectFile(String path, String content, String contentId)
+    {
+        return new SimpleStringProjectFile(path, content, contentId);
     }
 
     public static ProjectFile newStringProjectFile(String path, Function<? super String, ? extends String> getter)
@@ -38,7 +47,12 @@ public class ProjectFiles
 
     public static ProjectFile newByteArrayProjectFile(String path, byte[] content)
     {
-        return new SimpleByteArrayProjectFile(path, content);
+        return newByteArrayProjectFile(path, content, null);
+    }
+
+    public static ProjectFile newByteArrayProjectFile(String path, byte[] content, String contentId)
+    {
+        return new SimpleByteArrayProjectFile(path, content, contentId);
     }
 
     public static ProjectFile newByteArrayProjectFile(String path, Function<? super String, ? extends byte[]> getter)
@@ -48,16 +62,51 @@ public class ProjectFiles
 
     public static ProjectFile newDelegatingProjectFile(String path, Function<? super String, ? extends ProjectFile> getter)
     {
-        return new LazyDelegatingProjectFile(path, getter);
+        return newDelegatingProjectFile(path, null, getter);
+    }
+
+    public static ProjectFile newDelegatingProjectFile(String path, String contentId, Function<? super String, ? extends ProjectFile> getter)
+    {
+        return new LazyDelegatingProjectFile(path, contentId, getter);
+    }
+
+    /**
+     * Compute the git blob id (object id) for the given content.
+     *
+     * @param content file content
+     * @return git blob id
+     */
+    public static String getGitBlobId(byte[] content)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(e);
+        }
+        digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+        byte[] hash = digest.digest(content);
+        char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++)
+        {
+            chars[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            chars[(2 * i) + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(chars);
     }
 
     private abstract static class BaseProjectFile implements ProjectFile
     {
         private final String path;
+        private volatile String contentId;
 
-        protected BaseProjectFile(String path)
+        protected BaseProjectFile(String path, String contentId)
         {
             this.path = path;
+            this.contentId = contentId;
         }
 
         @Override
@@ -65,13 +114,29 @@ public class ProjectFiles
         {
             return this.path;
         }
+
+        @Override
+        public String getContentId()
+        {
+            String id = this.contentId;
+            if (id == null)
+            {
+                this.contentId = id = computeContentId();
+            }
+            return id;
+        }
+
+        protected String computeContentId()
+        {
+            return getGitBlobId(getContentAsBytes());
+        }
     }
 
     private abstract static class StringProjectFile extends BaseProjectFile
     {
-        protected StringProjectFile(String path)
+        protected StringProjectFile(String path, String contentId)
         {
-            super(path);
+            super(path, contentId);
         }
 
         @Override
@@ -103,9 +168,9 @@ public class ProjectFiles
 
     private abstract static class ByteArrayProjectFile extends BaseProjectFile
     {
-        protected ByteArrayProjectFile(String path)
+        protected ByteArrayProjectFile(String path, String contentId)
         {
-            super(path);
+            super(path, contentId);
         }
 
         @Override
@@ -127,6 +192,13 @@ public class ProjectFiles
             return new String(getContent(), StandardCharsets.UTF_8);
         }
 
+        @Override
+        protected String computeContentId()
+        {
+            // no need to copy the content
+            return getGitBlobId(getContent());
+        }
+
         protected abstract byte[] getContent();
     }
 
@@ -134,9 +206,9 @@ public class ProjectFiles
     {
         private final String content;
 
-        private SimpleStringProjectFile(String path, String content)
+        private SimpleStringProjectFile(String path, String content, String contentId)
         {
-            super(path);
+            super(path, contentId);
             this.content = content;
         }
 
@@ -154,7 +226,7 @@ public class ProjectFiles
 
         private LazyStringProjectFile(String path, Function<? super String, ? extends String> getter)
         {
-            super(path);
+            super(path, null);
             this.getter = getter;
         }
 
@@ -176,9 +248,9 @@ public class ProjectFiles
     {
         private final byte[] content;
 
-        private SimpleByteArrayProjectFile(String path, byte[] content)
+        private SimpleByteArrayProjectFile(String path, byte[] content, String contentId)
         {
-            super(path);
+            super(path, contentId);
             this.content = content;
         }
 
@@ -196,7 +268,7 @@ public class ProjectFiles
 
         private LazyByteArrayProjectFile(String path, Function<? super String, ? extends byte[]> getter)
         {
-            super(path);
+            super(path, null);
             this.getter = getter;
         }
 
@@ -219,9 +291,9 @@ public class ProjectFiles
         private final Function<? super String, ? extends ProjectFile> getter;
         private ProjectFile delegate;
 
-        private LazyDelegatingProjectFile(String path, Function<? super String, ? extends ProjectFile> getter)
+        private LazyDelegatingProjectFile(String path, String contentId, Function<? super String, ? extends ProjectFile> getter)
         {
-            super(path);
+            super(path, contentId);
             this.getter = getter;
         }
 
@@ -249,6 +321,12 @@ public class ProjectFiles
             return getDelegate().getContentAsString();
         }
 
+        @Override
+        protected String computeContentId()
+        {
+            return getDelegate().getContentId();
+        }
+
         private synchronized ProjectFile getDelegate()
         {
             if (this.delegate == null)
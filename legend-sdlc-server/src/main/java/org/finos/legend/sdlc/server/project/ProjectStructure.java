@@ -45,6 +45,7 @@ import org.finos.legend.sdlc.domain.model.project.configuration.ProjectStructure
 import org.finos.legend.sdlc.domain.model.project.workspace.WorkspaceType;
 import org.finos.legend.sdlc.domain.model.revision.Revision;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.finos.legend.sdlc.serialization.EntityHeader;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
 import org.finos.legend.sdlc.server.domain.api.project.ProjectConfigurationUpdater;
@@ -1005,6 +1006,20 @@ public abstract class ProjectStructure
         {
             return this.serializer.deserialize(content);
         }
+
+        public EntityHeader scanHeader(ProjectFile projectFile)
+        {
+            try (InputStream stream = projectFile.getContentAsInputStream())
+            {
+                return this.serializer.scanHeader(stream);
+            }
+            catch (Exception e)
+            {
+                StringBuilder builder = new StringBuilder("Error scanning entity from file ").append(projectFile.getPath());
+                StringTools.appendThrowableMessageIfPresent(builder, e);
+                throw new LegendSDLCServerException(builder.toString(), e);
+            }
+        }
     }
 
     public static UpdateBuilder newUpdateBuilder(ProjectFileAccessProvider projectFileAccessProvider, String projectId)
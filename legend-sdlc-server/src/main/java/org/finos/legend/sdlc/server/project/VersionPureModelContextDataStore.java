@@ -0,0 +1,389 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
+import org.finos.legend.sdlc.server.tools.ImplementationVersions;
+import org.finos.legend.sdlc.server.tools.SingleFlight;
+import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A store of serialized {@link PureModelContextData} for project versions, keyed by project id, version id, and
+ * protocol version. Since versions never change, the data for a version is computed once and then served as stored.
+ * The data is persisted as JSON files in a directory on local disk, evicted in LRU order to keep the total file size
+ * within a bound. The data also depends on the implementation that computed it, so the directory is cleared when the
+ * build version changes.
+ * <p>
+ * Concurrent computations for the same key are coalesced, so callers must have already checked that the user has
+ * access to the version.
+ */
+public class VersionPureModelContextDataStore
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionPureModelContextDataStore.class);
+
+    private static final String HIT_METRIC = "version pmcd store hit";
+    private static final String MISS_METRIC = "version pmcd store miss";
+    private static final String EVICTION_METRIC = "version pmcd store eviction";
+
+    private static final String FILE_EXTENSION = ".pmcd.json";
+    private static final String BUILD_VERSION_FILE = "build-version";
+    private static final Pattern FILE_NAME_REPLACE = Pattern.compile("[^\\w.-]++");
+
+    public static final long DEFAULT_MAX_DISK_BYTES = 4L * 1024L * 1024L * 1024L;
+    public static final String DEFAULT_BUILD_VERSION = ImplementationVersions.getImplementationVersion(PureModelContextData.class, PureModelContextDataBuilder.class, VersionPureModelContextDataStore.class);
+
+    private static volatile VersionPureModelContextDataStore sharedStore;
+
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private final SingleFlight<String, byte[]> computations = new SingleFlight<>();
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final ObjectMapper objectMapper;
+    private final boolean precomputeNewVersions;
+    private final String buildVersion;
+    private long diskBytes = 0L;
+
+    private VersionPureModelContextDataStore(Path directory, long maxDiskBytes, ObjectMapper objectMapper, boolean precomputeNewVersions, String buildVersion)
+    {
+        if (maxDiskBytes < 0L)
+        {
+            throw new IllegalArgumentException("Invalid max disk bytes: " + maxDiskBytes);
+        }
+        this.directory = Objects.requireNonNull(directory, "directory may not be null");
+        this.maxDiskBytes = maxDiskBytes;
+        this.objectMapper = Objects.requireNonNull(objectMapper, "object mapper may not be null");
+        this.precomputeNewVersions = precomputeNewVersions;
+        this.buildVersion = Objects.requireNonNull(buildVersion, "build version may not be null");
+        initializeDiskIndex();
+    }
+
+    /**
+     * Get the serialized data for a version from the store, or null if it is not present.
+     *
+     * @param projectId       project id
+     * @param versionId       version id
+     * @param protocolVersion protocol version
+     * @return serialized data or null
+     */
+    public byte[] get(String projectId, String versionId, String protocolVersion)
+    {
+        byte[] bytes = getFromDisk(getKey(projectId, versionId, protocolVersion));
+        SDLCMetricsHandler.incrementCounter((bytes == null) ? MISS_METRIC : HIT_METRIC);
+        return bytes;
+    }
+
+    /**
+     * Get the serialized data for a version from the store, computing and storing it with the given supplier if it is
+     * not present. If the supplier throws, nothing is stored.
+     *
+     * @param projectId       project id
+     * @param versionId       version id
+     * @param protocolVersion protocol version
+     * @param supplier        data supplier
+     * @param <E>             supplier exception type
+     * @return serialized data
+     * @throws E if the supplier throws
+     */
+    public <E extends Exception> byte[] getIfAbsentPut(String projectId, String versionId, String protocolVersion, ThrowingSupplier<? extends PureModelContextData, E> supplier) throws E
+    {
+        byte[] bytes = get(projectId, versionId, protocolVersion);
+        if (bytes != null)
+        {
+            return bytes;
+        }
+        String key = getKey(projectId, versionId, protocolVersion);
+        return this.computations.call(key, () ->
+        {
+            // another computation may have completed in the meantime
+            byte[] current = getFromDisk(key);
+            if (current != null)
+            {
+                return current;
+            }
+            byte[] computed;
+            try
+            {
+                computed = this.objectMapper.writeValueAsBytes(supplier.get());
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Error serializing Pure model context data for version " + versionId + " of project " + projectId, e);
+            }
+            putOnDisk(key, computed);
+            return computed;
+        });
+    }
+
+    /**
+     * Get the data for a version from the store, computing and storing it with the given supplier if it is not
+     * present. This is as {@link #getIfAbsentPut}, except that the data is returned deserialized: as computed if it
+     * was computed by this call, and otherwise read from its stored form.
+     *
+     * @param projectId       project id
+     * @param versionId       version id
+     * @param protocolVersion protocol version
+     * @param supplier        data supplier
+     * @param <E>             supplier exception type
+     * @return data
+     * @throws E if the supplier throws
+     */
+    public <E extends Exception> PureModelContextData getPureModelContextDataIfAbsentPut(String projectId, String versionId, String protocolVersion, ThrowingSupplier<? extends PureModelContextData, E> supplier) throws E
+    {
+        PureModelContextData[] computed = new PureModelContextData[1];
+        byte[] bytes = getIfAbsentPut(projectId, versionId, protocolVersion, () -> computed[0] = supplier.get());
+        if (computed[0] != null)
+        {
+            return computed[0];
+        }
+        try
+        {
+            return this.objectMapper.readValue(bytes, PureModelContextData.class);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Error deserializing Pure model context data for version " + versionId + " of project " + projectId, e);
+        }
+    }
+
+    /**
+     * Whether the data for a version should be computed as soon as the version is created.
+     *
+     * @return whether to precompute data for new versions
+     */
+    public boolean shouldPrecomputeNewVersions()
+    {
+        return this.precomputeNewVersions;
+    }
+
+    public int size()
+    {
+        synchronized (this.diskIndex)
+        {
+            return this.diskIndex.size();
+        }
+    }
+
+    private byte[] getFromDisk(String key)
+    {
+        Path file;
+        synchronized (this.diskIndex)
+        {
+            if (this.diskIndex.get(key) == null)
+            {
+                return null;
+            }
+            file = getFile(key);
+        }
+
+        try
+        {
+            return Files.readAllBytes(file);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error reading Pure model context data from {}, removing", file, e);
+            synchronized (this.diskIndex)
+            {
+                removeFromDisk(key);
+            }
+            return null;
+        }
+    }
+
+    private void putOnDisk(String key, byte[] bytes)
+    {
+        if (bytes.length > this.maxDiskBytes)
+        {
+            LOGGER.debug("Not storing Pure model context data for {}: too large", key);
+            return;
+        }
+
+        Path file = getFile(key);
+        Path tmpFile = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try
+        {
+            Files.write(tmpFile, bytes);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error writing Pure model context data to {}", file, e);
+            try
+            {
+                Files.deleteIfExists(tmpFile);
+            }
+            catch (Exception ignore)
+            {
+                // ignore failure to clean up
+            }
+            return;
+        }
+
+        synchronized (this.diskIndex)
+        {
+            Long old = this.diskIndex.put(key, (long) bytes.length);
+            if (old != null)
+            {
+                this.diskBytes -= old;
+            }
+            this.diskBytes += bytes.length;
+            Iterator<Map.Entry<String, Long>> iterator = this.diskIndex.entrySet().iterator();
+            while ((this.diskBytes > this.maxDiskBytes) && iterator.hasNext())
+            {
+                Map.Entry<String, Long> eldest = iterator.next();
+                iterator.remove();
+                this.diskBytes -= eldest.getValue();
+                deleteFile(eldest.getKey());
+                SDLCMetricsHandler.incrementCounter(EVICTION_METRIC);
+            }
+        }
+    }
+
+    private void removeFromDisk(String key)
+    {
+        Long size = this.diskIndex.remove(key);
+        if (size != null)
+        {
+            this.diskBytes -= size;
+        }
+        deleteFile(key);
+    }
+
+    private void deleteFile(String key)
+    {
+        Path file = getFile(key);
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error deleting {}", file, e);
+        }
+    }
+
+    private Path getFile(String key)
+    {
+        return this.directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private void initializeDiskIndex()
+    {
+        try
+        {
+            Files.createDirectories(this.directory);
+            List<Path> files;
+            try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(this.directory, "*" + FILE_EXTENSION))
+            {
+                files = Lists.mutable.withAll(dirStream);
+            }
+            Path buildVersionFile = this.directory.resolve(BUILD_VERSION_FILE);
+            String storedBuildVersion = Files.exists(buildVersionFile) ? new String(Files.readAllBytes(buildVersionFile), StandardCharsets.UTF_8) : null;
+            if (!this.buildVersion.equals(storedBuildVersion))
+            {
+                LOGGER.info("Build version changed ({} -> {}), removing Pure model context data for {} version(s) in {}", storedBuildVersion, this.buildVersion, files.size(), this.directory);
+                for (Path file : files)
+                {
+                    Files.deleteIfExists(file);
+                }
+                files.clear();
+                Files.write(buildVersionFile, this.buildVersion.getBytes(StandardCharsets.UTF_8));
+            }
+            Map<Path, Long> lastModified = Maps.mutable.ofInitialCapacity(files.size());
+            for (Path file : files)
+            {
+                lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+            files.sort(Comparator.comparing(lastModified::get));
+            for (Path file : files)
+            {
+                String fileName = file.getFileName().toString();
+                long size = Files.size(file);
+                this.diskIndex.put(fileName.substring(0, fileName.length() - FILE_EXTENSION.length()), size);
+                this.diskBytes += size;
+            }
+            LOGGER.info("Found Pure model context data for {} version(s) ({} bytes) in {}", this.diskIndex.size(), this.diskBytes, this.directory);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error initializing version Pure model context data directory " + this.directory, e);
+        }
+    }
+
+    private String getKey(String projectId, String versionId, String protocolVersion)
+    {
+        Objects.requireNonNull(projectId, "project id may not be null");
+        Objects.requireNonNull(versionId, "version id may not be null");
+        Objects.requireNonNull(protocolVersion, "protocol version may not be null");
+
+        // the sanitized prefix is only for readability, since sanitizing can map distinct ids to the same string; the
+        // key is made unique by a hash of the length-prefixed parts
+        StringBuilder builder = new StringBuilder();
+        for (String part : new String[]{projectId, versionId, protocolVersion, this.buildVersion})
+        {
+            builder.append(part.length()).append(':').append(part);
+        }
+        return FILE_NAME_REPLACE.matcher(projectId).replaceAll("_") + "-" +
+                FILE_NAME_REPLACE.matcher(versionId).replaceAll("_") + "-" +
+                ProjectFiles.getGitBlobId(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static VersionPureModelContextDataStore newStore(Path directory, long maxDiskBytes, ObjectMapper objectMapper, boolean precomputeNewVersions)
+    {
+        return newStore(directory, maxDiskBytes, objectMapper, precomputeNewVersions, DEFAULT_BUILD_VERSION);
+    }
+
+    public static VersionPureModelContextDataStore newStore(Path directory, long maxDiskBytes, ObjectMapper objectMapper, boolean precomputeNewVersions, String buildVersion)
+    {
+        return new VersionPureModelContextDataStore(directory, maxDiskBytes, objectMapper, precomputeNewVersions, buildVersion);
+    }
+
+    /**
+     * Get the server-wide store, or null if none has been configured.
+     *
+     * @return server-wide store or null
+     */
+    public static VersionPureModelContextDataStore getSharedStore()
+    {
+        return sharedStore;
+    }
+
+    public static synchronized void setSharedStore(VersionPureModelContextDataStore store)
+    {
+        sharedStore = store;
+    }
+}
@@ -0,0 +1,153 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.domain.model.revision.Revision;
+import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionAccessContext;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.tools.ImplementationVersions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response.Status;
+
+public abstract class ConditionalGetResource extends BaseResource
+{
+    private static final String TAG_HASH_ALGORITHM = "SHA-256";
+
+    // responses also depend on the server and protocol implementations, so tags change when those do
+    private static final String TAG_BUILD_VERSION = ImplementationVersions.getImplementationVersion(ConditionalGetResource.class, Entity.class, PureModelContextData.class, PureModelContextDataBuilder.class);
+
+    /**
+     * Execute a GET whose result depends only on a revision and the given tag parts (typically the query parameters
+     * of the request). The revision is resolved first, and a strong entity tag is computed from it, the server build,
+     * and the tag parts. If the preconditions of the request match the tag, null is returned without calling the
+     * function, and {@link ConditionalGetFilter} turns the response into Not Modified. Otherwise, the function is
+     * called with the resolved revision id, and the filter adds the tag to the response. If no revision id can be
+     * resolved, the function is called with null and the response has no tag.
+     *
+     * @param descriptionForLogging description for logging
+     * @param metricName            metric name
+     * @param revisionIdSupplier    supplier of the resolved revision id
+     * @param function              function from the resolved revision id to the result
+     * @param tagParts              other parts of the response tag
+     * @param <T>                   result type
+     * @return result, or null if not modified
+     */
+    protected <T> T executeConditionalGet(String descriptionForLogging, String metricName, Supplier<String> revisionIdSupplier, Function<? super String, T> function, Object... tagParts)
+    {
+        try
+        {
+            return execute(descriptionForLogging, metricName, () ->
+            {
+                String revisionId = revisionIdSupplier.get();
+                return ((revisionId != null) && ConditionalGetFilter.isNotModified(newEntityTag(revisionId, tagParts))) ? null : function.apply(revisionId);
+            });
+        }
+        finally
+        {
+            ConditionalGetFilter.clearCurrentRequest();
+        }
+    }
+
+    protected <T> T executeConditionalGetWithLogging(String description, Supplier<String> revisionIdSupplier, Function<? super String, T> function, Object... tagParts)
+    {
+        return executeConditionalGet(description, null, revisionIdSupplier, function, tagParts);
+    }
+
+    protected static String getCurrentRevisionId(RevisionAccessContext revisionAccessContext)
+    {
+        Revision revision = revisionAccessContext.getCurrentRevision();
+        return (revision == null) ? null : revision.getId();
+    }
+
+    protected static String resolveRevisionId(RevisionAccessContext revisionAccessContext, String revisionId)
+    {
+        Revision revision = revisionAccessContext.getRevision(revisionId);
+        if (revision == null)
+        {
+            throw new LegendSDLCServerException("Unknown revision: " + revisionId, Status.NOT_FOUND);
+        }
+        return revision.getId();
+    }
+
+    /**
+     * Compute a strong entity tag for a revision and other tag parts, in the current server build. The tag parts may be null, strings, or
+     * collections. Sets are treated as unordered, so the tag does not depend on their iteration order.
+     *
+     * @param revisionId revision id
+     * @param tagParts   other parts of the tag
+     * @return strong entity tag
+     */
+    protected static EntityTag newEntityTag(String revisionId, Object... tagParts)
+    {
+        StringBuilder builder = new StringBuilder(128);
+        appendTagPart(builder, TAG_BUILD_VERSION);
+        appendTagPart(builder, revisionId);
+        for (Object tagPart : tagParts)
+        {
+            appendTagPart(builder, tagPart);
+        }
+
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance(TAG_HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(TAG_HASH_ALGORITHM + " is not available", e);
+        }
+        byte[] hash = digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder tagBuilder = new StringBuilder(hash.length * 2);
+        for (byte b : hash)
+        {
+            tagBuilder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return new EntityTag(tagBuilder.toString());
+    }
+
+    private static void appendTagPart(StringBuilder builder, Object tagPart)
+    {
+        // each part is prefixed with its type and length, so that different parts cannot run together
+        if (tagPart == null)
+        {
+            builder.append("n;");
+        }
+        else if (tagPart instanceof Collection)
+        {
+            Collection<?> collection = (tagPart instanceof Set) ?
+                    ((Set<?>) tagPart).stream().map(String::valueOf).sorted().collect(Collectors.toList()) :
+                    (Collection<?>) tagPart;
+            builder.append('c').append(collection.size()).append(';');
+            collection.forEach(element -> appendTagPart(builder, element));
+        }
+        else
+        {
+            String string = tagPart.toString();
+            builder.append('s').append(string.length()).append(':').append(string);
+        }
+    }
+}
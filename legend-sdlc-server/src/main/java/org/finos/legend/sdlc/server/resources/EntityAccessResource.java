@@ -25,7 +25,7 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-public abstract class EntityAccessResource extends BaseResource
+public abstract class EntityAccessResource extends ConditionalGetResource
 {
     private static final char TAGGED_VALUE_DELIMITER = '/';
 
@@ -20,23 +20,74 @@ import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextDa
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityAccessContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public abstract class PureModelContextDataResource extends BaseResource
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+public abstract class PureModelContextDataResource extends ConditionalGetResource
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PureModelContextDataResource.class);
+
+    public static final String PROTOCOL_NAME = "pure";
+    public static final String PROTOCOL_VERSION = PureClientVersions.production;
+
+    private static final int CONVERSION_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    private static final ForkJoinPool CONVERSION_POOL = newConversionPool();
+
     protected PureModelContextData getPureModelContextData(String projectId, String revisionOrVersionId, EntityAccessContext entityAccessContext)
     {
         return getPureModelContextData(projectId, revisionOrVersionId, entityAccessContext.getEntities(null, null, null));
     }
 
     protected PureModelContextData getPureModelContextData(String projectId, String revisionOrVersionId, Iterable<? extends Entity> entities)
+    {
+        return buildPureModelContextData(projectId, revisionOrVersionId, entities);
+    }
+
+    /**
+     * Build Pure model context data for a revision or version of a project.
+     *
+     * @param projectId           project id
+     * @param revisionOrVersionId revision or version id
+     * @param entities            entities
+     * @return Pure model context data
+     */
+    public static PureModelContextData buildPureModelContextData(String projectId, String revisionOrVersionId, Iterable<? extends Entity> entities)
     {
         AlloySDLC sdlc = new AlloySDLC();
         sdlc.project = projectId;
         sdlc.baseVersion = revisionOrVersionId;
-        return PureModelContextDataBuilder.newBuilder()
-                .withProtocol("pure", PureClientVersions.production)
+        PureModelContextDataBuilder builder = PureModelContextDataBuilder.newBuilder()
+                .withConversionPool(CONVERSION_POOL)
+                .withProtocol(PROTOCOL_NAME, PROTOCOL_VERSION)
                 .withSDLC(sdlc)
-                .withEntitiesIfPossible(entities)
-                .build();
+                .withEntitiesIfPossible(entities);
+        logConversionFailures(projectId, revisionOrVersionId, builder.getConversionFailures());
+        return builder.build();
+    }
+
+    private static void logConversionFailures(String projectId, String revisionOrVersionId, List<PureModelContextDataBuilder.EntityConversionFailure> failures)
+    {
+        if (!failures.isEmpty())
+        {
+            LOGGER.warn("Could not convert {} entities in project {} at {}, which are not included in the Pure model context data: {}", failures.size(), projectId, revisionOrVersionId, failures.stream().map(PureModelContextDataBuilder.EntityConversionFailure::getEntityPath).collect(Collectors.joining(", ")));
+            failures.forEach(f -> LOGGER.debug("Could not convert entity {} with classifier {}", f.getEntityPath(), f.getClassifierPath(), f.getError()));
+        }
+    }
+
+    private static ForkJoinPool newConversionPool()
+    {
+        // A dedicated pool, so that converting large models does not take over the common pool
+        return new ForkJoinPool(CONVERSION_THREADS, pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("pure-model-context-data-conversion-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
     }
 }
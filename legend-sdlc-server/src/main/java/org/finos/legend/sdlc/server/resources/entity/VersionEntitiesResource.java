@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.version.VersionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -40,11 +41,13 @@ import java.util.Set;
 public class VersionEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final VersionApi versionApi;
 
     @Inject
-    public VersionEntitiesResource(EntityApi entityApi)
+    public VersionEntitiesResource(EntityApi entityApi, VersionApi versionApi)
     {
         this.entityApi = entityApi;
+        this.versionApi = versionApi;
     }
 
     @GET
@@ -68,9 +71,11 @@ public class VersionEntitiesResource extends EntityAccessResource
                                        @DefaultValue("false")
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities in version " + versionId + " for project " + projectId,
-                () -> getEntities(this.entityApi.getVersionEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> this.versionApi.getVersion(projectId, versionId).getRevisionId(),
+                revisionId -> getEntities(this.entityApi.getVersionEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -79,9 +84,11 @@ public class VersionEntitiesResource extends EntityAccessResource
     @ApiOperation("Get an entity of a version by its path")
     public Entity getEntityByPath(@PathParam("projectId") String projectId, @PathParam("versionId") String versionId, @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in version " + versionId + " for project " + projectId,
-                () -> this.entityApi.getVersionEntityAccessContext(projectId, versionId).getEntity(path)
+                () -> this.versionApi.getVersion(projectId, versionId).getRevisionId(),
+                revisionId -> this.entityApi.getVersionEntityAccessContext(projectId, versionId).getEntity(path),
+                path
         );
     }
 }
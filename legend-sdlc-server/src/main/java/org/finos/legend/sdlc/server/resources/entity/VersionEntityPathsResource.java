@@ -18,6 +18,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.version.VersionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -39,11 +40,13 @@ import java.util.Set;
 public class VersionEntityPathsResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final VersionApi versionApi;
 
     @Inject
-    public VersionEntityPathsResource(EntityApi entityApi)
+    public VersionEntityPathsResource(EntityApi entityApi, VersionApi versionApi)
     {
         this.entityApi = entityApi;
+        this.versionApi = versionApi;
     }
 
     @GET
@@ -64,9 +67,11 @@ public class VersionEntityPathsResource extends EntityAccessResource
                                        @QueryParam("taggedValue")
                                        @ApiParam("Only include entities with a matching tagged value. The syntax is PROFILE.NAME/REGEX, where PROFILE is the full path of the Profile that owns the Tag, NAME is the name of the Tag, and REGEX is a regular expression to match against the value.") List<String> taggedValueRegexes)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity paths in version " + versionId + " for project " + projectId,
-                () -> getEntityPaths(this.entityApi.getVersionEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes)
+                () -> this.versionApi.getVersion(projectId, versionId).getRevisionId(),
+                revisionId -> getEntityPaths(this.entityApi.getVersionEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes
         );
     }
 }
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -43,11 +44,13 @@ import java.util.Set;
 public class PatchesProjectEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public PatchesProjectEntitiesResource(EntityApi entityApi)
+    public PatchesProjectEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -81,9 +84,11 @@ public class PatchesProjectEntitiesResource extends EntityAccessResource
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities for project " + projectId + " for patch release version " + patchReleaseVersionId,
-                () -> getEntities(this.entityApi.getProjectEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> getCurrentRevisionId(this.revisionApi.getProjectRevisionContext(projectId, versionId)),
+                revisionId -> getEntities(this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -102,9 +107,11 @@ public class PatchesProjectEntitiesResource extends EntityAccessResource
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " for project " + projectId,
-                () -> this.entityApi.getProjectEntityAccessContext(projectId, versionId).getEntity(path)
+                () -> getCurrentRevisionId(this.revisionApi.getProjectRevisionContext(projectId, versionId)),
+                revisionId -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, revisionId).getEntity(path),
+                path
         );
     }
 }
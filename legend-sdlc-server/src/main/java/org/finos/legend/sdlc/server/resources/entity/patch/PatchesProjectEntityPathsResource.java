@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -42,11 +43,13 @@ import java.util.Set;
 public class PatchesProjectEntityPathsResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public PatchesProjectEntityPathsResource(EntityApi entityApi)
+    public PatchesProjectEntityPathsResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -77,9 +80,11 @@ public class PatchesProjectEntityPathsResource extends EntityAccessResource
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity paths for project " + projectId + " for patch release version " + patchReleaseVersionId,
-                () -> getEntityPaths(this.entityApi.getProjectEntityAccessContext(projectId, versionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes)
+                () -> getCurrentRevisionId(this.revisionApi.getProjectRevisionContext(projectId, versionId)),
+                revisionId -> getEntityPaths(this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes
         );
     }
 }
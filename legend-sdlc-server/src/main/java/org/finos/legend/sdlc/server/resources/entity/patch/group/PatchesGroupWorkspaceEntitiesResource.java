@@ -26,6 +26,7 @@ import org.finos.legend.sdlc.server.application.entity.DeleteEntityCommand;
 import org.finos.legend.sdlc.server.application.entity.UpdateEntitiesCommand;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.project.source.SourceSpecification;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -51,11 +52,13 @@ import java.util.Set;
 public class PatchesGroupWorkspaceEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public PatchesGroupWorkspaceEntitiesResource(EntityApi entityApi)
+    public PatchesGroupWorkspaceEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -91,10 +94,12 @@ public class PatchesGroupWorkspaceEntitiesResource extends EntityAccessResource
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return execute(
+        return executeConditionalGet(
                 "getting entities in group workspace " + workspaceId + " for project " + projectId + " for patch release version " + patchReleaseVersionId,
                 "get entities of the group workspace",
-                () -> getEntities(this.entityApi.getWorkspaceEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId)), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> getCurrentRevisionId(this.revisionApi.getWorkspaceRevisionContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId))),
+                revisionId -> getEntities(this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -161,9 +166,11 @@ public class PatchesGroupWorkspaceEntitiesResource extends EntityAccessResource
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in group workspace " + workspaceId + " for project " + projectId + " for patch release version " + patchReleaseVersionId,
-                () -> this.entityApi.getWorkspaceEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId)).getEntity(path)
+                () -> getCurrentRevisionId(this.revisionApi.getWorkspaceRevisionContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId))),
+                revisionId -> this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), revisionId).getEntity(path),
+                path
         );
     }
 
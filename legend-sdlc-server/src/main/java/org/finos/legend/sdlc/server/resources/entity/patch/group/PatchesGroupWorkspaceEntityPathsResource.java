@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.project.source.SourceSpecification;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -43,11 +44,13 @@ import java.util.Set;
 public class PatchesGroupWorkspaceEntityPathsResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public PatchesGroupWorkspaceEntityPathsResource(EntityApi entityApi)
+    public PatchesGroupWorkspaceEntityPathsResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -79,9 +82,11 @@ public class PatchesGroupWorkspaceEntityPathsResource extends EntityAccessResour
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity paths in group workspace " + workspaceId + " for project " + projectId + " for patch release version " + patchReleaseVersionId,
-                () -> getEntityPaths(this.entityApi.getWorkspaceEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId)), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes)
+                () -> getCurrentRevisionId(this.revisionApi.getWorkspaceRevisionContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId))),
+                revisionId -> getEntityPaths(this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes
         );
     }
 }
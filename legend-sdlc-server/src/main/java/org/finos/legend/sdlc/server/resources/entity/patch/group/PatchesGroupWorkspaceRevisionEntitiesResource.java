@@ -21,6 +21,7 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.project.source.SourceSpecification;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -44,11 +45,13 @@ import java.util.Set;
 public class PatchesGroupWorkspaceRevisionEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public PatchesGroupWorkspaceRevisionEntitiesResource(EntityApi entityApi)
+    public PatchesGroupWorkspaceRevisionEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -85,9 +88,11 @@ public class PatchesGroupWorkspaceRevisionEntitiesResource extends EntityAccessR
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities in revision " + revisionId + " of group workspace " + workspaceId + " for project " + projectId + " for patch release version " + patchReleaseVersionId,
-                () -> getEntities(this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> resolveRevisionId(this.revisionApi.getWorkspaceRevisionContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId)), revisionId),
+                resolvedRevisionId -> getEntities(this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), resolvedRevisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -111,9 +116,11 @@ public class PatchesGroupWorkspaceRevisionEntitiesResource extends EntityAccessR
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in revision " + revisionId + " of group workspace " + workspaceId + " for project " + projectId,
-                () -> this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), revisionId).getEntity(path)
+                () -> resolveRevisionId(this.revisionApi.getWorkspaceRevisionContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId)), revisionId),
+                resolvedRevisionId -> this.entityApi.getWorkspaceRevisionEntityAccessContext(projectId, SourceSpecification.newGroupWorkspaceSourceSpecification(workspaceId, versionId), resolvedRevisionId).getEntity(path),
+                path
         );
     }
 }
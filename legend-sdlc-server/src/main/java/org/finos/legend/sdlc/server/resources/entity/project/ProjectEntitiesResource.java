@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -40,11 +41,13 @@ import java.util.Set;
 public class ProjectEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public ProjectEntitiesResource(EntityApi entityApi)
+    public ProjectEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -67,9 +70,11 @@ public class ProjectEntitiesResource extends EntityAccessResource
                                        @DefaultValue("false")
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities for project " + projectId,
-                () -> getEntities(this.entityApi.getProjectEntityAccessContext(projectId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> getCurrentRevisionId(this.revisionApi.getProjectRevisionContext(projectId)),
+                revisionId -> getEntities(this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -78,9 +83,11 @@ public class ProjectEntitiesResource extends EntityAccessResource
     @ApiOperation("Get an entity of the project by its path")
     public Entity getEntityByPath(@PathParam("projectId") String projectId, @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " for project " + projectId,
-                () -> this.entityApi.getProjectEntityAccessContext(projectId).getEntity(path)
+                () -> getCurrentRevisionId(this.revisionApi.getProjectRevisionContext(projectId)),
+                revisionId -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId).getEntity(path),
+                path
         );
     }
 }
@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -40,11 +41,13 @@ import java.util.Set;
 public class ProjectRevisionEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public ProjectRevisionEntitiesResource(EntityApi entityApi)
+    public ProjectRevisionEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -69,9 +72,11 @@ public class ProjectRevisionEntitiesResource extends EntityAccessResource
                                        @DefaultValue("false")
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities for revision " + revisionId + " of project " + projectId,
-                () -> getEntities(this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> resolveRevisionId(this.revisionApi.getProjectRevisionContext(projectId), revisionId),
+                resolvedRevisionId -> getEntities(this.entityApi.getProjectRevisionEntityAccessContext(projectId, resolvedRevisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -80,9 +85,11 @@ public class ProjectRevisionEntitiesResource extends EntityAccessResource
     @ApiOperation("Get an entity of a revision of the project by its path")
     public Entity getEntityByPath(@PathParam("projectId") String projectId, @PathParam("revisionId") @ApiParam("Including aliases: head, latest, current, base") String revisionId, @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " for revision " + revisionId + " of project " + projectId,
-                () -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId).getEntity(path)
+                () -> resolveRevisionId(this.revisionApi.getProjectRevisionContext(projectId), revisionId),
+                resolvedRevisionId -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, resolvedRevisionId).getEntity(path),
+                path
         );
     }
 }
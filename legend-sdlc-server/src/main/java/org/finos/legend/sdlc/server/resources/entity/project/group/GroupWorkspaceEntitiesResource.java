@@ -24,6 +24,7 @@ import org.finos.legend.sdlc.server.application.entity.DeleteEntitiesCommand;
 import org.finos.legend.sdlc.server.application.entity.DeleteEntityCommand;
 import org.finos.legend.sdlc.server.application.entity.UpdateEntitiesCommand;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -48,11 +49,13 @@ import java.util.Set;
 public class GroupWorkspaceEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public GroupWorkspaceEntitiesResource(EntityApi entityApi)
+    public GroupWorkspaceEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -77,10 +80,12 @@ public class GroupWorkspaceEntitiesResource extends EntityAccessResource
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid
     )
     {
-        return execute(
+        return executeConditionalGet(
                 "getting entities in group workspace " + workspaceId + " for project " + projectId,
                 "get entities of the group workspace",
-                () -> getEntities(this.entityApi.getGroupWorkspaceEntityAccessContext(projectId, workspaceId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> getCurrentRevisionId(this.revisionApi.getGroupWorkspaceRevisionContext(projectId, workspaceId)),
+                revisionId -> getEntities(this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -117,9 +122,11 @@ public class GroupWorkspaceEntitiesResource extends EntityAccessResource
     @ApiOperation("Get an entity of the group workspace by its path")
     public Entity getEntityByPath(@PathParam("projectId") String projectId, @PathParam("workspaceId") String workspaceId, @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in group workspace " + workspaceId + " for project " + projectId,
-                () -> this.entityApi.getGroupWorkspaceEntityAccessContext(projectId, workspaceId).getEntity(path)
+                () -> getCurrentRevisionId(this.revisionApi.getGroupWorkspaceRevisionContext(projectId, workspaceId)),
+                revisionId -> this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId).getEntity(path),
+                path
         );
     }
 
@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -40,11 +41,13 @@ import java.util.Set;
 public class GroupWorkspaceRevisionEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public GroupWorkspaceRevisionEntitiesResource(EntityApi entityApi)
+    public GroupWorkspaceRevisionEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -70,9 +73,11 @@ public class GroupWorkspaceRevisionEntitiesResource extends EntityAccessResource
                                        @DefaultValue("false")
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entities in revision " + revisionId + " of group workspace " + workspaceId + " for project " + projectId,
-                () -> getEntities(this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> resolveRevisionId(this.revisionApi.getGroupWorkspaceRevisionContext(projectId, workspaceId), revisionId),
+                resolvedRevisionId -> getEntities(this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, resolvedRevisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -85,9 +90,11 @@ public class GroupWorkspaceRevisionEntitiesResource extends EntityAccessResource
                                   @ApiParam("Including aliases: head, latest, current, base") String revisionId,
                                   @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in revision " + revisionId + " of group workspace " + workspaceId + " for project " + projectId,
-                () -> this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId).getEntity(path)
+                () -> resolveRevisionId(this.revisionApi.getGroupWorkspaceRevisionContext(projectId, workspaceId), revisionId),
+                resolvedRevisionId -> this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, resolvedRevisionId).getEntity(path),
+                path
         );
     }
 }
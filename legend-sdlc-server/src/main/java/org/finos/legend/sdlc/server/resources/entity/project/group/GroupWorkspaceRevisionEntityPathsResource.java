@@ -18,6 +18,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
 import javax.inject.Inject;
@@ -39,11 +40,13 @@ import java.util.Set;
 public class GroupWorkspaceRevisionEntityPathsResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public GroupWorkspaceRevisionEntityPathsResource(EntityApi entityApi)
+    public GroupWorkspaceRevisionEntityPathsResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -65,9 +68,11 @@ public class GroupWorkspaceRevisionEntityPathsResource extends EntityAccessResou
                                        @QueryParam("taggedValue")
                                        @ApiParam("Only include entities with a matching tagged value. The syntax is PROFILE.NAME/REGEX, where PROFILE is the full path of the Profile that owns the Tag, NAME is the name of the Tag, and REGEX is a regular expression to match against the value.") List<String> taggedValueRegexes)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity paths in revision " + revisionId + " of group workspace " + workspaceId + " for project " + projectId,
-                () -> getEntityPaths(this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes)
+                () -> resolveRevisionId(this.revisionApi.getGroupWorkspaceRevisionContext(projectId, workspaceId), revisionId),
+                resolvedRevisionId -> getEntityPaths(this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, resolvedRevisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes
         );
     }
 }
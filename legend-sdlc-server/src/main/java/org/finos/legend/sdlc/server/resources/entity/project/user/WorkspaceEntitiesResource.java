@@ -24,6 +24,7 @@ import org.finos.legend.sdlc.server.application.entity.DeleteEntitiesCommand;
 import org.finos.legend.sdlc.server.application.entity.DeleteEntityCommand;
 import org.finos.legend.sdlc.server.application.entity.UpdateEntitiesCommand;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.EntityAccessResource;
 
@@ -48,11 +49,13 @@ import java.util.Set;
 public class WorkspaceEntitiesResource extends EntityAccessResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    public WorkspaceEntitiesResource(EntityApi entityApi)
+    public WorkspaceEntitiesResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -76,10 +79,12 @@ public class WorkspaceEntitiesResource extends EntityAccessResource
                                        @DefaultValue("false")
                                        @ApiParam("If true, exclude invalid entities and return valid entities only. If false, the endpoint will return an error if there are any invalid entities.") boolean excludeInvalid)
     {
-        return execute(
+        return executeConditionalGet(
                 "getting entities in user workspace " + workspaceId + " for project " + projectId,
                 "get entities of the user workspace",
-                () -> getEntities(this.entityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid)
+                () -> getCurrentRevisionId(this.revisionApi.getUserWorkspaceRevisionContext(projectId, workspaceId)),
+                revisionId -> getEntities(this.entityApi.getUserWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId), classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid),
+                classifierPaths, packages, includeSubPackages, nameRegex, stereotypes, taggedValueRegexes, excludeInvalid
         );
     }
 
@@ -116,9 +121,11 @@ public class WorkspaceEntitiesResource extends EntityAccessResource
     @ApiOperation("Get an entity of the workspace by its path")
     public Entity getEntityByPath(@PathParam("projectId") String projectId, @PathParam("workspaceId") String workspaceId, @PathParam("path") String path)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting entity " + path + " in user workspace " + workspaceId + " for project " + projectId,
-                () -> this.entityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId).getEntity(path)
+                () -> getCurrentRevisionId(this.revisionApi.getUserWorkspaceRevisionContext(projectId, workspaceId)),
+                revisionId -> this.entityApi.getUserWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId).getEntity(path),
+                path
         );
     }
 
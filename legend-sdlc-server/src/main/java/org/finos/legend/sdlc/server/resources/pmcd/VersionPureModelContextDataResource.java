@@ -19,6 +19,8 @@ import io.swagger.annotations.ApiOperation;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.version.VersionApi;
+import org.finos.legend.sdlc.server.project.VersionPureModelContextDataStore;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
 import javax.inject.Inject;
@@ -36,20 +38,37 @@ import javax.ws.rs.core.MediaType;
 public class VersionPureModelContextDataResource extends PureModelContextDataResource
 {
     private final EntityApi entityApi;
+    private final VersionApi versionApi;
 
     @Inject
-    protected VersionPureModelContextDataResource(EntityApi entityApi)
+    protected VersionPureModelContextDataResource(EntityApi entityApi, VersionApi versionApi)
     {
         this.entityApi = entityApi;
+        this.versionApi = versionApi;
     }
 
     @GET
     @ApiOperation("Get Pure model context data for a version of a project")
     public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId, @PathParam("versionId") String versionId)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for version " + versionId + " of project " + projectId,
-                () -> getPureModelContextData(projectId, VersionId.parseVersionId(versionId).toVersionIdString(), this.entityApi.getVersionEntityAccessContext(projectId, versionId))
+                // this also checks that the version exists and the user can access it before serving stored data
+                () -> this.versionApi.getVersion(projectId, versionId).getRevisionId(),
+                revisionId ->
+                {
+                    String versionIdString = VersionId.parseVersionId(versionId).toVersionIdString();
+                    VersionPureModelContextDataStore store = getVersionStore();
+                    return (store == null) ?
+                            getPureModelContextData(projectId, versionIdString, this.entityApi.getVersionEntityAccessContext(projectId, versionId)) :
+                            store.getPureModelContextDataIfAbsentPut(projectId, versionIdString, PROTOCOL_VERSION, () -> getPureModelContextData(projectId, versionIdString, this.entityApi.getVersionEntityAccessContext(projectId, versionId)));
+                },
+                PROTOCOL_NAME, PROTOCOL_VERSION
         );
     }
+
+    protected VersionPureModelContextDataStore getVersionStore()
+    {
+        return VersionPureModelContextDataStore.getSharedStore();
+    }
 }
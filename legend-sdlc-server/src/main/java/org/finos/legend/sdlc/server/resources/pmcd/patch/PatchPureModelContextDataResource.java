@@ -63,7 +63,7 @@ public class PatchPureModelContextDataResource extends PureModelContextDataResou
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for project " + projectId,
                 () ->
                 {
@@ -72,7 +72,10 @@ public class PatchPureModelContextDataResource extends PureModelContextDataResou
                     {
                         throw new LegendSDLCServerException("Could not find latest revision for project " + projectId + "; project may be corrupt" + " for patch release version " + patchReleaseVersionId);
                     }
-                    return getPureModelContextData(projectId, revision.getId(), this.entityApi.getProjectEntityAccessContext(projectId, versionId));
-                });
+                    return revision.getId();
+                },
+                revisionId -> getPureModelContextData(projectId, revisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, revisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
+        );
     }
 }
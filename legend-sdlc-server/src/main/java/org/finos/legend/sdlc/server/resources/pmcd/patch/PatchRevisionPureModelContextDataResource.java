@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiParam;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
@@ -39,11 +40,13 @@ import javax.ws.rs.core.Response;
 public class PatchRevisionPureModelContextDataResource extends PureModelContextDataResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    protected PatchRevisionPureModelContextDataResource(EntityApi entityApi)
+    protected PatchRevisionPureModelContextDataResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -62,9 +65,11 @@ public class PatchRevisionPureModelContextDataResource extends PureModelContextD
         {
             throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
         }
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for project " + projectId + " at revision " + revisionId + " for patch release version " + patchReleaseVersionId,
-                () -> getPureModelContextData(projectId, revisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, revisionId))
+                () -> resolveRevisionId(this.revisionApi.getProjectRevisionContext(projectId, versionId), revisionId),
+                resolvedRevisionId -> getPureModelContextData(projectId, resolvedRevisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, versionId, resolvedRevisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
         );
     }
 }
@@ -51,7 +51,7 @@ public class ProjectPureModelContextDataResource extends PureModelContextDataRes
     @ApiOperation("Get Pure model context data for a project (at the latest revision)")
     public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for project " + projectId,
                 () ->
                 {
@@ -60,7 +60,10 @@ public class ProjectPureModelContextDataResource extends PureModelContextDataRes
                     {
                         throw new LegendSDLCServerException("Could not find latest revision for project " + projectId + "; project may be corrupt");
                     }
-                    return getPureModelContextData(projectId, revision.getId(), this.entityApi.getProjectEntityAccessContext(projectId));
-                });
+                    return revision.getId();
+                },
+                revisionId -> getPureModelContextData(projectId, revisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
+        );
     }
 }
@@ -51,7 +51,7 @@ public class GroupWorkspacePureModelContextDataResource extends PureModelContext
     @ApiOperation("Get Pure model context data for a group workspace (at the latest revision)")
     public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId, @PathParam("workspaceId") String workspaceId)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for group workspace " + workspaceId + " in project " + projectId,
                 () ->
                 {
@@ -60,7 +60,10 @@ public class GroupWorkspacePureModelContextDataResource extends PureModelContext
                     {
                         throw new LegendSDLCServerException("Could not find latest revision for group workspace " + workspaceId + " in project " + projectId + "; project may be corrupt");
                     }
-                    return getPureModelContextData(projectId, revision.getId(), this.entityApi.getGroupWorkspaceEntityAccessContext(projectId, workspaceId));
-                });
+                    return revision.getId();
+                },
+                revisionId -> getPureModelContextData(projectId, revisionId, this.entityApi.getGroupWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
+        );
     }
 }
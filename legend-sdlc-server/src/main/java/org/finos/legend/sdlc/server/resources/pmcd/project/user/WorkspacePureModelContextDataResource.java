@@ -51,7 +51,7 @@ public class WorkspacePureModelContextDataResource extends PureModelContextDataR
     @ApiOperation("Get Pure model context data for a user workspace (at the latest revision)")
     public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId, @PathParam("workspaceId") String workspaceId)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for user workspace " + workspaceId + " in project " + projectId,
                 () ->
                 {
@@ -60,7 +60,10 @@ public class WorkspacePureModelContextDataResource extends PureModelContextDataR
                     {
                         throw new LegendSDLCServerException("Could not find latest revision for user workspace " + workspaceId + " in project " + projectId + "; project may be corrupt");
                     }
-                    return getPureModelContextData(projectId, revision.getId(), this.entityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId));
-                });
+                    return revision.getId();
+                },
+                revisionId -> getPureModelContextData(projectId, revisionId, this.entityApi.getUserWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
+        );
     }
 }
@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
 import javax.inject.Inject;
@@ -36,11 +37,13 @@ import javax.ws.rs.core.MediaType;
 public class WorkspaceRevisionPureModelContextDataResource extends PureModelContextDataResource
 {
     private final EntityApi entityApi;
+    private final RevisionApi revisionApi;
 
     @Inject
-    protected WorkspaceRevisionPureModelContextDataResource(EntityApi entityApi)
+    protected WorkspaceRevisionPureModelContextDataResource(EntityApi entityApi, RevisionApi revisionApi)
     {
         this.entityApi = entityApi;
+        this.revisionApi = revisionApi;
     }
 
     @GET
@@ -49,9 +52,11 @@ public class WorkspaceRevisionPureModelContextDataResource extends PureModelCont
                                                         @PathParam("workspaceId") String workspaceId,
                                                         @PathParam("revisionId") @ApiParam("Including aliases: head, latest, current, base") String revisionId)
     {
-        return executeWithLogging(
+        return executeConditionalGetWithLogging(
                 "getting Pure model context data for user workspace " + workspaceId + " in project " + projectId + " at revision " + revisionId,
-                () -> getPureModelContextData(projectId, revisionId, this.entityApi.getUserWorkspaceRevisionEntityAccessContext(projectId, workspaceId, revisionId))
+                () -> resolveRevisionId(this.revisionApi.getUserWorkspaceRevisionContext(projectId, workspaceId), revisionId),
+                resolvedRevisionId -> getPureModelContextData(projectId, resolvedRevisionId, this.entityApi.getUserWorkspaceRevisionEntityAccessContext(projectId, workspaceId, resolvedRevisionId)),
+                PROTOCOL_NAME, PROTOCOL_VERSION
         );
     }
 }
@@ -21,11 +21,16 @@ import org.finos.legend.sdlc.domain.model.project.ProjectType;
 import org.finos.legend.sdlc.domain.model.version.Version;
 import org.finos.legend.sdlc.server.application.version.CreateVersionCommand;
 import org.finos.legend.sdlc.server.config.LegendSDLCServerFeaturesConfiguration;
+import org.finos.legend.sdlc.server.domain.api.entity.DetachedEntityAccessContext;
+import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.project.ProjectConfigurationApi;
 import org.finos.legend.sdlc.server.domain.api.project.source.SourceSpecification;
 import org.finos.legend.sdlc.server.domain.api.version.VersionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.project.VersionPureModelContextDataStore;
 import org.finos.legend.sdlc.server.resources.BaseResource;
+import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
+import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 
 import java.util.List;
 import javax.inject.Inject;
@@ -48,13 +53,17 @@ public class VersionsResource extends BaseResource
     private final VersionApi versionApi;
     private final ProjectConfigurationApi projectConfigurationApi;
     private final LegendSDLCServerFeaturesConfiguration featuresConfiguration;
+    private final EntityApi entityApi;
+    private final BackgroundTaskProcessor backgroundTaskProcessor;
 
     @Inject
-    public VersionsResource(LegendSDLCServerFeaturesConfiguration featuresConfiguration, ProjectConfigurationApi projectConfigurationApi, VersionApi versionApi)
+    public VersionsResource(LegendSDLCServerFeaturesConfiguration featuresConfiguration, ProjectConfigurationApi projectConfigurationApi, VersionApi versionApi, EntityApi entityApi, BackgroundTaskProcessor backgroundTaskProcessor)
     {
         this.featuresConfiguration = featuresConfiguration;
         this.projectConfigurationApi = projectConfigurationApi;
         this.versionApi = versionApi;
+        this.entityApi = entityApi;
+        this.backgroundTaskProcessor = backgroundTaskProcessor;
     }
 
     @GET
@@ -151,9 +160,48 @@ public class VersionsResource extends BaseResource
         {
             throw new LegendSDLCServerException("Creating a version of a project of type " + type + " is not allowed", Response.Status.CONFLICT);
         }
-        return executeWithLogging(
+        Version version = executeWithLogging(
                 "creating new " + command.getVersionType().name().toLowerCase() + " version",
                 () -> this.versionApi.newVersion(projectId, command.getVersionType(), command.getRevisionId(), command.getNotes())
         );
+        precomputePureModelContextData(projectId, version);
+        return version;
+    }
+
+    private void precomputePureModelContextData(String projectId, Version version)
+    {
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.getSharedStore();
+        if ((store == null) || !store.shouldPrecomputeNewVersions() || (version == null) || (this.backgroundTaskProcessor == null))
+        {
+            return;
+        }
+        String versionId = version.getId().toVersionIdString();
+        String description = "precompute Pure model context data for version " + versionId + " of project " + projectId;
+        DetachedEntityAccessContext entityAccessContext;
+        try
+        {
+            // capture access and the revision now, since the task may run after the request is complete
+            entityAccessContext = this.entityApi.getDetachedEntityAccessContext(projectId, SourceSpecification.versionSourceSpecification(version.getId()), version.getRevisionId());
+        }
+        catch (Exception e)
+        {
+            getLogger().warn("Unable to {}", description, e);
+            return;
+        }
+        try
+        {
+            this.backgroundTaskProcessor.submitTask(() ->
+            {
+                try (DetachedEntityAccessContext context = entityAccessContext)
+                {
+                    store.getIfAbsentPut(projectId, versionId, PureModelContextDataResource.PROTOCOL_VERSION, () -> PureModelContextDataResource.buildPureModelContextData(projectId, versionId, context.getEntities(null, null, null)));
+                }
+            }, description);
+        }
+        catch (Exception e)
+        {
+            entityAccessContext.close();
+            throw e;
+        }
     }
 }
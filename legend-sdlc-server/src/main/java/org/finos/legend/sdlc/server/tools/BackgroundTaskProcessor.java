@@ -23,6 +23,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -212,7 +213,26 @@ public class BackgroundTaskProcessor
      */
     public void submitRetryableTask(RetryableTask task, Predicate<? super Exception> isExceptionRetryable, long minWaitBetweenRetriesMillis, String description)
     {
-        submit(new RetryableTaskWrapper(task, isExceptionRetryable, minWaitBetweenRetriesMillis, description));
+        submitRetryableTask(task, isExceptionRetryable, minWaitBetweenRetriesMillis, description, null);
+    }
+
+    /**
+     * Submit a retryable task for background execution, with an action to run once the task has ended.
+     * <p>
+     * This is as {@link #submitRetryableTask(RetryableTask, Predicate, long, String)}, except that {@code onEnd} is
+     * run exactly once when the task will not be run again: when it finishes, when it throws a non-retryable
+     * exception, or when it cannot be submitted or resubmitted (for example, because the task processor is shut
+     * down). This may be used to release resources held for the task.
+     *
+     * @param task                        retryable task
+     * @param isExceptionRetryable        predicate to test which exceptions are retryable (if null, no exceptions are retryable)
+     * @param minWaitBetweenRetriesMillis minimum time to wait between retries in milliseconds
+     * @param description                 task description for logger and error messages
+     * @param onEnd                       action to run when the task has ended (may be null)
+     */
+    public void submitRetryableTask(RetryableTask task, Predicate<? super Exception> isExceptionRetryable, long minWaitBetweenRetriesMillis, String description, Runnable onEnd)
+    {
+        submit(new RetryableTaskWrapper(task, isExceptionRetryable, minWaitBetweenRetriesMillis, description, onEnd));
     }
 
     /**
@@ -284,11 +304,13 @@ public class BackgroundTaskProcessor
         catch (RejectedExecutionException e)
         {
             LOGGER.error("{} Task rejected", taskWrapper.logPrefix, e);
+            taskWrapper.end();
             throw e;
         }
         catch (Exception e)
         {
             LOGGER.error("{} Error while submitting task", taskWrapper.logPrefix, e);
+            taskWrapper.end();
             throw e;
         }
         LOGGER.debug("{} task submitted", taskWrapper.logPrefix);
@@ -354,6 +376,11 @@ public class BackgroundTaskProcessor
         }
 
         protected abstract void runTask() throws Exception;
+
+        protected void end()
+        {
+            // nothing by default
+        }
     }
 
     private class SimpleTaskWrapper extends TaskWrapper
@@ -388,73 +415,105 @@ public class BackgroundTaskProcessor
         private final RetryableTask task;
         private final Predicate<? super Exception> isRetryableException;
         private final long minWaitBetweenRetriesMillis;
+        private final Runnable onEnd;
+        private final AtomicBoolean ended = new AtomicBoolean(false);
         private long lastTime;
         private int tryCount = 1;
 
-        private RetryableTaskWrapper(RetryableTask task, Predicate<? super Exception> isRetryableException, long minWaitBetweenRetriesMillis, String description)
+        private RetryableTaskWrapper(RetryableTask task, Predicate<? super Exception> isRetryableException, long minWaitBetweenRetriesMillis, String description, Runnable onEnd)
         {
             super(description);
             this.task = task;
             this.isRetryableException = isRetryableException;
             this.minWaitBetweenRetriesMillis = minWaitBetweenRetriesMillis;
+            this.onEnd = onEnd;
         }
 
         @Override
         protected void runTask() throws Exception
         {
-            long millisBeforeNextTry = getMillisBeforeNextTry();
-            while (millisBeforeNextTry > 0)
+            // once the task has been resubmitted, it may already be running again on another thread
+            boolean resubmitted = false;
+            try
             {
-                try
+                long millisBeforeNextTry = getMillisBeforeNextTry();
+                while (millisBeforeNextTry > 0)
                 {
-                    Thread.sleep(Math.min(millisBeforeNextTry, DEFAULT_SLEEP_MILLIS));
+                    try
+                    {
+                        Thread.sleep(Math.min(millisBeforeNextTry, DEFAULT_SLEEP_MILLIS));
+                    }
+                    catch (InterruptedException e)
+                    {
+                        resubmitted = resubmit();
+                        throw e;
+                    }
+                    millisBeforeNextTry = getMillisBeforeNextTry();
+                    if ((millisBeforeNextTry > DEFAULT_SLEEP_MILLIS) && !isQueueEmpty())
+                    {
+                        // Let other tasks have a chance: try to resubmit, but if we fail then let the task run
+                        if (resubmit())
+                        {
+                            resubmitted = true;
+                            return;
+                        }
+                        millisBeforeNextTry = 0;
+                    }
                 }
-                catch (InterruptedException e)
+
+                LOGGER.debug("{} Starting task, attempt #{}", this.logPrefix, this.tryCount);
+                boolean finished;
+                try
                 {
-                    resubmit();
-                    throw e;
+                    finished = this.task.run();
                 }
-                millisBeforeNextTry = getMillisBeforeNextTry();
-                if ((millisBeforeNextTry > DEFAULT_SLEEP_MILLIS) && !isQueueEmpty())
+                catch (Exception e)
                 {
-                    // Let other tasks have a chance: try to resubmit, but if we fail then let the task run
-                    if (resubmit())
+                    if (isExceptionRetryable(e))
                     {
+                        LOGGER.warn("{} Retryable error occurred on attempt #{}, resubmitting", this.logPrefix, this.tryCount, e);
+                        this.lastTime = System.currentTimeMillis();
+                        this.tryCount++;
+                        resubmitted = resubmit();
                         return;
                     }
-                    millisBeforeNextTry = 0;
+                    LOGGER.warn("{} Non-retryable error occurred during task on attempt #{}", this.logPrefix, this.tryCount, e);
+                    throw e;
                 }
-            }
-
-            LOGGER.debug("{} Starting task, attempt #{}", this.logPrefix, this.tryCount);
-            boolean finished;
-            try
-            {
-                finished = this.task.run();
-            }
-            catch (Exception e)
-            {
-                if (isExceptionRetryable(e))
+                if (finished)
                 {
-                    LOGGER.warn("{} Retryable error occurred on attempt #{}, resubmitting", this.logPrefix, this.tryCount, e);
+                    LOGGER.debug("{} Finished task on attempt #{}", this.logPrefix, this.tryCount);
+                }
+                else
+                {
+                    LOGGER.debug("{} Task unfinished on attempt #{}, resubmitting", this.logPrefix, this.tryCount);
                     this.lastTime = System.currentTimeMillis();
                     this.tryCount++;
-                    resubmit();
-                    return;
+                    resubmitted = resubmit();
                 }
-                LOGGER.warn("{} Non-retryable error occurred during task on attempt #{}", this.logPrefix, this.tryCount, e);
-                throw e;
             }
-            if (finished)
+            finally
             {
-                LOGGER.debug("{} Finished task on attempt #{}", this.logPrefix, this.tryCount);
+                if (!resubmitted)
+                {
+                    end();
+                }
             }
-            else
+        }
+
+        @Override
+        protected void end()
+        {
+            if ((this.onEnd != null) && this.ended.compareAndSet(false, true))
             {
-                LOGGER.debug("{} Task unfinished on attempt #{}, resubmitting", this.logPrefix, this.tryCount);
-                this.lastTime = System.currentTimeMillis();
-                this.tryCount++;
-                resubmit();
+                try
+                {
+                    this.onEnd.run();
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn("{} Error occurred while ending task", this.logPrefix, e);
+                }
             }
         }
 
@@ -0,0 +1,100 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.finos.legend.sdlc.server.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class ImplementationVersions
+{
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Get a string which identifies the implementations of the given classes. It changes whenever any of the jars (or
+     * class files) they are loaded from changes, so it can be used to invalidate data derived using those classes.
+     *
+     * @param classes classes
+     * @return implementation version string
+     */
+    public static String getImplementationVersion(Class<?>... classes)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (Class<?> cls : classes)
+        {
+            builder.append(cls.getName());
+            Package pkg = cls.getPackage();
+            String packageVersion = (pkg == null) ? null : pkg.getImplementationVersion();
+            if (packageVersion != null)
+            {
+                builder.append(' ').append(packageVersion);
+            }
+            CodeSource codeSource = cls.getProtectionDomain().getCodeSource();
+            if ((codeSource != null) && (codeSource.getLocation() != null))
+            {
+                builder.append(' ').append(codeSource.getLocation());
+                appendFileVersion(builder, codeSource, cls);
+            }
+            builder.append('\n');
+        }
+        return hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendFileVersion(StringBuilder builder, CodeSource codeSource, Class<?> cls)
+    {
+        try
+        {
+            Path path = Paths.get(codeSource.getLocation().toURI());
+            if (Files.isDirectory(path))
+            {
+                // the class is loaded from a directory of class files, as in a development build
+                path = path.resolve(cls.getName().replace('.', '/') + ".class");
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            builder.append(' ').append(attributes.size()).append(' ').append(attributes.lastModifiedTime().toMillis());
+        }
+        catch (Exception ignore)
+        {
+            // not a local file, so only its location can be recorded
+        }
+    }
+
+    private static String hash(byte[] bytes)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(e);
+        }
+        byte[] hash = digest.digest(bytes);
+        char[] chars = new char[2 * hash.length];
+        for (int i = 0; i < hash.length; i++)
+        {
+            chars[2 * i] = HEX_DIGITS[(hash[i] >>> 4) & 0xf];
+            chars[(2 * i) + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
@@ -29,9 +29,11 @@ import org.finos.legend.sdlc.domain.model.version.Version;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.version.NewVersionType;
 import org.finos.legend.sdlc.server.domain.api.project.source.SourceSpecification;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.gitlab.api.server.AbstractGitLabServerApiTest;
 import org.finos.legend.sdlc.server.gitlab.auth.GitLabUserContext;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabReferenceCache;
 import org.finos.legend.sdlc.server.tools.CallUntil;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.MergeRequestApi;
@@ -42,6 +44,7 @@ import org.junit.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.core.Response.Status;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -158,6 +161,54 @@ public class GitLabWorkspaceApiTestResource
         Assert.assertFalse(isGroupWorkspaceOutdated);
     }
 
+    public void runWorkspaceReadAfterCreateAndDeleteTest()
+    {
+        String projectName = "WorkspaceReadAfterWriteTestProject";
+        String description = "A test project.";
+        String groupId = "org.finos.sdlc.test";
+        String artifactId = "workreadafterwriteproj";
+        List<String> tags = Lists.mutable.with("doe", "moffitt", AbstractGitLabServerApiTest.INTEGRATION_TEST_PROJECT_TAG);
+        String workspaceId = "readafterwriteworkspace";
+
+        // use a reference cache which keeps resolutions for much longer than the test takes, so that any stale
+        // resolution of the workspace branch would be served
+        GitLabReferenceCache originalCache = GitLabReferenceCache.getSharedCache();
+        GitLabReferenceCache.setSharedCache(GitLabReferenceCache.newCache(10L * 60L * 1000L));
+        try
+        {
+            Project createdProject = gitLabProjectApi.createProject(projectName, description, ProjectType.MANAGED, groupId, artifactId, tags);
+            String projectId = createdProject.getProjectId();
+
+            gitLabWorkspaceApi.newUserWorkspace(projectId, workspaceId);
+            Assert.assertEquals(Collections.emptyList(), gitLabEntityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId).getEntities(null, null, null));
+
+            String entityPath = "test::entity";
+            String classifierPath = "meta::test::mathematicsDepartment";
+            Map<String, String> entityContentMap = Maps.mutable.with(
+                    "package", "test",
+                    "name", "entity",
+                    "math-113", "abstract-algebra",
+                    "math-185", "complex-analysis");
+            gitLabEntityApi.getUserWorkspaceEntityModificationContext(projectId, workspaceId).createEntity(entityPath, classifierPath, entityContentMap, "initial entity");
+            List<Entity> workspaceEntities = gitLabEntityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId).getEntities(null, null, null);
+            Assert.assertEquals(1, workspaceEntities.size());
+            Assert.assertEquals(entityPath, workspaceEntities.get(0).getPath());
+
+            // the deleted workspace must not be served from its cached resolution
+            gitLabWorkspaceApi.deleteUserWorkspace(projectId, workspaceId);
+            LegendSDLCServerException e = Assert.assertThrows(LegendSDLCServerException.class, () -> gitLabEntityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId).getEntities(null, null, null));
+            Assert.assertEquals(Status.NOT_FOUND, e.getStatus());
+
+            // the re-created workspace must be read at its new head, which does not have the entity
+            gitLabWorkspaceApi.newUserWorkspace(projectId, workspaceId);
+            Assert.assertEquals(Collections.emptyList(), gitLabEntityApi.getUserWorkspaceEntityAccessContext(projectId, workspaceId).getEntities(null, null, null));
+        }
+        finally
+        {
+            GitLabReferenceCache.setSharedCache(originalCache);
+        }
+    }
+
     public void runUpdateUserWorkspaceWithRebaseNoConflictTest() throws GitLabApiException
     {
         // Create new workspace from previous HEAD
@@ -0,0 +1,95 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.api;
+
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabApiPool;
+import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+import org.gitlab4j.api.Constants.TokenType;
+import org.gitlab4j.api.GitLabApi;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestGitLabApiWithFileAccess
+{
+    private static final String SERVER_URL = "https://gitlab.example.com";
+
+    private GitLabApiPool originalPool;
+    private GitLabApiPool pool;
+    private BackgroundTaskProcessor backgroundTaskProcessor;
+
+    @Before
+    public void setUp()
+    {
+        this.originalPool = GitLabApiPool.getSharedPool();
+        this.pool = GitLabApiPool.newPool(1, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApiPool.setSharedPool(this.pool);
+        this.backgroundTaskProcessor = new BackgroundTaskProcessor(1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        this.backgroundTaskProcessor.shutdown();
+        this.backgroundTaskProcessor.awaitTermination(30L, TimeUnit.SECONDS);
+        GitLabApiPool.setSharedPool(this.originalPool);
+    }
+
+    @Test
+    public void testBackgroundTaskHoldsGitLabApiThroughEviction() throws Exception
+    {
+        GitLabApi gitLabApi = this.pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        GitLabEntityApi api = new GitLabEntityApi(null, null, this.backgroundTaskProcessor);
+
+        CountDownLatch evicted = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger(0);
+        AtomicBoolean openOnRetry = new AtomicBoolean(false);
+        api.submitBackgroundRetryableTask(gitLabApi, () ->
+        {
+            if (attempts.incrementAndGet() == 1)
+            {
+                // the first attempt does not finish, so the task is retried after the eviction
+                Assert.assertTrue(evicted.await(10L, TimeUnit.SECONDS));
+                return false;
+            }
+            openOnRetry.set(this.pool.isOpen(gitLabApi));
+            finished.countDown();
+            return true;
+        }, 10L, "test task");
+
+        // the request which acquired the api ends, and the api is evicted from the pool by another
+        this.pool.releaseGitLabApi(gitLabApi);
+        this.pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token2");
+        Assert.assertEquals(1, this.pool.size());
+        Assert.assertTrue(this.pool.isOpen(gitLabApi));
+        evicted.countDown();
+
+        Assert.assertTrue(finished.await(10L, TimeUnit.SECONDS));
+        Assert.assertEquals(2, attempts.get());
+        Assert.assertTrue(openOnRetry.get());
+
+        // once the task has ended, its reference is released and the evicted api is closed
+        this.backgroundTaskProcessor.shutdown();
+        Assert.assertTrue(this.backgroundTaskProcessor.awaitTermination(10L, TimeUnit.SECONDS));
+        Assert.assertFalse(this.pool.isOpen(gitLabApi));
+    }
+}
@@ -45,6 +45,12 @@ public class IntegrationTestGitLabWorkspaceApis extends AbstractGitLabApiTest
         gitLabWorkspaceApiTestResource.runUserAndGroupWorkspaceNormalWorkflowTest();
     }
 
+    @Test
+    public void testWorkspaceReadAfterCreateAndDelete()
+    {
+        gitLabWorkspaceApiTestResource.runWorkspaceReadAfterCreateAndDeleteTest();
+    }
+
     @Test
     public void testUpdateUserWorkspaceWithRebaseNoConflictFlow() throws GitLabApiException
     {
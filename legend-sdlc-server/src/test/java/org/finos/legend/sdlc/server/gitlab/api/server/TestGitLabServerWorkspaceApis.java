@@ -57,6 +57,12 @@ public class TestGitLabServerWorkspaceApis extends AbstractGitLabServerApiTest
         gitLabWorkspaceApiTestResource.runUserAndGroupWorkspaceNormalWorkflowTest();
     }
 
+    @Test
+    public void testWorkspaceReadAfterCreateAndDelete()
+    {
+        gitLabWorkspaceApiTestResource.runWorkspaceReadAfterCreateAndDeleteTest();
+    }
+
     @Test
     public void testUpdateUserWorkspaceWithRebaseNoConflictFlow() throws GitLabApiException
     {
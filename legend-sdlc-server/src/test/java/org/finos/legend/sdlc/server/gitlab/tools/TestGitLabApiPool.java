@@ -0,0 +1,147 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.gitlab4j.api.Constants.TokenType;
+import org.gitlab4j.api.GitLabApi;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestGitLabApiPool
+{
+    private static final String SERVER_URL = "https://gitlab.example.com";
+
+    @Test
+    public void testReuse()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(GitLabApiPool.DEFAULT_MAX_SIZE, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, 1000, 2000);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertSame(api1, pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1"));
+        Assert.assertEquals("token1", api1.getAuthToken());
+
+        // different tokens, token types, and servers get different instances
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token2");
+        Assert.assertNotSame(api1, api2);
+        Assert.assertEquals("token2", api2.getAuthToken());
+        Assert.assertNotSame(api1, pool.acquireGitLabApi(SERVER_URL, TokenType.PRIVATE, "token1"));
+        Assert.assertNotSame(api1, pool.acquireGitLabApi("https://other.example.com", TokenType.OAUTH2_ACCESS, "token1"));
+        Assert.assertEquals(4, pool.size());
+    }
+
+    @Test
+    public void testMaxSize()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(2, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token2");
+        Assert.assertSame(api1, pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1"));
+
+        // least recently used is evicted
+        pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token3");
+        Assert.assertEquals(2, pool.size());
+        Assert.assertSame(api1, pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1"));
+        Assert.assertNotSame(api2, pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token2"));
+    }
+
+    @Test
+    public void testNoPooling()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(0, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertNotSame(api1, api2);
+        Assert.assertEquals(0, pool.size());
+
+        // unpooled instances are closed as soon as they are released
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+        Assert.assertTrue(pool.isOpen(api2));
+    }
+
+    @Test
+    public void testIdleTimeout()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(GitLabApiPool.DEFAULT_MAX_SIZE, 0L, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertNotSame(api1, api2);
+        Assert.assertEquals(1, pool.size());
+
+        // the evicted instance is still in use, so it is only closed when released
+        Assert.assertTrue(pool.isOpen(api1));
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+    }
+
+    @Test
+    public void testCloseOnEviction()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(1, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertSame(api1, pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1"));
+        pool.releaseGitLabApi(api1);
+
+        // evicted, but one reference remains
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token2");
+        Assert.assertEquals(1, pool.size());
+        Assert.assertTrue(pool.isOpen(api1));
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+
+        // releasing again has no effect
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+
+        // an unused instance is closed as soon as it is evicted
+        pool.releaseGitLabApi(api2);
+        Assert.assertTrue(pool.isOpen(api2));
+        pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token3");
+        Assert.assertFalse(pool.isOpen(api2));
+    }
+
+    @Test
+    public void testInvalidate()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(GitLabApiPool.DEFAULT_MAX_SIZE, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        pool.invalidateGitLabApi(api1);
+        Assert.assertEquals(0, pool.size());
+        Assert.assertTrue(pool.isOpen(api1));
+
+        GitLabApi api2 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertNotSame(api1, api2);
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+        Assert.assertTrue(pool.isOpen(api2));
+    }
+
+    @Test
+    public void testRetain()
+    {
+        GitLabApiPool pool = GitLabApiPool.newPool(GitLabApiPool.DEFAULT_MAX_SIZE, GitLabApiPool.DEFAULT_IDLE_TIMEOUT_MILLIS, null, null);
+        GitLabApi api1 = pool.acquireGitLabApi(SERVER_URL, TokenType.OAUTH2_ACCESS, "token1");
+        Assert.assertTrue(pool.retainGitLabApi(api1));
+
+        // the retained reference keeps an invalidated instance open
+        pool.invalidateGitLabApi(api1);
+        pool.releaseGitLabApi(api1);
+        Assert.assertTrue(pool.isOpen(api1));
+        pool.releaseGitLabApi(api1);
+        Assert.assertFalse(pool.isOpen(api1));
+
+        // a closed instance cannot be retained
+        Assert.assertFalse(pool.retainGitLabApi(api1));
+    }
+}
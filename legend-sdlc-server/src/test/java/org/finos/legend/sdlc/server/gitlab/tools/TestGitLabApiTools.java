@@ -14,6 +14,7 @@
 
 package org.finos.legend.sdlc.server.gitlab.tools;
 
+import org.finos.legend.sdlc.server.monitoring.DownstreamCallStats;
 import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
 import org.gitlab4j.api.GitLabApiException;
 import org.junit.Assert;
@@ -251,6 +252,32 @@ public class TestGitLabApiTools
         }
     }
 
+    @Test
+    public void testCall_InstrumentedAttempts() throws Exception
+    {
+        GitLabApiCallWithCounter<String> call = new GitLabApiCallWithCounter<String>()
+        {
+            @Override
+            protected String realCall() throws GitLabApiException
+            {
+                if (getCallCount() < 2)
+                {
+                    throw new GitLabApiException("retry me", Status.SERVICE_UNAVAILABLE.getStatusCode());
+                }
+                // nested instrumented calls are not counted separately
+                return GitLabApiTools.instrumentCall("nested", () -> "done");
+            }
+        };
+
+        try (DownstreamCallStats.Scope scope = DownstreamCallStats.start())
+        {
+            Assert.assertEquals("done", GitLabApiTools.callWithRetries("testEndpoint", call, 5, 1L));
+            Assert.assertEquals(3, call.getCallCount());
+            Assert.assertEquals(3, scope.getStats().getCallCount(GitLabApiTools.METRICS_SERVICE));
+        }
+        Assert.assertNull(DownstreamCallStats.getCurrent());
+    }
+
     private void assertDuration(int maxRetries, long expected, long actual)
     {
         long difference = actual - expected;
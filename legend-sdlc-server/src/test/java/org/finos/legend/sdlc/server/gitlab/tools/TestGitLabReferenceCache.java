@@ -0,0 +1,110 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
+import org.gitlab4j.api.models.Commit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestGitLabReferenceCache
+{
+    private static final GitLabProjectId PROJECT_1 = GitLabProjectId.newProjectId("TEST", 1);
+    private static final GitLabProjectId PROJECT_2 = GitLabProjectId.newProjectId("TEST", 2);
+
+    @Test
+    public void testCachedResolution() throws Exception
+    {
+        GitLabReferenceCache cache = GitLabReferenceCache.newCache(60_000L);
+        AtomicInteger callCount = new AtomicInteger();
+
+        Assert.assertNull(cache.peek("user1", PROJECT_1, "master"));
+        for (int i = 0; i < 3; i++)
+        {
+            Commit commit = cache.resolve("user1", PROJECT_1, "master", () -> newCommit("abc" + callCount.incrementAndGet()));
+            Assert.assertEquals("abc1", commit.getId());
+        }
+        Assert.assertEquals(1, callCount.get());
+        Assert.assertEquals("abc1", cache.peek("user1", PROJECT_1, "master").getId());
+
+        // different users, projects, and references are resolved separately
+        Assert.assertEquals("abc2", cache.resolve("user2", PROJECT_1, "master", () -> newCommit("abc" + callCount.incrementAndGet())).getId());
+        Assert.assertEquals("abc3", cache.resolve("user1", PROJECT_2, "master", () -> newCommit("abc" + callCount.incrementAndGet())).getId());
+        Assert.assertEquals("abc4", cache.resolve("user1", PROJECT_1, "other", () -> newCommit("abc" + callCount.incrementAndGet())).getId());
+        Assert.assertEquals(4, callCount.get());
+    }
+
+    @Test
+    public void testNullNotCached() throws Exception
+    {
+        GitLabReferenceCache cache = GitLabReferenceCache.newCache(60_000L);
+        AtomicInteger callCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertNull(cache.resolve("user1", PROJECT_1, "master", () ->
+            {
+                callCount.incrementAndGet();
+                return null;
+            }));
+        }
+        Assert.assertEquals(3, callCount.get());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception
+    {
+        GitLabReferenceCache cache = GitLabReferenceCache.newCache(60_000L);
+        cache.resolve("user1", PROJECT_1, "master", () -> newCommit("abc"));
+        cache.resolve("user2", PROJECT_1, "master", () -> newCommit("abc"));
+        cache.resolve("user1", PROJECT_2, "master", () -> newCommit("def"));
+
+        cache.invalidate(PROJECT_1);
+        Assert.assertNull(cache.peek("user1", PROJECT_1, "master"));
+        Assert.assertNull(cache.peek("user2", PROJECT_1, "master"));
+        Assert.assertEquals("def", cache.peek("user1", PROJECT_2, "master").getId());
+        Assert.assertEquals("ghi", cache.resolve("user1", PROJECT_1, "master", () -> newCommit("ghi")).getId());
+    }
+
+    @Test
+    public void testInvalidationWhileResolving() throws Exception
+    {
+        GitLabReferenceCache cache = GitLabReferenceCache.newCache(60_000L);
+        Assert.assertEquals("abc", cache.resolve("user1", PROJECT_1, "master", () ->
+        {
+            cache.invalidate(PROJECT_1);
+            return newCommit("abc");
+        }).getId());
+        Assert.assertNull(cache.peek("user1", PROJECT_1, "master"));
+    }
+
+    @Test
+    public void testZeroTimeToLive() throws Exception
+    {
+        GitLabReferenceCache cache = GitLabReferenceCache.newCache(0L);
+        AtomicInteger callCount = new AtomicInteger();
+        for (int i = 1; i <= 3; i++)
+        {
+            Assert.assertEquals("abc" + i, cache.resolve("user1", PROJECT_1, "master", () -> newCommit("abc" + callCount.incrementAndGet())).getId());
+        }
+        Assert.assertNull(cache.peek("user1", PROJECT_1, "master"));
+    }
+
+    private static Commit newCommit(String id)
+    {
+        return new Commit().withId(id);
+    }
+}
@@ -0,0 +1,199 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.gitlab.tools.GitLabRequestGovernor.RequestKind;
+import org.gitlab4j.api.GitLabApiException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.ws.rs.core.Response.Status;
+
+public class TestGitLabRequestGovernor
+{
+    @Test
+    public void testCall() throws Exception
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(4, 2, 10_000L);
+        Assert.assertEquals("result", governor.call("user1", RequestKind.READ, () -> "result"));
+        GitLabApiException e = Assert.assertThrows(GitLabApiException.class, () -> governor.call("user1", RequestKind.READ, () ->
+        {
+            throw new GitLabApiException("not found", Status.NOT_FOUND.getStatusCode());
+        }));
+        Assert.assertEquals(Status.NOT_FOUND.getStatusCode(), e.getHttpStatus());
+        Assert.assertEquals(4, governor.getLimit(RequestKind.READ));
+        Assert.assertEquals(2, governor.getLimit(RequestKind.WRITE));
+    }
+
+    @Test
+    public void testOverloadDecreasesLimit()
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(8, 8, 10_000L);
+        Assert.assertThrows(GitLabApiException.class, () -> governor.call("user1", RequestKind.READ, () ->
+        {
+            throw new GitLabApiException("too many requests", Status.TOO_MANY_REQUESTS.getStatusCode());
+        }));
+        Assert.assertEquals(4, governor.getLimit(RequestKind.READ));
+
+        // writes have a separate budget
+        Assert.assertEquals(8, governor.getLimit(RequestKind.WRITE));
+    }
+
+    @Test
+    public void testOverloadBackoff() throws Exception
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(8, 8, 10_000L);
+        Assert.assertThrows(GitLabApiException.class, () -> governor.call("user1", RequestKind.READ, () ->
+        {
+            throw new GitLabApiException("service unavailable", Status.SERVICE_UNAVAILABLE.getStatusCode());
+        }));
+
+        // the next call waits for the backoff
+        long start = System.nanoTime();
+        Assert.assertEquals("result", governor.call("user1", RequestKind.READ, () -> "result"));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400L);
+    }
+
+    @Test
+    public void testConcurrencyLimitAndFairness() throws Exception
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(1, 1, 10_000L);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            Future<?> blocker = executor.submit(() -> governor.call("user1", RequestKind.READ, () ->
+            {
+                blockerStarted.countDown();
+                releaseBlocker.await();
+                return null;
+            }));
+            Assert.assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+
+            // queue three calls for user1, then one for user2
+            for (int i = 0; i < 3; i++)
+            {
+                int n = i;
+                executor.submit(() -> governor.call("user1", RequestKind.READ, () -> order.add("user1-" + n)));
+                waitForQueueDepth(governor, i + 1);
+            }
+            Future<?> user2 = executor.submit(() -> governor.call("user2", RequestKind.READ, () -> order.add("user2")));
+            waitForQueueDepth(governor, 4);
+            Assert.assertTrue(order.isEmpty());
+
+            releaseBlocker.countDown();
+            blocker.get(10, TimeUnit.SECONDS);
+            user2.get(10, TimeUnit.SECONDS);
+            while (order.size() < 4)
+            {
+                Thread.sleep(10L);
+            }
+            // user2 is served before user1's later calls
+            Assert.assertEquals("user1-0", order.get(0));
+            Assert.assertEquals("user2", order.get(1));
+            Assert.assertEquals(0, governor.getQueueDepth(RequestKind.READ));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(1, 1, 100L);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            executor.submit(() -> governor.call("user1", RequestKind.WRITE, () ->
+            {
+                blockerStarted.countDown();
+                releaseBlocker.await();
+                return null;
+            }));
+            Assert.assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+            LegendSDLCServerException e = Assert.assertThrows(LegendSDLCServerException.class, () -> governor.call("user2", RequestKind.WRITE, () -> "result"));
+            Assert.assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+            Assert.assertEquals(0, governor.getQueueDepth(RequestKind.WRITE));
+
+            // reads are not affected
+            Assert.assertEquals("result", governor.call("user2", RequestKind.READ, () -> "result"));
+        }
+        finally
+        {
+            releaseBlocker.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInterruptWhileQueued() throws Exception
+    {
+        GitLabRequestGovernor governor = GitLabRequestGovernor.newGovernor(1, 1, 10_000L);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            executor.submit(() -> governor.call("user1", RequestKind.WRITE, () ->
+            {
+                blockerStarted.countDown();
+                releaseBlocker.await();
+                return null;
+            }));
+            Assert.assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+
+            AtomicBoolean called = new AtomicBoolean(false);
+            Thread.currentThread().interrupt();
+            LegendSDLCServerException e = Assert.assertThrows(LegendSDLCServerException.class, () -> governor.call("user2", RequestKind.WRITE, () -> called.getAndSet(true)));
+            Assert.assertTrue(Thread.interrupted());
+            Assert.assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+            Assert.assertFalse(called.get());
+            Assert.assertEquals(0, governor.getQueueDepth(RequestKind.WRITE));
+        }
+        finally
+        {
+            releaseBlocker.countDown();
+            executor.shutdownNow();
+        }
+
+        // the permit held by the blocker is still released normally
+        Assert.assertEquals("result", governor.call("user2", RequestKind.WRITE, () -> "result"));
+    }
+
+    private static void waitForQueueDepth(GitLabRequestGovernor governor, int depth) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (governor.getQueueDepth(RequestKind.READ) < depth)
+        {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5L);
+        }
+    }
+}
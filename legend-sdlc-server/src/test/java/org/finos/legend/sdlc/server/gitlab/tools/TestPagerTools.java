@@ -0,0 +1,151 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.gitlab.tools;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.gitlab4j.api.GitLabApiException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.core.Response.Status;
+
+public class TestPagerTools
+{
+    private static final int ITEMS_PER_PAGE = 10;
+
+    @Test
+    public void testPrefetchingStreamPreservesOrder()
+    {
+        int totalPages = 25;
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger maxInProgress = new AtomicInteger();
+        List<Integer> items = PagerTools.stream(getPage(1), totalPages, page ->
+        {
+            int current = inProgress.incrementAndGet();
+            maxInProgress.accumulateAndGet(current, Math::max);
+            try
+            {
+                // finish out of order
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                return getPage(page);
+            }
+            catch (InterruptedException e)
+            {
+                throw new RuntimeException(e);
+            }
+            finally
+            {
+                inProgress.decrementAndGet();
+            }
+        }, 4, 0, 0L, null).collect(Collectors.toList());
+
+        Assert.assertEquals(Interval.zeroTo(totalPages * ITEMS_PER_PAGE - 1).toList(), items);
+        Assert.assertTrue(Integer.toString(maxInProgress.get()), maxInProgress.get() <= 4);
+    }
+
+    @Test
+    public void testPrefetchingStreamSkipsEmptyPages()
+    {
+        List<Integer> items = PagerTools.stream(Lists.mutable.<Integer>empty(), 4, page -> (page == 3) ? Lists.mutable.empty() : getPage(page), 2, 0, 0L, null).collect(Collectors.toList());
+        Assert.assertEquals(Lists.mutable.withAll(getPage(2)).withAll(getPage(4)), items);
+    }
+
+    @Test
+    public void testPrefetchingStreamShortCircuit()
+    {
+        AtomicInteger fetched = new AtomicInteger();
+        List<Integer> items = PagerTools.stream(getPage(1), 100, page ->
+        {
+            fetched.incrementAndGet();
+            return getPage(page);
+        }, 3, 0, 0L, null).limit(15).collect(Collectors.toList());
+
+        Assert.assertEquals(Interval.zeroTo(14).toList(), items);
+        Assert.assertTrue(Integer.toString(fetched.get()), fetched.get() <= 4);
+    }
+
+    @Test
+    public void testPrefetchingStreamIsLazy()
+    {
+        AtomicInteger fetched = new AtomicInteger();
+        Stream<Integer> stream = PagerTools.stream(getPage(1), 10, page ->
+        {
+            fetched.incrementAndGet();
+            return getPage(page);
+        }, 4, 0, 0L, null);
+        Assert.assertEquals(0, fetched.get());
+        Assert.assertEquals(Integer.valueOf(0), stream.findFirst().orElse(null));
+    }
+
+    @Test
+    public void testPrefetchingStreamCancelOnClose() throws Exception
+    {
+        List<Integer> requested = new CopyOnWriteArrayList<>();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch fetchInterrupted = new CountDownLatch(1);
+        try (Stream<Integer> stream = PagerTools.stream(getPage(1), 100, page ->
+        {
+            requested.add(page);
+            fetchStarted.countDown();
+            try
+            {
+                Thread.sleep(60_000L);
+            }
+            catch (InterruptedException e)
+            {
+                fetchInterrupted.countDown();
+                throw new RuntimeException(e);
+            }
+            return getPage(page);
+        }, 4, 0, 0L, null))
+        {
+            Assert.assertEquals(Integer.valueOf(0), stream.findFirst().orElse(null));
+            Assert.assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+        }
+        Assert.assertTrue(fetchInterrupted.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList(2), requested);
+    }
+
+    @Test
+    public void testPrefetchingStreamFailure()
+    {
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> PagerTools.stream(getPage(1), 5, page ->
+        {
+            if (page == 4)
+            {
+                throw new GitLabApiException("not found", Status.NOT_FOUND.getStatusCode());
+            }
+            return getPage(page);
+        }, 2, 0, 0L, null).collect(Collectors.toList()));
+        Assert.assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof GitLabApiException);
+        Assert.assertEquals(Status.NOT_FOUND.getStatusCode(), ((GitLabApiException) e.getCause()).getHttpStatus());
+    }
+
+    private static MutableList<Integer> getPage(int page)
+    {
+        return Interval.fromTo((page - 1) * ITEMS_PER_PAGE, (page * ITEMS_PER_PAGE) - 1).toList();
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDeserializedEntityCache
+{
+    @Test
+    public void testGetIfAbsentPut()
+    {
+        DeserializedEntityCache cache = DeserializedEntityCache.newCache(DeserializedEntityCache.DEFAULT_MAX_MEMORY_BYTES);
+        Entity entity = newEntity("model::A");
+        AtomicInteger count = new AtomicInteger();
+        Entity cached = cache.getIfAbsentPut("legend", "abc", () ->
+        {
+            count.incrementAndGet();
+            return entity;
+        });
+        assertEntityEquals(entity, cached);
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertSame(cached, cache.getIfAbsentPut("legend", "abc", () ->
+            {
+                count.incrementAndGet();
+                return entity;
+            }));
+        }
+        Assert.assertEquals(1, count.get());
+
+        // same content id with a different serializer is a different entry
+        Entity otherEntity = newEntity("model::A");
+        Entity otherCached = cache.getIfAbsentPut("pure", "abc", () -> otherEntity);
+        Assert.assertNotSame(cached, otherCached);
+        assertEntityEquals(otherEntity, otherCached);
+        Assert.assertSame(cached, cache.get("legend", "abc"));
+        Assert.assertSame(otherCached, cache.get("pure", "abc"));
+        Assert.assertNull(cache.get("legend", "def"));
+    }
+
+    @Test
+    public void testDeserializerFailure()
+    {
+        DeserializedEntityCache cache = DeserializedEntityCache.newCache(DeserializedEntityCache.DEFAULT_MAX_MEMORY_BYTES);
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> cache.getIfAbsentPut("legend", "abc", () ->
+        {
+            throw new RuntimeException("Error deserializing entity");
+        }));
+        Assert.assertEquals("Error deserializing entity", e.getMessage());
+        Assert.assertNull(cache.get("legend", "abc"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCachedEntitiesCannotBeModified()
+    {
+        DeserializedEntityCache cache = DeserializedEntityCache.newCache(DeserializedEntityCache.DEFAULT_MAX_MEMORY_BYTES);
+        Map<String, Object> property = Maps.mutable.with("name", "prop", "multiplicity", Maps.mutable.with("lowerBound", 0, "upperBound", 1));
+        Map<String, Object> content = Maps.mutable.with("package", "model", "name", "A", "_type", "class", "properties", Lists.mutable.with(property));
+        Entity entity = Entity.newEntity("model::A", "meta::pure::metamodel::type::Class", content);
+        Entity cached = cache.getIfAbsentPut("legend", "abc", () -> entity);
+
+        Map<String, ?> cachedContent = cached.getContent();
+        List<?> cachedProperties = (List<?>) cachedContent.get("properties");
+        Map<?, ?> cachedProperty = (Map<?, ?>) cachedProperties.get(0);
+        Map<?, ?> cachedMultiplicity = (Map<?, ?>) cachedProperty.get("multiplicity");
+        Assert.assertThrows(UnsupportedOperationException.class, () -> cachedContent.remove("name"));
+        Assert.assertThrows(UnsupportedOperationException.class, cachedProperties::clear);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> cachedProperty.remove("name"));
+        Assert.assertThrows(UnsupportedOperationException.class, cachedMultiplicity::clear);
+
+        // modifying the original entity does not affect the cached one
+        content.put("name", "B");
+        property.put("name", "other");
+        Entity again = cache.get("legend", "abc");
+        Assert.assertSame(cached, again);
+        Assert.assertEquals("A", again.getContent().get("name"));
+        Assert.assertEquals("prop", ((Map<?, ?>) ((List<?>) again.getContent().get("properties")).get(0)).get("name"));
+    }
+
+    @Test
+    public void testEviction()
+    {
+        DeserializedEntityCache cache = DeserializedEntityCache.newCache(2048L);
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put("legend", "id" + i, newEntity("model::Entity" + i));
+        }
+        int size = cache.size();
+        Assert.assertTrue(String.valueOf(size), (size > 0) && (size < 100));
+
+        // most recently added should still be present, earliest should have been evicted
+        Assert.assertNotNull(cache.get("legend", "id99"));
+        Assert.assertNull(cache.get("legend", "id0"));
+    }
+
+    private static void assertEntityEquals(Entity expected, Entity actual)
+    {
+        Assert.assertEquals(expected.getPath(), actual.getPath());
+        Assert.assertEquals(expected.getClassifierPath(), actual.getClassifierPath());
+        Assert.assertEquals(expected.getContent(), actual.getContent());
+    }
+
+    private static Entity newEntity(String path)
+    {
+        int index = path.lastIndexOf(':');
+        return Entity.newEntity(path, "meta::pure::metamodel::type::Class", Maps.mutable.with("package", path.substring(0, index - 1), "name", path.substring(index + 1), "_type", "class"));
+    }
+}
@@ -0,0 +1,297 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.sdlc.server.tools.ThrowingFunction;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class TestProjectFileSnapshotCache
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSnapshotDirectories()
+    {
+        ProjectFileSnapshot snapshot = newSnapshot("PROJ-1", "abc", "/project.json", "/src/a.json", "/src/b.json", "/other/c.json");
+        Assert.assertEquals(4, snapshot.getFileCount());
+        Assert.assertEquals(Lists.mutable.with("/src/a.json", "/src/b.json"), snapshot.getFilesInCanonicalDirectories(Lists.fixedSize.with("/src/")).map(ProjectFileAccessProvider.ProjectFile::getPath).sorted().collect(Collectors.toList()));
+        Assert.assertEquals(Lists.mutable.with("/other/c.json", "/src/a.json", "/src/b.json"), snapshot.getFilesInCanonicalDirectories(Lists.fixedSize.with("/src/", "/other/")).map(ProjectFileAccessProvider.ProjectFile::getPath).sorted().collect(Collectors.toList()));
+        Assert.assertEquals(4L, snapshot.getFilesInCanonicalDirectories(Lists.fixedSize.with("/")).count());
+        Assert.assertEquals("/project.json", snapshot.getFile("/project.json").getContentAsString());
+        Assert.assertNull(snapshot.getFile("/nonexistent.json"));
+    }
+
+    @Test
+    public void testContentIds()
+    {
+        ProjectFileSnapshot snapshot = newSnapshot("PROJ-1", "abc", "/a.json", "/b.json");
+        Assert.assertEquals(ProjectFiles.getGitBlobId("/a.json".getBytes(StandardCharsets.UTF_8)), snapshot.getContentId("/a.json"));
+        Assert.assertEquals(snapshot.getContentId("/b.json"), snapshot.getFile("/b.json").getContentId());
+        Assert.assertEquals(snapshot.getContentId("/b.json"), ProjectFiles.newStringProjectFile("/c.json", "/b.json").getContentId());
+        Assert.assertNull(snapshot.getContentId("/c.json"));
+    }
+
+    @Test
+    public void testWithChanges()
+    {
+        ProjectFileSnapshot snapshot = newSnapshot("PROJ-1", "rev1", "/a.json", "/b.json", "/c.json");
+        ProjectFileSnapshot newSnapshot = snapshot.withChanges("rev2", Lists.fixedSize.with("/b.json"), Maps.mutable.with("/c.json", "new c".getBytes(StandardCharsets.UTF_8), "/d.json", "d".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("rev2", newSnapshot.getRevisionId());
+        Assert.assertEquals(Maps.mutable.with("/a.json", "/a.json", "/c.json", "new c", "/d.json", "d"), toStringMap(newSnapshot));
+        Assert.assertEquals(snapshot.getContentId("/a.json"), newSnapshot.getContentId("/a.json"));
+        Assert.assertEquals(ProjectFiles.getGitBlobId("new c".getBytes(StandardCharsets.UTF_8)), newSnapshot.getContentId("/c.json"));
+        Assert.assertNull(newSnapshot.getContentId("/b.json"));
+
+        // original is unchanged
+        Assert.assertEquals(Maps.mutable.with("/a.json", "/a.json", "/b.json", "/b.json", "/c.json", "/c.json"), toStringMap(snapshot));
+    }
+
+    @Test
+    public void testPartialSnapshots()
+    {
+        ProjectFileSnapshot srcSnapshot = newSnapshot("PROJ-1", "rev1", Lists.fixedSize.with("/src/"), "/src/a.json", "/src/b/c.json");
+        Assert.assertEquals(Lists.mutable.with("/src/"), srcSnapshot.getDirectories());
+        Assert.assertTrue(srcSnapshot.covers(Lists.fixedSize.with("/src/")));
+        Assert.assertTrue(srcSnapshot.covers(Lists.fixedSize.with("/src/b/")));
+        Assert.assertFalse(srcSnapshot.covers(Lists.fixedSize.with("/src/", "/other/")));
+        Assert.assertFalse(srcSnapshot.covers(Lists.fixedSize.with("/")));
+        Assert.assertTrue(srcSnapshot.coversFile("/src/x.json"));
+        Assert.assertFalse(srcSnapshot.coversFile("/project.json"));
+
+        // changes outside the covered directories are ignored
+        ProjectFileSnapshot changed = srcSnapshot.withChanges("rev2", Lists.fixedSize.empty(), Maps.mutable.with("/src/d.json", "d".getBytes(StandardCharsets.UTF_8), "/project.json", "p".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(Maps.mutable.with("/src/a.json", "/src/a.json", "/src/b/c.json", "/src/b/c.json", "/src/d.json", "d"), toStringMap(changed));
+        Assert.assertEquals(Lists.mutable.with("/src/"), changed.getDirectories());
+
+        ProjectFileSnapshot otherSnapshot = newSnapshot("PROJ-1", "rev1", Lists.fixedSize.with("/other/"), "/other/e.json");
+        ProjectFileSnapshot merged = srcSnapshot.merge(otherSnapshot);
+        Assert.assertEquals(Lists.mutable.with("/other/", "/src/"), merged.getDirectories().toSortedList());
+        Assert.assertTrue(merged.covers(Lists.fixedSize.with("/src/", "/other/")));
+        Assert.assertEquals(3, merged.getFileCount());
+        Assert.assertThrows(IllegalArgumentException.class, () -> srcSnapshot.merge(changed));
+
+        ProjectFileSnapshot fullSnapshot = newSnapshot("PROJ-1", "rev1", "/project.json", "/src/a.json");
+        Assert.assertEquals(Lists.mutable.with("/"), srcSnapshot.merge(fullSnapshot).getDirectories());
+    }
+
+    @Test
+    public void testPutMergesPartialSnapshots() throws Exception
+    {
+        Path directory = this.tempFolder.newFolder("snapshots").toPath();
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES, directory, ProjectFileSnapshotCache.DEFAULT_MAX_DISK_BYTES);
+        cache.put(newSnapshot("PROJ-1", "rev1", Lists.fixedSize.with("/src/"), "/src/a.json"));
+        ProjectFileSnapshot merged = cache.put(newSnapshot("PROJ-1", "rev1", Lists.fixedSize.with("/other/"), "/other/b.json"));
+        Assert.assertEquals(Lists.mutable.with("/other/", "/src/"), merged.getDirectories().toSortedList());
+        Assert.assertEquals(Maps.mutable.with("/src/a.json", "/src/a.json", "/other/b.json", "/other/b.json"), toStringMap(cache.get("PROJ-1", "rev1")));
+
+        // directories survive the disk round trip
+        ProjectFileSnapshotCache newCache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES, directory, ProjectFileSnapshotCache.DEFAULT_MAX_DISK_BYTES);
+        ProjectFileSnapshot fromDisk = newCache.get("PROJ-1", "rev1");
+        assertSnapshotEquals(merged, fromDisk);
+        Assert.assertEquals(Lists.mutable.with("/other/", "/src/"), fromDisk.getDirectories().toSortedList());
+
+        // a snapshot covering everything replaces the partial one
+        ProjectFileSnapshot full = cache.put(newSnapshot("PROJ-1", "rev1", "/project.json", "/src/a.json", "/other/b.json"));
+        Assert.assertEquals(Lists.mutable.with("/"), full.getDirectories());
+        Assert.assertEquals(3, cache.get("PROJ-1", "rev1").getFileCount());
+    }
+
+    @Test
+    public void testLatestRevisionId()
+    {
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES);
+        Assert.assertNull(cache.getLatestRevisionId("PROJ-1", "master"));
+        cache.setLatestRevisionId("PROJ-1", "master", "rev1");
+        cache.setLatestRevisionId("PROJ-1", "workspace/w1", "rev2");
+        Assert.assertEquals("rev1", cache.getLatestRevisionId("PROJ-1", "master"));
+        Assert.assertEquals("rev2", cache.getLatestRevisionId("PROJ-1", "workspace/w1"));
+        Assert.assertNull(cache.getLatestRevisionId("PROJ-2", "master"));
+        cache.setLatestRevisionId("PROJ-1", "master", "rev3");
+        Assert.assertEquals("rev3", cache.getLatestRevisionId("PROJ-1", "master"));
+    }
+
+    @Test
+    public void testMemoryEviction()
+    {
+        ProjectFileSnapshot snapshot1 = newSnapshot("PROJ-1", "rev1", "/a.json", "/b.json");
+        ProjectFileSnapshot snapshot2 = newSnapshot("PROJ-1", "rev2", "/a.json", "/c.json");
+        ProjectFileSnapshot snapshot3 = newSnapshot("PROJ-2", "rev1", "/d.json", "/e.json");
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(snapshot1.getSize() + snapshot2.getSize());
+
+        cache.put(snapshot1);
+        cache.put(snapshot2);
+        Assert.assertSame(snapshot1, cache.get("PROJ-1", "rev1"));
+        Assert.assertSame(snapshot2, cache.get("PROJ-1", "rev2"));
+
+        // access snapshot1 so that snapshot2 is the least recently used
+        Assert.assertSame(snapshot1, cache.get("PROJ-1", "rev1"));
+        cache.put(snapshot3);
+        Assert.assertSame(snapshot1, cache.get("PROJ-1", "rev1"));
+        Assert.assertNull(cache.get("PROJ-1", "rev2"));
+        Assert.assertSame(snapshot3, cache.get("PROJ-2", "rev1"));
+    }
+
+    @Test
+    public void testGetIfAbsentPut()
+    {
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES);
+        ProjectFileSnapshot snapshot = newSnapshot("PROJ-1", "rev1", "/a.json");
+        int[] loadCount = {0};
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertSame(snapshot, cache.getIfAbsentPut("PROJ-1", "rev1", () ->
+            {
+                loadCount[0]++;
+                return snapshot;
+            }));
+        }
+        Assert.assertEquals(1, loadCount[0]);
+    }
+
+    @Test
+    public void testGetIfAbsentPutDirectories()
+    {
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES);
+        MutableList<List<String>> loadedDirectories = Lists.mutable.empty();
+        ThrowingFunction<MutableList<String>, ProjectFileSnapshot, RuntimeException> loader = directories ->
+        {
+            loadedDirectories.add(directories);
+            return newSnapshot("PROJ-1", "rev1", directories, directories.collect(d -> d + "file.json").toArray(new String[0]));
+        };
+
+        ProjectFileSnapshot snapshot = cache.getIfAbsentPut("PROJ-1", "rev1", Lists.fixedSize.with("/src/"), loader);
+        Assert.assertEquals(Lists.mutable.with("/src/"), snapshot.getDirectories());
+        Assert.assertSame(snapshot, cache.getIfAbsentPut("PROJ-1", "rev1", Lists.fixedSize.with("/src/"), loader));
+
+        // only the missing directory is loaded
+        ProjectFileSnapshot merged = cache.getIfAbsentPut("PROJ-1", "rev1", Lists.fixedSize.with("/other/", "/src/"), loader);
+        Assert.assertEquals(Maps.mutable.with("/src/file.json", "/src/file.json", "/other/file.json", "/other/file.json"), toStringMap(merged));
+        Assert.assertEquals(Lists.mutable.with(Lists.mutable.with("/src/"), Lists.mutable.with("/other/")), loadedDirectories);
+    }
+
+    @Test
+    public void testConcurrentLoadsCoalesced() throws Exception
+    {
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ThrowingFunction<MutableList<String>, ProjectFileSnapshot, InterruptedException> loader = directories ->
+        {
+            loadCount.incrementAndGet();
+            started.countDown();
+            release.await();
+            return newSnapshot("PROJ-1", "rev1", "/a.json");
+        };
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            List<Future<ProjectFileSnapshot>> futures = Lists.mutable.empty();
+            futures.add(executor.submit(() -> cache.getIfAbsentPut("PROJ-1", "rev1", Lists.fixedSize.with("/"), loader)));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < threadCount; i++)
+            {
+                futures.add(executor.submit(() -> cache.getIfAbsentPut("PROJ-1", "rev1", Lists.fixedSize.with("/"), loader)));
+            }
+
+            // wait for the other calls to join the in-flight load before releasing it
+            Thread.sleep(100L);
+            release.countDown();
+
+            ProjectFileSnapshot snapshot = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ProjectFileSnapshot> future : futures)
+            {
+                Assert.assertSame(snapshot, future.get(10, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(1, loadCount.get());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDiskTier() throws Exception
+    {
+        Path directory = this.tempFolder.newFolder("snapshots").toPath();
+        ProjectFileSnapshot snapshot1 = newSnapshot("PROJ-1", "rev1", "/a.json", "/b/c.json");
+        ProjectFileSnapshot snapshot2 = newSnapshot("PROJ-1", "rev2", "/a.json", "/b/d.json");
+
+        // memory tier only big enough for one snapshot
+        ProjectFileSnapshotCache cache = ProjectFileSnapshotCache.newCache(Math.max(snapshot1.getSize(), snapshot2.getSize()), directory, ProjectFileSnapshotCache.DEFAULT_MAX_DISK_BYTES);
+        cache.put(snapshot1);
+        cache.put(snapshot2);
+        assertSnapshotEquals(snapshot1, cache.get("PROJ-1", "rev1"));
+        assertSnapshotEquals(snapshot2, cache.get("PROJ-1", "rev2"));
+
+        // a new cache on the same directory should find the persisted snapshots
+        ProjectFileSnapshotCache newCache = ProjectFileSnapshotCache.newCache(ProjectFileSnapshotCache.DEFAULT_MAX_MEMORY_BYTES, directory, ProjectFileSnapshotCache.DEFAULT_MAX_DISK_BYTES);
+        assertSnapshotEquals(snapshot1, newCache.get("PROJ-1", "rev1"));
+        assertSnapshotEquals(snapshot2, newCache.get("PROJ-1", "rev2"));
+        Assert.assertNull(newCache.get("PROJ-1", "rev3"));
+    }
+
+    private static void assertSnapshotEquals(ProjectFileSnapshot expected, ProjectFileSnapshot actual)
+    {
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(expected.getProjectId(), actual.getProjectId());
+        Assert.assertEquals(expected.getRevisionId(), actual.getRevisionId());
+        Assert.assertEquals(toStringMap(expected), toStringMap(actual));
+    }
+
+    private static Map<String, String> toStringMap(ProjectFileSnapshot snapshot)
+    {
+        Map<String, String> map = Maps.mutable.empty();
+        snapshot.forEachFile((path, content) -> map.put(path, new String(content, StandardCharsets.UTF_8)));
+        return map;
+    }
+
+    private static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, String... paths)
+    {
+        return newSnapshot(projectId, revisionId, Lists.fixedSize.with(ProjectPaths.ROOT_DIRECTORY), paths);
+    }
+
+    private static ProjectFileSnapshot newSnapshot(String projectId, String revisionId, ListIterable<String> directories, String... paths)
+    {
+        Map<String, byte[]> files = Maps.mutable.empty();
+        for (String path : paths)
+        {
+            files.put(path, path.getBytes(StandardCharsets.UTF_8));
+        }
+        return ProjectFileSnapshot.newSnapshot(projectId, revisionId, directories, files);
+    }
+}
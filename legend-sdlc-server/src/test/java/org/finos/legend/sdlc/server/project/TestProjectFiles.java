@@ -65,6 +65,24 @@ public class TestProjectFiles
         assertProjectFile(ProjectFiles.newDelegatingProjectFile(path, new NonRepeatingGetter<>(ProjectFiles.newStringProjectFile(path, string))), path, string);
     }
 
+    @Test
+    public void testGitBlobId()
+    {
+        Assert.assertEquals("e69de29bb2d1d6434b8b29ae775ad8c2e48c5391", ProjectFiles.getGitBlobId(new byte[0]));
+        Assert.assertEquals("b6fc4c620b67d95f953a5c1c1230aaab5db5a1b0", ProjectFiles.getGitBlobId("hello".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testKnownContentId()
+    {
+        String path = "/some/file/path.txt";
+        ProjectFileAccessProvider.ProjectFile projectFile = ProjectFiles.newDelegatingProjectFile(path, "0123456789abcdef0123456789abcdef01234567", p ->
+        {
+            throw new AssertionError("Unexpected call to get " + p);
+        });
+        Assert.assertEquals("0123456789abcdef0123456789abcdef01234567", projectFile.getContentId());
+    }
+
     private void assertProjectFile(ProjectFileAccessProvider.ProjectFile projectFile, String expectedPath, String expectedContent)
     {
         Assert.assertEquals("path", expectedPath, projectFile.getPath());
@@ -77,6 +95,7 @@ public class TestProjectFiles
             byte[] expectedBytes = expectedContent.getBytes(StandardCharsets.UTF_8);
             Assert.assertArrayEquals("bytes", expectedBytes, projectFile.getContentAsBytes());
             Assert.assertArrayEquals("stream", expectedBytes, IOTools.readAllBytes(projectFile.getContentAsInputStream()));
+            Assert.assertEquals("content id", ProjectFiles.getGitBlobId(expectedBytes), projectFile.getContentId());
         }
         catch (IOException e)
         {
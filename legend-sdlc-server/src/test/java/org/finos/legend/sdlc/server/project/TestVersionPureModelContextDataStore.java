@@ -0,0 +1,175 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.project;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
+import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestVersionPureModelContextDataStore
+{
+    private static final ObjectMapper OBJECT_MAPPER = PureProtocolObjectMapperFactory.getNewObjectMapper();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetIfAbsentPut() throws Exception
+    {
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(this.tempFolder.newFolder().toPath(), VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        AtomicInteger count = new AtomicInteger();
+        PureModelContextData expected = newPureModelContextData("PROJ-1", "1.0.0", "A");
+        byte[] bytes = store.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () ->
+        {
+            count.incrementAndGet();
+            return expected;
+        });
+        Assert.assertArrayEquals(OBJECT_MAPPER.writeValueAsBytes(expected), bytes);
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertArrayEquals(bytes, store.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () ->
+            {
+                count.incrementAndGet();
+                return expected;
+            }));
+        }
+        Assert.assertEquals(1, count.get());
+        Assert.assertArrayEquals(bytes, store.get("PROJ-1", "1.0.0", "vX_X_X"));
+
+        // a different version or protocol version is a different entry
+        Assert.assertNull(store.get("PROJ-1", "1.0.1", "vX_X_X"));
+        Assert.assertNull(store.get("PROJ-1", "1.0.0", "v1_2_3"));
+        Assert.assertNull(store.get("PROJ-2", "1.0.0", "vX_X_X"));
+    }
+
+    @Test
+    public void testGetPureModelContextDataIfAbsentPut() throws Exception
+    {
+        Path directory = this.tempFolder.newFolder().toPath();
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        PureModelContextData expected = newPureModelContextData("PROJ-1", "1.0.0", "A");
+        Assert.assertSame(expected, store.getPureModelContextDataIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () -> expected));
+
+        // once stored, the data is read from its stored form, including by a new store on the same directory
+        VersionPureModelContextDataStore reopened = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        for (VersionPureModelContextDataStore s : Arrays.asList(store, reopened))
+        {
+            PureModelContextData stored = s.getPureModelContextDataIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () ->
+            {
+                throw new RuntimeException("should not be computed");
+            });
+            Assert.assertNotSame(expected, stored);
+            Assert.assertArrayEquals(OBJECT_MAPPER.writeValueAsBytes(expected), OBJECT_MAPPER.writeValueAsBytes(stored));
+        }
+    }
+
+    @Test
+    public void testSupplierFailure() throws Exception
+    {
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(this.tempFolder.newFolder().toPath(), VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> store.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () ->
+        {
+            throw new RuntimeException("Error getting entities");
+        }));
+        Assert.assertEquals("Error getting entities", e.getMessage());
+        Assert.assertNull(store.get("PROJ-1", "1.0.0", "vX_X_X"));
+        Assert.assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testPersistence() throws Exception
+    {
+        Path directory = this.tempFolder.newFolder().toPath();
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        byte[] bytes = store.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () -> newPureModelContextData("PROJ-1", "1.0.0", "A"));
+
+        VersionPureModelContextDataStore reopened = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        Assert.assertEquals(1, reopened.size());
+        Assert.assertArrayEquals(bytes, reopened.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () ->
+        {
+            throw new RuntimeException("should not compute");
+        }));
+    }
+
+    @Test
+    public void testBuildVersionChange() throws Exception
+    {
+        Path directory = this.tempFolder.newFolder().toPath();
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false, "build1");
+        store.getIfAbsentPut("PROJ-1", "1.0.0", "vX_X_X", () -> newPureModelContextData("PROJ-1", "1.0.0", "A"));
+
+        VersionPureModelContextDataStore sameBuild = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false, "build1");
+        Assert.assertEquals(1, sameBuild.size());
+
+        VersionPureModelContextDataStore newBuild = VersionPureModelContextDataStore.newStore(directory, VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false, "build2");
+        Assert.assertEquals(0, newBuild.size());
+        Assert.assertNull(newBuild.get("PROJ-1", "1.0.0", "vX_X_X"));
+    }
+
+    @Test
+    public void testKeysDoNotCollide() throws Exception
+    {
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(this.tempFolder.newFolder().toPath(), VersionPureModelContextDataStore.DEFAULT_MAX_DISK_BYTES, OBJECT_MAPPER, false);
+        byte[] bytes1 = store.getIfAbsentPut("PROJ/1", "1.0.0", "vX_X_X", () -> newPureModelContextData("PROJ/1", "1.0.0", "A"));
+        byte[] bytes2 = store.getIfAbsentPut("PROJ:1", "1.0.0", "vX_X_X", () -> newPureModelContextData("PROJ:1", "1.0.0", "B"));
+        byte[] bytes3 = store.getIfAbsentPut("PROJ", "1-1.0.0", "vX_X_X", () -> newPureModelContextData("PROJ", "1-1.0.0", "C"));
+        Assert.assertEquals(3, store.size());
+        Assert.assertArrayEquals(bytes1, store.get("PROJ/1", "1.0.0", "vX_X_X"));
+        Assert.assertArrayEquals(bytes2, store.get("PROJ:1", "1.0.0", "vX_X_X"));
+        Assert.assertArrayEquals(bytes3, store.get("PROJ", "1-1.0.0", "vX_X_X"));
+    }
+
+    @Test
+    public void testEviction() throws Exception
+    {
+        long size = OBJECT_MAPPER.writeValueAsBytes(newPureModelContextData("PROJ-1", "1.0.0", "Class0")).length;
+        VersionPureModelContextDataStore store = VersionPureModelContextDataStore.newStore(this.tempFolder.newFolder().toPath(), 3 * size, OBJECT_MAPPER, false);
+        for (int i = 0; i < 10; i++)
+        {
+            String versionId = "1.0." + i;
+            store.getIfAbsentPut("PROJ-1", versionId, "vX_X_X", () -> newPureModelContextData("PROJ-1", versionId, "Class0"));
+        }
+        Assert.assertEquals(3, store.size());
+
+        // most recently added should still be present, earliest should have been evicted
+        Assert.assertNotNull(store.get("PROJ-1", "1.0.9", "vX_X_X"));
+        Assert.assertNotNull(store.get("PROJ-1", "1.0.7", "vX_X_X"));
+        Assert.assertNull(store.get("PROJ-1", "1.0.6", "vX_X_X"));
+        Assert.assertNull(store.get("PROJ-1", "1.0.0", "vX_X_X"));
+    }
+
+    private static PureModelContextData newPureModelContextData(String projectId, String versionId, String className)
+    {
+        AlloySDLC sdlc = new AlloySDLC();
+        sdlc.project = projectId;
+        sdlc.baseVersion = versionId;
+        return PureModelContextDataBuilder.newBuilder()
+                .withProtocol("pure", "vX_X_X")
+                .withSDLC(sdlc)
+                .withEntity(TestTools.newClassEntity(className, "model"))
+                .build();
+    }
+}
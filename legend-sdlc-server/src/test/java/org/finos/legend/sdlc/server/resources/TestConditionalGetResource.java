@@ -0,0 +1,54 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+
+public class TestConditionalGetResource
+{
+    @Test
+    public void testEntityTagIsStrongAndStable()
+    {
+        EntityTag tag = ConditionalGetResource.newEntityTag("abc123", "model::pkg", true);
+        Assert.assertFalse(tag.isWeak());
+        Assert.assertEquals(tag, ConditionalGetResource.newEntityTag("abc123", "model::pkg", true));
+        Assert.assertNotEquals(tag, ConditionalGetResource.newEntityTag("abc124", "model::pkg", true));
+        Assert.assertNotEquals(tag, ConditionalGetResource.newEntityTag("abc123", "model::pkg", false));
+    }
+
+    @Test
+    public void testEntityTagIgnoresSetOrder()
+    {
+        Assert.assertEquals(
+                ConditionalGetResource.newEntityTag("abc123", Sets.mutable.with("a::B", "c::D", "e::F")),
+                ConditionalGetResource.newEntityTag("abc123", Sets.mutable.with("e::F", "a::B", "c::D")));
+        Assert.assertNotEquals(
+                ConditionalGetResource.newEntityTag("abc123", Lists.mutable.with("a", "b")),
+                ConditionalGetResource.newEntityTag("abc123", Lists.mutable.with("b", "a")));
+    }
+
+    @Test
+    public void testEntityTagPartsDoNotRunTogether()
+    {
+        Assert.assertNotEquals(ConditionalGetResource.newEntityTag("abc123", "a", "bc"), ConditionalGetResource.newEntityTag("abc123", "ab", "c"));
+        Assert.assertNotEquals(ConditionalGetResource.newEntityTag("abc123", (Object) null), ConditionalGetResource.newEntityTag("abc123", "null"));
+        Assert.assertNotEquals(ConditionalGetResource.newEntityTag("abc123", (Object) null), ConditionalGetResource.newEntityTag("abc123", Sets.mutable.empty()));
+    }
+}
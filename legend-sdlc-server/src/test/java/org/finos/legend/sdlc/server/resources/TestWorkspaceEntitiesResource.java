@@ -28,7 +28,9 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -456,6 +458,62 @@ public class TestWorkspaceEntitiesResource extends AbstractLegendSDLCServerResou
         Assert.assertNotNull(revision.getId());
     }
 
+    @Test
+    public void testConditionalGetUserWorkspaceEntities() throws HttpResponseException
+    {
+        String projectId = "A";
+        String workspaceOneId = "entityw5";
+        String entityOneName = "testentityone";
+        String entityTwoName = "testentitytwo";
+        String entityPackageName = "testpkg";
+
+        this.backend.project(projectId).addEntities(workspaceOneId, InMemoryEntity.newEntity(entityOneName, entityPackageName));
+
+        Response responseOne = this.clientFor("/api/projects/A/workspaces/entityw5/entities").request().get();
+
+        if (responseOne.getStatus() != 200)
+        {
+            throw new HttpResponseException(responseOne.getStatus(), "Error during getting entities in user workspace with status: " + responseOne.getStatus() + ", entity: " + responseOne.readEntity(String.class));
+        }
+
+        EntityTag entityTag = responseOne.getEntityTag();
+        Assert.assertNotNull(entityTag);
+        Assert.assertFalse(entityTag.isWeak());
+        responseOne.close();
+
+        Response responseTwo = this.clientFor("/api/projects/A/workspaces/entityw5/entities").request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(304, responseTwo.getStatus());
+        Assert.assertEquals(entityTag, responseTwo.getEntityTag());
+        responseTwo.close();
+
+        Response responseThree = this.clientFor("/api/projects/A/workspaces/entityw5/entities").queryParam("classifierPath", "meta::pure::metamodel::type::Class").request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(200, responseThree.getStatus());
+        Assert.assertNotEquals(entityTag, responseThree.getEntityTag());
+        responseThree.close();
+
+        Response responseFour = this.clientFor("/api/projects/A/workspaces/entityw5/entities/testpkg::testentityone").request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(200, responseFour.getStatus());
+        EntityTag entityPathTag = responseFour.getEntityTag();
+        Assert.assertNotNull(entityPathTag);
+        Assert.assertNotEquals(entityTag, entityPathTag);
+        responseFour.close();
+
+        Response responseFive = this.clientFor("/api/projects/A/workspaces/entityw5/entities/testpkg::testentityone").request().header(HttpHeaders.IF_NONE_MATCH, entityPathTag).get();
+        Assert.assertEquals(304, responseFive.getStatus());
+        responseFive.close();
+
+        // recreating the workspace gives it a new revision
+        this.backend.project(projectId).addEntities(workspaceOneId, InMemoryEntity.newEntity(entityOneName, entityPackageName), InMemoryEntity.newEntity(entityTwoName, entityPackageName));
+
+        Response responseSix = this.clientFor("/api/projects/A/workspaces/entityw5/entities").request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(200, responseSix.getStatus());
+        Assert.assertNotEquals(entityTag, responseSix.getEntityTag());
+        List<Entity> entities = responseSix.readEntity(new GenericType<List<Entity>>()
+        {
+        });
+        Assert.assertEquals(2, entities.size());
+    }
+
     private Entity findEntity(List<Entity> entities, String entityName, String entityPackageName)
     {
         return entities.stream().filter(entity -> entity.getContent().get("name").equals(entityName) && entity.getContent().get("package").equals(entityPackageName)).findFirst().get();
@@ -79,4 +79,28 @@ public class TestBackgroundTaskProcessor
         Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
         Assert.assertEquals(expected, i.get());
     }
+
+    @Test
+    public void testRetryableTaskEnd() throws Exception
+    {
+        // the end action runs once, after the last attempt
+        AtomicInteger attempts = new AtomicInteger(0);
+        AtomicInteger attemptsAtEnd = new AtomicInteger(-1);
+        CountDownLatch ended = new CountDownLatch(1);
+        backgroundTaskProcessor.submitRetryableTask(() -> attempts.incrementAndGet() >= 3, null, 0L, "test retryable task with end", () ->
+        {
+            attemptsAtEnd.set(attempts.get());
+            ended.countDown();
+        });
+        Assert.assertTrue(ended.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(3, attemptsAtEnd.get());
+
+        // it also runs when the task fails with a non-retryable exception
+        CountDownLatch endedAfterFailure = new CountDownLatch(1);
+        backgroundTaskProcessor.submitRetryableTask(() ->
+        {
+            throw new RuntimeException("not retryable");
+        }, e -> false, 0L, "test failing retryable task with end", endedAfterFailure::countDown);
+        Assert.assertTrue(endedAfterFailure.await(2, TimeUnit.SECONDS));
+    }
 }
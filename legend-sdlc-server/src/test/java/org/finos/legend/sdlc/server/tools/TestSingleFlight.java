@@ -0,0 +1,101 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestSingleFlight
+{
+    @Test
+    public void testConcurrentCallsCoalesced() throws Exception
+    {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            Future<String> first = executor.submit(() -> singleFlight.call("key", () ->
+            {
+                callCount.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "value";
+            }));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            List<Future<String>> others = IntStream.range(1, threadCount)
+                    .mapToObj(i -> executor.submit(() -> singleFlight.call("key", () ->
+                    {
+                        callCount.incrementAndGet();
+                        return "other value";
+                    })))
+                    .collect(Collectors.toList());
+
+            // wait for the other calls to join the in-flight call before releasing it
+            Thread.sleep(100L);
+            release.countDown();
+
+            Assert.assertEquals("value", first.get(10, TimeUnit.SECONDS));
+            for (Future<String> other : others)
+            {
+                String value = other.get(10, TimeUnit.SECONDS);
+                // a call which arrived after the first completed makes its own call
+                Assert.assertTrue(value, "value".equals(value) || "other value".equals(value));
+            }
+            Assert.assertTrue(String.valueOf(callCount.get()), callCount.get() < threadCount);
+            Assert.assertEquals(0, singleFlight.getInFlightCount());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSequentialCallsNotCached() throws Exception
+    {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger callCount = new AtomicInteger();
+        Assert.assertEquals(Integer.valueOf(1), singleFlight.call("key", callCount::incrementAndGet));
+        Assert.assertEquals(Integer.valueOf(2), singleFlight.call("key", callCount::incrementAndGet));
+        Assert.assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    public void testException()
+    {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        IOException e = Assert.assertThrows(IOException.class, () -> singleFlight.call("key", () ->
+        {
+            throw new IOException("failure");
+        }));
+        Assert.assertEquals("failure", e.getMessage());
+        Assert.assertEquals(0, singleFlight.getInFlightCount());
+    }
+}